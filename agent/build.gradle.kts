@@ -23,6 +23,9 @@ dependencies {
     api(project(":integration:agent:api"))
     api(project(":integration:crash"))
     api(project(":integration:anr"))
+    api(project(":integration:looper"))
+    api(project(":integration:memory"))
+    api(project(":integration:compose"))
     api(project(":integration:slowrendering"))
     api(project(":integration:httpurlconnection-auto"))
     api(project(":integration:okhttp3-auto"))
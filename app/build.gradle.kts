@@ -33,6 +33,8 @@ android {
         versionCode = Configurations.sdkVersionCode
         versionName = Configurations.sdkVersionName
 
+        testInstrumentationRunner = "com.splunk.app.benchmark.ModuleLoadBenchmarkRunner"
+
         // Read from global gradle.properties (~/.gradle/gradle.properties)
         // If not found, fallback to empty string
         val realm = project.findProperty("splunkRealm") as? String ?: ""
@@ -107,6 +109,11 @@ dependencies {
     debugImplementation(AppDependencies.Android.Compose.uiTooling)
 
     debugImplementation(AppDependencies.leakCanary)
+
+    androidTestImplementation(project(":integration:agent:internal"))
+    androidTestImplementation(Dependencies.Test.junit)
+    androidTestImplementation(Dependencies.Test.androidXTestJunit)
+    androidTestImplementation(Dependencies.Test.androidXTestRunner)
 }
 
 tasks.register<Exec>("startOtelCollectorForTests") {
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.app.benchmark
+
+import android.os.Bundle
+import android.os.Debug
+import android.os.SystemClock
+import android.util.Log
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.filters.SdkSuppress
+import androidx.test.platform.app.InstrumentationRegistry
+import com.splunk.rum.integration.agent.common.module.ModuleConfiguration
+import com.splunk.rum.integration.agent.internal.module.ModuleRegistry
+import com.splunk.rum.integration.anr.AnrModuleConfiguration
+import com.splunk.rum.integration.applicationlifecycle.ApplicationLifecycleModuleConfiguration
+import com.splunk.rum.integration.compose.ComposeModuleConfiguration
+import com.splunk.rum.integration.crash.CrashModuleConfiguration
+import com.splunk.rum.integration.httpurlconnection.auto.HttpURLModuleConfiguration
+import com.splunk.rum.integration.interactions.InteractionsModuleConfiguration
+import com.splunk.rum.integration.lifecycle.LifecycleModuleConfiguration
+import com.splunk.rum.integration.looper.LooperModuleConfiguration
+import com.splunk.rum.integration.memory.MemoryModuleConfiguration
+import com.splunk.rum.integration.navigation.NavigationModuleConfiguration
+import com.splunk.rum.integration.networkmonitor.NetworkMonitorModuleConfiguration
+import com.splunk.rum.integration.okhttp3.auto.OkHttp3AutoModuleConfiguration
+import com.splunk.rum.integration.sessionreplay.SessionReplayModuleConfiguration
+import com.splunk.rum.integration.slowrendering.SlowRenderingModuleConfiguration
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Measures the classes loaded and the time spent attaching modules, first with all the modules disabled and then
+ * with all of them enabled. Both runs share the process, class loading is measured once per process, so the
+ * disabled run goes first and must not load any module.
+ *
+ * Results are logged and reported as instrumentation status:
+ * `./gradlew :app:connectedDebugAndroidTest`
+ */
+@RunWith(AndroidJUnit4::class)
+@SdkSuppress(minSdkVersion = 26)
+class ModuleLoadBenchmark {
+
+    @Test
+    fun attachModulesDisabledThenEnabled() {
+        val instrumentation = InstrumentationRegistry.getInstrumentation()
+        val application = instrumentation.targetContext.applicationContext
+
+        // Configurations are created up front, only the loading of modules is measured.
+        val disabledConfigurations = moduleConfigurations(isEnabled = false)
+        val enabledConfigurations = moduleConfigurations(isEnabled = true)
+
+        val atStartup = ModuleRegistry.loadRecords
+        val disabled = measure { ModuleRegistry.attachConfigured(application, disabledConfigurations) }
+        val afterDisabled = ModuleRegistry.loadRecords
+        val enabled = measure { ModuleRegistry.attachConfigured(application, enabledConfigurations) }
+        val afterEnabled = ModuleRegistry.loadRecords
+
+        val results = Bundle()
+        results.putInt("startup.modules", atStartup.size)
+        results.putInt("startup.classes", atStartup.sumOf { it.loadedClassCount })
+        results.putLong("startup.micros", atStartup.sumOf { it.durationNanos } / 1000)
+        results.putInt("disabled.modules", afterDisabled.size - atStartup.size)
+        results.putInt("disabled.classes", disabled.loadedClassCount)
+        results.putLong("disabled.micros", disabled.durationNanos / 1000)
+        results.putInt("enabled.modules", afterEnabled.size - afterDisabled.size)
+        results.putInt("enabled.classes", enabled.loadedClassCount)
+        results.putLong("enabled.micros", enabled.durationNanos / 1000)
+
+        afterEnabled.forEach {
+            Log.i(TAG, "${it.moduleName}: ${it.loadedClassCount} classes, ${it.durationNanos / 1000} us")
+        }
+        Log.i(TAG, results.keySet().sorted().joinToString { "$it=${results.get(it)}" })
+        instrumentation.sendStatus(0, results)
+
+        assertEquals("Disabled modules must not be loaded", atStartup.size, afterDisabled.size)
+        assertTrue("Enabled modules must be loaded", afterEnabled.size > afterDisabled.size)
+    }
+
+    private fun moduleConfigurations(isEnabled: Boolean): List<ModuleConfiguration> = listOf(
+        AnrModuleConfiguration(isEnabled = isEnabled),
+        ApplicationLifecycleModuleConfiguration(isEnabled = isEnabled),
+        ComposeModuleConfiguration(isEnabled = isEnabled),
+        CrashModuleConfiguration(isEnabled = isEnabled),
+        HttpURLModuleConfiguration(isEnabled = isEnabled),
+        InteractionsModuleConfiguration(isEnabled = isEnabled),
+        LifecycleModuleConfiguration(isEnabled = isEnabled),
+        LooperModuleConfiguration(isEnabled = isEnabled),
+        MemoryModuleConfiguration(isEnabled = isEnabled),
+        NavigationModuleConfiguration(isEnabled = isEnabled),
+        NetworkMonitorModuleConfiguration(isEnabled = isEnabled),
+        OkHttp3AutoModuleConfiguration(isEnabled = isEnabled),
+        SessionReplayModuleConfiguration(isEnabled = isEnabled),
+        SlowRenderingModuleConfiguration(isEnabled = isEnabled)
+    )
+
+    private inline fun measure(block: () -> Unit): ModuleRegistry.LoadRecord {
+        val classCountBefore = Debug.getLoadedClassCount()
+        val start = SystemClock.elapsedRealtimeNanos()
+        block()
+        return ModuleRegistry.LoadRecord(
+            moduleName = "all",
+            loadedClassCount = Debug.getLoadedClassCount() - classCountBefore,
+            durationNanos = SystemClock.elapsedRealtimeNanos() - start
+        )
+    }
+
+    private companion object {
+        const val TAG = "ModuleLoadBenchmark"
+    }
+}
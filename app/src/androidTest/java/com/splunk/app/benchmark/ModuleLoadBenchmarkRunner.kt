@@ -0,0 +1,31 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.app.benchmark
+
+import android.app.Application
+import android.content.Context
+import androidx.test.runner.AndroidJUnitRunner
+
+/**
+ * Runs the tests with a bare [Application] so that the sample app does not install the agent, only the modules
+ * attached at process start are loaded when a test begins.
+ */
+class ModuleLoadBenchmarkRunner : AndroidJUnitRunner() {
+
+    override fun newApplication(cl: ClassLoader, className: String, context: Context): Application =
+        super.newApplication(cl, Application::class.java.name, context)
+}
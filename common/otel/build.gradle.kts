@@ -28,6 +28,7 @@ dependencies {
     compileOnly(Dependencies.Android.annotation)
 
     implementation(project(":common:storage"))
+    implementation(project(":common:utils"))
 
     api(Dependencies.Otel.sdk)
     api(Dependencies.Otel.exporterOtlpCommon)
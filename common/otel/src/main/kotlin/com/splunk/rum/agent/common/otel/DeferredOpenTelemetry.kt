@@ -0,0 +1,386 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.otel
+
+import com.splunk.rum.common.logger.Logger
+import com.splunk.rum.common.utils.extensions.forEachFast
+import io.opentelemetry.api.OpenTelemetry
+import io.opentelemetry.api.common.AttributeKey
+import io.opentelemetry.api.common.Attributes
+import io.opentelemetry.api.common.Value
+import io.opentelemetry.api.logs.LogRecordBuilder
+import io.opentelemetry.api.logs.Logger as OtelLogger
+import io.opentelemetry.api.logs.LoggerBuilder
+import io.opentelemetry.api.logs.LoggerProvider
+import io.opentelemetry.api.logs.Severity
+import io.opentelemetry.api.metrics.MeterProvider
+import io.opentelemetry.api.trace.Span
+import io.opentelemetry.api.trace.SpanBuilder
+import io.opentelemetry.api.trace.SpanContext
+import io.opentelemetry.api.trace.SpanKind
+import io.opentelemetry.api.trace.StatusCode
+import io.opentelemetry.api.trace.Tracer
+import io.opentelemetry.api.trace.TracerBuilder
+import io.opentelemetry.api.trace.TracerProvider
+import io.opentelemetry.context.Context
+import io.opentelemetry.context.propagation.ContextPropagators
+import io.opentelemetry.sdk.common.Clock
+import java.time.Instant
+import java.util.concurrent.TimeUnit
+
+/**
+ * [OpenTelemetry] handed out while the SDK is built in the background.
+ *
+ * Until [setDelegate] is called, spans and log records are buffered, up to [MAX_BUFFERED_ITEMS] of them,
+ * with the timestamps and context of their original calls. They are replayed into the SDK once it is set,
+ * so its processors see them at that point. From then on, every call goes straight to the SDK.
+ *
+ * Metrics are not buffered: the meter provider is a no-op one until the SDK is set.
+ */
+class DeferredOpenTelemetry(private val propagators: ContextPropagators) : OpenTelemetry {
+
+    /** The SDK every call goes to, null until [setDelegate] is called. */
+    @Volatile
+    var delegate: OpenTelemetry? = null
+        private set
+
+    private val lock = Any()
+    private val buffer = ArrayList<(OpenTelemetry) -> Unit>()
+    private var droppedCount = 0
+    private val clock = Clock.getDefault()
+
+    private val tracerProvider = DeferredTracerProvider()
+    private val loggerProvider = DeferredLoggerProvider()
+
+    /**
+     * Replays the buffered spans and log records into [openTelemetry], then forwards every call to it.
+     * Can be called only once.
+     */
+    fun setDelegate(openTelemetry: OpenTelemetry) {
+        val dropped = synchronized(lock) {
+            check(delegate == null) { "The delegate is already set" }
+
+            buffer.forEachFast { it(openTelemetry) }
+            buffer.clear()
+            delegate = openTelemetry
+
+            droppedCount
+        }
+
+        if (dropped > 0) {
+            Logger.w(TAG) { "setDelegate(): $dropped spans and log records were dropped before the SDK was ready" }
+        }
+    }
+
+    override fun getTracerProvider(): TracerProvider = tracerProvider
+
+    override fun getLogsBridge(): LoggerProvider = loggerProvider
+
+    override fun getMeterProvider(): MeterProvider = delegate?.meterProvider ?: MeterProvider.noop()
+
+    override fun getPropagators(): ContextPropagators = propagators
+
+    /**
+     * Buffers [replay] unless the delegate is set or the buffer is full. Returns false when it was not
+     * buffered, the caller then uses the delegate or drops its item if there is none.
+     */
+    private fun enqueue(replay: (OpenTelemetry) -> Unit): Boolean = synchronized(lock) {
+        when {
+            delegate != null -> false
+            buffer.size >= MAX_BUFFERED_ITEMS -> {
+                droppedCount++
+                false
+            }
+            else -> buffer.add(replay)
+        }
+    }
+
+    private inner class DeferredTracerProvider : TracerProvider {
+
+        override fun get(instrumentationScopeName: String): Tracer = tracerBuilder(instrumentationScopeName).build()
+
+        override fun get(instrumentationScopeName: String, instrumentationScopeVersion: String): Tracer =
+            tracerBuilder(instrumentationScopeName).setInstrumentationVersion(instrumentationScopeVersion).build()
+
+        override fun tracerBuilder(instrumentationScopeName: String): TracerBuilder =
+            DeferredTracerBuilder(instrumentationScopeName)
+    }
+
+    private inner class DeferredTracerBuilder(private val scopeName: String) : TracerBuilder {
+        private var schemaUrl: String? = null
+        private var version: String? = null
+
+        override fun setSchemaUrl(schemaUrl: String): TracerBuilder = apply { this.schemaUrl = schemaUrl }
+
+        override fun setInstrumentationVersion(instrumentationScopeVersion: String): TracerBuilder =
+            apply { version = instrumentationScopeVersion }
+
+        override fun build(): Tracer {
+            val tracer = DeferredTracer(scopeName, schemaUrl, version)
+            return delegate?.let(tracer::resolve) ?: tracer
+        }
+    }
+
+    private inner class DeferredTracer(
+        private val scopeName: String,
+        private val schemaUrl: String?,
+        private val version: String?
+    ) : Tracer {
+
+        fun resolve(openTelemetry: OpenTelemetry): Tracer = openTelemetry.tracerBuilder(scopeName).apply {
+            schemaUrl?.let(::setSchemaUrl)
+            version?.let(::setInstrumentationVersion)
+        }.build()
+
+        override fun spanBuilder(spanName: String): SpanBuilder {
+            val delegate = delegate ?: return BufferedSpanBuilder(this, spanName)
+            return resolve(delegate).spanBuilder(spanName)
+        }
+    }
+
+    private inner class BufferedSpanBuilder(private val tracer: DeferredTracer, private val spanName: String) :
+        SpanBuilder {
+
+        private val operations = ArrayList<(SpanBuilder) -> Unit>()
+        private var parent: Context? = null
+        private var isNoParent = false
+        private var startEpochNanos: Long? = null
+
+        override fun setParent(context: Context): SpanBuilder = apply {
+            parent = context
+            isNoParent = false
+        }
+
+        override fun setNoParent(): SpanBuilder = apply {
+            parent = null
+            isNoParent = true
+        }
+
+        override fun addLink(spanContext: SpanContext): SpanBuilder = record { it.addLink(spanContext) }
+
+        override fun addLink(spanContext: SpanContext, attributes: Attributes): SpanBuilder =
+            record { it.addLink(spanContext, attributes) }
+
+        override fun setAttribute(key: String, value: String): SpanBuilder = record { it.setAttribute(key, value) }
+
+        override fun setAttribute(key: String, value: Long): SpanBuilder = record { it.setAttribute(key, value) }
+
+        override fun setAttribute(key: String, value: Double): SpanBuilder = record { it.setAttribute(key, value) }
+
+        override fun setAttribute(key: String, value: Boolean): SpanBuilder = record { it.setAttribute(key, value) }
+
+        override fun <T> setAttribute(key: AttributeKey<T>, value: T): SpanBuilder =
+            record { it.setAttribute(key, value) }
+
+        override fun setSpanKind(spanKind: SpanKind): SpanBuilder = record { it.setSpanKind(spanKind) }
+
+        override fun setStartTimestamp(startTimestamp: Long, unit: TimeUnit): SpanBuilder =
+            apply { startEpochNanos = unit.toNanos(startTimestamp) }
+
+        override fun startSpan(): Span {
+            // The parent is resolved now, the span is replayed on another thread.
+            val parent = if (isNoParent) null else parent ?: Context.current()
+            val span = BufferedSpan(this, parent, startEpochNanos ?: clock.now())
+
+            if (enqueue(span::replay)) {
+                return span
+            }
+
+            val delegate = delegate ?: return Span.getInvalid()
+            span.replay(delegate)
+            return span
+        }
+
+        fun start(openTelemetry: OpenTelemetry, parent: Context?, startEpochNanos: Long): Span {
+            val builder = tracer.resolve(openTelemetry).spanBuilder(spanName)
+
+            if (parent == null) builder.setNoParent() else builder.setParent(parent)
+            operations.forEachFast { it(builder) }
+
+            return builder.setStartTimestamp(startEpochNanos, TimeUnit.NANOSECONDS).startSpan()
+        }
+
+        private fun record(operation: (SpanBuilder) -> Unit): SpanBuilder = apply { operations += operation }
+    }
+
+    /**
+     * Span started before the SDK is set. Its operations are recorded, with their timestamps, and applied
+     * to the real span once it is replayed. Its span context is invalid until then.
+     */
+    private inner class BufferedSpan(
+        private val builder: BufferedSpanBuilder,
+        private val parent: Context?,
+        private val startEpochNanos: Long
+    ) : Span {
+
+        private val operations = ArrayList<(Span) -> Unit>()
+        private var span: Span? = null
+        private var isEnded = false
+
+        fun replay(openTelemetry: OpenTelemetry) {
+            val span = builder.start(openTelemetry, parent, startEpochNanos)
+
+            synchronized(this) {
+                operations.forEachFast { it(span) }
+                operations.clear()
+                this.span = span
+            }
+        }
+
+        override fun <T> setAttribute(key: AttributeKey<T>, value: T): Span = record { it.setAttribute(key, value) }
+
+        override fun addEvent(name: String, attributes: Attributes): Span =
+            addEvent(name, attributes, clock.now(), TimeUnit.NANOSECONDS)
+
+        override fun addEvent(name: String, attributes: Attributes, timestamp: Long, unit: TimeUnit): Span =
+            record { it.addEvent(name, attributes, timestamp, unit) }
+
+        override fun setStatus(statusCode: StatusCode, description: String): Span =
+            record { it.setStatus(statusCode, description) }
+
+        override fun recordException(exception: Throwable, additionalAttributes: Attributes): Span =
+            record { it.recordException(exception, additionalAttributes) }
+
+        override fun updateName(name: String): Span = record { it.updateName(name) }
+
+        override fun addLink(spanContext: SpanContext, attributes: Attributes): Span =
+            record { it.addLink(spanContext, attributes) }
+
+        override fun end() {
+            end(clock.now(), TimeUnit.NANOSECONDS)
+        }
+
+        override fun end(timestamp: Long, unit: TimeUnit) {
+            synchronized(this) { isEnded = true }
+            record { it.end(timestamp, unit) }
+        }
+
+        override fun getSpanContext(): SpanContext =
+            synchronized(this) { span }?.spanContext ?: SpanContext.getInvalid()
+
+        override fun isRecording(): Boolean = synchronized(this) { span?.isRecording ?: !isEnded }
+
+        private fun record(operation: (Span) -> Unit): Span {
+            val span = synchronized(this) {
+                span.also { if (it == null) operations += operation }
+            }
+
+            span?.let(operation)
+            return this
+        }
+    }
+
+    private inner class DeferredLoggerProvider : LoggerProvider {
+
+        override fun loggerBuilder(instrumentationScopeName: String): LoggerBuilder =
+            DeferredLoggerBuilder(instrumentationScopeName)
+    }
+
+    private inner class DeferredLoggerBuilder(private val scopeName: String) : LoggerBuilder {
+        private var schemaUrl: String? = null
+        private var version: String? = null
+
+        override fun setSchemaUrl(schemaUrl: String): LoggerBuilder = apply { this.schemaUrl = schemaUrl }
+
+        override fun setInstrumentationVersion(instrumentationScopeVersion: String): LoggerBuilder =
+            apply { version = instrumentationScopeVersion }
+
+        override fun build(): OtelLogger {
+            val logger = DeferredLogger(scopeName, schemaUrl, version)
+            return delegate?.let(logger::resolve) ?: logger
+        }
+    }
+
+    private inner class DeferredLogger(
+        private val scopeName: String,
+        private val schemaUrl: String?,
+        private val version: String?
+    ) : OtelLogger {
+
+        fun resolve(openTelemetry: OpenTelemetry): OtelLogger =
+            openTelemetry.logsBridge.loggerBuilder(scopeName).apply {
+                schemaUrl?.let(::setSchemaUrl)
+                version?.let(::setInstrumentationVersion)
+            }.build()
+
+        override fun logRecordBuilder(): LogRecordBuilder {
+            val delegate = delegate ?: return BufferedLogRecordBuilder(this)
+            return resolve(delegate).logRecordBuilder()
+        }
+    }
+
+    private inner class BufferedLogRecordBuilder(private val logger: DeferredLogger) : LogRecordBuilder {
+        private val operations = ArrayList<(LogRecordBuilder) -> Unit>()
+        private var context: Context? = null
+        private var hasObservedTimestamp = false
+
+        override fun setTimestamp(timestamp: Long, unit: TimeUnit): LogRecordBuilder =
+            record { it.setTimestamp(timestamp, unit) }
+
+        override fun setTimestamp(instant: Instant): LogRecordBuilder = record { it.setTimestamp(instant) }
+
+        override fun setObservedTimestamp(timestamp: Long, unit: TimeUnit): LogRecordBuilder {
+            hasObservedTimestamp = true
+            return record { it.setObservedTimestamp(timestamp, unit) }
+        }
+
+        override fun setObservedTimestamp(instant: Instant): LogRecordBuilder {
+            hasObservedTimestamp = true
+            return record { it.setObservedTimestamp(instant) }
+        }
+
+        override fun setContext(context: Context): LogRecordBuilder = apply { this.context = context }
+
+        override fun setSeverity(severity: Severity): LogRecordBuilder = record { it.setSeverity(severity) }
+
+        override fun setSeverityText(severityText: String): LogRecordBuilder =
+            record { it.setSeverityText(severityText) }
+
+        override fun setBody(body: String): LogRecordBuilder = record { it.setBody(body) }
+
+        override fun setBody(body: Value<*>): LogRecordBuilder = record { it.setBody(body) }
+
+        override fun <T> setAttribute(key: AttributeKey<T>, value: T): LogRecordBuilder =
+            record { it.setAttribute(key, value) }
+
+        override fun emit() {
+            // The context and the observed timestamp are resolved now, the record is replayed on another thread.
+            val context = context ?: Context.current()
+            val observedEpochNanos = if (hasObservedTimestamp) null else clock.now()
+
+            val replay: (OpenTelemetry) -> Unit = { openTelemetry ->
+                val builder = logger.resolve(openTelemetry).logRecordBuilder().setContext(context)
+                observedEpochNanos?.let { builder.setObservedTimestamp(it, TimeUnit.NANOSECONDS) }
+                operations.forEachFast { it(builder) }
+                builder.emit()
+            }
+
+            if (!enqueue(replay)) {
+                delegate?.let(replay)
+            }
+        }
+
+        private fun record(operation: (LogRecordBuilder) -> Unit): LogRecordBuilder = apply { operations += operation }
+    }
+
+    private companion object {
+        private const val TAG = "DeferredOpenTelemetry"
+
+        /** Spans and log records buffered at most before the SDK is set, the later ones are dropped. */
+        private const val MAX_BUFFERED_ITEMS = 1024
+    }
+}
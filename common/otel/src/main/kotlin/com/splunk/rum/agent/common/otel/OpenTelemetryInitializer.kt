@@ -17,7 +17,10 @@
 package com.splunk.rum.agent.common.otel
 
 import android.app.Application
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
 import com.splunk.rum.agent.common.otel.logRecord.AndroidLogRecordExporter
+import com.splunk.rum.agent.common.otel.logRecord.ScopeExcludingLogRecordProcessor
+import com.splunk.rum.agent.common.otel.logRecord.SessionReplayLogRecordProcessor
 import com.splunk.rum.agent.common.otel.span.AndroidSpanExporter
 import com.splunk.rum.agent.common.otel.span.SpanInterceptorExporter
 import com.splunk.rum.agent.common.storage.AgentStorage
@@ -46,6 +49,7 @@ class OpenTelemetryInitializer(
 
     private val spanProcessors: MutableList<SpanProcessor> = mutableListOf()
     private val logRecordProcessors: MutableList<LogRecordProcessor> = mutableListOf()
+    private val sessionReplayLogRecordProcessor: LogRecordProcessor
 
     init {
         val agentStorage = AgentStorage.attach(application)
@@ -67,20 +71,24 @@ class OpenTelemetryInitializer(
 
         spanProcessors += BatchSpanProcessor.builder(spanExporter).build()
 
-        logRecordProcessors += BatchLogRecordProcessor.builder(
-            AndroidLogRecordExporter(
-                agentStorage = agentStorage,
-                jobManager = jobManager,
-                jobIdStorage = jobIdStorage
-            )
-        ).build()
+        // Session Replay chunks bypass the batch queue, they are written by their own processor.
+        logRecordProcessors += ScopeExcludingLogRecordProcessor(
+            BatchLogRecordProcessor.builder(AndroidLogRecordExporter(agentStorage)).build(),
+            GlobalRumConstants.SESSION_REPLAY_INSTRUMENTATION_SCOPE_NAME
+        )
+
+        sessionReplayLogRecordProcessor = SessionReplayLogRecordProcessor(
+            agentStorage = agentStorage,
+            jobManager = jobManager,
+            jobIdStorage = jobIdStorage
+        )
     }
 
     fun build(global: Boolean = false): OpenTelemetrySdk {
         val instance = OpenTelemetrySdk.builder()
             .setTracerProvider(createTracerProvider())
             .setLoggerProvider(createLoggerProvider())
-            .setPropagators(createPropagators())
+            .setPropagators(propagators)
 
         val sdk = if (global) instance.buildAndRegisterGlobal() else instance.build()
 
@@ -119,14 +127,20 @@ class OpenTelemetryInitializer(
 
         logRecordProcessors.forEach { builder.addLogRecordProcessor(it) }
 
+        // Registered last, so the Session Replay records carry the attributes added by the other processors.
+        builder.addLogRecordProcessor(sessionReplayLogRecordProcessor)
+
         return builder.build()
     }
 
-    private fun createPropagators(): ContextPropagators {
-        val propagator = TextMapPropagator.composite(
-            W3CTraceContextPropagator.getInstance(),
-            W3CBaggagePropagator.getInstance()
+    companion object {
+
+        /** The W3C trace context and baggage propagators of the SDK. */
+        val propagators: ContextPropagators = ContextPropagators.create(
+            TextMapPropagator.composite(
+                W3CTraceContextPropagator.getInstance(),
+                W3CBaggagePropagator.getInstance()
+            )
         )
-        return ContextPropagators.create(propagator)
     }
 }
@@ -16,10 +16,19 @@
 
 package com.splunk.rum.agent.common.otel
 
+import io.opentelemetry.api.OpenTelemetry
 import io.opentelemetry.sdk.OpenTelemetrySdk
 
 object SplunkOpenTelemetrySdk {
     var instance: OpenTelemetrySdk? = null
+
+    /**
+     * The agent's [OpenTelemetry], usable before [instance] is built (see [DeferredOpenTelemetry]).
+     * Falls back to [instance] when not set.
+     */
+    var openTelemetry: OpenTelemetry? = null
+        get() = field ?: instance
+
     val listeners: MutableCollection<Listener> = HashSet()
 
     fun shutdown() {
@@ -27,6 +36,7 @@ object SplunkOpenTelemetrySdk {
 
         instance?.shutdown()
         instance = null
+        openTelemetry = null
     }
 
     interface Listener {
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.otel.http.metrics
+
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import com.splunk.rum.agent.common.otel.metrics.BoundedAggregationMap
+import com.splunk.rum.agent.common.otel.metrics.LatencyHistogram
+import com.splunk.rum.agent.common.utils.runOnMainThread
+import com.splunk.rum.common.logger.Logger
+import com.splunk.rum.common.utils.AppStateObserver
+import com.splunk.rum.common.utils.thread.NamedThreadFactory
+import io.opentelemetry.api.common.AttributeKey
+import io.opentelemetry.api.trace.Tracer
+import io.opentelemetry.semconv.HttpAttributes
+import io.opentelemetry.semconv.ServerAttributes
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+
+/**
+ * Aggregates HTTP client requests into per-window latency histograms and counters keyed by
+ * method, host, route and status class, and flushes them as one compact summary span per key.
+ *
+ * Requests that failed, finished with a 4xx/5xx status or took at least [slowThresholdMillis] are
+ * still counted, [record] additionally tells the caller to report them as a regular span. All
+ * durations are in milliseconds.
+ *
+ * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+ * any time.
+ */
+class HttpMetricsAggregator @JvmOverloads constructor(
+    private val tracer: Tracer,
+    private val slowThresholdMillis: Long,
+    private val maxKeys: Int = DEFAULT_MAX_KEYS
+) {
+
+    private val lock = Any()
+    private val entries = BoundedAggregationMap<Key, Entry>(maxKeys, { Entry() }) { key ->
+        Key(null, null, OVERFLOW_ROUTE, key.statusClass)
+    }
+    private var windowStartMillis = System.currentTimeMillis()
+    private var scheduler: ScheduledExecutorService? = null
+
+    /**
+     * Records a finished request.
+     *
+     * @param statusCode HTTP status code, or a value <= 0 when no response was received.
+     * @return `true` when the request is an error or a slow outlier and should also be reported as a span.
+     */
+    fun record(
+        method: String?,
+        host: String?,
+        route: String?,
+        statusCode: Int,
+        durationMillis: Long,
+        error: Throwable?
+    ): Boolean {
+        val statusClass = if (statusCode in 100..599) statusCode / 100 else 0
+        val isError = error != null || statusClass == 0 || statusClass >= 4
+
+        synchronized(lock) {
+            val entry = entries.entry(Key(method, host, route, statusClass))
+            entry.histogram.record(durationMillis)
+            if (isError) {
+                entry.errorCount++
+            }
+        }
+
+        return isError || durationMillis >= slowThresholdMillis
+    }
+
+    /**
+     * Emits a summary span for every key recorded since the previous flush and starts a new window.
+     */
+    fun flush() {
+        val flushed: Map<Key, Entry>
+        val startMillis: Long
+        val endMillis = System.currentTimeMillis()
+
+        synchronized(lock) {
+            startMillis = windowStartMillis
+            windowStartMillis = endMillis
+            if (entries.isEmpty()) {
+                return
+            }
+            flushed = entries.drain()
+        }
+
+        Logger.d(TAG) { "flush() - reporting ${flushed.size} summaries" }
+
+        for ((key, entry) in flushed) {
+            report(key, entry, startMillis, endMillis)
+        }
+    }
+
+    /**
+     * Flushes every [intervalMillis] and whenever the app goes to the background.
+     */
+    fun startPeriodicFlush(intervalMillis: Long) {
+        synchronized(lock) {
+            if (scheduler != null) {
+                return
+            }
+
+            scheduler = Executors.newSingleThreadScheduledExecutor(NamedThreadFactory("httpMetrics")).apply {
+                scheduleWithFixedDelay(::flushSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS)
+            }
+        }
+
+        // Started by the HTTP instrumentations, which are installed in the background.
+        runOnMainThread {
+            AppStateObserver.listeners += AppStateObserverListener()
+        }
+    }
+
+    private fun flushSafely() {
+        try {
+            flush()
+        } catch (e: Exception) {
+            Logger.e(TAG, "flush() failed", e)
+        }
+    }
+
+    private fun report(key: Key, entry: Entry, startMillis: Long, endMillis: Long) {
+        val histogram = entry.histogram
+
+        val spanBuilder = tracer.spanBuilder(HTTP_SUMMARY_SPAN_NAME)
+            .setStartTimestamp(startMillis, TimeUnit.MILLISECONDS)
+            .setAttribute(GlobalRumConstants.COMPONENT_KEY, GlobalRumConstants.COMPONENT_HTTP)
+            .setAttribute(COUNT_KEY, histogram.count)
+            .setAttribute(ERROR_COUNT_KEY, entry.errorCount)
+            .setAttribute(DURATION_MIN_KEY, histogram.min)
+            .setAttribute(DURATION_MAX_KEY, histogram.max)
+            .setAttribute(DURATION_SUM_KEY, histogram.sum)
+            .setAttribute(DURATION_P50_KEY, histogram.valueAtPercentile(50.0))
+            .setAttribute(DURATION_P90_KEY, histogram.valueAtPercentile(90.0))
+            .setAttribute(DURATION_P99_KEY, histogram.valueAtPercentile(99.0))
+
+        key.method?.let { spanBuilder.setAttribute(HttpAttributes.HTTP_REQUEST_METHOD, it) }
+        key.host?.let { spanBuilder.setAttribute(ServerAttributes.SERVER_ADDRESS, it) }
+        key.route?.let { spanBuilder.setAttribute(GlobalRumConstants.URL_TEMPLATE_KEY, it) }
+        if (key.statusClass > 0) {
+            spanBuilder.setAttribute(STATUS_CLASS_KEY, "${key.statusClass}xx")
+        }
+
+        spanBuilder.startSpan().end(endMillis, TimeUnit.MILLISECONDS)
+    }
+
+    private data class Key(val method: String?, val host: String?, val route: String?, val statusClass: Int)
+
+    private class Entry {
+        val histogram = LatencyHistogram()
+        var errorCount = 0L
+    }
+
+    private inner class AppStateObserverListener : AppStateObserver.Listener {
+
+        override fun onAppStarted() = Unit
+
+        override fun onAppForegrounded() = Unit
+
+        override fun onAppBackgrounded() {
+            scheduler?.execute(::flushSafely)
+        }
+
+        override fun onAppClosed() = onAppBackgrounded()
+    }
+
+    companion object {
+        private const val TAG = "HttpMetricsAggregator"
+
+        const val HTTP_SUMMARY_SPAN_NAME = "httpSummary"
+        const val OVERFLOW_ROUTE = BoundedAggregationMap.OVERFLOW
+
+        private const val DEFAULT_MAX_KEYS = 200
+
+        val COUNT_KEY: AttributeKey<Long> = AttributeKey.longKey("http.summary.count")
+        val ERROR_COUNT_KEY: AttributeKey<Long> = AttributeKey.longKey("http.summary.error_count")
+        val DURATION_MIN_KEY: AttributeKey<Long> = AttributeKey.longKey("http.summary.duration.min")
+        val DURATION_MAX_KEY: AttributeKey<Long> = AttributeKey.longKey("http.summary.duration.max")
+        val DURATION_SUM_KEY: AttributeKey<Long> = AttributeKey.longKey("http.summary.duration.sum")
+        val DURATION_P50_KEY: AttributeKey<Long> = AttributeKey.longKey("http.summary.duration.p50")
+        val DURATION_P90_KEY: AttributeKey<Long> = AttributeKey.longKey("http.summary.duration.p90")
+        val DURATION_P99_KEY: AttributeKey<Long> = AttributeKey.longKey("http.summary.duration.p99")
+        val STATUS_CLASS_KEY: AttributeKey<String> = AttributeKey.stringKey("http.response.status_class")
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.otel.http.route
+
+/**
+ * Maps URL paths to low-cardinality route templates, e.g. `/users/42/orders` to `/users/{id}/orders`.
+ *
+ * A path is first matched against the configured [templates], where a `{name}` segment matches any
+ * single path segment. Paths that match no template have their numeric, UUID and long hexadecimal
+ * segments replaced by `{id}`, `{uuid}` and `{hex}`. Results are kept in an LRU cache so a repeated
+ * path costs a single hash lookup.
+ *
+ * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+ * any time.
+ */
+class HttpRouteNormalizer @JvmOverloads constructor(
+    templates: List<String> = emptyList(),
+    private val cacheSize: Int = DEFAULT_CACHE_SIZE
+) {
+
+    private val templates: List<Template> = templates.map(::Template)
+
+    private val cache = object : LinkedHashMap<String, String>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, String>?): Boolean = size > cacheSize
+    }
+
+    /**
+     * Whether any template has been configured.
+     */
+    val hasTemplates: Boolean
+        get() = templates.isNotEmpty()
+
+    fun normalize(path: String): String {
+        synchronized(cache) {
+            cache[path]?.let { return it }
+        }
+
+        val route = compute(path)
+
+        synchronized(cache) {
+            cache[path] = route
+        }
+
+        return route
+    }
+
+    private fun compute(path: String): String {
+        if (path.isEmpty()) return "/"
+
+        val segments = path.split('/')
+
+        for (template in templates) {
+            if (template.matches(segments)) {
+                return template.route
+            }
+        }
+
+        val builder = StringBuilder(path.length)
+        for (index in segments.indices) {
+            if (index > 0) builder.append('/')
+            builder.append(normalizeSegment(segments[index]))
+        }
+        return builder.toString()
+    }
+
+    private class Template(val route: String) {
+        private val segments = route.split('/')
+
+        fun matches(pathSegments: List<String>): Boolean {
+            if (pathSegments.size != segments.size) return false
+
+            for (index in segments.indices) {
+                val segment = segments[index]
+                val isParameter = segment.length > 2 && segment.first() == '{' && segment.last() == '}'
+                if (isParameter) {
+                    if (pathSegments[index].isEmpty()) return false
+                } else if (segment != pathSegments[index]) {
+                    return false
+                }
+            }
+            return true
+        }
+    }
+
+    internal companion object {
+        private const val DEFAULT_CACHE_SIZE = 256
+        private const val UUID_LENGTH = 36
+        private const val MIN_HEX_LENGTH = 16
+
+        const val ID_PLACEHOLDER = "{id}"
+        const val UUID_PLACEHOLDER = "{uuid}"
+        const val HEX_PLACEHOLDER = "{hex}"
+
+        fun normalizeSegment(segment: String): String = when {
+            segment.isEmpty() -> segment
+            segment.all { it in '0'..'9' } -> ID_PLACEHOLDER
+            isUuid(segment) -> UUID_PLACEHOLDER
+            isHex(segment) -> HEX_PLACEHOLDER
+            else -> segment
+        }
+
+        private fun isUuid(segment: String): Boolean {
+            if (segment.length != UUID_LENGTH) return false
+
+            for (index in segment.indices) {
+                val char = segment[index]
+                val isDashPosition = index == 8 || index == 13 || index == 18 || index == 23
+                if (isDashPosition) {
+                    if (char != '-') return false
+                } else if (!isHexChar(char)) {
+                    return false
+                }
+            }
+            return true
+        }
+
+        private fun isHex(segment: String): Boolean {
+            if (segment.length < MIN_HEX_LENGTH) return false
+
+            var hasDigit = false
+            for (char in segment) {
+                if (!isHexChar(char)) return false
+                if (char in '0'..'9') hasDigit = true
+            }
+            return hasDigit
+        }
+
+        private fun isHexChar(char: Char): Boolean = char in '0'..'9' || char in 'a'..'f' || char in 'A'..'F'
+    }
+}
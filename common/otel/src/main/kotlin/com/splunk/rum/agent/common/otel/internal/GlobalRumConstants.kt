@@ -78,6 +78,15 @@ object GlobalRumConstants {
     val EXCEPTION_TYPE_KEY: AttributeKey<String> = AttributeKey.stringKey("exception.type")
     val EXCEPTION_MESSAGE_KEY: AttributeKey<String> = AttributeKey.stringKey("exception.message")
     val EXCEPTION_STACKTRACE_KEY: AttributeKey<String> = AttributeKey.stringKey("exception.stacktrace")
+    val EXCEPTION_FINGERPRINT_KEY: AttributeKey<String> = AttributeKey.stringKey("exception.fingerprint")
+    val EXCEPTION_OCCURRENCE_COUNT_KEY: AttributeKey<Long> = AttributeKey.longKey("exception.occurrence_count")
+
+    /**
+     * Runtime vitals sampled before a crash or an ANR, oldest first. Samples are separated by `;`,
+     * each one is `age_ms,heap_used_kb,heap_max_kb,native_heap_kb,threads,fds,cpu_ms,trim_level`
+     * where `age_ms` is the time between the sample and the report, `-1` marks an unavailable value.
+     */
+    val RUNTIME_VITALS_KEY: AttributeKey<String> = AttributeKey.stringKey("runtime.vitals")
 
     /**
      * Network headers.
@@ -91,4 +100,5 @@ object GlobalRumConstants {
     val LINK_TRACE_ID_KEY: AttributeKey<String> = AttributeKey.stringKey("link.traceId")
     val HTTP_REQUEST_BODY_SIZE: AttributeKey<Long> = AttributeKey.longKey("http.request.body.size")
     val HTTP_RESPONSE_BODY_SIZE: AttributeKey<Long> = AttributeKey.longKey("http.response.body.size")
+    val URL_TEMPLATE_KEY: AttributeKey<String> = AttributeKey.stringKey("url.template")
 }
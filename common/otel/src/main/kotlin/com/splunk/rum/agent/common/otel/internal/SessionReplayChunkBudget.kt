@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.otel.internal
+
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Memory budget of the session replay chunks that were emitted but are not written to the storage yet.
+ *
+ * The session replay log record processor acquires the size of a chunk when it is emitted and
+ * releases it once the chunk is written. The recorder checks whether a chunk [fits] before emitting
+ * it, to lower its recording quality instead of producing chunks that would be dropped.
+ *
+ * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+ * any time.
+ */
+class SessionReplayChunkBudget(val maxBytes: Long) {
+
+    private val pending = AtomicLong()
+
+    val pendingBytes: Long
+        get() = pending.get()
+
+    /**
+     * Whether [bytes] would currently be acquired by [tryAcquire].
+     */
+    fun fits(bytes: Long): Boolean = fits(pending.get(), bytes)
+
+    /**
+     * Reserves [bytes], or returns false when they do not fit into [maxBytes]. A chunk larger than the
+     * whole budget is accepted when nothing is pending, so it is never starved.
+     */
+    fun tryAcquire(bytes: Long): Boolean {
+        while (true) {
+            val current = pending.get()
+            if (!fits(current, bytes)) {
+                return false
+            }
+            if (pending.compareAndSet(current, current + bytes)) {
+                return true
+            }
+        }
+    }
+
+    fun release(bytes: Long) {
+        while (true) {
+            val current = pending.get()
+            if (pending.compareAndSet(current, (current - bytes).coerceAtLeast(0L))) {
+                return
+            }
+        }
+    }
+
+    private fun fits(current: Long, bytes: Long): Boolean = current == 0L || current + bytes <= maxBytes
+
+    companion object {
+        private const val DEFAULT_MAX_BYTES = 4L * 1024L * 1024L
+
+        val instance = SessionReplayChunkBudget(DEFAULT_MAX_BYTES)
+    }
+}
@@ -21,13 +21,9 @@ import com.splunk.rum.agent.common.otel.SplunkOpenTelemetrySdk
 import com.splunk.rum.agent.common.otel.extensions.createZeroLengthSpan
 import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
 import com.splunk.rum.agent.common.storage.IAgentStorage
-import com.splunk.rum.common.job.IJobManager
-import com.splunk.rum.common.job.JobIdStorage
-import com.splunk.rum.common.job.JobResult
 import io.opentelemetry.api.trace.Span
 import io.opentelemetry.api.trace.SpanKind
 import io.opentelemetry.context.Context
-import io.opentelemetry.exporter.internal.otlp.logs.LogsRequestMarshaler
 import io.opentelemetry.exporter.internal.otlp.traces.TraceRequestMarshaler
 import io.opentelemetry.sdk.common.CompletableResultCode
 import io.opentelemetry.sdk.logs.data.LogRecordData
@@ -40,48 +36,13 @@ import java.util.concurrent.TimeUnit
 
 /**
  * This Exporter is added to Otel by default, it handles the offline/persistance.
+ *
+ * Session Replay log records do not reach it, they are written by [SessionReplayLogRecordProcessor].
  */
-internal class AndroidLogRecordExporter(
-    private val agentStorage: IAgentStorage,
-    private val jobManager: IJobManager,
-    private val jobIdStorage: JobIdStorage
-) : LogRecordExporter {
+internal class AndroidLogRecordExporter(private val agentStorage: IAgentStorage) : LogRecordExporter {
 
     override fun export(logs: MutableCollection<LogRecordData>): CompletableResultCode {
-        val sessionReplayLogs =
-            logs.filter {
-                it.instrumentationScopeInfo.name ==
-                    GlobalRumConstants.SESSION_REPLAY_INSTRUMENTATION_SCOPE_NAME
-            }
-        val generalLogs =
-            logs.filter {
-                it.instrumentationScopeInfo.name !=
-                    GlobalRumConstants.SESSION_REPLAY_INSTRUMENTATION_SCOPE_NAME
-            }
-
-        // We need special handling of Session Replay data because of the current state of the backend implementation.
-        if (sessionReplayLogs.isNotEmpty()) {
-            val exportRequest = LogsRequestMarshaler.create(sessionReplayLogs)
-            val id = UUID.randomUUID().toString()
-
-            // Save data to our storage.
-            ByteArrayOutputStream().use {
-                exportRequest.writeBinaryTo(it)
-                agentStorage.writeOtelSessionReplayData(id, it.toByteArray())
-            }
-
-            val config = agentStorage.readEndpointConfig()
-
-            if (config?.sessionReplayBaseUrl == null) {
-                agentStorage.addBufferedSessionReplayId(id)
-            } else {
-                // Schedule immediate upload and flush any buffered session replay
-                jobManager.scheduleJob(UploadSessionReplayData(id, jobIdStorage))
-                flushBufferedSessionReplayIds()
-            }
-        }
-
-        generalLogs.forEach { log ->
+        logs.forEach { log ->
             val parentContext = Context.current()
             val activeSpan = Span.fromContextOrNull(parentContext)
 
@@ -168,25 +129,7 @@ internal class AndroidLogRecordExporter(
         return CompletableResultCode.ofSuccess()
     }
 
-    override fun flush(): CompletableResultCode {
-        val config = agentStorage.readEndpointConfig()
-        if (config?.sessionReplayBaseUrl != null) {
-            flushBufferedSessionReplayIds()
-        }
-        return CompletableResultCode.ofSuccess()
-    }
+    override fun flush(): CompletableResultCode = CompletableResultCode.ofSuccess()
 
     override fun shutdown(): CompletableResultCode = CompletableResultCode.ofSuccess()
-
-    private fun flushBufferedSessionReplayIds() {
-        val bufferedIds = agentStorage.getBufferedSessionReplayIds()
-        val failedIds = bufferedIds.filter { id ->
-            val result = jobManager.scheduleJob(UploadSessionReplayData(id, jobIdStorage))
-            when (result) {
-                is JobResult.Failure -> true
-                JobResult.Success -> false
-            }
-        }
-        agentStorage.setBufferedSessionReplayIds(failedIds)
-    }
 }
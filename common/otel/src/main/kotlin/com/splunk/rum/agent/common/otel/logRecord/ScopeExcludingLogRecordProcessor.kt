@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.otel.logRecord
+
+import io.opentelemetry.context.Context
+import io.opentelemetry.sdk.common.CompletableResultCode
+import io.opentelemetry.sdk.logs.LogRecordProcessor
+import io.opentelemetry.sdk.logs.ReadWriteLogRecord
+
+/**
+ * Passes the log records to [delegate], except the ones of the [excludedScopeName] instrumentation scope.
+ */
+internal class ScopeExcludingLogRecordProcessor(
+    private val delegate: LogRecordProcessor,
+    private val excludedScopeName: String
+) : LogRecordProcessor {
+
+    override fun onEmit(context: Context, logRecord: ReadWriteLogRecord) {
+        if (logRecord.toLogRecordData().instrumentationScopeInfo.name != excludedScopeName) {
+            delegate.onEmit(context, logRecord)
+        }
+    }
+
+    override fun shutdown(): CompletableResultCode = delegate.shutdown()
+
+    override fun forceFlush(): CompletableResultCode = delegate.forceFlush()
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.otel.logRecord
+
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import com.splunk.rum.agent.common.otel.internal.SessionReplayChunkBudget
+import com.splunk.rum.agent.common.storage.IAgentStorage
+import com.splunk.rum.common.job.IJobManager
+import com.splunk.rum.common.job.JobIdStorage
+import com.splunk.rum.common.job.JobResult
+import com.splunk.rum.common.logger.Logger
+import com.splunk.rum.common.utils.thread.NamedThreadFactory
+import io.opentelemetry.context.Context
+import io.opentelemetry.exporter.internal.otlp.logs.LogsRequestMarshaler
+import io.opentelemetry.sdk.common.CompletableResultCode
+import io.opentelemetry.sdk.logs.LogRecordProcessor
+import io.opentelemetry.sdk.logs.ReadWriteLogRecord
+import io.opentelemetry.sdk.logs.data.LogRecordData
+import java.nio.ByteBuffer
+import java.util.UUID
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+
+/**
+ * Writes the Session Replay log records to the storage and schedules their upload, so the chunks never wait in the
+ * batch queue of the generic log pipeline.
+ *
+ * Each chunk is marshaled on a dedicated thread directly into its storage file, without an in-memory copy of the
+ * export request. The size of the chunk is acquired from [budget] when it is emitted and released once it is
+ * written; chunks that do not fit into the budget are dropped.
+ *
+ * Must be registered after the processors that add attributes to the records, because the record is captured
+ * when it is emitted.
+ */
+internal class SessionReplayLogRecordProcessor(
+    private val agentStorage: IAgentStorage,
+    private val jobManager: IJobManager,
+    private val jobIdStorage: JobIdStorage,
+    private val budget: SessionReplayChunkBudget = SessionReplayChunkBudget.instance,
+    private val executor: ExecutorService = Executors.newSingleThreadExecutor(NamedThreadFactory("sessionReplayWriter"))
+) : LogRecordProcessor {
+
+    override fun onEmit(context: Context, logRecord: ReadWriteLogRecord) {
+        val log = logRecord.toLogRecordData()
+        if (log.instrumentationScopeInfo.name != GlobalRumConstants.SESSION_REPLAY_INSTRUMENTATION_SCOPE_NAME) {
+            return
+        }
+
+        val size = (log.bodyValue?.value as? ByteBuffer)?.remaining()?.toLong() ?: 0L
+        if (!budget.tryAcquire(size)) {
+            Logger.w(TAG, "onEmit() - session replay chunk dropped, the memory budget is exceeded")
+            return
+        }
+
+        try {
+            executor.execute {
+                try {
+                    write(log)
+                } finally {
+                    budget.release(size)
+                }
+            }
+        } catch (e: RejectedExecutionException) {
+            Logger.w(TAG, "onEmit() - session replay chunk dropped, the processor is shut down")
+            budget.release(size)
+        }
+    }
+
+    override fun forceFlush(): CompletableResultCode {
+        val result = CompletableResultCode()
+        try {
+            executor.execute {
+                if (agentStorage.readEndpointConfig()?.sessionReplayBaseUrl != null) {
+                    flushBufferedSessionReplayIds()
+                }
+                result.succeed()
+            }
+        } catch (e: RejectedExecutionException) {
+            result.succeed()
+        }
+        return result
+    }
+
+    override fun shutdown(): CompletableResultCode {
+        executor.shutdown()
+        return CompletableResultCode.ofSuccess()
+    }
+
+    private fun write(log: LogRecordData) {
+        val id = UUID.randomUUID().toString()
+        val exportRequest = LogsRequestMarshaler.create(listOf(log))
+
+        // Save data to our storage.
+        if (!agentStorage.writeOtelSessionReplayData(id) { exportRequest.writeBinaryTo(it) }) {
+            return
+        }
+
+        val config = agentStorage.readEndpointConfig()
+
+        if (config?.sessionReplayBaseUrl == null) {
+            agentStorage.addBufferedSessionReplayId(id)
+        } else {
+            // Schedule immediate upload and flush any buffered session replay
+            jobManager.scheduleJob(UploadSessionReplayData(id, jobIdStorage))
+            flushBufferedSessionReplayIds()
+        }
+    }
+
+    private fun flushBufferedSessionReplayIds() {
+        val bufferedIds = agentStorage.getBufferedSessionReplayIds()
+        val failedIds = bufferedIds.filter { id ->
+            val result = jobManager.scheduleJob(UploadSessionReplayData(id, jobIdStorage))
+            when (result) {
+                is JobResult.Failure -> true
+                JobResult.Success -> false
+            }
+        }
+        agentStorage.setBufferedSessionReplayIds(failedIds)
+    }
+
+    private companion object {
+        const val TAG = "SessionReplayProcessor"
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.otel.metrics
+
+/**
+ * The entries of one aggregation window, keyed by screen name or any other dimension, with a bounded
+ * number of keys. Once [maxKeys] keys are held, new keys share the entry of their [overflowKey], so a
+ * window holds at most [maxKeys] entries plus the overflow ones. [drain] hands the entries over for
+ * reporting and starts a new window.
+ *
+ * The last used entry is cached, since consecutive records usually share the same key.
+ *
+ * The class is not thread safe, callers are expected to guard it.
+ *
+ * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+ * any time.
+ */
+class BoundedAggregationMap<K, E : Any>(
+    private val maxKeys: Int,
+    private val newEntry: (key: K) -> E,
+    private val overflowKey: (key: K) -> K
+) {
+
+    private var entries = HashMap<K, E>()
+    private var lastKey: K? = null
+    private var lastEntry: E? = null
+
+    val size: Int
+        get() = entries.size
+
+    fun isEmpty(): Boolean = entries.isEmpty()
+
+    /** Returns the entry of [key], creating it, or sharing the overflow entry once the map is full. */
+    fun entry(key: K): E {
+        val last = lastEntry
+        if (last != null && key == lastKey) {
+            return last
+        }
+
+        var entry = entries[key]
+        if (entry == null) {
+            val entryKey = if (entries.size >= maxKeys) overflowKey(key) else key
+            entry = entries[entryKey] ?: newEntry(entryKey).also { entries[entryKey] = it }
+        }
+
+        lastKey = key
+        lastEntry = entry
+        return entry
+    }
+
+    /** Returns the entries recorded so far and starts over with an empty map. */
+    fun drain(): Map<K, E> {
+        val drained = entries
+        entries = HashMap()
+        lastKey = null
+        lastEntry = null
+        return drained
+    }
+
+    companion object {
+
+        /** The key extra screens, routes or other dimensions are reported under. */
+        const val OVERFLOW = "_OTHER"
+
+        /** Creates a map keyed by screen name, extra screens are reported under [OVERFLOW]. */
+        @JvmStatic
+        fun <E : Any> perScreen(
+            maxScreens: Int,
+            newEntry: (screenName: String) -> E
+        ): BoundedAggregationMap<String, E> = BoundedAggregationMap(maxScreens, newEntry) { OVERFLOW }
+    }
+}
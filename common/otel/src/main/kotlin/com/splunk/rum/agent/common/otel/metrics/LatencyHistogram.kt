@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.otel.metrics
+
+/**
+ * Fixed-size latency histogram with log-linear buckets in the spirit of HdrHistogram.
+ *
+ * Values below [LINEAR_LIMIT] get a bucket each; above that every power of two is split into
+ * [SUB_BUCKETS] equal buckets, which bounds the relative error of any reported percentile to
+ * 1 / [SUB_BUCKETS]. Counts live in a single primitive array so recording never allocates.
+ *
+ * The class is not thread safe, callers are expected to guard it.
+ *
+ * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+ * any time.
+ */
+class LatencyHistogram {
+
+    private val counts = IntArray(BUCKET_COUNT)
+
+    var count: Long = 0L
+        private set
+
+    var sum: Long = 0L
+        private set
+
+    var min: Long = Long.MAX_VALUE
+        private set
+
+    var max: Long = 0L
+        private set
+
+    fun record(value: Long) {
+        val clamped = if (value < 0L) 0L else value
+        counts[bucketIndex(clamped)]++
+        count++
+        sum += clamped
+        if (clamped < min) min = clamped
+        if (clamped > max) max = clamped
+    }
+
+    /**
+     * Returns the value at [percentile] (0..100). The result is the upper bound of the bucket the
+     * percentile falls into, clamped to the recorded [min] and [max], or 0 when the histogram is empty.
+     */
+    fun valueAtPercentile(percentile: Double): Long {
+        if (count == 0L) return 0L
+
+        val target = Math.ceil(count * percentile.coerceIn(0.0, 100.0) / 100.0).toLong().coerceAtLeast(1L)
+        var seen = 0L
+        for (index in counts.indices) {
+            seen += counts[index]
+            if (seen >= target) {
+                return bucketUpperBound(index).coerceIn(min, max)
+            }
+        }
+        return max
+    }
+
+    fun reset() {
+        counts.fill(0)
+        count = 0L
+        sum = 0L
+        min = Long.MAX_VALUE
+        max = 0L
+    }
+
+    internal companion object {
+        private const val SUB_BUCKET_BITS = 3
+        private const val SUB_BUCKETS = 1 shl SUB_BUCKET_BITS
+        private const val LINEAR_LIMIT = SUB_BUCKETS * 2
+        private const val LINEAR_BITS = SUB_BUCKET_BITS + 1
+
+        /**
+         * Values of 2^MAX_BITS and above share the last bucket; in milliseconds that is ~4.6 hours.
+         */
+        private const val MAX_BITS = 24
+
+        const val BUCKET_COUNT = LINEAR_LIMIT + (MAX_BITS - LINEAR_BITS) * SUB_BUCKETS
+
+        fun bucketIndex(value: Long): Int {
+            if (value < LINEAR_LIMIT) return value.toInt()
+
+            val magnitude = 63 - java.lang.Long.numberOfLeadingZeros(value)
+            if (magnitude >= MAX_BITS) return BUCKET_COUNT - 1
+
+            val shift = magnitude - SUB_BUCKET_BITS
+            val subBucket = (value ushr shift).toInt() - SUB_BUCKETS
+            return LINEAR_LIMIT + (magnitude - LINEAR_BITS) * SUB_BUCKETS + subBucket
+        }
+
+        fun bucketUpperBound(index: Int): Long {
+            if (index < LINEAR_LIMIT) return index.toLong()
+            if (index == BUCKET_COUNT - 1) return Long.MAX_VALUE
+
+            val magnitude = (index - LINEAR_LIMIT) / SUB_BUCKETS + LINEAR_BITS
+            val subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS
+            val shift = magnitude - SUB_BUCKET_BITS
+            return ((subBucket + 1).toLong() shl shift) - 1L
+        }
+    }
+}
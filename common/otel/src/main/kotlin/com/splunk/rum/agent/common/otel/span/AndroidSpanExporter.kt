@@ -19,6 +19,8 @@ package com.splunk.rum.agent.common.otel.span
 import android.app.Application
 import android.content.Context
 import com.splunk.rum.agent.common.storage.IAgentStorage
+import com.splunk.rum.agent.common.utils.extensions.isStartedInForeground
+import com.splunk.rum.agent.common.utils.runOnMainThread
 import com.splunk.rum.common.job.IJobManager
 import com.splunk.rum.common.job.JobIdStorage
 import com.splunk.rum.common.job.JobResult
@@ -41,11 +43,18 @@ internal class AndroidSpanExporter(
     context: Context
 ) : SpanExporter {
 
+    @Volatile
     private var isForeground = false
 
     init {
-        AppStateObserver.listeners += AppStateObserverListener()
-        AppStateObserver.attach(context.applicationContext as Application)
+        val application = context.applicationContext as Application
+
+        // Created while the SDK is built in the background, possibly after the first activity started.
+        runOnMainThread {
+            AppStateObserver.listeners += AppStateObserverListener()
+            AppStateObserver.attach(application)
+            isForeground = application.isStartedInForeground
+        }
     }
 
     override fun export(spans: MutableCollection<SpanData>): CompletableResultCode {
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.otel
+
+import io.opentelemetry.api.common.AttributeKey
+import io.opentelemetry.api.trace.StatusCode
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator
+import io.opentelemetry.context.propagation.ContextPropagators
+import io.opentelemetry.sdk.OpenTelemetrySdk
+import io.opentelemetry.sdk.common.CompletableResultCode
+import io.opentelemetry.sdk.logs.SdkLoggerProvider
+import io.opentelemetry.sdk.logs.data.LogRecordData
+import io.opentelemetry.sdk.logs.export.LogRecordExporter
+import io.opentelemetry.sdk.logs.export.SimpleLogRecordProcessor
+import io.opentelemetry.sdk.trace.SdkTracerProvider
+import io.opentelemetry.sdk.trace.data.SpanData
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor
+import io.opentelemetry.sdk.trace.export.SpanExporter
+import java.util.concurrent.TimeUnit
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class DeferredOpenTelemetryTest {
+
+    private val exportedSpans = mutableListOf<SpanData>()
+    private val exportedLogs = mutableListOf<LogRecordData>()
+
+    private val sdk = OpenTelemetrySdk.builder()
+        .setTracerProvider(
+            SdkTracerProvider.builder()
+                .addSpanProcessor(
+                    SimpleSpanProcessor.create(object : SpanExporter {
+                        override fun export(spans: MutableCollection<SpanData>): CompletableResultCode {
+                            exportedSpans += spans
+                            return CompletableResultCode.ofSuccess()
+                        }
+
+                        override fun flush(): CompletableResultCode = CompletableResultCode.ofSuccess()
+
+                        override fun shutdown(): CompletableResultCode = CompletableResultCode.ofSuccess()
+                    })
+                )
+                .build()
+        )
+        .setLoggerProvider(
+            SdkLoggerProvider.builder()
+                .addLogRecordProcessor(
+                    SimpleLogRecordProcessor.create(object : LogRecordExporter {
+                        override fun export(logs: MutableCollection<LogRecordData>): CompletableResultCode {
+                            exportedLogs += logs
+                            return CompletableResultCode.ofSuccess()
+                        }
+
+                        override fun flush(): CompletableResultCode = CompletableResultCode.ofSuccess()
+
+                        override fun shutdown(): CompletableResultCode = CompletableResultCode.ofSuccess()
+                    })
+                )
+                .build()
+        )
+        .build()
+
+    private val openTelemetry =
+        DeferredOpenTelemetry(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+
+    @Test
+    fun `spans started before the delegate is set are replayed with their timestamps and parent`() {
+        val tracer = openTelemetry.tracerProvider.get("test")
+
+        val parent = tracer.spanBuilder("parent").setStartTimestamp(1_000, TimeUnit.MILLISECONDS).startSpan()
+        val child = parent.makeCurrent().use {
+            tracer.spanBuilder("child")
+                .setAttribute(KEY, "value")
+                .setStartTimestamp(2_000, TimeUnit.MILLISECONDS)
+                .startSpan()
+        }
+        child.setStatus(StatusCode.ERROR)
+        child.end(3_000, TimeUnit.MILLISECONDS)
+
+        assertFalse(parent.spanContext.isValid)
+        assertTrue(exportedSpans.isEmpty())
+
+        openTelemetry.setDelegate(sdk)
+
+        assertTrue(parent.spanContext.isValid)
+
+        parent.end(4_000, TimeUnit.MILLISECONDS)
+
+        assertEquals(listOf("child", "parent"), exportedSpans.map { it.name })
+
+        val childData = exportedSpans[0]
+        val parentData = exportedSpans[1]
+        assertEquals(parentData.spanId, childData.parentSpanId)
+        assertEquals(parentData.traceId, childData.traceId)
+        assertEquals("value", childData.attributes.get(KEY))
+        assertEquals(StatusCode.ERROR, childData.status.statusCode)
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(2_000), childData.startEpochNanos)
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(3_000), childData.endEpochNanos)
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1_000), parentData.startEpochNanos)
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(4_000), parentData.endEpochNanos)
+    }
+
+    @Test
+    fun `log records emitted before the delegate is set are replayed in their context`() {
+        val logger = openTelemetry.logsBridge.get("test")
+        val span = openTelemetry.tracerProvider.get("test").spanBuilder("span").startSpan()
+
+        span.makeCurrent().use {
+            logger.logRecordBuilder()
+                .setAttribute(KEY, "value")
+                .setTimestamp(1_000, TimeUnit.MILLISECONDS)
+                .emit()
+        }
+        span.end()
+
+        assertTrue(exportedLogs.isEmpty())
+
+        openTelemetry.setDelegate(sdk)
+
+        assertEquals(1, exportedLogs.size)
+
+        val log = exportedLogs[0]
+        assertEquals("value", log.attributes.get(KEY))
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1_000), log.timestampEpochNanos)
+        assertTrue(log.observedTimestampEpochNanos > 0)
+        assertEquals(exportedSpans.single().spanContext, log.spanContext)
+    }
+
+    @Test
+    fun `calls go straight to the delegate once it is set`() {
+        openTelemetry.setDelegate(sdk)
+
+        val span = openTelemetry.tracerProvider.get("test").spanBuilder("span").startSpan()
+        assertTrue(span.spanContext.isValid)
+        span.end()
+
+        openTelemetry.logsBridge.get("test").logRecordBuilder().emit()
+
+        assertEquals(1, exportedSpans.size)
+        assertEquals(1, exportedLogs.size)
+    }
+
+    private companion object {
+        val KEY: AttributeKey<String> = AttributeKey.stringKey("key")
+    }
+}
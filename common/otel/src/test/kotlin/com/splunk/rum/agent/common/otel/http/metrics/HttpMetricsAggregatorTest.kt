@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.otel.http.metrics
+
+import io.opentelemetry.sdk.common.CompletableResultCode
+import io.opentelemetry.sdk.trace.SdkTracerProvider
+import io.opentelemetry.sdk.trace.data.SpanData
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor
+import io.opentelemetry.sdk.trace.export.SpanExporter
+import io.opentelemetry.semconv.HttpAttributes
+import io.opentelemetry.semconv.ServerAttributes
+import io.opentelemetry.semconv.incubating.UrlIncubatingAttributes
+import java.io.IOException
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class HttpMetricsAggregatorTest {
+
+    private val exportedSpans = mutableListOf<SpanData>()
+
+    private val tracer = SdkTracerProvider.builder()
+        .addSpanProcessor(
+            SimpleSpanProcessor.create(object : SpanExporter {
+                override fun export(spans: MutableCollection<SpanData>): CompletableResultCode {
+                    exportedSpans += spans
+                    return CompletableResultCode.ofSuccess()
+                }
+
+                override fun flush(): CompletableResultCode = CompletableResultCode.ofSuccess()
+
+                override fun shutdown(): CompletableResultCode = CompletableResultCode.ofSuccess()
+            })
+        )
+        .build()
+        .get("test")
+
+    @Test
+    fun `fast successful requests are only aggregated`() {
+        val aggregator = HttpMetricsAggregator(tracer, slowThresholdMillis = 1000)
+
+        val report = aggregator.record("GET", "example.com", "/items", 200, 50, null)
+
+        assertFalse(report)
+        assertTrue(exportedSpans.isEmpty())
+    }
+
+    @Test
+    fun `errors and slow requests are reported as outliers`() {
+        val aggregator = HttpMetricsAggregator(tracer, slowThresholdMillis = 1000)
+
+        assertTrue(aggregator.record("GET", "example.com", "/items", 503, 50, null))
+        assertTrue(aggregator.record("GET", "example.com", "/items", 404, 50, null))
+        assertTrue(aggregator.record("GET", "example.com", "/items", 0, 50, IOException()))
+        assertTrue(aggregator.record("GET", "example.com", "/items", 200, 1000, null))
+    }
+
+    @Test
+    fun `flush emits one summary per key`() {
+        val aggregator = HttpMetricsAggregator(tracer, slowThresholdMillis = 1000)
+        aggregator.record("GET", "example.com", "/items", 200, 10, null)
+        aggregator.record("GET", "example.com", "/items", 204, 30, null)
+        aggregator.record("GET", "example.com", "/items", 500, 20, null)
+        aggregator.record("POST", "example.com", "/items", 201, 5, null)
+
+        aggregator.flush()
+
+        assertEquals(3, exportedSpans.size)
+        exportedSpans.forEach { assertEquals(HttpMetricsAggregator.HTTP_SUMMARY_SPAN_NAME, it.name) }
+
+        val getSuccess = exportedSpans.single {
+            it.attributes.get(HttpAttributes.HTTP_REQUEST_METHOD) == "GET" &&
+                it.attributes.get(HttpMetricsAggregator.STATUS_CLASS_KEY) == "2xx"
+        }
+        assertEquals("example.com", getSuccess.attributes.get(ServerAttributes.SERVER_ADDRESS))
+        assertEquals("/items", getSuccess.attributes.get(UrlIncubatingAttributes.URL_TEMPLATE))
+        assertEquals(2L, getSuccess.attributes.get(HttpMetricsAggregator.COUNT_KEY))
+        assertEquals(0L, getSuccess.attributes.get(HttpMetricsAggregator.ERROR_COUNT_KEY))
+        assertEquals(10L, getSuccess.attributes.get(HttpMetricsAggregator.DURATION_MIN_KEY))
+        assertEquals(30L, getSuccess.attributes.get(HttpMetricsAggregator.DURATION_MAX_KEY))
+        assertEquals(40L, getSuccess.attributes.get(HttpMetricsAggregator.DURATION_SUM_KEY))
+
+        val getError = exportedSpans.single { it.attributes.get(HttpMetricsAggregator.STATUS_CLASS_KEY) == "5xx" }
+        assertEquals(1L, getError.attributes.get(HttpMetricsAggregator.ERROR_COUNT_KEY))
+    }
+
+    @Test
+    fun `flush starts a new window`() {
+        val aggregator = HttpMetricsAggregator(tracer, slowThresholdMillis = 1000)
+        aggregator.record("GET", "example.com", "/items", 200, 10, null)
+
+        aggregator.flush()
+        aggregator.flush()
+
+        assertEquals(1, exportedSpans.size)
+    }
+
+    @Test
+    fun `keys beyond the limit are folded into the overflow key`() {
+        val aggregator = HttpMetricsAggregator(tracer, slowThresholdMillis = 1000, maxKeys = 2)
+        aggregator.record("GET", "example.com", "/a", 200, 10, null)
+        aggregator.record("GET", "example.com", "/b", 200, 10, null)
+        aggregator.record("GET", "example.com", "/c", 200, 10, null)
+        aggregator.record("GET", "example.com", "/d", 200, 10, null)
+
+        aggregator.flush()
+
+        assertEquals(3, exportedSpans.size)
+        val overflow = exportedSpans.single {
+            it.attributes.get(UrlIncubatingAttributes.URL_TEMPLATE) == HttpMetricsAggregator.OVERFLOW_ROUTE
+        }
+        assertEquals(2L, overflow.attributes.get(HttpMetricsAggregator.COUNT_KEY))
+    }
+}
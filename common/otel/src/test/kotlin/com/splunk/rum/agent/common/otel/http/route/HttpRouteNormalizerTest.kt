@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.otel.http.route
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class HttpRouteNormalizerTest {
+
+    private val normalizer = HttpRouteNormalizer()
+
+    @Test
+    fun `static paths are kept as is`() {
+        assertEquals("/api/v2/items", normalizer.normalize("/api/v2/items"))
+        assertEquals("/", normalizer.normalize("/"))
+        assertEquals("/", normalizer.normalize(""))
+    }
+
+    @Test
+    fun `numeric segments are replaced`() {
+        assertEquals("/users/{id}/orders/{id}", normalizer.normalize("/users/42/orders/1337"))
+    }
+
+    @Test
+    fun `uuid segments are replaced`() {
+        assertEquals(
+            "/sessions/{uuid}",
+            normalizer.normalize("/sessions/123e4567-e89b-12d3-a456-426614174000")
+        )
+    }
+
+    @Test
+    fun `long hex segments are replaced`() {
+        assertEquals("/blobs/{hex}", normalizer.normalize("/blobs/9f86d081884c7d659a2feaa0c55ad015"))
+        assertEquals("/blobs/deadbeef", normalizer.normalize("/blobs/deadbeef"))
+        assertEquals("/feed/abcdefabcdefabcdef", normalizer.normalize("/feed/abcdefabcdefabcdef"))
+    }
+
+    @Test
+    fun `configured templates take precedence`() {
+        val normalizer = HttpRouteNormalizer(listOf("/users/{userName}/profile"))
+
+        assertTrue(normalizer.hasTemplates)
+        assertEquals("/users/{userName}/profile", normalizer.normalize("/users/jane/profile"))
+        assertEquals("/users/{id}/settings", normalizer.normalize("/users/42/settings"))
+    }
+
+    @Test
+    fun `template parameters do not match empty segments`() {
+        val normalizer = HttpRouteNormalizer(listOf("/users/{userName}"))
+
+        assertEquals("/users/", normalizer.normalize("/users/"))
+    }
+
+    @Test
+    fun `repeated paths are served from the cache`() {
+        val normalizer = HttpRouteNormalizer(cacheSize = 1)
+
+        val first = normalizer.normalize("/users/1")
+        val second = normalizer.normalize("/users/1")
+
+        assertTrue(first === second)
+        assertFalse(normalizer.hasTemplates)
+    }
+}
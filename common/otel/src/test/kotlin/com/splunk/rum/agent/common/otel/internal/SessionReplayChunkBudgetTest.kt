@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.otel.internal
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class SessionReplayChunkBudgetTest {
+
+    private val budget = SessionReplayChunkBudget(maxBytes = 100)
+
+    @Test
+    fun `accepts chunks until the budget is exceeded`() {
+        assertTrue(budget.tryAcquire(60))
+        assertTrue(budget.tryAcquire(40))
+        assertFalse(budget.tryAcquire(1))
+        assertEquals(100L, budget.pendingBytes)
+    }
+
+    @Test
+    fun `released bytes can be acquired again`() {
+        assertTrue(budget.tryAcquire(80))
+        assertFalse(budget.tryAcquire(30))
+
+        budget.release(80)
+
+        assertTrue(budget.tryAcquire(30))
+        assertEquals(30L, budget.pendingBytes)
+    }
+
+    @Test
+    fun `accepts a chunk larger than the budget when nothing is pending`() {
+        assertTrue(budget.tryAcquire(500))
+        assertFalse(budget.tryAcquire(1))
+    }
+
+    @Test
+    fun `fits reports whether a chunk would be acquired without reserving it`() {
+        assertTrue(budget.fits(500))
+        budget.tryAcquire(60)
+
+        assertTrue(budget.fits(40))
+        assertFalse(budget.fits(41))
+        assertEquals(60L, budget.pendingBytes)
+    }
+
+    @Test
+    fun `pending bytes never drop below zero`() {
+        budget.release(10)
+
+        assertEquals(0L, budget.pendingBytes)
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.otel.logRecord
+
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import com.splunk.rum.agent.common.otel.internal.SessionReplayChunkBudget
+import com.splunk.rum.agent.common.storage.IAgentStorage
+import com.splunk.rum.common.job.IJobManager
+import com.splunk.rum.common.job.JobIdStorage
+import io.opentelemetry.api.common.Value
+import io.opentelemetry.sdk.logs.SdkLoggerProvider
+import java.io.ByteArrayOutputStream
+import java.io.OutputStream
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mockito.mock
+
+class SessionReplayLogRecordProcessorTest {
+
+    private val written = ByteArrayOutputStream()
+    private val bufferedIds = mutableListOf<String>()
+
+    private val agentStorage = object : IAgentStorage by mock(IAgentStorage::class.java) {
+        override fun writeOtelSessionReplayData(id: String, writer: (OutputStream) -> Unit): Boolean {
+            writer(written)
+            return true
+        }
+
+        override fun addBufferedSessionReplayId(id: String) {
+            bufferedIds += id
+        }
+    }
+
+    private val jobManager = mock(IJobManager::class.java)
+    private val budget = SessionReplayChunkBudget(maxBytes = 1024)
+    private val executor = Executors.newSingleThreadExecutor()
+
+    private lateinit var loggerProvider: SdkLoggerProvider
+
+    @Before
+    fun setUp() {
+        loggerProvider = SdkLoggerProvider.builder()
+            .addLogRecordProcessor(
+                SessionReplayLogRecordProcessor(
+                    agentStorage = agentStorage,
+                    jobManager = jobManager,
+                    jobIdStorage = mock(JobIdStorage::class.java),
+                    budget = budget,
+                    executor = executor
+                )
+            )
+            .build()
+    }
+
+    @Test
+    fun `writes session replay chunks to the storage and releases the budget`() {
+        val chunk = ByteArray(100) { it.toByte() }
+
+        emitChunk(chunk)
+        awaitWrites()
+
+        assertTrue(written.size() > chunk.size)
+        assertEquals(0L, budget.pendingBytes)
+        assertEquals(1, bufferedIds.size)
+    }
+
+    @Test
+    fun `drops chunks that do not fit into the budget`() {
+        budget.tryAcquire(1000)
+
+        emitChunk(ByteArray(100))
+        awaitWrites()
+
+        assertEquals(0, written.size())
+        assertEquals(1000L, budget.pendingBytes)
+    }
+
+    @Test
+    fun `releases the budget of chunks emitted after shutdown`() {
+        executor.shutdown()
+
+        emitChunk(ByteArray(100))
+
+        assertEquals(0L, budget.pendingBytes)
+    }
+
+    @Test
+    fun `ignores other log records`() {
+        loggerProvider.get(GlobalRumConstants.RUM_TRACER_NAME)
+            .logRecordBuilder()
+            .setBody("message")
+            .emit()
+        awaitWrites()
+
+        assertEquals(0, written.size())
+        assertTrue(bufferedIds.isEmpty())
+    }
+
+    private fun emitChunk(chunk: ByteArray) {
+        loggerProvider.get(GlobalRumConstants.SESSION_REPLAY_INSTRUMENTATION_SCOPE_NAME)
+            .logRecordBuilder()
+            .setBody(Value.of(chunk))
+            .emit()
+    }
+
+    private fun awaitWrites() {
+        executor.shutdown()
+        executor.awaitTermination(5, TimeUnit.SECONDS)
+    }
+}
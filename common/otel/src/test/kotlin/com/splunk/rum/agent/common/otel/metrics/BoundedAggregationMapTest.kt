@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.otel.metrics
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotSame
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class BoundedAggregationMapTest {
+
+    @Test
+    fun `returns the same entry for the same key`() {
+        val map = BoundedAggregationMap.perScreen(2) { Counter() }
+
+        map.entry("Home").count++
+        map.entry("Details").count++
+        map.entry("Home").count++
+
+        val drained = map.drain()
+        assertEquals(2, drained["Home"]?.count)
+        assertEquals(1, drained["Details"]?.count)
+    }
+
+    @Test
+    fun `extra keys share the overflow entry`() {
+        val map = BoundedAggregationMap.perScreen(2) { Counter() }
+
+        map.entry("A").count++
+        map.entry("B").count++
+        map.entry("C").count++
+        map.entry("D").count++
+        map.entry("A").count++
+
+        val drained = map.drain()
+        assertEquals(setOf("A", "B", BoundedAggregationMap.OVERFLOW), drained.keys)
+        assertEquals(2, drained["A"]?.count)
+        assertEquals(2, drained[BoundedAggregationMap.OVERFLOW]?.count)
+    }
+
+    @Test
+    fun `overflow key is derived from the original key`() {
+        val created = mutableListOf<Pair<String, Int>>()
+        val map = BoundedAggregationMap<Pair<String, Int>, Counter>(1, { created += it; Counter() }) {
+            BoundedAggregationMap.OVERFLOW to it.second
+        }
+
+        map.entry("a" to 2)
+        map.entry("b" to 2)
+        map.entry("c" to 4)
+        map.entry("d" to 2)
+
+        assertEquals(
+            listOf("a" to 2, BoundedAggregationMap.OVERFLOW to 2, BoundedAggregationMap.OVERFLOW to 4),
+            created
+        )
+        assertEquals(3, map.size)
+    }
+
+    @Test
+    fun `null keys are supported`() {
+        val map = BoundedAggregationMap<String?, Counter>(2, { Counter() }) { BoundedAggregationMap.OVERFLOW }
+
+        val entry = map.entry(null)
+
+        assertSame(entry, map.entry(null))
+        assertEquals(setOf(null), map.drain().keys)
+    }
+
+    @Test
+    fun `drain starts a new window`() {
+        val map = BoundedAggregationMap.perScreen(2) { Counter() }
+        val entry = map.entry("Home")
+
+        assertEquals(1, map.drain().size)
+        assertTrue(map.isEmpty())
+        assertNotSame(entry, map.entry("Home"))
+        assertEquals(1, map.size)
+    }
+
+    private class Counter {
+        var count = 0
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.otel.metrics
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class LatencyHistogramTest {
+
+    @Test
+    fun `empty histogram reports zero`() {
+        val histogram = LatencyHistogram()
+
+        assertEquals(0L, histogram.count)
+        assertEquals(0L, histogram.valueAtPercentile(50.0))
+    }
+
+    @Test
+    fun `small values are recorded exactly`() {
+        val histogram = LatencyHistogram()
+        for (value in 1L..10L) {
+            histogram.record(value)
+        }
+
+        assertEquals(10L, histogram.count)
+        assertEquals(55L, histogram.sum)
+        assertEquals(1L, histogram.min)
+        assertEquals(10L, histogram.max)
+        assertEquals(5L, histogram.valueAtPercentile(50.0))
+        assertEquals(9L, histogram.valueAtPercentile(90.0))
+        assertEquals(10L, histogram.valueAtPercentile(100.0))
+    }
+
+    @Test
+    fun `percentiles of large values stay within bucket precision`() {
+        val histogram = LatencyHistogram()
+        for (value in 1L..1000L) {
+            histogram.record(value * 10)
+        }
+
+        val p50 = histogram.valueAtPercentile(50.0)
+        val p99 = histogram.valueAtPercentile(99.0)
+
+        assertTrue("p50 was $p50", p50 in 5000L..5000L + 5000L / 8)
+        assertTrue("p99 was $p99", p99 in 9900L..10000L)
+    }
+
+    @Test
+    fun `bucket bounds are contiguous`() {
+        var expectedIndex = 0
+        for (value in 0L..100_000L) {
+            val index = LatencyHistogram.bucketIndex(value)
+            if (index != expectedIndex) {
+                assertEquals(expectedIndex + 1, index)
+                assertEquals(value - 1, LatencyHistogram.bucketUpperBound(expectedIndex))
+                expectedIndex = index
+            }
+        }
+    }
+
+    @Test
+    fun `huge and negative values are clamped`() {
+        val histogram = LatencyHistogram()
+        histogram.record(-5L)
+        histogram.record(Long.MAX_VALUE / 2)
+
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE / 2))
+        assertEquals(0L, histogram.min)
+        assertEquals(Long.MAX_VALUE / 2, histogram.valueAtPercentile(100.0))
+    }
+
+    @Test
+    fun `reset clears recorded values`() {
+        val histogram = LatencyHistogram()
+        histogram.record(42L)
+
+        histogram.reset()
+
+        assertEquals(0L, histogram.count)
+        assertEquals(0L, histogram.sum)
+        assertEquals(0L, histogram.valueAtPercentile(99.0))
+    }
+}
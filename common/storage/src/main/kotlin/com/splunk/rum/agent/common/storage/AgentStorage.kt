@@ -33,6 +33,8 @@ import com.splunk.rum.common.storage.preferences.Preferences
 import com.splunk.rum.common.utils.extensions.toJSONArray
 import com.splunk.rum.common.utils.runOnBackgroundThread
 import java.io.File
+import java.io.IOException
+import java.io.OutputStream
 import org.json.JSONArray
 import org.json.JSONException
 
@@ -262,6 +264,21 @@ class AgentStorage(context: Context) : IAgentStorage {
         return success
     }
 
+    override fun writeOtelSessionReplayData(id: String, writer: (OutputStream) -> Unit): Boolean {
+        val file: File = sessionReplayDataFile(id)
+        val success = try {
+            file.outputStream().buffered().use(writer)
+            true
+        } catch (e: IOException) {
+            Logger.e(TAG, e) { "writeOtelSessionReplayData(): id = $id" }
+            file.delete()
+            false
+        }
+        Logger.d(TAG) { "writeOtelSessionReplayData(): id = $id, success = $success" }
+
+        return success
+    }
+
     override fun getOtelSessionReplayDataFile(id: String): File? {
         val file: File = sessionReplayDataFile(id)
         return if (file.exists()) {
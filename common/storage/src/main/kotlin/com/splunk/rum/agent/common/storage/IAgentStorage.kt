@@ -17,6 +17,7 @@
 package com.splunk.rum.agent.common.storage
 
 import java.io.File
+import java.io.OutputStream
 
 interface IAgentStorage {
     val freeSpace: Long
@@ -67,6 +68,12 @@ interface IAgentStorage {
     fun clearBufferedSpanIds()
 
     fun writeOtelSessionReplayData(id: String, data: ByteArray): Boolean
+
+    /**
+     * Lets [writer] write the data directly into the storage file, without holding it in memory first.
+     * The file is deleted when [writer] fails.
+     */
+    fun writeOtelSessionReplayData(id: String, writer: (OutputStream) -> Unit): Boolean
     fun getOtelSessionReplayDataFile(id: String): File?
     fun deleteOtelSessionReplayData(id: String)
 
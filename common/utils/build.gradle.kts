@@ -25,6 +25,7 @@ android {
 
 dependencies {
     implementation(Dependencies.Common.logger)
+    implementation(Dependencies.Common.utils)
 
     testImplementation(Dependencies.Test.junit)
 }
\ No newline at end of file
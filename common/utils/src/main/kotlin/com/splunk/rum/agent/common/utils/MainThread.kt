@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.utils
+
+import android.os.Handler
+import android.os.Looper
+
+/**
+ * Runs [block] on the main thread: immediately when called from it, otherwise posted to the main
+ * looper. Used by instrumentations installed in the background to register with main thread only
+ * components such as `AppStateObserver`.
+ */
+fun runOnMainThread(block: () -> Unit) {
+    val mainLooper = Looper.getMainLooper()
+    if (Looper.myLooper() == mainLooper) {
+        block()
+    } else {
+        Handler(mainLooper).post(block)
+    }
+}
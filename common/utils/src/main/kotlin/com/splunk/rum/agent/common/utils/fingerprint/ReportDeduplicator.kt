@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.utils.fingerprint
+
+import com.splunk.rum.common.logger.Logger
+import java.io.File
+
+/**
+ * Counts report occurrences per fingerprint (see [StackFingerprint]) in fixed time windows and
+ * decides which of them carry a full payload. The first [maxFullReports] occurrences of a
+ * fingerprint in a window are reported in full, later ones only with their occurrence count, so a
+ * crash loop or a repeated ANR does not store and upload the same stack over and over.
+ *
+ * The counters are kept in [file], rewritten synchronously on every [record] since the process may
+ * be about to die, and therefore survive restarts. At most [maxEntries] fingerprints are kept, the
+ * least recently seen ones are evicted first.
+ */
+class ReportDeduplicator @JvmOverloads constructor(
+    private val file: File,
+    private val maxFullReports: Int = DEFAULT_MAX_FULL_REPORTS,
+    private val windowMillis: Long = DEFAULT_WINDOW_MILLIS,
+    private val maxEntries: Int = DEFAULT_MAX_ENTRIES,
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+
+    private val lock = Any()
+
+    // Ordered from the least to the most recently seen fingerprint. Loaded on first use.
+    private var entries: LinkedHashMap<String, Entry>? = null
+
+    /** Records an occurrence of [fingerprint]. Never throws. */
+    fun record(fingerprint: String): Occurrence {
+        synchronized(lock) {
+            val entries = entries ?: load().also { entries = it }
+            val now = clock()
+
+            var entry = entries.remove(fingerprint)
+            if (entry == null || isExpired(entry, now)) {
+                entry = Entry(now, 0)
+            }
+            entry.count++
+            entries[fingerprint] = entry
+
+            val iterator = entries.values.iterator()
+            while (entries.size > maxEntries) {
+                iterator.next()
+                iterator.remove()
+            }
+
+            save(entries)
+            return Occurrence(entry.count, entry.count <= maxFullReports)
+        }
+    }
+
+    private fun isExpired(entry: Entry, now: Long): Boolean =
+        // A clock set back starts a new window as well.
+        now - entry.windowStart >= windowMillis || now < entry.windowStart
+
+    private fun load(): LinkedHashMap<String, Entry> {
+        val entries = LinkedHashMap<String, Entry>()
+        if (!file.exists()) {
+            return entries
+        }
+
+        try {
+            val now = clock()
+            file.forEachLine { line ->
+                val parts = line.split(' ')
+                if (parts.size != 3) {
+                    return@forEachLine
+                }
+                val windowStart = parts[1].toLongOrNull() ?: return@forEachLine
+                val count = parts[2].toIntOrNull() ?: return@forEachLine
+                val entry = Entry(windowStart, count)
+                if (!isExpired(entry, now)) {
+                    entries[parts[0]] = entry
+                }
+            }
+        } catch (e: Exception) {
+            Logger.w(TAG, "Failed to read report counters: ${e.message}")
+        }
+        return entries
+    }
+
+    private fun save(entries: Map<String, Entry>) {
+        val builder = StringBuilder(entries.size * LINE_LENGTH_ESTIMATE)
+        for ((fingerprint, entry) in entries) {
+            builder.append(fingerprint).append(' ')
+                .append(entry.windowStart).append(' ')
+                .append(entry.count).append('\n')
+        }
+
+        // Write a temporary file and rename it, so a crash mid-write cannot corrupt the counters.
+        try {
+            file.parentFile?.mkdirs()
+            val tmpFile = File(file.path + ".tmp")
+            tmpFile.writeText(builder.toString())
+            if (!tmpFile.renameTo(file)) {
+                Logger.w(TAG, "Failed to replace report counters file")
+            }
+        } catch (e: Exception) {
+            Logger.w(TAG, "Failed to write report counters: ${e.message}")
+        }
+    }
+
+    /**
+     * @property count Number of occurrences of the fingerprint in the current window, this one
+     *                 included.
+     * @property isFullReport Whether the occurrence should be reported with its full payload.
+     */
+    data class Occurrence(val count: Int, val isFullReport: Boolean)
+
+    private class Entry(val windowStart: Long, var count: Int)
+
+    companion object {
+        private const val TAG = "ReportDeduplicator"
+
+        const val DEFAULT_MAX_FULL_REPORTS = 3
+        const val DEFAULT_WINDOW_MILLIS = 60 * 60 * 1000L
+        const val DEFAULT_MAX_ENTRIES = 64
+
+        private const val LINE_LENGTH_ESTIMATE = 40
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.utils.fingerprint
+
+/**
+ * Computes stable fingerprints of stack traces, so that repeated crashes and ANRs with the same
+ * cause can be recognized without comparing the full stacks.
+ *
+ * Frames are normalized before hashing: line numbers and file names are left out, generated lambda
+ * class suffixes are dropped and consecutive identical frames (deep recursion) are collapsed, so the
+ * fingerprint does not change with the recursion depth or between runs of the same build. Only the
+ * top [MAX_FRAMES] frames of each throwable are considered.
+ */
+object StackFingerprint {
+
+    const val MAX_FRAMES = 32
+    private const val MAX_CAUSES = 8
+
+    private const val FNV_OFFSET_BASIS = -0x340d631b7bdddcdbL
+    private const val FNV_PRIME = 0x100000001b3L
+
+    private const val LAMBDA_MARKER = "\$\$Lambda"
+
+    /** Fingerprint of [throwable], its type and stack and those of its causes. */
+    fun of(throwable: Throwable): String {
+        var hash = FNV_OFFSET_BASIS
+        var current: Throwable? = throwable
+        var depth = 0
+        while (current != null && depth < MAX_CAUSES) {
+            hash = hash(hash, current.javaClass.name)
+            hash = hashFrames(hash, current.stackTrace)
+            val cause = current.cause
+            current = if (cause === current) null else cause
+            depth++
+        }
+        return toHex(hash)
+    }
+
+    /** Fingerprint of a single [stackTrace], e.g. of a blocked main thread. */
+    fun of(stackTrace: Array<StackTraceElement>): String = toHex(hashFrames(FNV_OFFSET_BASIS, stackTrace))
+
+    private fun hashFrames(seed: Long, stackTrace: Array<StackTraceElement>): Long {
+        var hash = seed
+        var previous: StackTraceElement? = null
+        var frames = 0
+        for (element in stackTrace) {
+            if (frames == MAX_FRAMES) {
+                break
+            }
+            if (previous != null && isSameFrame(previous, element)) {
+                continue
+            }
+            hash = hash(hash, normalizeClassName(element.className))
+            hash = hash(hash, element.methodName)
+            previous = element
+            frames++
+        }
+        return hash
+    }
+
+    private fun isSameFrame(first: StackTraceElement, second: StackTraceElement): Boolean =
+        first.methodName == second.methodName && first.className == second.className
+
+    private fun normalizeClassName(className: String): String {
+        val lambdaIndex = className.indexOf(LAMBDA_MARKER)
+        return if (lambdaIndex < 0) className else className.substring(0, lambdaIndex + LAMBDA_MARKER.length)
+    }
+
+    /** FNV-1a over the UTF-16 code units of [value], followed by a separator. */
+    private fun hash(seed: Long, value: String): Long {
+        var hash = seed
+        for (i in value.indices) {
+            hash = (hash xor value[i].code.toLong()) * FNV_PRIME
+        }
+        return (hash xor '\n'.code.toLong()) * FNV_PRIME
+    }
+
+    private fun toHex(hash: Long): String {
+        val hex = java.lang.Long.toHexString(hash)
+        return if (hex.length == 16) hex else "0".repeat(16 - hex.length) + hex
+    }
+}
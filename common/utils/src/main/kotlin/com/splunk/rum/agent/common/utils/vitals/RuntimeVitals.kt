@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.utils.vitals
+
+import android.app.Application
+import android.content.ComponentCallbacks2
+import android.content.Context
+import android.content.res.Configuration
+import android.os.Debug
+import android.os.Process
+import android.os.SystemClock
+import com.splunk.rum.agent.common.utils.extensions.isStartedInForeground
+import com.splunk.rum.agent.common.utils.runOnMainThread
+import com.splunk.rum.common.logger.Logger
+import com.splunk.rum.common.utils.AppStateObserver
+import com.splunk.rum.common.utils.thread.NamedThreadFactory
+import java.io.File
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Samples the process' runtime vitals (Java heap used and max, native heap, thread count, open
+ * file descriptors, CPU time and the latest `onTrimMemory` level) into a [VitalsBuffer] at a low
+ * frequency while the app is in the foreground, so crash and ANR reports can show the resource
+ * trend leading into the failure. In the background, vitals are only sampled when a report asks
+ * for them.
+ *
+ * A single sampler is shared by all reporters; [attach] is idempotent.
+ */
+object RuntimeVitals {
+
+    private const val TAG = "RuntimeVitals"
+    private const val SAMPLER_THREAD_NAME = "runtimeVitals"
+
+    const val SAMPLE_INTERVAL_MILLIS = 10_000L
+    const val BUFFER_CAPACITY = 30
+    const val DEFAULT_REPORTED_SAMPLES = 12
+
+    private val TASK_DIR = File("/proc/self/task")
+    private val FD_DIR = File("/proc/self/fd")
+
+    private val buffer = VitalsBuffer(BUFFER_CAPACITY)
+
+    // Highest trim level received since the previous sample.
+    private val trimLevel = AtomicInteger(0)
+
+    private var scheduler: ScheduledExecutorService? = null
+    private var future: ScheduledFuture<*>? = null
+
+    /**
+     * Listens for `onTrimMemory` callbacks and samples whenever the app is in the foreground. No-ops
+     * if already attached.
+     */
+    @Synchronized
+    fun attach(context: Context) {
+        if (scheduler != null) {
+            return
+        }
+
+        val applicationContext = context.applicationContext
+        applicationContext.registerComponentCallbacks(TrimMemoryCallbacks)
+        scheduler = Executors.newSingleThreadScheduledExecutor(NamedThreadFactory(SAMPLER_THREAD_NAME))
+
+        val application = applicationContext as? Application ?: return
+        runOnMainThread {
+            AppStateObserver.listeners += ForegroundSampling
+            AppStateObserver.attach(application)
+
+            // AppStateObserver only emits onAppForegrounded on a transition, sample now if the app is
+            // already in the foreground.
+            if (application.isStartedInForeground) {
+                ForegroundSampling.onAppForegrounded()
+            }
+        }
+    }
+
+    /**
+     * Takes a fresh sample and encodes it with the ones before it, [count] samples in total. Meant
+     * to be called while building a report. Returns `null` if sampling fails.
+     */
+    @JvmOverloads
+    fun snapshot(count: Int = DEFAULT_REPORTED_SAMPLES): String? {
+        sample()
+        return buffer.encode(SystemClock.elapsedRealtime(), count)
+    }
+
+    /**
+     * Returns the most recent sample if it is at most [maxAgeMillis] old, otherwise takes a fresh
+     * one, so that other samplers can reuse these readings rather than take their own. Returns `null`
+     * if sampling fails.
+     */
+    @JvmOverloads
+    fun latest(maxAgeMillis: Long = SAMPLE_INTERVAL_MILLIS): VitalsSample? {
+        val latest = buffer.latest()
+        if (latest != null && SystemClock.elapsedRealtime() - latest.timestampMillis <= maxAgeMillis) {
+            return latest
+        }
+
+        return if (sample()) buffer.latest() else null
+    }
+
+    private fun sample(): Boolean =
+        try {
+            val runtime = Runtime.getRuntime()
+            buffer.record(
+                SystemClock.elapsedRealtime(),
+                (runtime.totalMemory() - runtime.freeMemory()) / 1024,
+                runtime.maxMemory() / 1024,
+                Debug.getNativeHeapAllocatedSize() / 1024,
+                countEntries(TASK_DIR),
+                countEntries(FD_DIR),
+                Process.getElapsedCpuTime(),
+                trimLevel.getAndSet(0).toLong()
+            )
+            true
+        } catch (e: Exception) {
+            Logger.w(TAG, "Failed to sample runtime vitals: ${e.message}")
+            false
+        }
+
+    private fun countEntries(dir: File): Long = dir.list()?.size?.toLong() ?: -1
+
+    private object ForegroundSampling : AppStateObserver.Listener {
+
+        override fun onAppStarted() = Unit
+
+        override fun onAppForegrounded() {
+            synchronized(RuntimeVitals) {
+                if (future == null) {
+                    future = scheduler?.scheduleWithFixedDelay(
+                        { sample() },
+                        0,
+                        SAMPLE_INTERVAL_MILLIS,
+                        TimeUnit.MILLISECONDS
+                    )
+                }
+            }
+        }
+
+        override fun onAppBackgrounded() {
+            synchronized(RuntimeVitals) {
+                future?.cancel(false)
+                future = null
+            }
+        }
+
+        override fun onAppClosed() = onAppBackgrounded()
+    }
+
+    private object TrimMemoryCallbacks : ComponentCallbacks2 {
+
+        override fun onTrimMemory(level: Int) {
+            while (true) {
+                val current = trimLevel.get()
+                if (level <= current || trimLevel.compareAndSet(current, level)) {
+                    return
+                }
+            }
+        }
+
+        override fun onConfigurationChanged(newConfig: Configuration) {
+        }
+
+        @Deprecated("Deprecated in Java")
+        override fun onLowMemory() {
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.utils.vitals
+
+/**
+ * Fixed-size ring buffer of runtime vitals samples. The values are kept in primitive arrays, so
+ * recording a sample does not allocate and the buffer stays small for the whole life of the app.
+ *
+ * Thread-safe.
+ */
+class VitalsBuffer(private val capacity: Int) {
+
+    init {
+        require(capacity > 0) { "Capacity must be positive" }
+    }
+
+    private val lock = Any()
+
+    private val timestamps = LongArray(capacity)
+    private val values = LongArray(capacity * FIELD_COUNT)
+
+    // Index of the slot the next sample is written to and number of valid samples.
+    private var next = 0
+    private var size = 0
+
+    /**
+     * Records a sample taken at [timestampMillis]. Values are in kilobytes for memory, milliseconds
+     * for CPU time; pass `-1` for a value that could not be read.
+     */
+    fun record(
+        timestampMillis: Long,
+        heapUsedKb: Long,
+        heapMaxKb: Long,
+        nativeHeapKb: Long,
+        threadCount: Long,
+        fdCount: Long,
+        cpuTimeMillis: Long,
+        trimLevel: Long
+    ) {
+        synchronized(lock) {
+            timestamps[next] = timestampMillis
+            val offset = next * FIELD_COUNT
+            values[offset] = heapUsedKb
+            values[offset + 1] = heapMaxKb
+            values[offset + 2] = nativeHeapKb
+            values[offset + 3] = threadCount
+            values[offset + 4] = fdCount
+            values[offset + 5] = cpuTimeMillis
+            values[offset + 6] = trimLevel
+
+            next = (next + 1) % capacity
+            if (size < capacity) {
+                size++
+            }
+        }
+    }
+
+    /** Returns the most recent sample, or `null` if there is none. */
+    fun latest(): VitalsSample? {
+        synchronized(lock) {
+            if (size == 0) {
+                return null
+            }
+
+            val index = (next - 1 + capacity) % capacity
+            val offset = index * FIELD_COUNT
+            return VitalsSample(
+                timestamps[index],
+                values[offset],
+                values[offset + 1],
+                values[offset + 2],
+                values[offset + 3],
+                values[offset + 4],
+                values[offset + 5],
+                values[offset + 6]
+            )
+        }
+    }
+
+    /**
+     * Encodes the last [count] samples, oldest first, in the format described by
+     * `GlobalRumConstants.RUNTIME_VITALS_KEY`, with sample ages relative to [nowMillis]. Returns
+     * `null` if there is no sample.
+     */
+    fun encode(nowMillis: Long, count: Int): String? {
+        synchronized(lock) {
+            val n = minOf(count, size)
+            if (n <= 0) {
+                return null
+            }
+
+            val builder = StringBuilder(n * SAMPLE_LENGTH_ESTIMATE)
+            var index = (next - n + capacity) % capacity
+            repeat(n) { i ->
+                if (i > 0) {
+                    builder.append(';')
+                }
+                builder.append(nowMillis - timestamps[index])
+                val offset = index * FIELD_COUNT
+                for (field in 0 until FIELD_COUNT) {
+                    builder.append(',').append(values[offset + field])
+                }
+                index = (index + 1) % capacity
+            }
+            return builder.toString()
+        }
+    }
+
+    private companion object {
+        private const val FIELD_COUNT = 7
+        private const val SAMPLE_LENGTH_ESTIMATE = 48
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.utils.vitals
+
+/**
+ * One runtime vitals sample, see [VitalsBuffer.record] for the units. `-1` marks a value that could
+ * not be read.
+ */
+class VitalsSample(
+    val timestampMillis: Long,
+    val heapUsedKb: Long,
+    val heapMaxKb: Long,
+    val nativeHeapKb: Long,
+    val threadCount: Long,
+    val fdCount: Long,
+    val cpuTimeMillis: Long,
+    val trimLevel: Long
+)
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.utils.fingerprint
+
+import java.io.File
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+class ReportDeduplicatorTest {
+
+    @get:Rule
+    val temporaryFolder = TemporaryFolder()
+
+    private var now = 1_000_000L
+
+    @Test
+    fun `reports the first occurrences in full and counts the rest`() {
+        val deduplicator = deduplicator(file(), maxFullReports = 2)
+
+        val occurrences = (1..4).map { deduplicator.record("abc") }
+
+        assertEquals(listOf(1, 2, 3, 4), occurrences.map { it.count })
+        assertEquals(listOf(true, true, false, false), occurrences.map { it.isFullReport })
+    }
+
+    @Test
+    fun `counts fingerprints independently`() {
+        val deduplicator = deduplicator(file(), maxFullReports = 1)
+
+        deduplicator.record("abc")
+
+        assertTrue(deduplicator.record("def").isFullReport)
+        assertFalse(deduplicator.record("abc").isFullReport)
+    }
+
+    @Test
+    fun `starts a new window once the previous one elapsed`() {
+        val deduplicator = deduplicator(file(), maxFullReports = 1, windowMillis = 1_000)
+
+        deduplicator.record("abc")
+        now += 999
+        assertEquals(2, deduplicator.record("abc").count)
+
+        now += 1
+        val occurrence = deduplicator.record("abc")
+        assertEquals(1, occurrence.count)
+        assertTrue(occurrence.isFullReport)
+    }
+
+    @Test
+    fun `keeps counting across restarts`() {
+        val file = file()
+        deduplicator(file).record("abc")
+        deduplicator(file).record("abc")
+
+        assertEquals(3, deduplicator(file).record("abc").count)
+    }
+
+    @Test
+    fun `does not restore expired counters`() {
+        val file = file()
+        deduplicator(file, windowMillis = 1_000).record("abc")
+
+        now += 1_000
+
+        assertEquals(1, deduplicator(file, windowMillis = 1_000).record("abc").count)
+        assertEquals(1, file.readLines().size)
+    }
+
+    @Test
+    fun `evicts the least recently seen fingerprints beyond the limit`() {
+        val file = file()
+        val deduplicator = deduplicator(file, maxEntries = 2)
+
+        deduplicator.record("first")
+        deduplicator.record("second")
+        deduplicator.record("first")
+        deduplicator.record("third")
+
+        assertEquals(listOf("first", "third"), file.readLines().map { it.substringBefore(' ') })
+        assertEquals(1, deduplicator.record("second").count)
+    }
+
+    @Test
+    fun `ignores a corrupted file`() {
+        val file = file()
+        file.parentFile!!.mkdirs()
+        file.writeText("garbage\nabc not-a-number 2\ndef ${now - 10} 2\n")
+
+        val deduplicator = deduplicator(file)
+
+        assertEquals(1, deduplicator.record("abc").count)
+        assertEquals(3, deduplicator.record("def").count)
+    }
+
+    private fun file() = File(temporaryFolder.root, "counters/reports.dat")
+
+    private fun deduplicator(
+        file: File,
+        maxFullReports: Int = ReportDeduplicator.DEFAULT_MAX_FULL_REPORTS,
+        windowMillis: Long = ReportDeduplicator.DEFAULT_WINDOW_MILLIS,
+        maxEntries: Int = ReportDeduplicator.DEFAULT_MAX_ENTRIES
+    ) = ReportDeduplicator(file, maxFullReports, windowMillis, maxEntries) { now }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.utils.fingerprint
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotEquals
+import org.junit.Test
+
+class StackFingerprintTest {
+
+    @Test
+    fun `ignores line numbers and file names`() {
+        val first = arrayOf(frame("a.B", "foo", 10), frame("a.C", "bar", 20))
+        val second = arrayOf(frame("a.B", "foo", 11, "Other.kt"), frame("a.C", "bar", 99))
+
+        assertEquals(StackFingerprint.of(first), StackFingerprint.of(second))
+    }
+
+    @Test
+    fun `differs for different frames`() {
+        val first = arrayOf(frame("a.B", "foo"), frame("a.C", "bar"))
+        val second = arrayOf(frame("a.B", "foo"), frame("a.C", "baz"))
+
+        assertNotEquals(StackFingerprint.of(first), StackFingerprint.of(second))
+    }
+
+    @Test
+    fun `collapses recursion regardless of its depth`() {
+        val shallow = arrayOf(frame("a.B", "recurse"), frame("a.B", "recurse"), frame("a.C", "main"))
+        val deep = Array(500) { frame("a.B", "recurse") } + frame("a.C", "main")
+
+        assertEquals(StackFingerprint.of(shallow), StackFingerprint.of(deep))
+    }
+
+    @Test
+    fun `drops generated lambda class suffixes`() {
+        val first = arrayOf(frame("a.B\$\$Lambda\$14/0x0000000800c0b000", "run"))
+        val second = arrayOf(frame("a.B\$\$Lambda\$27/0x0000000800c1a440", "run"))
+
+        assertEquals(StackFingerprint.of(first), StackFingerprint.of(second))
+    }
+
+    @Test
+    fun `only considers the top frames`() {
+        val top = Array(StackFingerprint.MAX_FRAMES) { frame("a.B", "method$it") }
+
+        assertEquals(
+            StackFingerprint.of(top + frame("a.C", "first")),
+            StackFingerprint.of(top + frame("a.C", "second"))
+        )
+    }
+
+    @Test
+    fun `includes the exception types of the cause chain`() {
+        val stackTrace = arrayOf(frame("a.B", "foo"))
+        val first = IllegalStateException("boom", RuntimeException()).apply { this.stackTrace = stackTrace }
+        val second = IllegalStateException("bang", IllegalArgumentException()).apply { this.stackTrace = stackTrace }
+        first.cause!!.stackTrace = stackTrace
+        second.cause!!.stackTrace = stackTrace
+
+        assertNotEquals(StackFingerprint.of(first), StackFingerprint.of(second))
+    }
+
+    @Test
+    fun `ignores exception messages`() {
+        val stackTrace = arrayOf(frame("a.B", "foo"))
+        val first = IllegalStateException("user 1").apply { this.stackTrace = stackTrace }
+        val second = IllegalStateException("user 2").apply { this.stackTrace = stackTrace }
+
+        assertEquals(StackFingerprint.of(first), StackFingerprint.of(second))
+        assertEquals(16, StackFingerprint.of(first).length)
+    }
+
+    private fun frame(className: String, methodName: String, line: Int = 1, file: String = "File.kt") =
+        StackTraceElement(className, methodName, file, line)
+}
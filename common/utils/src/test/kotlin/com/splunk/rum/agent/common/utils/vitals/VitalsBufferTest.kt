@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.agent.common.utils.vitals
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+class VitalsBufferTest {
+
+    @Test
+    fun `encodes nothing when empty`() {
+        assertNull(VitalsBuffer(4).encode(1000, 4))
+    }
+
+    @Test
+    fun `encodes samples oldest first with their age`() {
+        val buffer = VitalsBuffer(4)
+        buffer.record(1000, 100, 512, 30, 12, 40, 250, 0)
+        buffer.record(2000, 120, 512, 31, 13, 41, 300, 15)
+
+        assertEquals("1500,100,512,30,12,40,250,0;500,120,512,31,13,41,300,15", buffer.encode(2500, 4))
+    }
+
+    @Test
+    fun `encodes only the requested number of latest samples`() {
+        val buffer = VitalsBuffer(4)
+        for (i in 1..3L) {
+            buffer.record(i * 1000, i, i, i, i, i, i, i)
+        }
+
+        assertEquals("1000,2,2,2,2,2,2,2;0,3,3,3,3,3,3,3", buffer.encode(3000, 2))
+    }
+
+    @Test
+    fun `overwrites the oldest samples when full`() {
+        val buffer = VitalsBuffer(2)
+        for (i in 1..5L) {
+            buffer.record(i * 1000, i, i, i, i, i, i, i)
+        }
+
+        assertEquals("1000,4,4,4,4,4,4,4;0,5,5,5,5,5,5,5", buffer.encode(5000, 10))
+    }
+
+    @Test
+    fun `latest is the most recent sample`() {
+        val buffer = VitalsBuffer(2)
+        assertNull(buffer.latest())
+
+        for (i in 1..3L) {
+            buffer.record(i * 1000, i * 10, 512, i, 12, 40, 250, 0)
+        }
+
+        val latest = requireNotNull(buffer.latest())
+        assertEquals(3000L, latest.timestampMillis)
+        assertEquals(30L, latest.heapUsedKb)
+        assertEquals(512L, latest.heapMaxKb)
+        assertEquals(3L, latest.nativeHeapKb)
+    }
+}
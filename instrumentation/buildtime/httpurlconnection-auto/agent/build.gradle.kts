@@ -24,4 +24,6 @@ android {
 dependencies {
     implementation(Dependencies.bytebuddy)
     implementation(project(":instrumentation:runtime:httpurlconnection-auto"))
+
+    testImplementation(Dependencies.Test.junit)
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.httpurlconnection.agent
+
+/**
+ * Scans the constant pool of a class file for `Methodref` entries without parsing the rest of
+ * the class. This lets the plugin skip classes that cannot contain a call site to substitute
+ * before ByteBuddy builds a type description and re-writes them.
+ *
+ * A `Methodref` only matches when its name and descriptor are configured and its owner, resolved
+ * through the referenced `Class` entry, is one of the configured internal class names. Unrelated
+ * classes that happen to declare a method with the same signature are skipped.
+ */
+internal class ConstantPoolScanner(owners: Collection<String>, signatures: Collection<Pair<String, String>>) {
+
+    private val owners: Set<String> = owners.toHashSet()
+
+    private val descriptorsByName: Map<String, Set<String>> = signatures
+        .groupBy({ it.first }, { it.second })
+        .mapValues { it.value.toHashSet() }
+
+    /**
+     * Returns `true` if the class file references at least one of the configured methods, or if
+     * the class file cannot be parsed, in which case the caller should fall back to weaving it.
+     */
+    fun referencesAny(classFile: ByteArray): Boolean = try {
+        scan(classFile)
+    } catch (e: IndexOutOfBoundsException) {
+        true
+    }
+
+    private fun scan(bytes: ByteArray): Boolean {
+        if (bytes.readInt(0) != MAGIC) {
+            return true
+        }
+
+        val count = bytes.readUnsignedShort(8)
+        val offsets = IntArray(count)
+        val tags = ByteArray(count)
+        var methodRefCount = 0
+
+        var offset = 10
+        var index = 1
+        while (index < count) {
+            val tag = bytes[offset]
+            tags[index] = tag
+            offsets[index] = offset + 1
+            offset += when (tag.toInt()) {
+                TAG_UTF8 -> 3 + bytes.readUnsignedShort(offset + 1)
+                TAG_CLASS, TAG_STRING, TAG_METHOD_TYPE, TAG_MODULE, TAG_PACKAGE -> 3
+                TAG_METHOD_HANDLE -> 4
+                TAG_INTEGER, TAG_FLOAT, TAG_FIELD_REF, TAG_METHOD_REF, TAG_INTERFACE_METHOD_REF,
+                TAG_NAME_AND_TYPE, TAG_DYNAMIC, TAG_INVOKE_DYNAMIC -> 5
+                TAG_LONG, TAG_DOUBLE -> {
+                    // 8-byte constants take up two entries in the constant pool.
+                    index++
+                    9
+                }
+                else -> return true
+            }
+            if (tag.toInt() == TAG_METHOD_REF) {
+                methodRefCount++
+            }
+            index++
+        }
+
+        if (offset > bytes.size) {
+            // The last entry is cut short, the class file is truncated.
+            return true
+        }
+
+        if (methodRefCount == 0) {
+            return false
+        }
+
+        for (i in 1 until count) {
+            if (tags[i].toInt() != TAG_METHOD_REF) {
+                continue
+            }
+
+            val nameAndType = offsets[bytes.readUnsignedShort(offsets[i] + 2)]
+            val descriptors = descriptorsByName[bytes.readUtf8(offsets[bytes.readUnsignedShort(nameAndType)])] ?: continue
+            if (bytes.readUtf8(offsets[bytes.readUnsignedShort(nameAndType + 2)]) !in descriptors) {
+                continue
+            }
+
+            val owner = bytes.readUnsignedShort(offsets[i])
+            if (tags[owner].toInt() != TAG_CLASS) {
+                // A Methodref must point at a Class entry, the class file is malformed.
+                return true
+            }
+            if (bytes.readUtf8(offsets[bytes.readUnsignedShort(offsets[owner])]) in owners) {
+                return true
+            }
+        }
+
+        return false
+    }
+
+    private fun ByteArray.readUnsignedShort(offset: Int): Int =
+        ((this[offset].toInt() and 0xFF) shl 8) or (this[offset + 1].toInt() and 0xFF)
+
+    private fun ByteArray.readInt(offset: Int): Int =
+        (readUnsignedShort(offset) shl 16) or readUnsignedShort(offset + 2)
+
+    /**
+     * Method names, descriptors and owners we look for are plain ASCII, for which modified UTF-8 is
+     * byte-for-byte identical to ISO-8859-1. Any other entry decodes to a string that cannot
+     * match, so the cheaper charset is safe here.
+     */
+    private fun ByteArray.readUtf8(offset: Int): String =
+        String(this, offset + 2, readUnsignedShort(offset), Charsets.ISO_8859_1)
+
+    private companion object {
+        const val MAGIC = 0xCAFEBABE.toInt()
+
+        const val TAG_UTF8 = 1
+        const val TAG_INTEGER = 3
+        const val TAG_FLOAT = 4
+        const val TAG_LONG = 5
+        const val TAG_DOUBLE = 6
+        const val TAG_CLASS = 7
+        const val TAG_STRING = 8
+        const val TAG_FIELD_REF = 9
+        const val TAG_METHOD_REF = 10
+        const val TAG_INTERFACE_METHOD_REF = 11
+        const val TAG_NAME_AND_TYPE = 12
+        const val TAG_METHOD_HANDLE = 15
+        const val TAG_METHOD_TYPE = 16
+        const val TAG_DYNAMIC = 17
+        const val TAG_INVOKE_DYNAMIC = 18
+        const val TAG_MODULE = 19
+        const val TAG_PACKAGE = 20
+    }
+}
@@ -18,354 +18,156 @@
 package com.splunk.rum.instrumentation.httpurlconnection.agent
 
 import com.splunk.rum.instrumentation.httpurlconnection.auto.HttpUrlReplacements
+import java.io.IOException
 import java.lang.Integer
 import java.lang.Long
+import java.lang.reflect.Method
 import java.net.HttpURLConnection
 import java.net.URLConnection
+import java.util.Collections
+import java.util.concurrent.ConcurrentHashMap
+import net.bytebuddy.asm.AsmVisitorWrapper
 import net.bytebuddy.asm.MemberSubstitution
 import net.bytebuddy.build.AndroidDescriptor
 import net.bytebuddy.build.Plugin
+import net.bytebuddy.description.method.MethodDescription
 import net.bytebuddy.description.type.TypeDescription
 import net.bytebuddy.dynamic.ClassFileLocator
 import net.bytebuddy.dynamic.DynamicType
 import net.bytebuddy.matcher.ElementMatchers
 import net.bytebuddy.matcher.ElementMatchers.`is`
 
-internal class HttpUrlConnectionPlugin(private val androidDescriptor: AndroidDescriptor) : Plugin {
+/**
+ * Replaces calls to [URLConnection] and [HttpURLConnection] methods with the matching
+ * [HttpUrlReplacements] methods.
+ *
+ * The substitution is resolved once per plugin instance. Every class goes through a constant
+ * pool scan in [onPreprocess] and only classes that actually call one of the replaced methods are
+ * matched, so all other classes are passed through byte-for-byte and stay up to date for the
+ * incremental tasks that consume them.
+ */
+internal class HttpUrlConnectionPlugin(private val androidDescriptor: AndroidDescriptor) : Plugin.WithPreprocessor {
+
+    private val replacements: List<Pair<Method, Method>> = try {
+        createReplacements()
+    } catch (e: NoSuchMethodException) {
+        throw RuntimeException(e)
+    }
+
+    private val substitution: AsmVisitorWrapper = replacements
+        .fold(MemberSubstitution.relaxed()) { substitution, (target, replacement) ->
+            substitution.method(`is`(target)).replaceWith(replacement)
+        }
+        .on(ElementMatchers.isMethod())
+
+    private val scanner = ConstantPoolScanner(
+        OWNERS,
+        replacements.map { (target, _) ->
+            val description = MethodDescription.ForLoadedMethod(target)
+            description.internalName to description.descriptor
+        }
+    )
+
+    private val candidates: MutableSet<String> = Collections.newSetFromMap(ConcurrentHashMap())
+
+    override fun onPreprocess(typeDescription: TypeDescription, classFileLocator: ClassFileLocator) {
+        if (androidDescriptor.getTypeScope(typeDescription) == AndroidDescriptor.TypeScope.EXTERNAL) {
+            return
+        }
+
+        val resolution = classFileLocator.locate(typeDescription.name)
+        if (!resolution.isResolved || scanner.referencesAny(resolution.resolve())) {
+            candidates += typeDescription.name
+        }
+    }
+
     override fun apply(
         builder: DynamicType.Builder<*>,
         typeDescription: TypeDescription,
         classFileLocator: ClassFileLocator
-    ): DynamicType.Builder<*> {
-        try {
-            return builder.visit(
-                MemberSubstitution
-                    .relaxed()
-                    .method(
-                        `is`(
-                            URLConnection::class.java.getDeclaredMethod(
-                                "connect"
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForConnect",
-                            URLConnection::class.java
-                        )
-                    ).method(
-                        `is`(
-                            URLConnection::class.java.getDeclaredMethod(
-                                "getContent"
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForContent",
-                            URLConnection::class.java
-                        )
-                    ).method(
-                        `is`(
-                            URLConnection::class.java.getDeclaredMethod(
-                                "getContent",
-                                arrayOf<Class<*>>()::class.java
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForContent",
-                            URLConnection::class.java,
-                            arrayOf<Class<*>>()::class.java
-                        )
-                    ).method(
-                        `is`(
-                            URLConnection::class.java.getDeclaredMethod(
-                                "getContentType"
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForContentType",
-                            URLConnection::class.java
-                        )
-                    ).method(
-                        `is`(
-                            URLConnection::class.java.getDeclaredMethod(
-                                "getContentEncoding"
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForContentEncoding",
-                            URLConnection::class.java
-                        )
-                    ).method(
-                        `is`(
-                            URLConnection::class.java.getDeclaredMethod(
-                                "getContentLength"
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForContentLength",
-                            URLConnection::class.java
-                        )
-                    ).method(
-                        `is`(
-                            URLConnection::class.java.getDeclaredMethod(
-                                "getContentLengthLong"
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForContentLengthLong",
-                            URLConnection::class.java
-                        )
-                    ).method(
-                        `is`(
-                            URLConnection::class.java.getDeclaredMethod(
-                                "getExpiration"
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForExpiration",
-                            URLConnection::class.java
-                        )
-                    ).method(
-                        `is`(
-                            URLConnection::class.java.getDeclaredMethod(
-                                "getDate"
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForDate",
-                            URLConnection::class.java
-                        )
-                    ).method(
-                        `is`(
-                            URLConnection::class.java.getDeclaredMethod(
-                                "getLastModified"
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForLastModified",
-                            URLConnection::class.java
-                        )
-                    ).method(
-                        `is`(
-                            URLConnection::class.java.getDeclaredMethod(
-                                "getHeaderField",
-                                String::class.java
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForHeaderField",
-                            URLConnection::class.java,
-                            String::class.java
-                        )
-                    ).method(
-                        `is`(
-                            URLConnection::class.java.getDeclaredMethod(
-                                "getHeaderFields"
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForHeaderFields",
-                            URLConnection::class.java
-                        )
-                    ).method(
-                        `is`(
-                            URLConnection::class.java.getDeclaredMethod(
-                                "getHeaderFieldInt",
-                                String::class.java,
-                                Integer.TYPE
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForHeaderFieldInt",
-                            URLConnection::class.java,
-                            String::class.java,
-                            Integer.TYPE
-                        )
-                    ).method(
-                        `is`(
-                            URLConnection::class.java.getDeclaredMethod(
-                                "getHeaderFieldLong",
-                                String::class.java,
-                                Long.TYPE
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForHeaderFieldLong",
-                            URLConnection::class.java,
-                            String::class.java,
-                            Long.TYPE
-                        )
-                    ).method(
-                        `is`(
-                            URLConnection::class.java.getDeclaredMethod(
-                                "getHeaderField",
-                                Integer.TYPE
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForHeaderField",
-                            URLConnection::class.java,
-                            Integer.TYPE
-                        )
-                    ).method(
-                        `is`(
-                            HttpURLConnection::class.java.getDeclaredMethod(
-                                "getHeaderField",
-                                Integer.TYPE
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForHttpHeaderField",
-                            HttpURLConnection::class.java,
-                            Integer.TYPE
-                        )
-                    ).method(
-                        `is`(
-                            URLConnection::class.java.getDeclaredMethod(
-                                "getHeaderFieldKey",
-                                Integer.TYPE
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForHeaderFieldKey",
-                            URLConnection::class.java,
-                            Integer.TYPE
-                        )
-                    ).method(
-                        `is`(
-                            HttpURLConnection::class.java.getDeclaredMethod(
-                                "getHeaderFieldKey",
-                                Integer.TYPE
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForHttpHeaderFieldKey",
-                            HttpURLConnection::class.java,
-                            Integer.TYPE
-                        )
-                    ).method(
-                        `is`(
-                            URLConnection::class.java.getDeclaredMethod(
-                                "getHeaderFieldDate",
-                                String::class.java,
-                                Long.TYPE
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForHeaderFieldDate",
-                            URLConnection::class.java,
-                            String::class.java,
-                            Long.TYPE
-                        )
-                    ).method(
-                        `is`(
-                            HttpURLConnection::class.java.getDeclaredMethod(
-                                "getHeaderFieldDate",
-                                String::class.java,
-                                Long.TYPE
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForHttpHeaderFieldDate",
-                            HttpURLConnection::class.java,
-                            String::class.java,
-                            Long.TYPE
-                        )
-                    ).method(
-                        `is`(
-                            HttpURLConnection::class.java.getDeclaredMethod(
-                                "getResponseCode"
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForResponseCode",
-                            URLConnection::class.java
-                        )
-                    ).method(
-                        `is`(
-                            HttpURLConnection::class.java.getDeclaredMethod(
-                                "getResponseMessage"
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForResponseMessage",
-                            URLConnection::class.java
-                        )
-                    ).method(
-                        `is`(
-                            URLConnection::class.java.getDeclaredMethod(
-                                "getOutputStream"
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForOutputStream",
-                            URLConnection::class.java
-                        )
-                    ).method(
-                        `is`(
-                            URLConnection::class.java.getDeclaredMethod(
-                                "getInputStream"
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForInputStream",
-                            URLConnection::class.java
-                        )
-                    ).method(
-                        `is`(
-                            HttpURLConnection::class.java.getDeclaredMethod(
-                                "getErrorStream"
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForErrorStream",
-                            HttpURLConnection::class.java
-                        )
-                    ).method(
-                        `is`(
-                            HttpURLConnection::class.java.getDeclaredMethod(
-                                "disconnect"
-                            )
-                        )
-                    ).replaceWith(
-                        HttpUrlReplacements::class.java.getDeclaredMethod(
-                            "replacementForDisconnect",
-                            HttpURLConnection::class.java
-                        )
-                    ).on(ElementMatchers.isMethod())
-            )
-        } catch (e: NoSuchMethodException) {
-            throw RuntimeException(e)
-        }
-    }
+    ): DynamicType.Builder<*> = builder.visit(substitution)
 
+    @Throws(IOException::class)
     override fun close() {
-        // No operation.
+        candidates.clear()
     }
 
-    override fun matches(target: TypeDescription): Boolean =
-        androidDescriptor.getTypeScope(target) != AndroidDescriptor.TypeScope.EXTERNAL
+    override fun matches(target: TypeDescription): Boolean = target.name in candidates
+
+    private companion object {
+
+        /**
+         * Internal names of the connection types a call site must be compiled against to be substituted.
+         */
+        val OWNERS = listOf(
+            "java/net/URLConnection",
+            "java/net/HttpURLConnection",
+            "javax/net/ssl/HttpsURLConnection"
+        )
+
+        @Throws(NoSuchMethodException::class)
+        fun createReplacements(): List<Pair<Method, Method>> = listOf(
+            urlConnection("connect") to
+                replacement("replacementForConnect", URLConnection::class.java),
+            urlConnection("getContent") to
+                replacement("replacementForContent", URLConnection::class.java),
+            urlConnection("getContent", arrayOf<Class<*>>()::class.java) to
+                replacement("replacementForContent", URLConnection::class.java, arrayOf<Class<*>>()::class.java),
+            urlConnection("getContentType") to
+                replacement("replacementForContentType", URLConnection::class.java),
+            urlConnection("getContentEncoding") to
+                replacement("replacementForContentEncoding", URLConnection::class.java),
+            urlConnection("getContentLength") to
+                replacement("replacementForContentLength", URLConnection::class.java),
+            urlConnection("getContentLengthLong") to
+                replacement("replacementForContentLengthLong", URLConnection::class.java),
+            urlConnection("getExpiration") to
+                replacement("replacementForExpiration", URLConnection::class.java),
+            urlConnection("getDate") to
+                replacement("replacementForDate", URLConnection::class.java),
+            urlConnection("getLastModified") to
+                replacement("replacementForLastModified", URLConnection::class.java),
+            urlConnection("getHeaderField", String::class.java) to
+                replacement("replacementForHeaderField", URLConnection::class.java, String::class.java),
+            urlConnection("getHeaderFields") to
+                replacement("replacementForHeaderFields", URLConnection::class.java),
+            urlConnection("getHeaderFieldInt", String::class.java, Integer.TYPE) to
+                replacement("replacementForHeaderFieldInt", URLConnection::class.java, String::class.java, Integer.TYPE),
+            urlConnection("getHeaderFieldLong", String::class.java, Long.TYPE) to
+                replacement("replacementForHeaderFieldLong", URLConnection::class.java, String::class.java, Long.TYPE),
+            urlConnection("getHeaderField", Integer.TYPE) to
+                replacement("replacementForHeaderField", URLConnection::class.java, Integer.TYPE),
+            httpUrlConnection("getHeaderField", Integer.TYPE) to
+                replacement("replacementForHttpHeaderField", HttpURLConnection::class.java, Integer.TYPE),
+            urlConnection("getHeaderFieldKey", Integer.TYPE) to
+                replacement("replacementForHeaderFieldKey", URLConnection::class.java, Integer.TYPE),
+            httpUrlConnection("getHeaderFieldKey", Integer.TYPE) to
+                replacement("replacementForHttpHeaderFieldKey", HttpURLConnection::class.java, Integer.TYPE),
+            urlConnection("getHeaderFieldDate", String::class.java, Long.TYPE) to
+                replacement("replacementForHeaderFieldDate", URLConnection::class.java, String::class.java, Long.TYPE),
+            httpUrlConnection("getHeaderFieldDate", String::class.java, Long.TYPE) to
+                replacement("replacementForHttpHeaderFieldDate", HttpURLConnection::class.java, String::class.java, Long.TYPE),
+            httpUrlConnection("getResponseCode") to
+                replacement("replacementForResponseCode", URLConnection::class.java),
+            httpUrlConnection("getResponseMessage") to
+                replacement("replacementForResponseMessage", URLConnection::class.java),
+            urlConnection("getOutputStream") to
+                replacement("replacementForOutputStream", URLConnection::class.java),
+            urlConnection("getInputStream") to
+                replacement("replacementForInputStream", URLConnection::class.java),
+            httpUrlConnection("getErrorStream") to
+                replacement("replacementForErrorStream", HttpURLConnection::class.java),
+            httpUrlConnection("disconnect") to
+                replacement("replacementForDisconnect", HttpURLConnection::class.java)
+        )
+
+        fun urlConnection(name: String, vararg parameterTypes: Class<*>): Method =
+            URLConnection::class.java.getDeclaredMethod(name, *parameterTypes)
+
+        fun httpUrlConnection(name: String, vararg parameterTypes: Class<*>): Method =
+            HttpURLConnection::class.java.getDeclaredMethod(name, *parameterTypes)
+
+        fun replacement(name: String, vararg parameterTypes: Class<*>): Method =
+            HttpUrlReplacements::class.java.getDeclaredMethod(name, *parameterTypes)
+    }
 }
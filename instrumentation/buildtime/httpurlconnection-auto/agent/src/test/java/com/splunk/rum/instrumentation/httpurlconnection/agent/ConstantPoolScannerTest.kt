@@ -0,0 +1,288 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.httpurlconnection.agent
+
+import java.io.ByteArrayOutputStream
+import java.io.DataOutputStream
+import java.net.HttpURLConnection
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class ConstantPoolScannerTest {
+
+    private val scanner = ConstantPoolScanner(
+        listOf("java/net/URLConnection", "java/net/HttpURLConnection", "javax/net/ssl/HttpsURLConnection"),
+        listOf(GET_INPUT_STREAM to GET_INPUT_STREAM_DESCRIPTOR, CONNECT to CONNECT_DESCRIPTOR)
+    )
+
+    @Test
+    fun `compiled class calling a configured method is detected`() {
+        val classFile = classFileOf(Caller::class.java)
+
+        assertTrue(scanner.referencesAny(classFile))
+    }
+
+    @Test
+    fun `compiled class without a configured call is not detected`() {
+        val classFile = classFileOf(NonCaller::class.java)
+
+        assertFalse(scanner.referencesAny(classFile))
+    }
+
+    @Test
+    fun `method reference on any configured owner is detected`() {
+        val pool = ConstantPool()
+        pool.methodRef("javax/net/ssl/HttpsURLConnection", GET_INPUT_STREAM, GET_INPUT_STREAM_DESCRIPTOR)
+
+        assertTrue(scanner.referencesAny(pool.toClassFile()))
+    }
+
+    @Test
+    fun `method reference on an unrelated owner is not detected`() {
+        val pool = ConstantPool()
+        pool.methodRef("com/example/Socket", CONNECT, CONNECT_DESCRIPTOR)
+
+        assertFalse(scanner.referencesAny(pool.toClassFile()))
+    }
+
+    @Test
+    fun `compiled class calling an unrelated connect method is not detected`() {
+        val classFile = classFileOf(UnrelatedCaller::class.java)
+
+        assertFalse(scanner.referencesAny(classFile))
+    }
+
+    @Test
+    fun `method reference whose owner is not a class entry falls back to weaving`() {
+        val pool = ConstantPool()
+        pool.rawMethodRef(pool.utf8("java/net/URLConnection"), pool.nameAndType(CONNECT, CONNECT_DESCRIPTOR))
+
+        assertTrue(scanner.referencesAny(pool.toClassFile()))
+    }
+
+    @Test
+    fun `class without a matching method reference is not detected`() {
+        val pool = ConstantPool()
+        pool.methodRef("java/lang/Object", "toString", "()Ljava/lang/String;")
+        pool.methodRef("java/net/URLConnection", GET_INPUT_STREAM, "()V")
+        pool.methodRef("java/net/URLConnection", "getOutputStream", GET_INPUT_STREAM_DESCRIPTOR)
+
+        assertFalse(scanner.referencesAny(pool.toClassFile()))
+    }
+
+    @Test
+    fun `class without any method reference is not detected`() {
+        val pool = ConstantPool()
+        pool.utf8(GET_INPUT_STREAM)
+        pool.utf8(GET_INPUT_STREAM_DESCRIPTOR)
+
+        assertFalse(scanner.referencesAny(pool.toClassFile()))
+    }
+
+    @Test
+    fun `long and double constants take up two entries`() {
+        val pool = ConstantPool()
+        pool.longConstant(Long.MAX_VALUE)
+        pool.doubleConstant(Math.PI)
+        pool.methodRef("java/net/URLConnection", GET_INPUT_STREAM, GET_INPUT_STREAM_DESCRIPTOR)
+        pool.longConstant(42L)
+
+        assertTrue(scanner.referencesAny(pool.toClassFile()))
+    }
+
+    @Test
+    fun `method handle and invokedynamic entries are skipped`() {
+        val pool = ConstantPool()
+        val bootstrap = pool.methodRef("java/lang/invoke/LambdaMetafactory", "metafactory", "()V")
+        pool.methodHandle(REF_INVOKE_STATIC, bootstrap)
+        pool.invokeDynamic(0, pool.nameAndType("run", "()Ljava/lang/Runnable;"))
+        pool.methodType("()V")
+
+        assertFalse(scanner.referencesAny(pool.toClassFile()))
+
+        pool.methodRef("java/net/URLConnection", GET_INPUT_STREAM, GET_INPUT_STREAM_DESCRIPTOR)
+
+        assertTrue(scanner.referencesAny(pool.toClassFile()))
+    }
+
+    @Test
+    fun `truncated class file falls back to weaving`() {
+        val pool = ConstantPool()
+        pool.methodRef("java/lang/Object", "toString", "()Ljava/lang/String;")
+        pool.longConstant(1L)
+        val classFile = pool.toClassFile()
+
+        for (length in 0 until HEADER_SIZE + pool.size) {
+            assertTrue("length $length", scanner.referencesAny(classFile.copyOf(length)))
+        }
+    }
+
+    @Test
+    fun `out of range constant pool index falls back to weaving`() {
+        val pool = ConstantPool()
+        val owner = pool.classRef("java/net/URLConnection")
+        pool.rawMethodRef(owner, 0xFFFF)
+
+        assertTrue(scanner.referencesAny(pool.toClassFile()))
+    }
+
+    @Test
+    fun `unknown constant pool tag falls back to weaving`() {
+        val pool = ConstantPool()
+        pool.unknownEntry(tag = 2)
+
+        assertTrue(scanner.referencesAny(pool.toClassFile()))
+    }
+
+    @Test
+    fun `file that is not a class file falls back to weaving`() {
+        val classFile = ConstantPool().toClassFile()
+        classFile[0] = 0
+
+        assertTrue(scanner.referencesAny(classFile))
+    }
+
+    private fun classFileOf(clazz: Class<*>): ByteArray =
+        requireNotNull(clazz.getResourceAsStream(clazz.name.substringAfterLast('.') + ".class")).use { it.readBytes() }
+
+    private class Caller {
+        fun read(connection: HttpURLConnection) = connection.inputStream
+    }
+
+    private class NonCaller {
+        fun read(connection: HttpURLConnection) = connection.responseCode
+    }
+
+    private class UnrelatedConnection {
+        fun connect() = Unit
+    }
+
+    private class UnrelatedCaller {
+        fun open(connection: UnrelatedConnection) = connection.connect()
+    }
+
+    /**
+     * Builds the constant pool of a minimal class file, keeping track of the entry indexes the way
+     * the JVM specification numbers them.
+     */
+    private class ConstantPool {
+
+        private val bytes = ByteArrayOutputStream()
+        private val out = DataOutputStream(bytes)
+        private var count = 1
+
+        val size: Int
+            get() = bytes.size()
+
+        fun utf8(value: String): Int {
+            out.writeByte(1)
+            out.writeUTF(value)
+            return count++
+        }
+
+        fun classRef(name: String): Int {
+            val nameIndex = utf8(name)
+            out.writeByte(7)
+            out.writeShort(nameIndex)
+            return count++
+        }
+
+        fun nameAndType(name: String, descriptor: String): Int {
+            val nameIndex = utf8(name)
+            val descriptorIndex = utf8(descriptor)
+            out.writeByte(12)
+            out.writeShort(nameIndex)
+            out.writeShort(descriptorIndex)
+            return count++
+        }
+
+        fun methodRef(owner: String, name: String, descriptor: String): Int =
+            rawMethodRef(classRef(owner), nameAndType(name, descriptor))
+
+        fun rawMethodRef(ownerIndex: Int, nameAndTypeIndex: Int): Int {
+            out.writeByte(10)
+            out.writeShort(ownerIndex)
+            out.writeShort(nameAndTypeIndex)
+            return count++
+        }
+
+        fun longConstant(value: Long): Int {
+            out.writeByte(5)
+            out.writeLong(value)
+            return count.also { count += 2 }
+        }
+
+        fun doubleConstant(value: Double): Int {
+            out.writeByte(6)
+            out.writeDouble(value)
+            return count.also { count += 2 }
+        }
+
+        fun methodHandle(kind: Int, referenceIndex: Int): Int {
+            out.writeByte(15)
+            out.writeByte(kind)
+            out.writeShort(referenceIndex)
+            return count++
+        }
+
+        fun methodType(descriptor: String): Int {
+            val descriptorIndex = utf8(descriptor)
+            out.writeByte(16)
+            out.writeShort(descriptorIndex)
+            return count++
+        }
+
+        fun invokeDynamic(bootstrapMethodIndex: Int, nameAndTypeIndex: Int): Int {
+            out.writeByte(18)
+            out.writeShort(bootstrapMethodIndex)
+            out.writeShort(nameAndTypeIndex)
+            return count++
+        }
+
+        fun unknownEntry(tag: Int) {
+            out.writeByte(tag)
+            out.writeShort(0)
+            count++
+        }
+
+        fun toClassFile(): ByteArray {
+            val classFile = ByteArrayOutputStream()
+            DataOutputStream(classFile).apply {
+                writeInt(0xCAFEBABE.toInt())
+                writeShort(0)
+                writeShort(JAVA_8_MAJOR_VERSION)
+                writeShort(count)
+                write(bytes.toByteArray())
+                // Access flags, this and super class, then no interfaces, fields, methods nor attributes.
+                repeat(7) { writeShort(0) }
+            }
+            return classFile.toByteArray()
+        }
+    }
+
+    private companion object {
+        const val GET_INPUT_STREAM = "getInputStream"
+        const val GET_INPUT_STREAM_DESCRIPTOR = "()Ljava/io/InputStream;"
+        const val CONNECT = "connect"
+        const val CONNECT_DESCRIPTOR = "()V"
+
+        const val HEADER_SIZE = 10
+        const val JAVA_8_MAJOR_VERSION = 52
+        const val REF_INVOKE_STATIC = 6
+    }
+}
@@ -30,5 +30,6 @@ dependencies {
      */
     implementation(Dependencies.okio)
     implementation(Dependencies.Otel.api)
+    implementation(project(":instrumentation:runtime:okhttp3-common"))
     implementation(project(":instrumentation:runtime:okhttp3-auto"))
 }
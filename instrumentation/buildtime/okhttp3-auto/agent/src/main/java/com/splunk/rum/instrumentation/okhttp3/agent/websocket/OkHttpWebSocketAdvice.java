@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.okhttp3.agent.websocket;
+
+import com.splunk.rum.instrumentation.okhttp3.auto.internal.OkHttpWebSocketAdviceHelper;
+import com.splunk.rum.instrumentation.okhttp3.common.internal.WebSocketConnection;
+import net.bytebuddy.asm.Advice;
+import okhttp3.Request;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+
+public class OkHttpWebSocketAdvice {
+
+  @Advice.OnMethodEnter
+  public static WebSocketConnection enter(
+      @Advice.Argument(value = 0, readOnly = false) Request request,
+      @Advice.Argument(value = 1, readOnly = false) WebSocketListener listener) {
+    WebSocketConnection connection = OkHttpWebSocketAdviceHelper.startConnection(request);
+    if (connection != null) {
+      request = connection.getRequest();
+      listener = connection.wrap(listener);
+    }
+    return connection;
+  }
+
+  @Advice.OnMethodExit(onThrowable = Throwable.class)
+  public static void exit(
+      @Advice.Enter WebSocketConnection connection,
+      @Advice.Return(readOnly = false) WebSocket webSocket,
+      @Advice.Thrown Throwable throwable) {
+    if (connection == null) {
+      return;
+    }
+    if (throwable != null) {
+      connection.onConnectFailed(throwable);
+    } else {
+      webSocket = connection.wrap(webSocket);
+    }
+  }
+}
@@ -27,8 +27,11 @@ import java.util.concurrent.TimeUnit
  * the app is foregrounded and cancelled when it is backgrounded, so the watchdog never runs in the
  * background where the OS does not raise ANRs.
  */
-internal class AnrDetectorToggler(private val anrWatcher: Runnable, private val scheduler: ScheduledExecutorService) :
-    AppStateObserver.Listener {
+internal class AnrDetectorToggler @JvmOverloads constructor(
+    private val anrWatcher: Runnable,
+    private val scheduler: ScheduledExecutorService,
+    private val pollIntervalNs: Long = AnrWatcher.DEFAULT_POLL_INTERVAL_NS
+) : AppStateObserver.Listener {
 
     private var future: ScheduledFuture<*>? = null
 
@@ -37,9 +40,9 @@ internal class AnrDetectorToggler(private val anrWatcher: Runnable, private val
         if (future == null) {
             future = scheduler.scheduleWithFixedDelay(
                 anrWatcher,
-                POLL_INTERVAL_SECONDS,
-                POLL_INTERVAL_SECONDS,
-                TimeUnit.SECONDS
+                pollIntervalNs,
+                pollIntervalNs,
+                TimeUnit.NANOSECONDS
             )
         }
     }
@@ -53,8 +56,4 @@ internal class AnrDetectorToggler(private val anrWatcher: Runnable, private val
     override fun onAppStarted() = Unit
 
     override fun onAppClosed() = onAppBackgrounded()
-
-    private companion object {
-        private const val POLL_INTERVAL_SECONDS = 1L
-    }
 }
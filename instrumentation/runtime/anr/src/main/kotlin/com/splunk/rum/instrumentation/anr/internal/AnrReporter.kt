@@ -17,33 +17,71 @@
 
 package com.splunk.rum.instrumentation.anr.internal
 
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import com.splunk.rum.agent.common.utils.fingerprint.ReportDeduplicator
+import com.splunk.rum.agent.common.utils.fingerprint.StackFingerprint
 import com.splunk.rum.common.logger.Logger
 import com.splunk.rum.instrumentation.anr.internal.extractor.AnrAttributesExtractor
 import io.opentelemetry.api.OpenTelemetry
+import io.opentelemetry.api.common.AttributeKey
 import io.opentelemetry.api.common.Attributes
 import io.opentelemetry.api.trace.StatusCode
 import io.opentelemetry.semconv.ExceptionAttributes
 
 /**
- * Emits ANR telemetry through OpenTelemetry as an error span carrying the main thread's stack trace.
+ * Emits ANR telemetry through OpenTelemetry as an error span carrying the main thread's stack trace
+ * and, when available, the folded stacks sampled while the main thread was unresponsive and the
+ * lock analysis of an [AnrThreadDump].
+ *
+ * Every ANR carries the fingerprint of the main thread's stack. When a [deduplicator] is set,
+ * repeated ANRs with the same fingerprint are reported without their stacks once the deduplicator's
+ * limit is reached, with their occurrence count instead.
  */
 internal class AnrReporter(
     private val openTelemetry: OpenTelemetry,
-    private val additionalExtractors: List<AnrAttributesExtractor>
+    private val additionalExtractors: List<AnrAttributesExtractor>,
+    private val deduplicator: ReportDeduplicator? = null
 ) {
 
-    /** Emits an ANR event for the given main-thread [stackTrace]. Never throws. */
-    fun report(stackTrace: Array<StackTraceElement>) {
+    /**
+     * Emits an ANR event for the given main-thread [stackTrace], optional [foldedStacks] as
+     * produced by [AnrStackSampler.foldedStacks] and optional [threadDump] as produced by
+     * [AnrThreadCapture.capture]. Never throws.
+     */
+    @JvmOverloads
+    fun report(stackTrace: Array<StackTraceElement>, foldedStacks: String? = null, threadDump: AnrThreadDump? = null) {
         try {
-            emitAnrEvent(stackTrace)
+            emitAnrEvent(stackTrace, foldedStacks, threadDump)
         } catch (e: Throwable) {
             Logger.e(TAG, "Failed to report ANR", e)
         }
     }
 
-    private fun emitAnrEvent(stackTrace: Array<StackTraceElement>) {
+    private fun emitAnrEvent(stackTrace: Array<StackTraceElement>, foldedStacks: String?, threadDump: AnrThreadDump?) {
+        val fingerprint = StackFingerprint.of(stackTrace)
+        val occurrence = deduplicator?.record(fingerprint)
+
         val attributes = Attributes.builder()
-            .put(ExceptionAttributes.EXCEPTION_STACKTRACE, formatStackTrace(stackTrace))
+            .put(GlobalRumConstants.EXCEPTION_FINGERPRINT_KEY, fingerprint)
+
+        if (occurrence == null || occurrence.isFullReport) {
+            attributes.put(ExceptionAttributes.EXCEPTION_STACKTRACE, formatStackTrace(stackTrace))
+            if (foldedStacks != null) {
+                attributes.put(ANR_STACK_SAMPLES_KEY, foldedStacks)
+            }
+            threadDump?.threads?.let { attributes.put(ANR_THREADS_KEY, it) }
+        }
+        if (threadDump != null) {
+            attributes.put(ANR_MAIN_THREAD_STATE_KEY, threadDump.mainThreadState)
+            threadDump.lockClass?.let { attributes.put(ANR_LOCK_CLASS_KEY, it) }
+            threadDump.lockOwner?.let { attributes.put(ANR_LOCK_OWNER_KEY, it) }
+            if (threadDump.isDeadlock) {
+                attributes.put(ANR_DEADLOCK_KEY, true)
+            }
+        }
+        if (occurrence != null) {
+            attributes.put(GlobalRumConstants.EXCEPTION_OCCURRENCE_COUNT_KEY, occurrence.count.toLong())
+        }
 
         for (extractor in additionalExtractors) {
             try {
@@ -78,5 +116,19 @@ internal class AnrReporter(
 
         const val ANR_INSTRUMENTATION_SCOPE_NAME = "com.splunk.rum.anr"
         const val ANR_SPAN_NAME = "ANR"
+
+        /** Main thread stacks sampled before the ANR, one `frame;frame;frame count` line per stack. */
+        val ANR_STACK_SAMPLES_KEY: AttributeKey<String> = AttributeKey.stringKey("anr.stack_samples")
+
+        /** State of the main thread when the ANR is reported, e.g. `BLOCKED`. */
+        val ANR_MAIN_THREAD_STATE_KEY: AttributeKey<String> = AttributeKey.stringKey("anr.main_thread.state")
+
+        /** Class of the lock the main thread waits on and name of the thread holding it. */
+        val ANR_LOCK_CLASS_KEY: AttributeKey<String> = AttributeKey.stringKey("anr.lock.class")
+        val ANR_LOCK_OWNER_KEY: AttributeKey<String> = AttributeKey.stringKey("anr.lock.owner")
+        val ANR_DEADLOCK_KEY: AttributeKey<Boolean> = AttributeKey.booleanKey("anr.lock.deadlock")
+
+        /** Stacks of the lock owner and the other threads waiting on the lock, see [AnrThreadDump.threads]. */
+        val ANR_THREADS_KEY: AttributeKey<String> = AttributeKey.stringKey("anr.threads")
     }
 }
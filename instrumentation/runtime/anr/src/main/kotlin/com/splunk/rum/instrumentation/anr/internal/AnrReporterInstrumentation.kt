@@ -21,18 +21,24 @@ import android.app.Application
 import android.os.Handler
 import android.os.Looper
 import com.splunk.rum.agent.common.utils.extensions.isStartedInForeground
+import com.splunk.rum.agent.common.utils.fingerprint.ReportDeduplicator
+import com.splunk.rum.agent.common.utils.vitals.RuntimeVitals
 import com.splunk.rum.common.utils.AppStateObserver
 import com.splunk.rum.instrumentation.anr.internal.extractor.AnrAttributesExtractor
+import com.splunk.rum.instrumentation.anr.internal.extractor.RuntimeVitalsExtractor
 import io.opentelemetry.api.OpenTelemetry
+import java.io.File
 import java.util.concurrent.Executors
 import java.util.concurrent.ThreadFactory
+import java.util.concurrent.TimeUnit
 
 /**
  * Entry point for installing ANR (application not responding) detection.
  *
  * Register any additional [AnrAttributesExtractor]s via [addAttributesExtractor] before calling
- * [install]. Detection is foreground-only and backed by a daemon watchdog thread that is cancelled
- * whenever the app is backgrounded.
+ * [install]; the runtime vitals leading into the ANR are attached automatically. Detection is
+ * foreground-only and backed by a daemon watchdog thread that is cancelled whenever the app is
+ * backgrounded.
  *
  * This class is internal and is hence not for public use. Its APIs are unstable and can change at
  * any time.
@@ -40,6 +46,10 @@ import java.util.concurrent.ThreadFactory
 class AnrReporterInstrumentation {
 
     private val additionalExtractors = mutableListOf<AnrAttributesExtractor>()
+    private var anrThresholdNs = AnrWatcher.DEFAULT_POLL_INTERVAL_NS * AnrWatcher.DEFAULT_MISSED_POLLS_THRESHOLD
+    private var pollIntervalNs = AnrWatcher.DEFAULT_POLL_INTERVAL_NS
+    private var isStackSamplingEnabled = false
+    private var isAllThreadsCaptureEnabled = false
 
     /** Adds an [AnrAttributesExtractor] that enriches emitted ANR events. */
     fun addAttributesExtractor(extractor: AnrAttributesExtractor): AnrReporterInstrumentation {
@@ -47,16 +57,74 @@ class AnrReporterInstrumentation {
         return this
     }
 
+    /** Sets how long the main thread has to be unresponsive before an ANR is reported. */
+    fun setAnrThreshold(threshold: Long, unit: TimeUnit): AnrReporterInstrumentation {
+        require(threshold > 0) { "ANR threshold must be positive" }
+        anrThresholdNs = unit.toNanos(threshold)
+        return this
+    }
+
+    /**
+     * Sets how often the watchdog checks that the main thread is responsive. Shorter intervals
+     * report an ANR closer to the threshold, at the cost of waking up the watchdog thread more often.
+     */
+    fun setPollInterval(interval: Long, unit: TimeUnit): AnrReporterInstrumentation {
+        require(interval > 0) { "ANR poll interval must be positive" }
+        pollIntervalNs = unit.toNanos(interval)
+        return this
+    }
+
+    /**
+     * Sets whether the main thread's stack is sampled from the first missed poll until the ANR is
+     * reported. The samples are attached to the ANR span as folded stacks.
+     */
+    fun setStackSamplingEnabled(enabled: Boolean): AnrReporterInstrumentation {
+        isStackSamplingEnabled = enabled
+        return this
+    }
+
+    /**
+     * Sets whether the stacks of all threads are captured when an ANR is reported, to find the
+     * thread holding the lock the main thread waits on. Only the lock owner and the other threads
+     * waiting on the lock are attached to the ANR span.
+     */
+    fun setAllThreadsCaptureEnabled(enabled: Boolean): AnrReporterInstrumentation {
+        isAllThreadsCaptureEnabled = enabled
+        return this
+    }
+
     /** Installs the ANR watchdog and starts foreground-only detection. */
     fun install(application: Application, openTelemetry: OpenTelemetry) {
-        val reporter = AnrReporter(openTelemetry, additionalExtractors.toList())
+        val deduplicator = ReportDeduplicator(File(application.noBackupFilesDir, DEDUPLICATION_FILE_PATH))
+        RuntimeVitals.attach(application)
+        val extractors = additionalExtractors + RuntimeVitalsExtractor()
+        val reporter = AnrReporter(openTelemetry, extractors, deduplicator)
 
         val mainLooper = Looper.getMainLooper()
-        val watcher = AnrWatcher(Handler(mainLooper), mainLooper.thread, reporter::report)
-
         val watchdogScheduler = Executors.newScheduledThreadPool(1, daemonThreadFactory())
 
-        val toggler = AnrDetectorToggler(watcher, watchdogScheduler)
+        val stackSampler = if (isStackSamplingEnabled) {
+            AnrStackSampler(
+                mainLooper.thread,
+                watchdogScheduler,
+                AnrStackSampler.DEFAULT_SAMPLE_INTERVAL_NS,
+                AnrStackSampler.capacityFor(anrThresholdNs, AnrStackSampler.DEFAULT_SAMPLE_INTERVAL_NS)
+            )
+        } else {
+            null
+        }
+
+        val threadCapture = if (isAllThreadsCaptureEnabled) AnrThreadCapture(mainLooper.thread) else null
+
+        val watcher = AnrWatcher(
+            Handler(mainLooper),
+            mainLooper.thread,
+            { stackTrace, foldedStacks -> reporter.report(stackTrace, foldedStacks, threadCapture?.capture()) },
+            AnrWatcher.missedPollsThreshold(anrThresholdNs, pollIntervalNs),
+            stackSampler
+        )
+
+        val toggler = AnrDetectorToggler(watcher, watchdogScheduler, pollIntervalNs)
         AppStateObserver.listeners += toggler
         AppStateObserver.attach(application)
 
@@ -74,5 +142,6 @@ class AnrReporterInstrumentation {
 
     private companion object {
         private const val WATCHDOG_THREAD_NAME = "splunk-anr-watcher"
+        private const val DEDUPLICATION_FILE_PATH = "agent/fingerprints/anr.dat"
     }
 }
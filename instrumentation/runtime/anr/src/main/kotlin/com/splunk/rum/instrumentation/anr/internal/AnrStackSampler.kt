@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.anr.internal
+
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+
+/**
+ * Samples the main thread's stack while it is unresponsive, so that an ANR report shows where the
+ * time went leading up to the ANR rather than only where the thread happens to be when it is
+ * reported.
+ *
+ * Samples are kept in a ring buffer of [capacity] entries. Frames are interned, so a sample is
+ * stored as an array of frame ids and repeated frames are kept only once. [foldedStacks] aggregates
+ * the buffer into the folded stack format used by flame graph tools.
+ *
+ * All methods must be called from the single thread backing [scheduler], which also takes the
+ * samples.
+ */
+internal class AnrStackSampler(
+    private val mainThread: Thread,
+    private val scheduler: ScheduledExecutorService,
+    private val sampleIntervalNs: Long,
+    private val capacity: Int
+) {
+
+    private val samples = arrayOfNulls<IntArray>(capacity)
+    private var nextSample = 0
+    private var sampleCount = 0
+    private var totalSampleCount = 0
+
+    private val frameIds = HashMap<StackTraceElement, Int>()
+    private val frames = ArrayList<StackTraceElement>()
+
+    private val sampleTask = Runnable { sample() }
+    private var future: ScheduledFuture<*>? = null
+
+    /** The number of samples currently held in the buffer. */
+    val size: Int
+        get() = sampleCount
+
+    /** Starts sampling, unless it is already running. */
+    fun start() {
+        if (future == null) {
+            future = scheduler.scheduleAtFixedRate(sampleTask, 0, sampleIntervalNs, TimeUnit.NANOSECONDS)
+        }
+    }
+
+    /** Stops sampling and discards the collected samples. */
+    fun stop() {
+        if (future == null && totalSampleCount == 0) {
+            return
+        }
+
+        future?.cancel(false)
+        future = null
+
+        samples.fill(null)
+        nextSample = 0
+        sampleCount = 0
+        totalSampleCount = 0
+        frameIds.clear()
+        frames.clear()
+    }
+
+    /**
+     * Takes a single sample. Sampling stops by itself once twice the buffer capacity has been
+     * sampled, which bounds the work done when the watchdog is paused in the middle of a hang.
+     */
+    fun sample() {
+        val stackTrace = mainThread.stackTrace
+        val depth = minOf(stackTrace.size, MAX_DEPTH)
+        val sample = IntArray(depth)
+        // Stack traces start at the innermost frame, folded stacks at the outermost one. Deep stacks
+        // keep their innermost frames.
+        for (i in 0 until depth) {
+            sample[depth - 1 - i] = intern(stackTrace[i])
+        }
+
+        samples[nextSample] = sample
+        nextSample = (nextSample + 1) % capacity
+        if (sampleCount < capacity) {
+            sampleCount++
+        }
+
+        if (++totalSampleCount >= capacity * 2) {
+            future?.cancel(false)
+            future = null
+        }
+    }
+
+    /**
+     * Returns the samples as folded stacks: one line per distinct stack, made of `;` separated
+     * frames from the outermost to the innermost one followed by the number of samples, with the
+     * most frequent stack first. Returns `null` when there are no samples.
+     */
+    fun foldedStacks(): String? {
+        if (sampleCount == 0) {
+            return null
+        }
+
+        val counts = HashMap<String, Int>()
+        for (sample in samples) {
+            if (sample == null) {
+                continue
+            }
+            val stack = fold(sample)
+            counts[stack] = (counts[stack] ?: 0) + 1
+        }
+
+        val builder = StringBuilder()
+        for ((stack, count) in counts.entries.sortedByDescending { it.value }) {
+            builder.append(stack).append(' ').append(count).append('\n')
+        }
+        return builder.toString()
+    }
+
+    private fun intern(frame: StackTraceElement): Int = frameIds.getOrPut(frame) {
+        frames += frame
+        frames.size - 1
+    }
+
+    private fun fold(sample: IntArray): String {
+        val builder = StringBuilder()
+        for (i in sample.indices) {
+            if (i > 0) {
+                builder.append(';')
+            }
+            val frame = frames[sample[i]]
+            builder.append(frame.className).append('.').append(frame.methodName)
+        }
+        return builder.toString()
+    }
+
+    companion object {
+        val DEFAULT_SAMPLE_INTERVAL_NS: Long = TimeUnit.MILLISECONDS.toNanos(100)
+        private const val MAX_DEPTH = 128
+        private const val MAX_CAPACITY = 200
+
+        /**
+         * Returns a buffer capacity large enough to hold the samples taken over [windowNs], capped to
+         * bound memory use for long ANR thresholds.
+         */
+        fun capacityFor(windowNs: Long, sampleIntervalNs: Long): Int =
+            ((windowNs + sampleIntervalNs - 1) / sampleIntervalNs).coerceIn(1L, MAX_CAPACITY.toLong()).toInt()
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.anr.internal
+
+import com.splunk.rum.common.logger.Logger
+import java.lang.reflect.Method
+import java.util.concurrent.locks.AbstractOwnableSynchronizer
+import java.util.concurrent.locks.LockSupport
+
+/**
+ * Snapshots all thread stacks when an ANR is reported and looks for the thread the main thread is
+ * waiting on, so that lock contention and deadlocks can be diagnosed from the main thread's side.
+ *
+ * The owner is only reported when the lock itself records it: when the main thread is parked on a
+ * `java.util.concurrent` lock, the lock is the main thread's blocker and its exclusive owner is read
+ * from it. A deadlock is reported when that owner is in turn parked on a lock the main thread owns.
+ *
+ * Android exposes neither the monitor a thread is blocked on nor its owner, so when the main thread
+ * is blocked on a monitor no lock is reported and only its state is kept.
+ *
+ * Only the relevant threads (the owner and the other threads parked on the same lock) are kept, at
+ * most [maxRelatedThreads] of them with their top [maxFrames] frames, to keep the payload small.
+ */
+internal class AnrThreadCapture @JvmOverloads constructor(
+    private val mainThread: Thread,
+    private val maxRelatedThreads: Int = DEFAULT_MAX_RELATED_THREADS,
+    private val maxFrames: Int = DEFAULT_MAX_FRAMES,
+    private val exclusiveOwner: (Any) -> Thread? = ::exclusiveOwnerOf,
+    private val blockerOf: (Thread) -> Any? = LockSupport::getBlocker
+) {
+
+    /** Captures and analyzes the stacks of all threads. Returns `null` if they cannot be read. */
+    fun capture(): AnrThreadDump? {
+        val threads = try {
+            Thread.getAllStackTraces().map { (thread, stackTrace) ->
+                ThreadSnapshot(thread, thread.name, thread.state, stackTrace)
+            }
+        } catch (e: Exception) {
+            Logger.w(TAG, "Failed to capture thread stacks: ${e.message}")
+            return null
+        }
+
+        val main = threads.find { it.thread === mainThread }
+            ?: ThreadSnapshot(mainThread, mainThread.name, mainThread.state, mainThread.stackTrace)
+        return analyze(main, blockerOf(mainThread), threads)
+    }
+
+    /**
+     * Finds the owner of the lock the [main] thread waits on among [threads], [blocker] being the
+     * object the main thread is parked on, if any.
+     */
+    fun analyze(main: ThreadSnapshot, blocker: Any?, threads: List<ThreadSnapshot>): AnrThreadDump {
+        val others = threads.filter { it.thread !== main.thread }
+
+        if (blocker == null || main.state == Thread.State.RUNNABLE) {
+            return AnrThreadDump(
+                mainThreadState = main.state.name,
+                lockClass = null,
+                lockOwner = null,
+                isDeadlock = false,
+                threads = null
+            )
+        }
+
+        val ownerThread = exclusiveOwner(blocker)
+        val owner = others.find { it.thread === ownerThread }
+
+        val related = ArrayList<ThreadSnapshot>(maxRelatedThreads)
+        owner?.let { related += it }
+        for (thread in others) {
+            if (related.size >= maxRelatedThreads) {
+                break
+            }
+            if (thread !== owner && thread.state != Thread.State.RUNNABLE && blockerOf(thread.thread) === blocker) {
+                related += thread
+            }
+        }
+
+        return AnrThreadDump(
+            mainThreadState = main.state.name,
+            lockClass = blocker.javaClass.name,
+            lockOwner = owner?.name,
+            isDeadlock = owner != null && isWaitingOnMain(owner),
+            threads = if (related.isEmpty()) null else encode(related)
+        )
+    }
+
+    // The owner waits on the main thread if it is parked on a lock the main thread owns.
+    private fun isWaitingOnMain(owner: ThreadSnapshot): Boolean {
+        if (owner.state == Thread.State.RUNNABLE) {
+            return false
+        }
+        val ownerBlocker = blockerOf(owner.thread) ?: return false
+        return exclusiveOwner(ownerBlocker) === mainThread
+    }
+
+    private fun encode(threads: List<ThreadSnapshot>): String {
+        val builder = StringBuilder()
+        for (thread in threads) {
+            if (builder.isNotEmpty()) {
+                builder.append('\n')
+            }
+            builder.append(thread.name).append(" (").append(thread.state.name).append("):")
+
+            var previous: StackTraceElement? = null
+            var separator = ' '
+            for (frame in thread.stackTrace.take(maxFrames)) {
+                // Collapse recursion, it only makes the payload bigger.
+                if (frame == previous) {
+                    continue
+                }
+                builder.append(separator)
+                    .append(frame.className).append('.').append(frame.methodName)
+                    .append(':').append(frame.lineNumber)
+                separator = ';'
+                previous = frame
+            }
+        }
+        return builder.toString()
+    }
+
+    internal class ThreadSnapshot(
+        val thread: Thread,
+        val name: String,
+        val state: Thread.State,
+        val stackTrace: Array<StackTraceElement>
+    )
+
+    companion object {
+        private const val TAG = "AnrThreadCapture"
+
+        const val DEFAULT_MAX_RELATED_THREADS = 4
+        const val DEFAULT_MAX_FRAMES = 32
+
+        private val getExclusiveOwnerThread: Method? by lazy {
+            try {
+                AbstractOwnableSynchronizer::class.java.getDeclaredMethod("getExclusiveOwnerThread")
+                    .apply { isAccessible = true }
+            } catch (e: Exception) {
+                Logger.w(TAG, "Lock owners are not available: ${e.message}")
+                null
+            }
+        }
+
+        private fun exclusiveOwnerOf(blocker: Any): Thread? {
+            if (blocker !is AbstractOwnableSynchronizer) {
+                return null
+            }
+            return try {
+                getExclusiveOwnerThread?.invoke(blocker) as? Thread
+            } catch (e: Exception) {
+                null
+            }
+        }
+    }
+}
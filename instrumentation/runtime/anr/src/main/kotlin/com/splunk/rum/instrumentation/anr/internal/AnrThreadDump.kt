@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.anr.internal
+
+/**
+ * Result of an [AnrThreadCapture].
+ *
+ * @property mainThreadState The state of the main thread, e.g. `BLOCKED` or `WAITING`.
+ * @property lockClass The class of the `java.util.concurrent` lock the main thread is parked on, if any.
+ * @property lockOwner The name of the thread holding that lock, if the lock records its owner.
+ * @property isDeadlock Whether the lock owner is itself waiting on a lock the main thread holds.
+ * @property threads The stacks of the relevant threads, one `name (STATE): frame;frame` line per
+ *                   thread, or `null` if there is none.
+ */
+internal data class AnrThreadDump(
+    val mainThreadState: String,
+    val lockClass: String?,
+    val lockOwner: String?,
+    val isDeadlock: Boolean,
+    val threads: String?
+)
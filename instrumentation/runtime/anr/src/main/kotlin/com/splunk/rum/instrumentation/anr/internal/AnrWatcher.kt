@@ -18,53 +18,70 @@
 package com.splunk.rum.instrumentation.anr.internal
 
 import android.os.Handler
-import java.util.concurrent.CountDownLatch
 import java.util.concurrent.TimeUnit
-import java.util.concurrent.atomic.AtomicInteger
 
 /**
- * Watches the UI thread for ANRs by posting a [Runnable] to the main thread on every poll. When the
- * main thread fails to respond to [MAX_MISSED_POLLS] consecutive polls (5 seconds with the default
- * 1-second poll), an ANR is reported via [onAnr] with the main thread's current stack trace.
+ * Watches the UI thread for ANRs with a tick counter. On every poll the watchdog compares the
+ * counter with the value it saw last time: if the main thread ran the previously posted tick, a new
+ * tick is posted and the poll is counted as responded, otherwise it is counted as missed. Nothing is
+ * allocated and the watchdog thread never blocks waiting on the main thread.
  *
- * @property pollDurationNs how long to wait for the main thread to respond on each poll; exists for testing.
+ * When [missedPollsThreshold] consecutive polls are missed (5 seconds with the default 1-second
+ * poll), an ANR is reported via [onAnr] with the main thread's current stack trace. If a
+ * [stackSampler] is set, it samples the main thread from the first missed poll on and its folded
+ * stacks are reported along with the stack trace.
+ *
+ * Polls are expected to run sequentially on a single watchdog thread.
  */
 internal class AnrWatcher @JvmOverloads constructor(
     private val uiHandler: Handler,
     private val mainThread: Thread,
-    private val onAnr: (Array<StackTraceElement>) -> Unit,
-    private val pollDurationNs: Long = DEFAULT_POLL_DURATION_NS
+    private val onAnr: (Array<StackTraceElement>, String?) -> Unit,
+    private val missedPollsThreshold: Int = DEFAULT_MISSED_POLLS_THRESHOLD,
+    private val stackSampler: AnrStackSampler? = null
 ) : Runnable {
 
-    private val anrCounter = AtomicInteger()
+    @Volatile
+    private var tick = 0
 
-    override fun run() {
-        val response = CountDownLatch(1)
-        if (!uiHandler.post { response.countDown() }) {
-            // The main thread is probably shutting down. Ignore and return.
-            return
-        }
+    private val ticker = Runnable { tick++ }
 
-        val responded = try {
-            response.await(pollDurationNs, TimeUnit.NANOSECONDS)
-        } catch (e: InterruptedException) {
+    private var lastTick = 0
+    private var isTickPending = false
+    private var missedPolls = 0
+
+    override fun run() {
+        val currentTick = tick
+        if (!isTickPending || currentTick != lastTick) {
+            lastTick = currentTick
+            missedPolls = 0
+            stackSampler?.stop()
+            // If the post is rejected the main thread is probably shutting down, try again on the next poll.
+            isTickPending = uiHandler.post(ticker)
             return
         }
 
-        if (responded) {
-            anrCounter.set(0)
-            return
+        if (++missedPolls == 1) {
+            stackSampler?.start()
         }
 
-        if (anrCounter.incrementAndGet() >= MAX_MISSED_POLLS) {
-            onAnr(mainThread.stackTrace)
+        if (missedPolls >= missedPollsThreshold) {
+            onAnr(mainThread.stackTrace, stackSampler?.foldedStacks())
             // Only report once per ANR window.
-            anrCounter.set(0)
+            missedPolls = 0
+            stackSampler?.stop()
         }
     }
 
     companion object {
-        val DEFAULT_POLL_DURATION_NS: Long = TimeUnit.SECONDS.toNanos(1)
-        private const val MAX_MISSED_POLLS = 5
+        val DEFAULT_POLL_INTERVAL_NS: Long = TimeUnit.SECONDS.toNanos(1)
+        const val DEFAULT_MISSED_POLLS_THRESHOLD = 5
+
+        /**
+         * Returns the number of consecutive missed polls corresponding to an unresponsive main thread
+         * for at least [thresholdNs], when polling every [pollIntervalNs].
+         */
+        fun missedPollsThreshold(thresholdNs: Long, pollIntervalNs: Long): Int =
+            ((thresholdNs + pollIntervalNs - 1) / pollIntervalNs).coerceIn(1L, Int.MAX_VALUE.toLong()).toInt()
     }
 }
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.anr.internal.extractor
+
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import com.splunk.rum.agent.common.utils.vitals.RuntimeVitals
+import io.opentelemetry.api.common.AttributesBuilder
+
+/**
+ * Attaches the [RuntimeVitals] samples leading into the ANR. [RuntimeVitals] must be attached for
+ * there to be more than the sample taken at report time.
+ */
+internal class RuntimeVitalsExtractor : AnrAttributesExtractor {
+
+    override fun extract(attributes: AttributesBuilder, stackTrace: Array<StackTraceElement>) {
+        RuntimeVitals.snapshot()?.let { attributes.put(GlobalRumConstants.RUNTIME_VITALS_KEY, it) }
+    }
+}
@@ -39,8 +39,9 @@ class AnrDetectorTogglerTest {
         anrWatcher = mock(Runnable::class.java)
         scheduler = mock(ScheduledExecutorService::class.java)
         future = mock(ScheduledFuture::class.java)
-        `when`(scheduler.scheduleWithFixedDelay(anrWatcher, 1L, 1L, TimeUnit.SECONDS)).thenReturn(future)
-        toggler = AnrDetectorToggler(anrWatcher, scheduler)
+        `when`(scheduler.scheduleWithFixedDelay(anrWatcher, POLL_INTERVAL_NS, POLL_INTERVAL_NS, TimeUnit.NANOSECONDS))
+            .thenReturn(future)
+        toggler = AnrDetectorToggler(anrWatcher, scheduler, POLL_INTERVAL_NS)
     }
 
     @Test
@@ -49,7 +50,17 @@ class AnrDetectorTogglerTest {
         toggler.onAppForegrounded()
         toggler.onAppForegrounded()
 
-        verify(scheduler, times(1)).scheduleWithFixedDelay(anrWatcher, 1L, 1L, TimeUnit.SECONDS)
+        verify(scheduler, times(1)).scheduleWithFixedDelay(
+
+            anrWatcher,
+
+            POLL_INTERVAL_NS,
+
+            POLL_INTERVAL_NS,
+
+            TimeUnit.NANOSECONDS
+
+        )
     }
 
     @Test
@@ -69,6 +80,20 @@ class AnrDetectorTogglerTest {
         toggler.onAppBackgrounded()
         toggler.onAppForegrounded()
 
-        verify(scheduler, times(2)).scheduleWithFixedDelay(anrWatcher, 1L, 1L, TimeUnit.SECONDS)
+        verify(scheduler, times(2)).scheduleWithFixedDelay(
+
+            anrWatcher,
+
+            POLL_INTERVAL_NS,
+
+            POLL_INTERVAL_NS,
+
+            TimeUnit.NANOSECONDS
+
+        )
+    }
+
+    private companion object {
+        private val POLL_INTERVAL_NS = TimeUnit.MILLISECONDS.toNanos(250)
     }
 }
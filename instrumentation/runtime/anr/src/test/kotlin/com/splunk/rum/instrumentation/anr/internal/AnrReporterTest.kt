@@ -17,6 +17,7 @@
 
 package com.splunk.rum.instrumentation.anr.internal
 
+import com.splunk.rum.agent.common.utils.fingerprint.ReportDeduplicator
 import com.splunk.rum.instrumentation.anr.internal.extractor.AnrAttributesExtractor
 import io.opentelemetry.api.common.AttributeKey
 import io.opentelemetry.api.trace.StatusCode
@@ -31,12 +32,18 @@ import java.util.Collections
 import org.junit.After
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
 import org.junit.Assert.assertTrue
 import org.junit.Before
+import org.junit.Rule
 import org.junit.Test
+import org.junit.rules.TemporaryFolder
 
 class AnrReporterTest {
 
+    @get:Rule
+    val temporaryFolder = TemporaryFolder()
+
     private val exportedSpans: MutableList<SpanData> = Collections.synchronizedList(mutableListOf())
 
     private val collectingExporter = object : SpanExporter {
@@ -82,6 +89,41 @@ class AnrReporterTest {
         assertTrue(stacktrace.contains("a.b.AnotherClass.bar"))
     }
 
+    @Test
+    fun `attaches the sampled folded stacks when available`() {
+        val reporter = AnrReporter(sdk, emptyList())
+
+        reporter.report(stackTrace())
+        reporter.report(stackTrace(), "a.b.Class.foo;a.b.AnotherClass.bar 3\n")
+
+        assertNull(exportedSpans[0].attributes.get(AnrReporter.ANR_STACK_SAMPLES_KEY))
+        assertEquals(
+            "a.b.Class.foo;a.b.AnotherClass.bar 3\n",
+            exportedSpans[1].attributes.get(AnrReporter.ANR_STACK_SAMPLES_KEY)
+        )
+    }
+
+    @Test
+    fun `attaches the lock analysis of the thread dump`() {
+        val reporter = AnrReporter(sdk, emptyList())
+        val threadDump = AnrThreadDump(
+            mainThreadState = "BLOCKED",
+            lockClass = "a.b.Repository",
+            lockOwner = "worker-1",
+            isDeadlock = true,
+            threads = "worker-1 (RUNNABLE): a.b.Repository.load:12"
+        )
+
+        reporter.report(stackTrace(), threadDump = threadDump)
+
+        val attributes = exportedSpans.single().attributes
+        assertEquals("BLOCKED", attributes.get(AnrReporter.ANR_MAIN_THREAD_STATE_KEY))
+        assertEquals("a.b.Repository", attributes.get(AnrReporter.ANR_LOCK_CLASS_KEY))
+        assertEquals("worker-1", attributes.get(AnrReporter.ANR_LOCK_OWNER_KEY))
+        assertEquals(true, attributes.get(AnrReporter.ANR_DEADLOCK_KEY))
+        assertEquals("worker-1 (RUNNABLE): a.b.Repository.load:12", attributes.get(AnrReporter.ANR_THREADS_KEY))
+    }
+
     @Test
     fun `applies attributes from every extractor`() {
         val reporter = AnrReporter(
@@ -131,8 +173,36 @@ class AnrReporterTest {
         assertEquals("yes", span.attributes.get(AttributeKey.stringKey("survivor")))
     }
 
+    @Test
+    fun `reports repeated ANRs without their stacks once the limit is reached`() {
+        val deduplicator = ReportDeduplicator(temporaryFolder.newFile(), maxFullReports = 1)
+        val reporter = AnrReporter(sdk, emptyList(), deduplicator)
+
+        reporter.report(stackTrace(), "a.b.Class.foo 1")
+        reporter.report(stackTrace(), "a.b.Class.foo 1")
+
+        val (first, second) = exportedSpans
+        assertNotNull(first.attributes.get(ExceptionAttributes.EXCEPTION_STACKTRACE))
+        assertNotNull(first.attributes.get(AnrReporter.ANR_STACK_SAMPLES_KEY))
+        assertEquals(1L, first.attributes.get(EXCEPTION_OCCURRENCE_COUNT_KEY))
+
+        assertNull(second.attributes.get(ExceptionAttributes.EXCEPTION_STACKTRACE))
+        assertNull(second.attributes.get(AnrReporter.ANR_STACK_SAMPLES_KEY))
+        assertEquals(2L, second.attributes.get(EXCEPTION_OCCURRENCE_COUNT_KEY))
+        assertEquals(
+            first.attributes.get(EXCEPTION_FINGERPRINT_KEY),
+            second.attributes.get(EXCEPTION_FINGERPRINT_KEY)
+        )
+        assertEquals(StatusCode.ERROR, second.status.statusCode)
+    }
+
     private fun stackTrace(): Array<StackTraceElement> = arrayOf(
         StackTraceElement("a.b.Class", "foo", "Class.java", 42),
         StackTraceElement("a.b.AnotherClass", "bar", "AnotherClass.java", 123)
     )
+
+    private companion object {
+        val EXCEPTION_FINGERPRINT_KEY: AttributeKey<String> = AttributeKey.stringKey("exception.fingerprint")
+        val EXCEPTION_OCCURRENCE_COUNT_KEY: AttributeKey<Long> = AttributeKey.longKey("exception.occurrence_count")
+    }
 }
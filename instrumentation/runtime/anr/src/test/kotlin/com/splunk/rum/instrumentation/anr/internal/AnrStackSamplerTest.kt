@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.anr.internal
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.mockito.ArgumentMatchers.any
+import org.mockito.ArgumentMatchers.anyLong
+import org.mockito.Mockito.doReturn
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.times
+import org.mockito.Mockito.verify
+
+class AnrStackSamplerTest {
+
+    private lateinit var scheduler: ScheduledExecutorService
+    private lateinit var future: ScheduledFuture<*>
+    private lateinit var blockedThread: Thread
+    private val release = CountDownLatch(1)
+
+    @Before
+    fun setUp() {
+        scheduler = mock(ScheduledExecutorService::class.java)
+        future = mock(ScheduledFuture::class.java)
+        doReturn(future).`when`(scheduler).scheduleAtFixedRate(any(), anyLong(), anyLong(), any())
+
+        val started = CountDownLatch(1)
+        blockedThread = Thread {
+            started.countDown()
+            blockInKnownMethod()
+        }
+        blockedThread.start()
+        started.await()
+        // Wait until the thread is parked in the latch.
+        while (blockedThread.state != Thread.State.WAITING) {
+            Thread.sleep(1)
+        }
+    }
+
+    @After
+    fun tearDown() {
+        release.countDown()
+        blockedThread.join()
+    }
+
+    @Test
+    fun `returns null without samples`() {
+        val sampler = AnrStackSampler(blockedThread, scheduler, SAMPLE_INTERVAL_NS, 10)
+
+        assertNull(sampler.foldedStacks())
+    }
+
+    @Test
+    fun `folds identical samples into one line from the outermost to the innermost frame`() {
+        val sampler = AnrStackSampler(blockedThread, scheduler, SAMPLE_INTERVAL_NS, 10)
+
+        repeat(3) { sampler.sample() }
+
+        val lines = sampler.foldedStacks()!!.trimEnd().lines()
+        assertEquals(1, lines.size)
+        assertTrue(lines[0].endsWith(" 3"))
+
+        val frames = lines[0].substringBeforeLast(' ').split(';')
+        assertTrue(frames.first().endsWith(".run"))
+        val knownFrame = frames.indexOfFirst { it.endsWith("AnrStackSamplerTest.blockInKnownMethod") }
+        assertTrue(knownFrame > 0)
+        assertTrue(frames.indexOfFirst { it.endsWith(".await") } > knownFrame)
+    }
+
+    @Test
+    fun `keeps only the most recent samples`() {
+        val sampler = AnrStackSampler(blockedThread, scheduler, SAMPLE_INTERVAL_NS, 4)
+
+        repeat(6) { sampler.sample() }
+
+        assertEquals(4, sampler.size)
+        assertTrue(sampler.foldedStacks()!!.trimEnd().endsWith(" 4"))
+    }
+
+    @Test
+    fun `stops by itself after sampling twice its capacity`() {
+        val sampler = AnrStackSampler(blockedThread, scheduler, SAMPLE_INTERVAL_NS, 2)
+        sampler.start()
+        sampler.start()
+        verify(scheduler, times(1)).scheduleAtFixedRate(any(), anyLong(), anyLong(), any())
+
+        repeat(4) { sampler.sample() }
+
+        verify(future).cancel(false)
+    }
+
+    @Test
+    fun `stop discards the samples`() {
+        val sampler = AnrStackSampler(blockedThread, scheduler, SAMPLE_INTERVAL_NS, 10)
+        sampler.start()
+        sampler.sample()
+
+        sampler.stop()
+
+        verify(future).cancel(false)
+        assertEquals(0, sampler.size)
+        assertNull(sampler.foldedStacks())
+    }
+
+    @Test
+    fun `sizes the buffer for the sampled window`() {
+        assertEquals(50, AnrStackSampler.capacityFor(TimeUnit.SECONDS.toNanos(5), SAMPLE_INTERVAL_NS))
+        assertEquals(1, AnrStackSampler.capacityFor(1, SAMPLE_INTERVAL_NS))
+        assertEquals(200, AnrStackSampler.capacityFor(TimeUnit.MINUTES.toNanos(5), SAMPLE_INTERVAL_NS))
+    }
+
+    private fun blockInKnownMethod() {
+        release.await()
+    }
+
+    private companion object {
+        private val SAMPLE_INTERVAL_NS = TimeUnit.MILLISECONDS.toNanos(100)
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.anr.internal
+
+import com.splunk.rum.instrumentation.anr.internal.AnrThreadCapture.ThreadSnapshot
+import java.util.concurrent.locks.ReentrantLock
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class AnrThreadCaptureTest {
+
+    private val mainThread = Thread("main")
+    private val capture = AnrThreadCapture(mainThread, maxRelatedThreads = 3, maxFrames = 3)
+
+    @Test
+    fun `reports no lock when the main thread is blocked on a monitor`() {
+        val main = snapshot(
+            mainThread,
+            Thread.State.BLOCKED,
+            frame("a.Repository", "get"),
+            frame("a.MainActivity", "onResume")
+        )
+        val waiter = snapshot(Thread("waiter"), Thread.State.BLOCKED, frame("a.Repository", "put"))
+
+        val dump = capture.analyze(main, null, listOf(main, waiter))
+
+        assertEquals("BLOCKED", dump.mainThreadState)
+        assertNull(dump.lockClass)
+        assertNull(dump.lockOwner)
+        assertFalse(dump.isDeadlock)
+        assertNull(dump.threads)
+    }
+
+    @Test
+    fun `reports the other threads parked on the lock the main thread is parked on`() {
+        val blocker = Any()
+        val otherBlocker = Any()
+        val waiter = Thread("waiter")
+        val unrelated = Thread("unrelated")
+        val capture = AnrThreadCapture(
+            mainThread,
+            exclusiveOwner = { null },
+            blockerOf = {
+                when {
+                    it === waiter -> blocker
+                    it === unrelated -> otherBlocker
+                    else -> null
+                }
+            }
+        )
+        val park = frame("java.util.concurrent.locks.LockSupport", "park")
+        val main = snapshot(mainThread, Thread.State.WAITING, park)
+        val waiterSnapshot = snapshot(waiter, Thread.State.WAITING, park)
+        val unrelatedSnapshot = snapshot(unrelated, Thread.State.WAITING, park)
+
+        val dump = capture.analyze(main, blocker, listOf(main, waiterSnapshot, unrelatedSnapshot))
+
+        assertEquals("java.lang.Object", dump.lockClass)
+        assertNull(dump.lockOwner)
+        assertEquals("waiter (WAITING): java.util.concurrent.locks.LockSupport.park:1", dump.threads)
+    }
+
+    @Test
+    fun `reports no deadlock for monitors`() {
+        val main = snapshot(mainThread, Thread.State.BLOCKED, frame("a.Repository", "get"), frame("a.Cache", "read"))
+        val other = snapshot(
+            Thread("other"),
+            Thread.State.BLOCKED,
+            frame("a.Cache", "write"),
+            frame("a.Repository", "load")
+        )
+
+        val dump = capture.analyze(main, null, listOf(main, other))
+
+        assertNull(dump.lockOwner)
+        assertFalse(dump.isDeadlock)
+    }
+
+    @Test
+    fun `detects a deadlock when the owner is parked on a lock the main thread owns`() {
+        val mainLock = Any()
+        val ownerLock = Any()
+        val owner = Thread("lock-owner")
+        val capture = AnrThreadCapture(
+            mainThread,
+            exclusiveOwner = {
+                when {
+                    it === mainLock -> owner
+                    it === ownerLock -> mainThread
+                    else -> null
+                }
+            },
+            blockerOf = { if (it === owner) ownerLock else null }
+        )
+        val park = frame("java.util.concurrent.locks.LockSupport", "park")
+        val main = snapshot(mainThread, Thread.State.WAITING, park)
+        val ownerSnapshot = snapshot(owner, Thread.State.WAITING, park)
+
+        val dump = capture.analyze(main, mainLock, listOf(main, ownerSnapshot))
+
+        assertEquals("lock-owner", dump.lockOwner)
+        assertTrue(dump.isDeadlock)
+    }
+
+    @Test
+    fun `reports no threads when the main thread is not waiting`() {
+        val main = snapshot(mainThread, Thread.State.RUNNABLE, frame("a.MainActivity", "onCreate"))
+        val other = snapshot(Thread("other"), Thread.State.RUNNABLE, frame("a.MainActivity", "run"))
+
+        val dump = capture.analyze(main, null, listOf(main, other))
+
+        assertEquals("RUNNABLE", dump.mainThreadState)
+        assertNull(dump.lockClass)
+        assertNull(dump.lockOwner)
+        assertNull(dump.threads)
+    }
+
+    @Test
+    fun `keeps the top frames and collapses recursion`() {
+        val blocker = Any()
+        val owner = Thread("lock-owner")
+        val capture = AnrThreadCapture(
+            mainThread,
+            maxFrames = 3,
+            exclusiveOwner = { if (it === blocker) owner else null }
+        )
+        val main = snapshot(mainThread, Thread.State.WAITING, frame("java.util.concurrent.locks.LockSupport", "park"))
+        val recursive = frame("a.Repository", "walk")
+        val ownerSnapshot = snapshot(
+            owner,
+            Thread.State.RUNNABLE,
+            recursive,
+            recursive,
+            frame("a.Repository", "load"),
+            frame("a.Worker", "run")
+        )
+
+        val dump = capture.analyze(main, blocker, listOf(main, ownerSnapshot))
+
+        assertEquals("lock-owner (RUNNABLE): a.Repository.walk:1;a.Repository.load:1", dump.threads)
+    }
+
+    @Test
+    fun `finds the owner of the lock the main thread is parked on`() {
+        val blocker = Any()
+        val owner = Thread("lock-owner")
+        val capture = AnrThreadCapture(mainThread, exclusiveOwner = { if (it === blocker) owner else null })
+        val main = snapshot(mainThread, Thread.State.WAITING, frame("java.util.concurrent.locks.LockSupport", "park"))
+        val ownerSnapshot = snapshot(owner, Thread.State.WAITING, frame("a.Worker", "run"))
+
+        val dump = capture.analyze(main, blocker, listOf(main, ownerSnapshot))
+
+        assertEquals("java.lang.Object", dump.lockClass)
+        assertEquals("lock-owner", dump.lockOwner)
+        assertFalse(dump.isDeadlock)
+        assertEquals("lock-owner (WAITING): a.Worker.run:1", dump.threads)
+    }
+
+    @Test
+    fun `reports no owner for blockers that are not synchronizers`() {
+        val lock = ReentrantLock()
+        val capture = AnrThreadCapture(mainThread)
+        val main = snapshot(mainThread, Thread.State.WAITING, frame("java.util.concurrent.locks.LockSupport", "park"))
+
+        assertNull(capture.analyze(main, lock, listOf(main)).lockOwner)
+    }
+
+    @Test
+    fun `captures the current threads`() {
+        val dump = AnrThreadCapture(Thread.currentThread()).capture()
+
+        assertNotNull(dump)
+        assertEquals("RUNNABLE", dump!!.mainThreadState)
+    }
+
+    private fun snapshot(thread: Thread, state: Thread.State, vararg frames: StackTraceElement) =
+        ThreadSnapshot(thread, thread.name, state, arrayOf(*frames))
+
+    private fun frame(className: String, methodName: String) =
+        StackTraceElement(className, methodName, className.substringAfterLast('.') + ".kt", 1)
+}
@@ -18,14 +18,21 @@
 package com.splunk.rum.instrumentation.anr.internal
 
 import android.os.Handler
+import java.util.concurrent.ScheduledExecutorService
 import java.util.concurrent.TimeUnit
 import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
 import org.junit.Assert.assertTrue
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
 import org.mockito.ArgumentMatchers.any
+import org.mockito.ArgumentMatchers.anyLong
+import org.mockito.ArgumentMatchers.eq
 import org.mockito.Mockito.mock
+import org.mockito.Mockito.never
+import org.mockito.Mockito.times
+import org.mockito.Mockito.verify
 import org.mockito.Mockito.`when`
 import org.robolectric.RobolectricTestRunner
 
@@ -34,22 +41,29 @@ class AnrWatcherTest {
 
     private lateinit var handler: Handler
     private lateinit var mainThread: Thread
+    private val postedTicks = mutableListOf<Runnable>()
     private val reportedStackTraces = mutableListOf<Array<StackTraceElement>>()
-    private val onAnr: (Array<StackTraceElement>) -> Unit = { reportedStackTraces.add(it) }
+    private val reportedFoldedStacks = mutableListOf<String?>()
+    private val onAnr: (Array<StackTraceElement>, String?) -> Unit = { stackTrace, foldedStacks ->
+        reportedStackTraces.add(stackTrace)
+        reportedFoldedStacks.add(foldedStacks)
+    }
 
     @Before
     fun setUp() {
         handler = mock(Handler::class.java)
         mainThread = Thread.currentThread()
+        postedTicks.clear()
         reportedStackTraces.clear()
+        reportedFoldedStacks.clear()
     }
 
     @Test
     fun `does not report when the main thread handler rejects the post`() {
         `when`(handler.post(any())).thenReturn(false)
 
-        val watcher = AnrWatcher(handler, mainThread, onAnr, SHORT_POLL_NS)
-        repeat(6) { watcher.run() }
+        val watcher = AnrWatcher(handler, mainThread, onAnr)
+        repeat(10) { watcher.run() }
 
         assertTrue(reportedStackTraces.isEmpty())
     }
@@ -61,36 +75,34 @@ class AnrWatcherTest {
             true
         }
 
-        val watcher = AnrWatcher(handler, mainThread, onAnr, SHORT_POLL_NS)
-        repeat(6) { watcher.run() }
+        val watcher = AnrWatcher(handler, mainThread, onAnr)
+        repeat(10) { watcher.run() }
 
         assertTrue(reportedStackTraces.isEmpty())
     }
 
     @Test
     fun `does not report a temporary pause shorter than the threshold`() {
-        var poll = 0
-        `when`(handler.post(any())).thenAnswer { invocation ->
-            // Miss a single poll, then recover.
-            if (poll != 3) {
-                (invocation.getArgument(0) as Runnable).run()
-            }
-            poll++
-            true
-        }
+        capturePostedTicks()
 
-        val watcher = AnrWatcher(handler, mainThread, onAnr, SHORT_POLL_NS)
-        repeat(6) { watcher.run() }
+        val watcher = AnrWatcher(handler, mainThread, onAnr)
+        watcher.run()
+        repeat(4) { watcher.run() }
+
+        // The main thread recovers and runs the pending tick.
+        postedTicks.last().run()
+        repeat(4) { watcher.run() }
 
         assertTrue(reportedStackTraces.isEmpty())
     }
 
     @Test
     fun `reports once after five consecutive missed polls then resets`() {
-        // Post is accepted but the callback never runs, so every poll times out.
-        `when`(handler.post(any())).thenReturn(true)
+        // Post is accepted but the tick never runs, so every poll after the first is missed.
+        capturePostedTicks()
 
-        val watcher = AnrWatcher(handler, mainThread, onAnr, SHORT_POLL_NS)
+        val watcher = AnrWatcher(handler, mainThread, onAnr)
+        watcher.run()
 
         repeat(5) { watcher.run() }
         assertEquals(1, reportedStackTraces.size)
@@ -103,7 +115,95 @@ class AnrWatcherTest {
         assertEquals(2, reportedStackTraces.size)
     }
 
+    @Test
+    fun `reports after the configured number of missed polls`() {
+        capturePostedTicks()
+
+        val watcher = AnrWatcher(handler, mainThread, onAnr, missedPollsThreshold = 2)
+        watcher.run()
+
+        watcher.run()
+        assertTrue(reportedStackTraces.isEmpty())
+
+        watcher.run()
+        assertEquals(1, reportedStackTraces.size)
+    }
+
+    @Test
+    fun `reuses the same tick and does not post again while it is pending`() {
+        capturePostedTicks()
+
+        val watcher = AnrWatcher(handler, mainThread, onAnr)
+        watcher.run()
+        watcher.run()
+        watcher.run()
+        verify(handler, times(1)).post(any())
+
+        postedTicks.last().run()
+        watcher.run()
+        verify(handler, times(2)).post(any())
+        assertSame(postedTicks[0], postedTicks[1])
+    }
+
+    @Test
+    fun `samples the main thread from the first missed poll and reports the folded stacks`() {
+        capturePostedTicks()
+        val scheduler = mock(ScheduledExecutorService::class.java)
+        val sampler = AnrStackSampler(mainThread, scheduler, SAMPLE_INTERVAL_NS, 10)
+
+        val watcher = AnrWatcher(handler, mainThread, onAnr, missedPollsThreshold = 3, stackSampler = sampler)
+        watcher.run()
+        verify(scheduler, never()).scheduleAtFixedRate(any(), anyLong(), anyLong(), any())
+
+        watcher.run()
+        verify(scheduler).scheduleAtFixedRate(any(), eq(0L), eq(SAMPLE_INTERVAL_NS), eq(TimeUnit.NANOSECONDS))
+
+        sampler.sample()
+        sampler.sample()
+        watcher.run()
+        watcher.run()
+
+        assertEquals(1, reportedFoldedStacks.size)
+        assertTrue(reportedFoldedStacks.single()!!.endsWith(" 2\n"))
+        assertEquals(0, sampler.size)
+    }
+
+    @Test
+    fun `discards the samples when the main thread responds`() {
+        capturePostedTicks()
+        val sampler = AnrStackSampler(mainThread, mock(ScheduledExecutorService::class.java), SAMPLE_INTERVAL_NS, 10)
+
+        val watcher = AnrWatcher(handler, mainThread, onAnr, stackSampler = sampler)
+        watcher.run()
+        watcher.run()
+        sampler.sample()
+        assertEquals(1, sampler.size)
+
+        postedTicks.last().run()
+        watcher.run()
+
+        assertEquals(0, sampler.size)
+        assertTrue(reportedStackTraces.isEmpty())
+    }
+
+    @Test
+    fun `converts a threshold duration into missed polls`() {
+        val second = TimeUnit.SECONDS.toNanos(1)
+
+        assertEquals(5, AnrWatcher.missedPollsThreshold(5 * second, second))
+        assertEquals(10, AnrWatcher.missedPollsThreshold(5 * second, second / 2))
+        assertEquals(3, AnrWatcher.missedPollsThreshold(5 * second, 2 * second))
+        assertEquals(1, AnrWatcher.missedPollsThreshold(second / 2, second))
+    }
+
+    private fun capturePostedTicks() {
+        `when`(handler.post(any())).thenAnswer { invocation ->
+            postedTicks.add(invocation.getArgument(0))
+            true
+        }
+    }
+
     private companion object {
-        private val SHORT_POLL_NS = TimeUnit.MILLISECONDS.toNanos(20)
+        private val SAMPLE_INTERVAL_NS = TimeUnit.MILLISECONDS.toNanos(100)
     }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.compose.internal
+
+import android.app.Application
+import android.content.ComponentCallbacks2
+import android.content.res.Configuration
+import com.splunk.rum.common.logger.Logger
+import io.opentelemetry.api.OpenTelemetry
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Entry point for installing Compose performance tracking.
+ *
+ * Composables tagged with the modifier created by [createModifier] have their compositions counted
+ * and their layout and draw time measured. Both are aggregated per route and reported when the route
+ * changes and whenever the app's UI is hidden. Composition time itself is not measured, only the
+ * number of compositions.
+ *
+ * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+ * any time.
+ */
+class ComposePerformanceInstrumentation {
+
+    private val installed = AtomicBoolean(false)
+
+    @Volatile
+    private var aggregator: ComposeRouteAggregator? = null
+
+    /**
+     * Starts aggregating measurements under [screenName], the screen currently shown. No-ops if
+     * already installed.
+     */
+    fun install(application: Application, openTelemetry: OpenTelemetry, screenName: String) {
+        if (!installed.compareAndSet(false, true)) {
+            return
+        }
+
+        val routeAggregator = ComposeRouteAggregator(openTelemetry.getTracer(INSTRUMENTATION_SCOPE_NAME))
+        routeAggregator.onRouteChanged(screenName)
+        aggregator = routeAggregator
+
+        application.registerComponentCallbacks(TrimMemoryCallbacks(routeAggregator))
+    }
+
+    /**
+     * Creates the modifier measuring the composable tagged with [id], counting the composition it is
+     * created in. Returns null if not installed.
+     */
+    fun createModifier(id: String): ComposePerformanceModifier? {
+        val routeAggregator = aggregator ?: return null
+        routeAggregator.recordComposition(id)
+        return ComposePerformanceModifier(id, this)
+    }
+
+    /** Reports the measurements of the previous screen and aggregates the next ones under [screenName]. */
+    fun onScreenChanged(screenName: String) {
+        aggregator?.onRouteChanged(screenName)
+    }
+
+    internal fun recordLayout(id: String, durationNanos: Long) {
+        aggregator?.recordLayout(id, durationNanos)
+    }
+
+    internal fun recordDraw(id: String, durationNanos: Long) {
+        aggregator?.recordDraw(id, durationNanos)
+    }
+
+    private class TrimMemoryCallbacks(private val aggregator: ComposeRouteAggregator) : ComponentCallbacks2 {
+
+        override fun onTrimMemory(level: Int) {
+            if (level == ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+                try {
+                    aggregator.flush()
+                } catch (e: Exception) {
+                    Logger.e(TAG, "Failed to report Compose performance", e)
+                }
+            }
+        }
+
+        override fun onConfigurationChanged(newConfig: Configuration) = Unit
+
+        @Deprecated("Deprecated in Java")
+        override fun onLowMemory() = Unit
+    }
+
+    companion object {
+        private const val TAG = "ComposePerformance"
+
+        const val INSTRUMENTATION_SCOPE_NAME = "com.splunk.rum.compose"
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.compose.internal
+
+import androidx.compose.ui.draw.DrawModifier
+import androidx.compose.ui.graphics.drawscope.ContentDrawScope
+import androidx.compose.ui.layout.LayoutModifier
+import androidx.compose.ui.layout.Measurable
+import androidx.compose.ui.layout.MeasureResult
+import androidx.compose.ui.layout.MeasureScope
+import androidx.compose.ui.unit.Constraints
+
+/**
+ * Measures the layout (measure and placement) and draw time of the composable it is attached to,
+ * including its children.
+ *
+ * A new instance is created on every composition of the tagged composable. Instances with the same
+ * [id] are equal, so recompositions do not invalidate the layout node.
+ *
+ * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+ * any time.
+ */
+class ComposePerformanceModifier internal constructor(
+    private val id: String,
+    private val instrumentation: ComposePerformanceInstrumentation
+) : LayoutModifier, DrawModifier {
+
+    override fun MeasureScope.measure(measurable: Measurable, constraints: Constraints): MeasureResult {
+        val start = System.nanoTime()
+        val placeable = measurable.measure(constraints)
+        val measureNanos = System.nanoTime() - start
+
+        return layout(placeable.width, placeable.height) {
+            val placeStart = System.nanoTime()
+            placeable.place(0, 0)
+            instrumentation.recordLayout(id, measureNanos + System.nanoTime() - placeStart)
+        }
+    }
+
+    override fun ContentDrawScope.draw() {
+        val start = System.nanoTime()
+        drawContent()
+        instrumentation.recordDraw(id, System.nanoTime() - start)
+    }
+
+    override fun equals(other: Any?): Boolean =
+        other is ComposePerformanceModifier && other.id == id && other.instrumentation === instrumentation
+
+    override fun hashCode(): Int = id.hashCode()
+}
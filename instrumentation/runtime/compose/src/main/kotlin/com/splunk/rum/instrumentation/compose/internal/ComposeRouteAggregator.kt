@@ -0,0 +1,218 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.compose.internal
+
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import com.splunk.rum.agent.common.otel.metrics.BoundedAggregationMap
+import com.splunk.rum.common.logger.Logger
+import io.opentelemetry.api.common.AttributeKey
+import io.opentelemetry.api.trace.Tracer
+import java.util.concurrent.TimeUnit
+
+/**
+ * Aggregates compositions and layout and draw durations of tagged composables per route and flushes
+ * them as one summary span per route, when the route changes (see [onRouteChanged]) or on [flush].
+ * The number of composables per route is bounded, extra ones are reported under [OVERFLOW].
+ */
+internal class ComposeRouteAggregator @JvmOverloads constructor(
+    private val tracer: Tracer,
+    maxComposables: Int = DEFAULT_MAX_COMPOSABLES,
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+
+    private val lock = Any()
+    private var route: String? = null
+    private var routeStartMillis = 0L
+    private val composables = BoundedAggregationMap(maxComposables, ::ComposableEntry) { OVERFLOW }
+
+    fun recordComposition(id: String) {
+        record(id) { compositionCount++ }
+    }
+
+    fun recordLayout(id: String, durationNanos: Long) {
+        record(id) { layoutNanos += durationNanos }
+    }
+
+    fun recordDraw(id: String, durationNanos: Long) {
+        record(id) { drawNanos += durationNanos }
+    }
+
+    /**
+     * Emits the summary span of the previous route and starts a window for [newRoute].
+     *
+     * The composables of a new route are composed before the route change is known, within the same
+     * frame, so the composables composed but not yet laid out nor drawn are moved to [newRoute].
+     */
+    fun onRouteChanged(newRoute: String) {
+        val finished = synchronized(lock) {
+            if (newRoute == route) {
+                return
+            }
+            swap(newRoute, isRouteChange = true)
+        }
+
+        finished?.let(::report)
+    }
+
+    /**
+     * Emits the summary span of the current route and starts a new window for it.
+     */
+    fun flush() {
+        val window = synchronized(lock) { swap(route, isRouteChange = false) } ?: return
+        report(window)
+    }
+
+    private inline fun record(id: String, update: ComposableEntry.() -> Unit) {
+        synchronized(lock) {
+            composables.entry(id).update()
+        }
+    }
+
+    /**
+     * Starts a new window for [newRoute] and returns the finished one, if anything was recorded in it.
+     * Entries recorded before any route was known are kept for [newRoute].
+     */
+    private fun swap(newRoute: String?, isRouteChange: Boolean): RouteWindow? {
+        val now = clock()
+        val finishedRoute = route
+        val finishedStartMillis = routeStartMillis
+
+        route = newRoute
+        routeStartMillis = now
+
+        if (composables.isEmpty()) {
+            return null
+        }
+
+        val entries = composables.drain()
+        if (finishedRoute == null) {
+            entries.values.forEach(::carryOver)
+            return null
+        }
+
+        if (!isRouteChange) {
+            return RouteWindow(finishedRoute, finishedStartMillis, now, entries)
+        }
+
+        val finished = HashMap<String, ComposableEntry>()
+        for ((id, entry) in entries) {
+            if (entry.isPending) {
+                carryOver(entry)
+            } else {
+                finished[id] = entry
+            }
+        }
+
+        return if (finished.isEmpty()) null else RouteWindow(finishedRoute, finishedStartMillis, now, finished)
+    }
+
+    private fun carryOver(entry: ComposableEntry) {
+        val carried = composables.entry(entry.id)
+        carried.compositionCount += entry.compositionCount
+        carried.layoutNanos += entry.layoutNanos
+        carried.drawNanos += entry.drawNanos
+    }
+
+    private fun report(window: RouteWindow) {
+        var compositions = 0L
+        var recompositions = 0L
+        var layoutNanos = 0L
+        var drawNanos = 0L
+
+        for (entry in window.composables.values) {
+            compositions += entry.compositionCount
+            recompositions += entry.recompositionCount
+            layoutNanos += entry.layoutNanos
+            drawNanos += entry.drawNanos
+        }
+
+        Logger.d(TAG) { "report() - ${window.route}: $recompositions recompositions" }
+
+        tracer.spanBuilder(COMPOSE_SPAN_NAME)
+            .setStartTimestamp(window.startMillis, TimeUnit.MILLISECONDS)
+            .setAttribute(GlobalRumConstants.COMPONENT_KEY, COMPONENT_UI)
+            .setAttribute(GlobalRumConstants.SCREEN_NAME_KEY, window.route)
+            .setAttribute(COMPOSABLE_COUNT_KEY, window.composables.size.toLong())
+            .setAttribute(COMPOSITION_COUNT_KEY, compositions)
+            .setAttribute(RECOMPOSITION_COUNT_KEY, recompositions)
+            .setAttribute(LAYOUT_TIME_KEY, TimeUnit.NANOSECONDS.toMicros(layoutNanos))
+            .setAttribute(DRAW_TIME_KEY, TimeUnit.NANOSECONDS.toMicros(drawNanos))
+            .setAttribute(TOP_COMPOSABLES_KEY, topComposables(window.composables.values))
+            .startSpan()
+            .end(window.endMillis, TimeUnit.MILLISECONDS)
+    }
+
+    /**
+     * Encodes the composables that recomposed the most, then took the longest to lay out and draw, as
+     * `id:recompositions:layoutMicros:drawMicros` separated by commas.
+     */
+    private fun topComposables(entries: Collection<ComposableEntry>): String =
+        entries.sortedWith(
+            compareByDescending<ComposableEntry> { it.recompositionCount }
+                .thenByDescending { it.layoutNanos + it.drawNanos }
+        )
+            .take(TOP_COMPOSABLES)
+            .joinToString(",") {
+                "${it.id}:${it.recompositionCount}:" +
+                    "${TimeUnit.NANOSECONDS.toMicros(it.layoutNanos)}:${TimeUnit.NANOSECONDS.toMicros(it.drawNanos)}"
+            }
+
+    private class RouteWindow(
+        val route: String,
+        val startMillis: Long,
+        val endMillis: Long,
+        val composables: Map<String, ComposableEntry>
+    )
+
+    private class ComposableEntry(val id: String) {
+        var compositionCount = 0L
+        var layoutNanos = 0L
+        var drawNanos = 0L
+
+        // The first composition of a composable within the window is not a recomposition.
+        val recompositionCount: Long
+            get() = maxOf(0L, compositionCount - 1)
+
+        // Composed within the current frame, before its layout and draw.
+        val isPending: Boolean
+            get() = layoutNanos == 0L && drawNanos == 0L
+    }
+
+    companion object {
+        private const val TAG = "ComposePerformance"
+
+        const val COMPOSE_SPAN_NAME = "composeRoute"
+        const val OVERFLOW = BoundedAggregationMap.OVERFLOW
+
+        private const val COMPONENT_UI = "ui"
+
+        private const val DEFAULT_MAX_COMPOSABLES = 100
+        private const val TOP_COMPOSABLES = 5
+
+        val COMPOSABLE_COUNT_KEY: AttributeKey<Long> = AttributeKey.longKey("compose.composable_count")
+        val COMPOSITION_COUNT_KEY: AttributeKey<Long> = AttributeKey.longKey("compose.composition_count")
+        val RECOMPOSITION_COUNT_KEY: AttributeKey<Long> = AttributeKey.longKey("compose.recomposition_count")
+
+        /**
+         * Total time spent laying out and drawing the tagged composables, in microseconds.
+         */
+        val LAYOUT_TIME_KEY: AttributeKey<Long> = AttributeKey.longKey("compose.layout.time")
+        val DRAW_TIME_KEY: AttributeKey<Long> = AttributeKey.longKey("compose.draw.time")
+
+        val TOP_COMPOSABLES_KEY: AttributeKey<String> = AttributeKey.stringKey("compose.top_composables")
+    }
+}
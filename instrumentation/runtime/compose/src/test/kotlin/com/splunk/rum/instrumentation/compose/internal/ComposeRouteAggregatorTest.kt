@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.compose.internal
+
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import io.opentelemetry.sdk.common.CompletableResultCode
+import io.opentelemetry.sdk.trace.SdkTracerProvider
+import io.opentelemetry.sdk.trace.data.SpanData
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor
+import io.opentelemetry.sdk.trace.export.SpanExporter
+import java.util.Collections
+import java.util.concurrent.TimeUnit
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+
+class ComposeRouteAggregatorTest {
+
+    private val exportedSpans: MutableList<SpanData> = Collections.synchronizedList(mutableListOf())
+
+    private val collectingExporter = object : SpanExporter {
+        override fun export(spans: MutableCollection<SpanData>): CompletableResultCode {
+            exportedSpans.addAll(spans)
+            return CompletableResultCode.ofSuccess()
+        }
+
+        override fun flush() = CompletableResultCode.ofSuccess()
+        override fun shutdown() = CompletableResultCode.ofSuccess()
+    }
+
+    private lateinit var tracerProvider: SdkTracerProvider
+    private lateinit var aggregator: ComposeRouteAggregator
+
+    private var now = 1_000L
+
+    @Before
+    fun setUp() {
+        exportedSpans.clear()
+        tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(collectingExporter))
+            .build()
+        aggregator = ComposeRouteAggregator(tracerProvider.get("test"), maxComposables = 2, clock = { now })
+    }
+
+    @After
+    fun tearDown() {
+        tracerProvider.close()
+    }
+
+    @Test
+    fun `reports route summary when the route changes`() {
+        aggregator.onRouteChanged("home")
+        aggregator.recordComposition("list")
+        aggregator.recordComposition("list")
+        aggregator.recordComposition("list")
+        aggregator.recordComposition("header")
+        aggregator.recordLayout("list", TimeUnit.MICROSECONDS.toNanos(300))
+        aggregator.recordDraw("list", TimeUnit.MICROSECONDS.toNanos(200))
+        aggregator.recordDraw("header", TimeUnit.MICROSECONDS.toNanos(50))
+        assertTrue(exportedSpans.isEmpty())
+
+        now = 5_000L
+        aggregator.onRouteChanged("details")
+
+        assertEquals(1, exportedSpans.size)
+        val home = exportedSpans[0]
+        assertEquals(ComposeRouteAggregator.COMPOSE_SPAN_NAME, home.name)
+        assertEquals("home", home.attributes.get(GlobalRumConstants.SCREEN_NAME_KEY))
+        assertEquals("ui", home.attributes.get(GlobalRumConstants.COMPONENT_KEY))
+        assertEquals(2L, home.attributes.get(ComposeRouteAggregator.COMPOSABLE_COUNT_KEY))
+        assertEquals(4L, home.attributes.get(ComposeRouteAggregator.COMPOSITION_COUNT_KEY))
+        assertEquals(2L, home.attributes.get(ComposeRouteAggregator.RECOMPOSITION_COUNT_KEY))
+        assertEquals(300L, home.attributes.get(ComposeRouteAggregator.LAYOUT_TIME_KEY))
+        assertEquals(250L, home.attributes.get(ComposeRouteAggregator.DRAW_TIME_KEY))
+        assertEquals("list:2:300:200,header:0:0:50", home.attributes.get(ComposeRouteAggregator.TOP_COMPOSABLES_KEY))
+        assertEquals(1_000_000_000L, home.startEpochNanos)
+        assertEquals(5_000_000_000L, home.endEpochNanos)
+    }
+
+    @Test
+    fun `route change without records reports nothing`() {
+        aggregator.onRouteChanged("home")
+        aggregator.onRouteChanged("details")
+        aggregator.onRouteChanged("details")
+        aggregator.flush()
+
+        assertTrue(exportedSpans.isEmpty())
+    }
+
+    @Test
+    fun `composables composed before the route change belong to the new route`() {
+        aggregator.onRouteChanged("home")
+        aggregator.recordComposition("list")
+        aggregator.recordDraw("list", TimeUnit.MICROSECONDS.toNanos(100))
+
+        // The details route is composed in the frame in which the screen name changes.
+        now = 2_000L
+        aggregator.recordComposition("list")
+        aggregator.recordComposition("body")
+        aggregator.onRouteChanged("details")
+        aggregator.recordLayout("body", TimeUnit.MICROSECONDS.toNanos(40))
+        aggregator.recordDraw("body", TimeUnit.MICROSECONDS.toNanos(60))
+        now = 3_000L
+        aggregator.flush()
+
+        assertEquals(2, exportedSpans.size)
+        val home = exportedSpans[0]
+        assertEquals("home", home.attributes.get(GlobalRumConstants.SCREEN_NAME_KEY))
+        assertEquals("list:1:0:100", home.attributes.get(ComposeRouteAggregator.TOP_COMPOSABLES_KEY))
+
+        val details = exportedSpans[1]
+        assertEquals("details", details.attributes.get(GlobalRumConstants.SCREEN_NAME_KEY))
+        assertEquals(1L, details.attributes.get(ComposeRouteAggregator.COMPOSITION_COUNT_KEY))
+        assertEquals("body:0:40:60", details.attributes.get(ComposeRouteAggregator.TOP_COMPOSABLES_KEY))
+        assertEquals(2_000_000_000L, details.startEpochNanos)
+    }
+
+    @Test
+    fun `records before the first route are kept for it`() {
+        aggregator.recordComposition("list")
+        now = 2_000L
+        aggregator.onRouteChanged("home")
+        aggregator.recordDraw("list", TimeUnit.MICROSECONDS.toNanos(100))
+        aggregator.flush()
+
+        val home = exportedSpans.single()
+        assertEquals("home", home.attributes.get(GlobalRumConstants.SCREEN_NAME_KEY))
+        assertEquals("list:0:0:100", home.attributes.get(ComposeRouteAggregator.TOP_COMPOSABLES_KEY))
+    }
+
+    @Test
+    fun `flush reports the current route and starts a new window`() {
+        aggregator.onRouteChanged("home")
+        aggregator.recordComposition("list")
+        now = 2_000L
+        aggregator.flush()
+
+        now = 3_000L
+        aggregator.recordComposition("list")
+        now = 4_000L
+        aggregator.flush()
+        aggregator.flush()
+
+        assertEquals(2, exportedSpans.size)
+        assertEquals(2_000_000_000L, exportedSpans[1].startEpochNanos)
+        assertEquals(0L, exportedSpans[1].attributes.get(ComposeRouteAggregator.RECOMPOSITION_COUNT_KEY))
+    }
+
+    @Test
+    fun `bounds composables per route`() {
+        aggregator.onRouteChanged("home")
+        aggregator.recordComposition("a")
+        aggregator.recordComposition("b")
+        aggregator.recordComposition("c")
+        aggregator.recordComposition("d")
+        aggregator.flush()
+
+        val home = exportedSpans.single()
+        assertEquals(3L, home.attributes.get(ComposeRouteAggregator.COMPOSABLE_COUNT_KEY))
+        assertEquals(1L, home.attributes.get(ComposeRouteAggregator.RECOMPOSITION_COUNT_KEY))
+        assertTrue(home.attributes.get(ComposeRouteAggregator.TOP_COMPOSABLES_KEY)!!.startsWith("_OTHER:1:"))
+    }
+}
@@ -26,6 +26,7 @@ dependencies {
     implementation(platform(Dependencies.Otel.instrumentationBomAlpha))
 
     implementation(project(":common:otel"))
+    implementation(project(":common:utils"))
 
     implementation(Dependencies.Otel.api)
     implementation(Dependencies.Otel.sdk)
@@ -34,6 +35,7 @@ dependencies {
 
     implementation(Dependencies.Common.logger)
     implementation(Dependencies.Common.utils)
+    compileOnly(Dependencies.Android.annotation)
 
     testImplementation(Dependencies.Test.junit)
     testImplementation(Dependencies.Test.robolectric)
@@ -17,35 +17,57 @@
 
 package com.splunk.rum.instrumentation.crash.internal
 
+import com.splunk.rum.agent.common.otel.DeferredOpenTelemetry
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import com.splunk.rum.agent.common.utils.fingerprint.ReportDeduplicator
+import com.splunk.rum.agent.common.utils.fingerprint.StackFingerprint
 import com.splunk.rum.common.logger.Logger
 import com.splunk.rum.instrumentation.crash.internal.extractor.CrashAttributesExtractor
 import com.splunk.rum.instrumentation.crash.internal.extractor.CrashDetails
+import com.splunk.rum.instrumentation.crash.internal.nativecrash.NativeCrash
 import io.opentelemetry.api.OpenTelemetry
 import io.opentelemetry.api.common.AttributeKey
 import io.opentelemetry.api.common.Attributes
+import io.opentelemetry.api.common.AttributesBuilder
 import io.opentelemetry.sdk.OpenTelemetrySdk
+import io.opentelemetry.sdk.logs.SdkLoggerProvider
 import io.opentelemetry.semconv.ExceptionAttributes
 import io.opentelemetry.semconv.incubating.ThreadIncubatingAttributes
 import java.io.PrintWriter
 import java.io.StringWriter
+import java.util.concurrent.TimeUnit
 
 /**
  * Emits crash telemetry through OpenTelemetry and installs the uncaught exception handler.
+ *
+ * Every crash carries the fingerprint of its stack. When a [deduplicator] is set, repeated crashes
+ * with the same fingerprint are reported without their stack trace once the deduplicator's limit is
+ * reached, with their occurrence count instead.
+ *
+ * Native crashes of previous processes (see [CrashDetails.nativeCrash]) are reported with their
+ * signal as the exception type, their backtrace in the tombstone text format as the stack trace, and
+ * the registers and module map needed to symbolicate it.
  */
 internal class CrashReporter(
     private val openTelemetry: OpenTelemetry,
-    private val additionalExtractors: List<CrashAttributesExtractor>
+    private val additionalExtractors: List<CrashAttributesExtractor>,
+    private val deduplicator: ReportDeduplicator? = null
 ) {
 
     /** Installs the crash reporting uncaught exception handler. */
     fun install() {
         val existingHandler = Thread.getDefaultUncaughtExceptionHandler()
-        val sdkLoggerProvider = (openTelemetry as? OpenTelemetrySdk)?.sdkLoggerProvider
         Thread.setDefaultUncaughtExceptionHandler(
-            CrashReportingExceptionHandler(::report, sdkLoggerProvider, existingHandler)
+            CrashReportingExceptionHandler(::report, ::sdkLoggerProvider, existingHandler)
         )
     }
 
+    /** The SDK's logger provider, null while a [DeferredOpenTelemetry] has no SDK yet. */
+    private fun sdkLoggerProvider(): SdkLoggerProvider? {
+        val sdk = (openTelemetry as? DeferredOpenTelemetry)?.delegate ?: openTelemetry
+        return (sdk as? OpenTelemetrySdk)?.sdkLoggerProvider
+    }
+
     /** Emits a crash event for [crashDetails]. Never throws. */
     fun report(crashDetails: CrashDetails) {
         try {
@@ -58,12 +80,29 @@ internal class CrashReporter(
     private fun emitCrashEvent(crashDetails: CrashDetails) {
         val thread = crashDetails.thread
         val cause = crashDetails.cause
+        val nativeCrash = crashDetails.nativeCrash
+
+        val fingerprint = StackFingerprint.of(cause)
+        val occurrence = deduplicator?.record(fingerprint)
+        val isFullReport = occurrence == null || occurrence.isFullReport
 
         val attributes = Attributes.builder()
-            .put(ThreadIncubatingAttributes.THREAD_ID, thread.id)
-            .put(ThreadIncubatingAttributes.THREAD_NAME, thread.name)
-            .put(ExceptionAttributes.EXCEPTION_TYPE, cause.javaClass.name)
-            .put(ExceptionAttributes.EXCEPTION_STACKTRACE, stackTraceToString(cause))
+            .put(GlobalRumConstants.EXCEPTION_FINGERPRINT_KEY, fingerprint)
+
+        if (nativeCrash == null) {
+            attributes.put(ThreadIncubatingAttributes.THREAD_ID, thread.id)
+            attributes.put(ThreadIncubatingAttributes.THREAD_NAME, thread.name)
+            attributes.put(ExceptionAttributes.EXCEPTION_TYPE, cause.javaClass.name)
+            if (isFullReport) {
+                attributes.put(ExceptionAttributes.EXCEPTION_STACKTRACE, stackTraceToString(cause))
+            }
+        } else {
+            putNativeCrash(attributes, nativeCrash, isFullReport)
+            crashDetails.sessionId?.let { attributes.put(GlobalRumConstants.SESSION_ID_KEY, it) }
+        }
+        if (occurrence != null) {
+            attributes.put(GlobalRumConstants.EXCEPTION_OCCURRENCE_COUNT_KEY, occurrence.count.toLong())
+        }
 
         cause.message?.let { attributes.put(ExceptionAttributes.EXCEPTION_MESSAGE, it) }
 
@@ -78,11 +117,25 @@ internal class CrashReporter(
         // Set last so a custom extractor cannot override device.crash.
         attributes.put(LOG_EVENT_NAME_KEY, CRASH_EVENT_NAME)
 
-        openTelemetry.logsBridge
+        val logRecordBuilder = openTelemetry.logsBridge
             .get(CRASH_INSTRUMENTATION_SCOPE_NAME)
             .logRecordBuilder()
             .setAllAttributes(attributes.build())
-            .emit()
+        if (nativeCrash != null) {
+            logRecordBuilder.setTimestamp(nativeCrash.timestamp, TimeUnit.MILLISECONDS)
+        }
+        logRecordBuilder.emit()
+    }
+
+    private fun putNativeCrash(attributes: AttributesBuilder, nativeCrash: NativeCrash, isFullReport: Boolean) {
+        attributes.put(ThreadIncubatingAttributes.THREAD_ID, nativeCrash.tid.toLong())
+        attributes.put(ThreadIncubatingAttributes.THREAD_NAME, nativeCrash.threadName)
+        attributes.put(ExceptionAttributes.EXCEPTION_TYPE, nativeCrash.signalName)
+        if (isFullReport) {
+            attributes.put(ExceptionAttributes.EXCEPTION_STACKTRACE, nativeCrash.backtraceText())
+            attributes.put(NATIVE_CRASH_REGISTERS_KEY, nativeCrash.registersText())
+            attributes.put(NATIVE_CRASH_MODULES_KEY, nativeCrash.modulesText())
+        }
     }
 
     private fun stackTraceToString(throwable: Throwable): String {
@@ -99,5 +152,11 @@ internal class CrashReporter(
         const val CRASH_EVENT_NAME = "device.crash"
 
         private val LOG_EVENT_NAME_KEY: AttributeKey<String> = AttributeKey.stringKey("event.name")
+
+        /** The crashing thread's registers of a native crash, `name value` pairs. */
+        val NATIVE_CRASH_REGISTERS_KEY: AttributeKey<String> = AttributeKey.stringKey("native.crash.registers")
+
+        /** The modules of a native crash backtrace, `begin-end offset load_bias name build_id` lines. */
+        val NATIVE_CRASH_MODULES_KEY: AttributeKey<String> = AttributeKey.stringKey("native.crash.modules")
     }
 }
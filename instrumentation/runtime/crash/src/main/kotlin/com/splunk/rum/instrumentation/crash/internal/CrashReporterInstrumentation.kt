@@ -18,9 +18,13 @@
 package com.splunk.rum.instrumentation.crash.internal
 
 import android.app.Application
+import android.os.Build
+import com.splunk.rum.agent.common.utils.fingerprint.ReportDeduplicator
 import com.splunk.rum.instrumentation.crash.internal.extractor.CrashAttributesExtractor
 import com.splunk.rum.instrumentation.crash.internal.extractor.RuntimeDetailsExtractor
+import com.splunk.rum.instrumentation.crash.internal.nativecrash.NativeCrashCollector
 import io.opentelemetry.api.OpenTelemetry
+import java.io.File
 import java.util.concurrent.atomic.AtomicBoolean
 
 /**
@@ -35,6 +39,8 @@ class CrashReporterInstrumentation {
 
     private val additionalExtractors = mutableListOf<CrashAttributesExtractor>()
     private val installed = AtomicBoolean(false)
+    private var isNativeCrashReportingEnabled = false
+    private var sessionIdAt: (Long) -> String? = { null }
 
     /** Adds a [CrashAttributesExtractor] that enriches emitted crash events. */
     fun addAttributesExtractor(extractor: CrashAttributesExtractor): CrashReporterInstrumentation {
@@ -42,12 +48,44 @@ class CrashReporterInstrumentation {
         return this
     }
 
+    /**
+     * Sets whether native crashes are reported. They are read from the platform's tombstones on the
+     * launch after the crash, on Android 12 (API 31) and newer, and attributed to the session
+     * [sessionIdAt] returns for the time of the crash; crashes without one are not reported.
+     */
+    fun setNativeCrashReportingEnabled(
+        enabled: Boolean,
+        sessionIdAt: (timestamp: Long) -> String?
+    ): CrashReporterInstrumentation {
+        isNativeCrashReportingEnabled = enabled
+        this.sessionIdAt = sessionIdAt
+        return this
+    }
+
     /** Installs the crash reporting uncaught exception handler. No-ops if already installed. */
     fun install(application: Application, openTelemetry: OpenTelemetry) {
         if (!installed.compareAndSet(false, true)) {
             return
         }
         val extractors = additionalExtractors + RuntimeDetailsExtractor.create(application)
-        CrashReporter(openTelemetry, extractors).install()
+        val deduplicator = ReportDeduplicator(File(application.noBackupFilesDir, DEDUPLICATION_FILE_PATH))
+        val reporter = CrashReporter(openTelemetry, extractors, deduplicator)
+        reporter.install()
+
+        if (isNativeCrashReportingEnabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
+            val collector = NativeCrashCollector(
+                application,
+                File(application.noBackupFilesDir, NATIVE_CRASH_STATE_FILE_PATH),
+                reporter::report,
+                sessionIdAt
+            )
+            Thread(collector::collect, NATIVE_CRASH_THREAD_NAME).apply { isDaemon = true }.start()
+        }
+    }
+
+    private companion object {
+        private const val DEDUPLICATION_FILE_PATH = "agent/fingerprints/crash.dat"
+        private const val NATIVE_CRASH_STATE_FILE_PATH = "agent/native_crash/last_reported"
+        private const val NATIVE_CRASH_THREAD_NAME = "splunk-native-crash-collector"
     }
 }
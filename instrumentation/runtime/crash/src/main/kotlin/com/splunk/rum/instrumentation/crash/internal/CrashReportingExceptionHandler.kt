@@ -24,10 +24,12 @@ import java.util.concurrent.TimeUnit
 /**
  * Uncaught exception handler that reports the crash, flushes telemetry synchronously so it survives
  * the imminent process death, and then delegates to any previously installed handler.
+ *
+ * [sdkLoggerProvider] is resolved at crash time, the SDK may still be built when the handler is installed.
  */
 internal class CrashReportingExceptionHandler(
     private val crashSender: (CrashDetails) -> Unit,
-    private val sdkLoggerProvider: SdkLoggerProvider?,
+    private val sdkLoggerProvider: () -> SdkLoggerProvider?,
     private val existingHandler: Thread.UncaughtExceptionHandler?
 ) : Thread.UncaughtExceptionHandler {
 
@@ -36,7 +38,7 @@ internal class CrashReportingExceptionHandler(
             crashSender(CrashDetails(thread, throwable))
 
             // Do our best to make sure the crash makes it out of the VM before it dies.
-            sdkLoggerProvider?.forceFlush()?.join(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            sdkLoggerProvider()?.forceFlush()?.join(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS)
         } finally {
             // Always delegate, even if reporting/flushing threw (e.g. OutOfMemoryError).
             existingHandler?.uncaughtException(thread, throwable)
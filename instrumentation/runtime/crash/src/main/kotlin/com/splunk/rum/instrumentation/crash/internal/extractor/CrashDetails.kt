@@ -17,13 +17,24 @@
 
 package com.splunk.rum.instrumentation.crash.internal.extractor
 
+import com.splunk.rum.instrumentation.crash.internal.nativecrash.NativeCrash
+import com.splunk.rum.instrumentation.crash.internal.nativecrash.NativeCrashException
+
 /**
  * Holds the details of an application crash.
  *
  * This class is internal and is hence not for public use. Its APIs are unstable and can change at
  * any time.
  *
- * @property thread The thread that crashed.
- * @property cause The throwable that caused the crash.
+ * @property thread The thread that crashed, or the thread reporting a [nativeCrash].
+ * @property cause The throwable that caused the crash, a [NativeCrashException] for a [nativeCrash].
+ * @property nativeCrash Set when the crash is a native crash of a previous process, reported on the
+ *                       next launch.
+ * @property sessionId The session the [nativeCrash] happened in, reported instead of the current one.
  */
-data class CrashDetails(val thread: Thread, val cause: Throwable)
+data class CrashDetails @JvmOverloads constructor(
+    val thread: Thread,
+    val cause: Throwable,
+    val nativeCrash: NativeCrash? = null,
+    val sessionId: String? = null
+)
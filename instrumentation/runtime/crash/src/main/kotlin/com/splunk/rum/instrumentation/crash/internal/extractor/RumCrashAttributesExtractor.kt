@@ -39,6 +39,13 @@ class RumCrashAttributesExtractor(application: Application) : CrashAttributesExt
     }
 
     override fun extract(attributes: AttributesBuilder, crashDetails: CrashDetails) {
+        // A native crash killed a previous process, it neither crashes this one nor has its app state.
+        if (crashDetails.nativeCrash != null) {
+            attributes.put(GlobalRumConstants.COMPONENT_KEY, GlobalRumConstants.COMPONENT_CRASH)
+            attributes.put(GlobalRumConstants.ERROR_KEY, "true")
+            return
+        }
+
         // Set component=crash only for the first error that arrives here.
         // When multiple threads fail at roughly the same time (e.g. because of an OOM error),
         // the first error to arrive here is actually responsible for crashing the app; and all
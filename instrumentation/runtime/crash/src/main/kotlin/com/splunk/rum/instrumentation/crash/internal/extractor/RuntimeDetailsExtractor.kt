@@ -17,45 +17,46 @@
 
 package com.splunk.rum.instrumentation.crash.internal.extractor
 
-import android.content.BroadcastReceiver
 import android.content.Context
-import android.content.Intent
-import android.content.IntentFilter
 import android.os.BatteryManager
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import com.splunk.rum.agent.common.utils.vitals.RuntimeVitals
 import io.opentelemetry.api.common.AttributeKey
 import io.opentelemetry.api.common.AttributesBuilder
 import java.io.File
 
 /**
  * Captures details about the runtime environment (free storage, free heap, battery level) at the
- * time of a crash. The battery level is kept up to date via a broadcast receiver so it can be read
- * cheaply while the process is terminating.
+ * time of a crash, together with the [RuntimeVitals] samples leading into it. The battery level is
+ * read on demand from [BatteryManager] rather than tracked with a broadcast receiver.
  */
-internal class RuntimeDetailsExtractor private constructor(private val filesDir: File) :
-    BroadcastReceiver(),
-    CrashAttributesExtractor {
-
-    @Volatile
-    private var batteryPercent: Double? = null
-
-    override fun onReceive(context: Context, intent: Intent) {
-        val level = intent.getIntExtra(BatteryManager.EXTRA_LEVEL, -1)
-        val scale = intent.getIntExtra(BatteryManager.EXTRA_SCALE, -1)
-        batteryPercent = level * 100.0 / scale.toFloat()
-    }
+internal class RuntimeDetailsExtractor private constructor(
+    private val filesDir: File,
+    private val batteryManager: BatteryManager?
+) : CrashAttributesExtractor {
 
     override fun extract(attributes: AttributesBuilder, crashDetails: CrashDetails) {
+        // The current runtime tells nothing about the previous process a native crash happened in.
+        if (crashDetails.nativeCrash != null) {
+            return
+        }
         attributes.put(STORAGE_SPACE_FREE_KEY, filesDir.freeSpace)
         attributes.put(HEAP_FREE_KEY, Runtime.getRuntime().freeMemory())
-        batteryPercent?.let { attributes.put(BATTERY_PERCENT_KEY, it) }
+        batteryPercent()?.let { attributes.put(BATTERY_PERCENT_KEY, it) }
+        RuntimeVitals.snapshot()?.let { attributes.put(GlobalRumConstants.RUNTIME_VITALS_KEY, it) }
+    }
+
+    private fun batteryPercent(): Double? {
+        val capacity = batteryManager?.getIntProperty(BatteryManager.BATTERY_PROPERTY_CAPACITY) ?: return null
+        // Devices without a battery (or without the property) report 0 or Integer.MIN_VALUE.
+        return if (capacity in 1..100) capacity.toDouble() else null
     }
 
     companion object {
         fun create(context: Context): RuntimeDetailsExtractor {
-            val batteryChangedFilter = IntentFilter(Intent.ACTION_BATTERY_CHANGED)
-            val runtimeDetails = RuntimeDetailsExtractor(context.filesDir)
-            context.registerReceiver(runtimeDetails, batteryChangedFilter)
-            return runtimeDetails
+            RuntimeVitals.attach(context)
+            val batteryManager = context.getSystemService(Context.BATTERY_SERVICE) as? BatteryManager
+            return RuntimeDetailsExtractor(context.filesDir, batteryManager)
         }
 
         private val STORAGE_SPACE_FREE_KEY: AttributeKey<Long> = AttributeKey.longKey("storage.free")
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.crash.internal.nativecrash
+
+/**
+ * A native crash of a previous process, as recorded by the platform in its tombstone.
+ *
+ * Only the crashing thread is kept, together with the modules its backtrace runs through. The
+ * backtrace keeps the relative program counters and build ids, which is what symbolication needs.
+ *
+ * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+ * any time.
+ *
+ * @property timestamp When the process died, in milliseconds since the epoch.
+ * @property is64Bit Whether the crashed process was a 64-bit one, used to format addresses.
+ * @property faultAddress The faulting address, or `null` when the signal has none.
+ * @property abortMessage The message passed to `abort()`, if any.
+ */
+class NativeCrash(
+    val timestamp: Long,
+    val is64Bit: Boolean,
+    val pid: Int,
+    val tid: Int,
+    val threadName: String,
+    val signalName: String,
+    val signalCode: String,
+    val faultAddress: Long?,
+    val abortMessage: String?,
+    val registers: List<Register>,
+    val frames: List<Frame>,
+    val modules: List<Module>
+) {
+
+    class Register(val name: String, val value: Long)
+
+    class Frame(
+        val relativePc: Long,
+        val fileName: String,
+        val functionName: String?,
+        val functionOffset: Long,
+        val buildId: String?
+    )
+
+    class Module(
+        val name: String,
+        val beginAddress: Long,
+        val endAddress: Long,
+        val offset: Long,
+        val loadBias: Long,
+        val buildId: String?
+    )
+
+    /** A one line description, e.g. `SIGSEGV (SEGV_MAPERR), fault addr 0x0`. */
+    val description: String
+        get() = buildString {
+            append(signalName).append(" (").append(signalCode).append(')')
+            faultAddress?.let { append(", fault addr 0x").append(java.lang.Long.toHexString(it)) }
+            abortMessage?.let { append(", abort message: ").append(it) }
+        }
+
+    /**
+     * The backtrace in the tombstone text format understood by `ndk-stack`, one
+     * `#00 pc 000000000004e5c0  /path/libfoo.so (function+16) (BuildId: ...)` line per frame.
+     */
+    fun backtraceText(): String = buildString {
+        frames.forEachIndexed { index, frame ->
+            append('#')
+            if (index < 10) append('0')
+            append(index).append(" pc ").append(address(frame.relativePc)).append("  ").append(frame.fileName)
+            if (frame.functionName != null) {
+                append(" (").append(frame.functionName).append('+').append(frame.functionOffset).append(')')
+            }
+            if (frame.buildId != null) {
+                append(" (BuildId: ").append(frame.buildId).append(')')
+            }
+            append('\n')
+        }
+    }
+
+    /** The crashing thread's registers, one `name value` pair per register, space separated. */
+    fun registersText(): String = registers.joinToString(" ") { "${it.name} ${address(it.value)}" }
+
+    /** The modules of the backtrace, one `begin-end offset load_bias name build_id` line per module. */
+    fun modulesText(): String = buildString {
+        for (module in modules) {
+            append(address(module.beginAddress)).append('-').append(address(module.endAddress))
+                .append(' ').append(java.lang.Long.toHexString(module.offset))
+                .append(' ').append(java.lang.Long.toHexString(module.loadBias))
+                .append(' ').append(module.name)
+                .append(' ').append(module.buildId ?: "-")
+                .append('\n')
+        }
+    }
+
+    /**
+     * A throwable standing in for the crash in the crash reporting pipeline. Its stack trace has a
+     * frame per native frame, declared by the library file name, so it can be fingerprinted.
+     */
+    fun toThrowable(): NativeCrashException {
+        val stackTrace = Array(frames.size) { i ->
+            val frame = frames[i]
+            val method = frame.functionName ?: "0x${java.lang.Long.toHexString(frame.relativePc)}"
+            StackTraceElement(frame.fileName.substringAfterLast('/'), method, null, -1)
+        }
+        return NativeCrashException(description, stackTrace)
+    }
+
+    private fun address(value: Long): String {
+        val hex = java.lang.Long.toHexString(value)
+        val width = if (is64Bit) 16 else 8
+        return if (hex.length >= width) hex else "0".repeat(width - hex.length) + hex
+    }
+}
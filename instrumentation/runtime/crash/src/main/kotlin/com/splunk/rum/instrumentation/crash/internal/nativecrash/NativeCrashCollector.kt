@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.crash.internal.nativecrash
+
+import android.app.ActivityManager
+import android.app.ApplicationExitInfo
+import android.content.Context
+import android.os.Build
+import androidx.annotation.RequiresApi
+import com.splunk.rum.common.logger.Logger
+import com.splunk.rum.instrumentation.crash.internal.extractor.CrashDetails
+import java.io.File
+import java.util.concurrent.TimeUnit
+
+/**
+ * Collects the native crashes of previous processes from [ApplicationExitInfo] and hands them to
+ * [report].
+ *
+ * The platform keeps a tombstone for each native crash, written by its own signal handler, so no
+ * handler of ours has to run in the crashing process. The timestamp of the newest crash handled is
+ * stored in [stateFile] before reporting, so every crash is reported at most once; crashes older
+ * than [MAX_CRASH_AGE_MILLIS] are ignored, e.g. on the first launch with the SDK.
+ *
+ * A crash is attributed to the session [sessionIdAt] its timestamp, not to the current one, which may
+ * have started since. Crashes without a recorded session happened before the SDK ran and are ignored.
+ */
+@RequiresApi(Build.VERSION_CODES.S)
+internal class NativeCrashCollector(
+    private val context: Context,
+    private val stateFile: File,
+    private val report: (CrashDetails) -> Unit,
+    private val sessionIdAt: (timestamp: Long) -> String?,
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+
+    fun collect() {
+        val activityManager = context.getSystemService(ActivityManager::class.java) ?: return
+        val exitInfos = try {
+            activityManager.getHistoricalProcessExitReasons(context.packageName, 0, MAX_EXIT_REASONS)
+        } catch (e: RuntimeException) {
+            Logger.w(TAG, "Failed to read process exit reasons: ${e.message}")
+            return
+        }
+
+        val lastReported = readLastReportedTimestamp()
+        val minTimestamp = maxOf(lastReported, clock() - MAX_CRASH_AGE_MILLIS)
+        val crashes = exitInfos.filter {
+            it.reason == ApplicationExitInfo.REASON_CRASH_NATIVE && it.timestamp > minTimestamp
+        }
+        if (crashes.isEmpty()) {
+            return
+        }
+
+        writeLastReportedTimestamp(crashes.maxOf { it.timestamp })
+
+        // Exit reasons are listed newest first, report in the order the crashes happened.
+        for (exitInfo in crashes.asReversed()) {
+            val sessionId = sessionIdAt(exitInfo.timestamp)
+            if (sessionId == null) {
+                Logger.d(TAG) { "Ignoring native crash without a recorded session at ${exitInfo.timestamp}" }
+                continue
+            }
+            val crash = readTombstone(exitInfo) ?: continue
+            Logger.d(TAG) { "Reporting native crash: ${crash.description}" }
+            report(CrashDetails(Thread.currentThread(), crash.toThrowable(), crash, sessionId))
+        }
+    }
+
+    private fun readTombstone(exitInfo: ApplicationExitInfo): NativeCrash? = try {
+        exitInfo.traceInputStream?.use { TombstoneParser.parse(it.readBytes(), exitInfo.timestamp) }
+    } catch (e: Exception) {
+        Logger.w(TAG, "Failed to read tombstone: ${e.message}")
+        null
+    }
+
+    private fun readLastReportedTimestamp(): Long = try {
+        if (stateFile.exists()) stateFile.readText().trim().toLongOrNull() ?: 0L else 0L
+    } catch (e: Exception) {
+        0L
+    }
+
+    private fun writeLastReportedTimestamp(timestamp: Long) {
+        try {
+            stateFile.parentFile?.mkdirs()
+            stateFile.writeText(timestamp.toString())
+        } catch (e: Exception) {
+            Logger.w(TAG, "Failed to store native crash state: ${e.message}")
+        }
+    }
+
+    private companion object {
+        private const val TAG = "NativeCrashCollector"
+        private const val MAX_EXIT_REASONS = 16
+        private val MAX_CRASH_AGE_MILLIS = TimeUnit.DAYS.toMillis(3)
+    }
+}
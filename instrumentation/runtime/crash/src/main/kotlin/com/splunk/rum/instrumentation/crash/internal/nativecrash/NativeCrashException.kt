@@ -0,0 +1,31 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.crash.internal.nativecrash
+
+/**
+ * Stands in for a [NativeCrash] where a [Throwable] is expected. Its stack trace is made of the
+ * native frames.
+ *
+ * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+ * any time.
+ */
+class NativeCrashException(message: String, nativeStackTrace: Array<StackTraceElement>) : RuntimeException(message) {
+
+    init {
+        stackTrace = nativeStackTrace
+    }
+}
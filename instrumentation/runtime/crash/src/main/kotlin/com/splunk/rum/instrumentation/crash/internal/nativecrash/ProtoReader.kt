@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.crash.internal.nativecrash
+
+/**
+ * Minimal reader of the protobuf wire format, enough to pick the fields we need out of a tombstone
+ * without depending on a protobuf runtime. Nested messages are read as views of the same buffer.
+ *
+ * Malformed input makes the read methods throw [IllegalStateException].
+ */
+internal class ProtoReader(
+    private val buffer: ByteArray,
+    private var position: Int = 0,
+    private val limit: Int = buffer.size
+) {
+
+    val hasRemaining: Boolean
+        get() = position < limit
+
+    /** Reads the next field tag. Use [fieldNumber] and [wireType] to decode it. */
+    fun readTag(): Int = readVarint().toInt()
+
+    fun readVarint(): Long {
+        var result = 0L
+        var shift = 0
+        while (shift < Long.SIZE_BITS) {
+            check(position < limit) { "Truncated varint" }
+            val byte = buffer[position++].toInt()
+            result = result or ((byte and 0x7f).toLong() shl shift)
+            if (byte and 0x80 == 0) {
+                return result
+            }
+            shift += 7
+        }
+        throw IllegalStateException("Malformed varint")
+    }
+
+    fun readString(): String {
+        val length = readLength()
+        val value = String(buffer, position, length, Charsets.UTF_8)
+        position += length
+        return value
+    }
+
+    fun readMessage(): ProtoReader {
+        val length = readLength()
+        val message = ProtoReader(buffer, position, position + length)
+        position += length
+        return message
+    }
+
+    /** Skips the value of a field with the given [wireType]. */
+    fun skip(wireType: Int) {
+        when (wireType) {
+            WIRE_TYPE_VARINT -> readVarint()
+            WIRE_TYPE_FIXED64 -> advance(8)
+            WIRE_TYPE_LENGTH_DELIMITED -> advance(readLength())
+            WIRE_TYPE_FIXED32 -> advance(4)
+            else -> throw IllegalStateException("Unsupported wire type $wireType")
+        }
+    }
+
+    private fun readLength(): Int {
+        val length = readVarint()
+        check(length >= 0 && length <= limit - position) { "Invalid length $length" }
+        return length.toInt()
+    }
+
+    private fun advance(count: Int) {
+        check(count <= limit - position) { "Truncated field" }
+        position += count
+    }
+
+    companion object {
+        const val WIRE_TYPE_VARINT = 0
+        const val WIRE_TYPE_FIXED64 = 1
+        const val WIRE_TYPE_LENGTH_DELIMITED = 2
+        const val WIRE_TYPE_FIXED32 = 5
+
+        fun fieldNumber(tag: Int): Int = tag ushr 3
+
+        fun wireType(tag: Int): Int = tag and 0x7
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.crash.internal.nativecrash
+
+import com.splunk.rum.common.logger.Logger
+import com.splunk.rum.instrumentation.crash.internal.nativecrash.ProtoReader.Companion.WIRE_TYPE_LENGTH_DELIMITED
+import com.splunk.rum.instrumentation.crash.internal.nativecrash.ProtoReader.Companion.WIRE_TYPE_VARINT
+import com.splunk.rum.instrumentation.crash.internal.nativecrash.ProtoReader.Companion.fieldNumber
+import com.splunk.rum.instrumentation.crash.internal.nativecrash.ProtoReader.Companion.wireType
+
+/**
+ * Parses the protobuf tombstones the platform keeps for native crashes (Android 12 and newer, see
+ * `system/core/debuggerd/proto/tombstone.proto`) into a [NativeCrash].
+ *
+ * Only the fields needed for a crash report are read, everything else (other threads, memory dumps,
+ * log buffers, open files) is skipped without being copied.
+ */
+internal object TombstoneParser {
+
+    private const val TAG = "TombstoneParser"
+
+    // Tombstone
+    private const val TOMBSTONE_ARCH = 1
+    private const val TOMBSTONE_PID = 5
+    private const val TOMBSTONE_TID = 6
+    private const val TOMBSTONE_SIGNAL_INFO = 10
+    private const val TOMBSTONE_ABORT_MESSAGE = 14
+    private const val TOMBSTONE_THREADS = 16
+    private const val TOMBSTONE_MEMORY_MAPPINGS = 17
+
+    // Architecture, proto3 leaves out the default ARM32
+    private const val ARCH_ARM32 = 0L
+    private const val ARCH_ARM64 = 1L
+    private const val ARCH_X86_64 = 3L
+    private const val ARCH_RISCV64 = 4L
+
+    // Signal
+    private const val SIGNAL_NAME = 2
+    private const val SIGNAL_CODE_NAME = 4
+    private const val SIGNAL_HAS_FAULT_ADDRESS = 8
+    private const val SIGNAL_FAULT_ADDRESS = 9
+
+    // map<uint32, Thread> entry
+    private const val MAP_ENTRY_KEY = 1
+    private const val MAP_ENTRY_VALUE = 2
+
+    // Thread
+    private const val THREAD_NAME = 2
+    private const val THREAD_REGISTERS = 3
+    private const val THREAD_CURRENT_BACKTRACE = 4
+
+    // Register
+    private const val REGISTER_NAME = 1
+    private const val REGISTER_VALUE = 2
+
+    // BacktraceFrame
+    private const val FRAME_REL_PC = 1
+    private const val FRAME_FUNCTION_NAME = 4
+    private const val FRAME_FUNCTION_OFFSET = 5
+    private const val FRAME_FILE_NAME = 6
+    private const val FRAME_BUILD_ID = 8
+
+    // MemoryMapping
+    private const val MAPPING_BEGIN_ADDRESS = 1
+    private const val MAPPING_END_ADDRESS = 2
+    private const val MAPPING_OFFSET = 3
+    private const val MAPPING_NAME = 7
+    private const val MAPPING_BUILD_ID = 8
+    private const val MAPPING_LOAD_BIAS = 9
+
+    /**
+     * Parses [tombstone] of a process that died at [timestamp]. Returns `null` if the tombstone is
+     * malformed or does not contain the crashing thread.
+     */
+    fun parse(tombstone: ByteArray, timestamp: Long): NativeCrash? = try {
+        parseTombstone(ProtoReader(tombstone), timestamp)
+    } catch (e: IllegalStateException) {
+        Logger.w(TAG, "Failed to parse tombstone: ${e.message}")
+        null
+    }
+
+    private fun parseTombstone(reader: ProtoReader, timestamp: Long): NativeCrash? {
+        var arch = ARCH_ARM32
+        var pid = 0
+        var tid = -1
+        var signal = Signal()
+        var abortMessage: String? = null
+        // The crashing thread is only known once the tid was read, keep views of all threads until then.
+        val threads = HashMap<Int, ProtoReader>()
+        val mappings = ArrayList<ProtoReader>()
+
+        while (reader.hasRemaining) {
+            val tag = reader.readTag()
+            when {
+                isField(tag, TOMBSTONE_ARCH, WIRE_TYPE_VARINT) -> arch = reader.readVarint()
+                isField(tag, TOMBSTONE_PID, WIRE_TYPE_VARINT) -> pid = reader.readVarint().toInt()
+                isField(tag, TOMBSTONE_TID, WIRE_TYPE_VARINT) -> tid = reader.readVarint().toInt()
+                isField(tag, TOMBSTONE_SIGNAL_INFO, WIRE_TYPE_LENGTH_DELIMITED) ->
+                    signal = parseSignal(reader.readMessage())
+                isField(tag, TOMBSTONE_ABORT_MESSAGE, WIRE_TYPE_LENGTH_DELIMITED) ->
+                    abortMessage = reader.readString().ifEmpty { null }
+                isField(tag, TOMBSTONE_THREADS, WIRE_TYPE_LENGTH_DELIMITED) ->
+                    parseThreadEntry(reader.readMessage(), threads)
+                isField(tag, TOMBSTONE_MEMORY_MAPPINGS, WIRE_TYPE_LENGTH_DELIMITED) ->
+                    mappings += reader.readMessage()
+                else -> reader.skip(wireType(tag))
+            }
+        }
+
+        val thread = parseThread(threads[tid] ?: return null)
+        // Libraries loaded straight from the APK show up as `base.apk!libfoo.so` in frames but as the
+        // APK in the mappings.
+        val fileNames = thread.frames.mapTo(HashSet()) { it.fileName.substringBefore('!') }
+        val modules = mappings.mapNotNull { parseMapping(it, fileNames) }
+            .distinctBy { it.name }
+
+        return NativeCrash(
+            timestamp = timestamp,
+            is64Bit = arch == ARCH_ARM64 || arch == ARCH_X86_64 || arch == ARCH_RISCV64,
+            pid = pid,
+            tid = tid,
+            threadName = thread.name,
+            signalName = signal.name,
+            signalCode = signal.codeName,
+            faultAddress = signal.faultAddress,
+            abortMessage = abortMessage,
+            registers = thread.registers,
+            frames = thread.frames,
+            modules = modules
+        )
+    }
+
+    private fun parseSignal(reader: ProtoReader): Signal {
+        val signal = Signal()
+        var hasFaultAddress = false
+        var faultAddress = 0L
+        while (reader.hasRemaining) {
+            val tag = reader.readTag()
+            when {
+                isField(tag, SIGNAL_NAME, WIRE_TYPE_LENGTH_DELIMITED) -> signal.name = reader.readString()
+                isField(tag, SIGNAL_CODE_NAME, WIRE_TYPE_LENGTH_DELIMITED) -> signal.codeName = reader.readString()
+                isField(tag, SIGNAL_HAS_FAULT_ADDRESS, WIRE_TYPE_VARINT) -> hasFaultAddress = reader.readVarint() != 0L
+                isField(tag, SIGNAL_FAULT_ADDRESS, WIRE_TYPE_VARINT) -> faultAddress = reader.readVarint()
+                else -> reader.skip(wireType(tag))
+            }
+        }
+        signal.faultAddress = if (hasFaultAddress) faultAddress else null
+        return signal
+    }
+
+    private fun parseThreadEntry(reader: ProtoReader, threads: MutableMap<Int, ProtoReader>) {
+        var key = 0
+        var value: ProtoReader? = null
+        while (reader.hasRemaining) {
+            val tag = reader.readTag()
+            when {
+                isField(tag, MAP_ENTRY_KEY, WIRE_TYPE_VARINT) -> key = reader.readVarint().toInt()
+                isField(tag, MAP_ENTRY_VALUE, WIRE_TYPE_LENGTH_DELIMITED) -> value = reader.readMessage()
+                else -> reader.skip(wireType(tag))
+            }
+        }
+        value?.let { threads[key] = it }
+    }
+
+    private fun parseThread(reader: ProtoReader): Thread {
+        var name = ""
+        val registers = ArrayList<NativeCrash.Register>()
+        val frames = ArrayList<NativeCrash.Frame>()
+        while (reader.hasRemaining) {
+            val tag = reader.readTag()
+            when {
+                isField(tag, THREAD_NAME, WIRE_TYPE_LENGTH_DELIMITED) -> name = reader.readString()
+                isField(tag, THREAD_REGISTERS, WIRE_TYPE_LENGTH_DELIMITED) ->
+                    registers += parseRegister(reader.readMessage())
+                isField(tag, THREAD_CURRENT_BACKTRACE, WIRE_TYPE_LENGTH_DELIMITED) ->
+                    frames += parseFrame(reader.readMessage())
+                else -> reader.skip(wireType(tag))
+            }
+        }
+        return Thread(name, registers, frames)
+    }
+
+    private fun parseRegister(reader: ProtoReader): NativeCrash.Register {
+        var name = ""
+        var value = 0L
+        while (reader.hasRemaining) {
+            val tag = reader.readTag()
+            when {
+                isField(tag, REGISTER_NAME, WIRE_TYPE_LENGTH_DELIMITED) -> name = reader.readString()
+                isField(tag, REGISTER_VALUE, WIRE_TYPE_VARINT) -> value = reader.readVarint()
+                else -> reader.skip(wireType(tag))
+            }
+        }
+        return NativeCrash.Register(name, value)
+    }
+
+    private fun parseFrame(reader: ProtoReader): NativeCrash.Frame {
+        var relativePc = 0L
+        var functionName: String? = null
+        var functionOffset = 0L
+        var fileName = ""
+        var buildId: String? = null
+        while (reader.hasRemaining) {
+            val tag = reader.readTag()
+            when {
+                isField(tag, FRAME_REL_PC, WIRE_TYPE_VARINT) -> relativePc = reader.readVarint()
+                isField(tag, FRAME_FUNCTION_NAME, WIRE_TYPE_LENGTH_DELIMITED) ->
+                    functionName = reader.readString().ifEmpty { null }
+                isField(tag, FRAME_FUNCTION_OFFSET, WIRE_TYPE_VARINT) -> functionOffset = reader.readVarint()
+                isField(tag, FRAME_FILE_NAME, WIRE_TYPE_LENGTH_DELIMITED) -> fileName = reader.readString()
+                isField(tag, FRAME_BUILD_ID, WIRE_TYPE_LENGTH_DELIMITED) ->
+                    buildId = reader.readString().ifEmpty { null }
+                else -> reader.skip(wireType(tag))
+            }
+        }
+        return NativeCrash.Frame(relativePc, fileName, functionName, functionOffset, buildId)
+    }
+
+    /** Parses the mapping if it belongs to one of [fileNames], returns `null` otherwise. */
+    private fun parseMapping(reader: ProtoReader, fileNames: Set<String>): NativeCrash.Module? {
+        var beginAddress = 0L
+        var endAddress = 0L
+        var offset = 0L
+        var name = ""
+        var buildId: String? = null
+        var loadBias = 0L
+        while (reader.hasRemaining) {
+            val tag = reader.readTag()
+            when {
+                isField(tag, MAPPING_BEGIN_ADDRESS, WIRE_TYPE_VARINT) -> beginAddress = reader.readVarint()
+                isField(tag, MAPPING_END_ADDRESS, WIRE_TYPE_VARINT) -> endAddress = reader.readVarint()
+                isField(tag, MAPPING_OFFSET, WIRE_TYPE_VARINT) -> offset = reader.readVarint()
+                isField(tag, MAPPING_NAME, WIRE_TYPE_LENGTH_DELIMITED) -> name = reader.readString()
+                isField(tag, MAPPING_BUILD_ID, WIRE_TYPE_LENGTH_DELIMITED) ->
+                    buildId = reader.readString().ifEmpty { null }
+                isField(tag, MAPPING_LOAD_BIAS, WIRE_TYPE_VARINT) -> loadBias = reader.readVarint()
+                else -> reader.skip(wireType(tag))
+            }
+        }
+        if (name !in fileNames) {
+            return null
+        }
+        return NativeCrash.Module(name, beginAddress, endAddress, offset, loadBias, buildId)
+    }
+
+    private fun isField(tag: Int, number: Int, wireType: Int): Boolean =
+        fieldNumber(tag) == number && wireType(tag) == wireType
+
+    private class Signal {
+        var name = "UNKNOWN"
+        var codeName = "UNKNOWN"
+        var faultAddress: Long? = null
+    }
+
+    private class Thread(
+        val name: String,
+        val registers: List<NativeCrash.Register>,
+        val frames: List<NativeCrash.Frame>
+    )
+}
@@ -17,8 +17,11 @@
 
 package com.splunk.rum.instrumentation.crash.internal
 
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import com.splunk.rum.agent.common.utils.fingerprint.ReportDeduplicator
 import com.splunk.rum.instrumentation.crash.internal.extractor.CrashAttributesExtractor
 import com.splunk.rum.instrumentation.crash.internal.extractor.CrashDetails
+import com.splunk.rum.instrumentation.crash.internal.nativecrash.NativeCrash
 import io.opentelemetry.api.common.AttributeKey
 import io.opentelemetry.sdk.OpenTelemetrySdk
 import io.opentelemetry.sdk.common.CompletableResultCode
@@ -30,13 +33,19 @@ import java.util.Collections
 import org.junit.After
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
 import org.junit.Assert.assertSame
 import org.junit.Assert.assertTrue
 import org.junit.Before
+import org.junit.Rule
 import org.junit.Test
+import org.junit.rules.TemporaryFolder
 
 class CrashReporterTest {
 
+    @get:Rule
+    val temporaryFolder = TemporaryFolder()
+
     private val exportedLogs: MutableList<LogRecordData> = Collections.synchronizedList(mutableListOf())
 
     private val collectingExporter = object : LogRecordExporter {
@@ -171,6 +180,84 @@ class CrashReporterTest {
         assertEquals(CrashReporter.CRASH_EVENT_NAME, log.attributes.get(EVENT_NAME_KEY))
     }
 
+    @Test
+    fun `reports repeated crashes without their stack trace once the limit is reached`() {
+        val deduplicator = ReportDeduplicator(temporaryFolder.newFile(), maxFullReports = 2)
+        val reporter = CrashReporter(sdk, emptyList(), deduplicator)
+
+        repeat(3) {
+            reporter.report(CrashDetails(Thread.currentThread(), crashLoopException()))
+        }
+
+        assertEquals(3, exportedLogs.size)
+        val fingerprints = exportedLogs.map { it.attributes.get(EXCEPTION_FINGERPRINT_KEY) }.toSet()
+        assertEquals(1, fingerprints.size)
+        assertEquals(listOf(1L, 2L, 3L), exportedLogs.map { it.attributes.get(EXCEPTION_OCCURRENCE_COUNT_KEY) })
+        assertNotNull(exportedLogs[1].attributes.get(EXCEPTION_STACKTRACE_KEY))
+        assertNull(exportedLogs[2].attributes.get(EXCEPTION_STACKTRACE_KEY))
+        assertEquals(IllegalStateException::class.java.name, exportedLogs[2].attributes.get(EXCEPTION_TYPE_KEY))
+    }
+
+    @Test
+    fun `reports a native crash with its signal, backtrace and crash time`() {
+        val nativeCrash = NativeCrash(
+            timestamp = 1_700_000_000_000L,
+            is64Bit = true,
+            pid = 1234,
+            tid = 1240,
+            threadName = "RenderThread",
+            signalName = "SIGABRT",
+            signalCode = "SI_TKILL",
+            faultAddress = null,
+            abortMessage = "assertion failed",
+            registers = listOf(NativeCrash.Register("x0", 0)),
+            frames = listOf(NativeCrash.Frame(0x4e5c0, "/data/app/lib/libengine.so", "render", 16, "abc123")),
+            modules = listOf(NativeCrash.Module("/data/app/lib/libengine.so", 0x7000, 0x8000, 0, 0, "abc123"))
+        )
+        val reporter = CrashReporter(sdk, emptyList())
+
+        reporter.report(CrashDetails(Thread.currentThread(), nativeCrash.toThrowable(), nativeCrash))
+
+        val log = exportedLogs.single()
+        assertEquals(1_700_000_000_000L, log.timestampEpochNanos / 1_000_000)
+        assertEquals("SIGABRT", log.attributes.get(EXCEPTION_TYPE_KEY))
+        assertEquals("SIGABRT (SI_TKILL), abort message: assertion failed", log.attributes.get(EXCEPTION_MESSAGE_KEY))
+        assertEquals(1240L, log.attributes.get(THREAD_ID_KEY))
+        assertEquals("RenderThread", log.attributes.get(THREAD_NAME_KEY))
+        assertEquals(
+            "#00 pc 000000000004e5c0  /data/app/lib/libengine.so (render+16) (BuildId: abc123)\n",
+            log.attributes.get(EXCEPTION_STACKTRACE_KEY)
+        )
+        assertNotNull(log.attributes.get(CrashReporter.NATIVE_CRASH_REGISTERS_KEY))
+        assertTrue(log.attributes.get(CrashReporter.NATIVE_CRASH_MODULES_KEY)!!.contains("libengine.so abc123"))
+        assertNull(log.attributes.get(GlobalRumConstants.SESSION_ID_KEY))
+    }
+
+    @Test
+    fun `reports a native crash in the session it happened in`() {
+        val nativeCrash = NativeCrash(
+            timestamp = 1_700_000_000_000L,
+            is64Bit = true,
+            pid = 1234,
+            tid = 1240,
+            threadName = "RenderThread",
+            signalName = "SIGSEGV",
+            signalCode = "SEGV_MAPERR",
+            faultAddress = 0x10,
+            abortMessage = null,
+            registers = emptyList(),
+            frames = emptyList(),
+            modules = emptyList()
+        )
+        val reporter = CrashReporter(sdk, emptyList())
+
+        reporter.report(
+            CrashDetails(Thread.currentThread(), nativeCrash.toThrowable(), nativeCrash, "previous-session")
+        )
+
+        assertEquals("previous-session", exportedLogs.single().attributes.get(GlobalRumConstants.SESSION_ID_KEY))
+    }
+
     @Test
     fun `install registers a handler that reports the crash and chains the previous handler`() {
         var delegatedThread: Thread? = null
@@ -195,7 +282,12 @@ class CrashReporterTest {
         assertSame(throwable, delegatedThrowable)
     }
 
+    // Thrown from the same call site every time, as in a crash loop.
+    private fun crashLoopException() = IllegalStateException("boom")
+
     private companion object {
+        val EXCEPTION_FINGERPRINT_KEY = AttributeKey.stringKey("exception.fingerprint")
+        val EXCEPTION_OCCURRENCE_COUNT_KEY = AttributeKey.longKey("exception.occurrence_count")
         val EVENT_NAME_KEY = AttributeKey.stringKey("event.name")
         val THREAD_ID_KEY = AttributeKey.longKey("thread.id")
         val THREAD_NAME_KEY = AttributeKey.stringKey("thread.name")
@@ -49,7 +49,7 @@ class CrashReportingExceptionHandlerTest {
                 callOrder += "report"
                 reportedDetails = details
             },
-            sdkLoggerProvider = null,
+            sdkLoggerProvider = { null },
             existingHandler = existingHandler
         )
 
@@ -71,7 +71,7 @@ class CrashReportingExceptionHandlerTest {
 
         val handler = CrashReportingExceptionHandler(
             crashSender = { throw OutOfMemoryError("reporting failed") },
-            sdkLoggerProvider = null,
+            sdkLoggerProvider = { null },
             existingHandler = existingHandler
         )
 
@@ -91,7 +91,7 @@ class CrashReportingExceptionHandlerTest {
 
         val handler = CrashReportingExceptionHandler(
             crashSender = { reported = true },
-            sdkLoggerProvider = null,
+            sdkLoggerProvider = { null },
             existingHandler = null
         )
 
@@ -126,7 +126,7 @@ class CrashReportingExceptionHandlerTest {
                 callOrder += "report"
                 logger.logRecordBuilder().emit()
             },
-            sdkLoggerProvider = loggerProvider,
+            sdkLoggerProvider = { loggerProvider },
             existingHandler = Thread.UncaughtExceptionHandler { _, _ -> callOrder += "existing" }
         )
 
@@ -19,8 +19,10 @@ package com.splunk.rum.instrumentation.crash.internal.extractor
 
 import android.content.Context
 import androidx.test.core.app.ApplicationProvider
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
 import io.opentelemetry.api.common.AttributeKey
 import io.opentelemetry.api.common.Attributes
+import org.junit.Assert.assertEquals
 import org.junit.Assert.assertNotNull
 import org.junit.Assert.assertTrue
 import org.junit.Test
@@ -46,4 +48,19 @@ class RuntimeDetailsExtractorTest {
         assertNotNull(heapFree)
         assertTrue(heapFree!! > 0)
     }
+
+    @Test
+    fun `adds runtime vitals samples`() {
+        val context: Context = ApplicationProvider.getApplicationContext()
+        val extractor = RuntimeDetailsExtractor.create(context)
+
+        val builder = Attributes.builder()
+        extractor.extract(builder, CrashDetails(Thread.currentThread(), RuntimeException("boom")))
+        val vitals = builder.build().get(GlobalRumConstants.RUNTIME_VITALS_KEY)
+
+        assertNotNull(vitals)
+        val latest = vitals!!.split(';').last().split(',')
+        assertEquals(8, latest.size)
+        assertTrue(latest[0].toLong() >= 0)
+    }
 }
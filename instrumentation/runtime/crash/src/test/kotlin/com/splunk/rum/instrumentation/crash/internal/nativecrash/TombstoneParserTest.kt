@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.crash.internal.nativecrash
+
+import java.io.ByteArrayOutputStream
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class TombstoneParserTest {
+
+    @Test
+    fun `parses the crashing thread, signal and referenced modules`() {
+        val crash = TombstoneParser.parse(tombstone(), TIMESTAMP)
+
+        assertNotNull(crash)
+        crash!!
+        assertEquals(TIMESTAMP, crash.timestamp)
+        assertTrue(crash.is64Bit)
+        assertEquals(1234, crash.pid)
+        assertEquals(1240, crash.tid)
+        assertEquals("RenderThread", crash.threadName)
+        assertEquals("SIGSEGV", crash.signalName)
+        assertEquals("SEGV_MAPERR", crash.signalCode)
+        assertEquals(0x10L, crash.faultAddress)
+        assertEquals(listOf("x0", "pc"), crash.registers.map { it.name })
+        assertEquals(0x7fff0010L, crash.registers[1].value)
+
+        assertEquals(2, crash.frames.size)
+        assertEquals(0x4e5c0L, crash.frames[0].relativePc)
+        assertEquals("render", crash.frames[0].functionName)
+        assertEquals(LIBRARY, crash.frames[0].fileName)
+        assertEquals("abc123", crash.frames[0].buildId)
+
+        // Only the module in the backtrace, not the unrelated one.
+        assertEquals(listOf(LIBRARY), crash.modules.map { it.name })
+        assertEquals(0x1000L, crash.modules[0].loadBias)
+    }
+
+    @Test
+    fun `formats the backtrace in the tombstone text format`() {
+        val crash = TombstoneParser.parse(tombstone(), TIMESTAMP)!!
+
+        val lines = crash.backtraceText().lines()
+        assertEquals("#00 pc 000000000004e5c0  $LIBRARY (render+16) (BuildId: abc123)", lines[0])
+        assertEquals("#01 pc 0000000000001000  $LIBRARY", lines[1])
+        assertEquals("SIGSEGV (SEGV_MAPERR), fault addr 0x10", crash.description)
+        assertTrue(crash.registersText().startsWith("x0 0000000000000001 pc 000000007fff0010"))
+    }
+
+    @Test
+    fun `stands in for the crash with a throwable made of the native frames`() {
+        val throwable = TombstoneParser.parse(tombstone(), TIMESTAMP)!!.toThrowable()
+
+        assertEquals("SIGSEGV (SEGV_MAPERR), fault addr 0x10", throwable.message)
+        assertEquals(listOf("libengine.so", "libengine.so"), throwable.stackTrace.map { it.className })
+        assertEquals(listOf("render", "0x1000"), throwable.stackTrace.map { it.methodName })
+    }
+
+    @Test
+    fun `treats a tombstone without architecture as ARM32`() {
+        // proto3 leaves out fields holding their default, which for the architecture is ARM32.
+        val crash = TombstoneParser.parse(tombstone(arch = null), TIMESTAMP)!!
+
+        assertFalse(crash.is64Bit)
+        assertEquals("#00 pc 0004e5c0  $LIBRARY (render+16) (BuildId: abc123)", crash.backtraceText().lines()[0])
+    }
+
+    @Test
+    fun `returns null when the crashing thread is missing`() {
+        val tombstone = message {
+            varint(6, 99)
+            bytes(16, message { varint(1, 1240) })
+        }
+
+        assertNull(TombstoneParser.parse(tombstone, TIMESTAMP))
+    }
+
+    @Test
+    fun `returns null for malformed data`() {
+        val truncated = tombstone().copyOf(40)
+
+        assertNull(TombstoneParser.parse(truncated, TIMESTAMP))
+        assertNull(TombstoneParser.parse(byteArrayOf(0x0a, 0x7f), TIMESTAMP))
+    }
+
+    private fun tombstone(arch: Long? = 1): ByteArray = message {
+        arch?.let { varint(1, it) } // ARM64 by default
+        string(2, "google/device/build:14")
+        varint(5, 1234)
+        varint(6, 1240)
+        bytes(
+            10,
+            message {
+                varint(1, 11)
+                string(2, "SIGSEGV")
+                string(4, "SEGV_MAPERR")
+                varint(8, 1)
+                varint(9, 0x10)
+            }
+        )
+        bytes(16, threadEntry(1234, "main", emptyList()))
+        bytes(
+            16,
+            threadEntry(
+                1240,
+                "RenderThread",
+                listOf(
+                    frame(0x4e5c0, "render", 16, "abc123"),
+                    frame(0x1000, null, 0, null)
+                )
+            )
+        )
+        bytes(17, mapping("/system/lib64/libc.so", "def456", 0))
+        bytes(17, mapping(LIBRARY, "abc123", 0x1000))
+        bytes(18, message { string(1, "main") })
+    }
+
+    private fun threadEntry(id: Int, name: String, frames: List<ByteArray>) = message {
+        varint(1, id.toLong())
+        bytes(
+            2,
+            message {
+                varint(1, id.toLong())
+                string(2, name)
+                bytes(3, register("x0", 1))
+                bytes(3, register("pc", 0x7fff0010))
+                frames.forEach { bytes(4, it) }
+                bytes(5, message { string(1, "memory dump") })
+            }
+        )
+    }
+
+    private fun register(name: String, value: Long) = message {
+        string(1, name)
+        varint(2, value)
+    }
+
+    private fun frame(relativePc: Long, functionName: String?, functionOffset: Long, buildId: String?) = message {
+        varint(1, relativePc)
+        varint(2, relativePc + 0x7000000000L)
+        functionName?.let { string(4, it) }
+        varint(5, functionOffset)
+        string(6, LIBRARY)
+        buildId?.let { string(8, it) }
+    }
+
+    private fun mapping(name: String, buildId: String, loadBias: Long) = message {
+        varint(1, 0x7000000000L)
+        varint(2, 0x7000100000L)
+        varint(6, 1)
+        string(7, name)
+        string(8, buildId)
+        varint(9, loadBias)
+    }
+
+    private fun message(block: ProtoWriter.() -> Unit): ByteArray = ProtoWriter().apply(block).toByteArray()
+
+    private class ProtoWriter {
+        private val out = ByteArrayOutputStream()
+
+        fun varint(field: Int, value: Long) {
+            writeVarint((field shl 3).toLong())
+            writeVarint(value)
+        }
+
+        fun string(field: Int, value: String) = bytes(field, value.toByteArray())
+
+        fun bytes(field: Int, value: ByteArray) {
+            writeVarint(((field shl 3) or 2).toLong())
+            writeVarint(value.size.toLong())
+            out.write(value)
+        }
+
+        fun toByteArray(): ByteArray = out.toByteArray()
+
+        private fun writeVarint(value: Long) {
+            var remaining = value
+            while (remaining and 0x7fL.inv() != 0L) {
+                out.write(((remaining and 0x7f) or 0x80).toInt())
+                remaining = remaining ushr 7
+            }
+            out.write(remaining.toInt())
+        }
+    }
+
+    private companion object {
+        const val TIMESTAMP = 1_700_000_000_000L
+        const val LIBRARY = "/data/app/com.example/lib/arm64/libengine.so"
+    }
+}
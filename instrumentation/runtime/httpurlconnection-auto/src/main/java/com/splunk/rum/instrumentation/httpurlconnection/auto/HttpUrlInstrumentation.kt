@@ -43,6 +43,37 @@ class HttpUrlInstrumentation {
             field = knownMethods.toMutableSet()
         }
 
+    /**
+     * Configures route templates such as `/users/{userId}/orders` used to normalize URL paths into the
+     * `url.template` attribute. Paths that match no template have their numeric, UUID and hexadecimal
+     * segments replaced automatically. When templates are configured, they are also used in span names.
+     */
+    var urlTemplates: List<String> = emptyList()
+        set(templates) {
+            field = templates.toList()
+        }
+
+    /**
+     * When enabled, requests are aggregated into periodic latency summaries instead of producing one
+     * span each. Failed requests and requests slower than [slowRequestThresholdMs] are still
+     * reported as spans.
+     */
+    var isMetricsAggregationEnabled: Boolean = false
+
+    /** Interval (ms) at which aggregated request summaries are flushed. */
+    var metricsFlushIntervalMs: Long = DEFAULT_METRICS_FLUSH_INTERVAL_MS
+        set(intervalMs) {
+            require(intervalMs > 0) { "intervalMs must be positive" }
+            field = intervalMs
+        }
+
+    /** Duration (ms) from which an aggregated request is also reported as a span. */
+    var slowRequestThresholdMs: Long = DEFAULT_SLOW_REQUEST_THRESHOLD_MS
+        set(thresholdMs) {
+            require(thresholdMs >= 0) { "thresholdMs must be non-negative" }
+            field = thresholdMs
+        }
+
     private var peerServiceMapping: Map<String, String> = emptyMap()
     private var emitExperimentalHttpClientMetrics = false
 
@@ -107,5 +138,7 @@ class HttpUrlInstrumentation {
 
     private companion object {
         private const val DEFAULT_CONNECTION_INACTIVITY_TIMEOUT_MS = 10_000L
+        private const val DEFAULT_METRICS_FLUSH_INTERVAL_MS = 60_000L
+        private const val DEFAULT_SLOW_REQUEST_THRESHOLD_MS = 3_000L
     }
 }
@@ -23,11 +23,15 @@ import com.splunk.rum.instrumentation.httpurlconnection.auto.internal.HttpUrlCon
 import com.splunk.rum.instrumentation.httpurlconnection.auto.internal.RequestPropertySetter
 import io.opentelemetry.context.Context
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter
+import io.opentelemetry.instrumentation.api.internal.InstrumenterUtil
 import java.io.IOException
 import java.io.InputStream
 import java.io.OutputStream
 import java.net.HttpURLConnection
+import java.net.URISyntaxException
+import java.net.URL
 import java.net.URLConnection
+import java.time.Instant
 import java.util.concurrent.ConcurrentHashMap
 import java.util.logging.Level
 import java.util.logging.Logger
@@ -274,8 +278,11 @@ object HttpUrlReplacements {
     private fun endTracing(connection: URLConnection, responseCode: Int, error: Throwable?) {
         val info = activeURLConnections[connection]
         if (info != null && !info.reported) {
-            val context = info.context
-            httpURLInstrumenter?.end(context, connection, responseCode, error)
+            if (info.aggregated) {
+                recordAggregated(connection, info, responseCode, error)
+            } else {
+                httpURLInstrumenter?.end(info.context, connection, responseCode, error)
+            }
             info.reported = true
             activeURLConnections.remove(connection)
         }
@@ -290,8 +297,16 @@ object HttpUrlReplacements {
         }
 
         if (!activeURLConnections.containsKey(connection)) {
-            val context = instrumenter.start(parentContext, connection)
-            activeURLConnections[connection] = HttpURLConnectionInfo(context)
+            val context: Context
+            if (HttpUrlConnectionSingletons.metricsAggregator() != null) {
+                // Aggregated requests are only timed here, endTracing() decides whether they need a span.
+                // The caller's context is still propagated, so the server side stays correlated.
+                context = parentContext
+                activeURLConnections[connection] = HttpURLConnectionInfo(parentContext, aggregated = true)
+            } else {
+                context = instrumenter.start(parentContext, connection)
+                activeURLConnections[connection] = HttpURLConnectionInfo(context)
+            }
             try {
                 injectContextToRequest(connection, context)
             } catch (exception: Exception) {
@@ -307,6 +322,47 @@ object HttpUrlReplacements {
         }
     }
 
+    @SuppressLint("NewApi") // Requires API 26 when invoked; minSdk < 26 host apps need core library desugaring.
+    private fun recordAggregated(
+        connection: URLConnection,
+        info: HttpURLConnectionInfo,
+        responseCode: Int,
+        error: Throwable?
+    ) {
+        val aggregator = HttpUrlConnectionSingletons.metricsAggregator() ?: return
+        // Idle connections are harvested after the inactivity timeout, which is not part of the request.
+        val duration = if (info.harvested) {
+            info.lastSeenTime - info.startUptime
+        } else {
+            SystemClock.elapsedRealtime() - info.startElapsed
+        }
+        val url = connection.url
+        val method = (connection as? HttpURLConnection)?.requestMethod
+
+        val isOutlier = aggregator.record(
+            method,
+            url.host,
+            HttpUrlConnectionSingletons.routeNormalizer().normalize(rawPathOf(url)),
+            responseCode,
+            duration,
+            error
+        )
+
+        val instrumenter = httpURLInstrumenter
+        if (isOutlier && instrumenter != null) {
+            val startTime = Instant.ofEpochMilli(info.startTimestamp)
+            InstrumenterUtil.startAndEnd(
+                instrumenter,
+                info.context,
+                connection,
+                responseCode,
+                error,
+                startTime,
+                startTime.plusMillis(duration)
+            )
+        }
+    }
+
     private fun injectContextToRequest(connection: URLConnection, context: Context) {
         HttpUrlConnectionSingletons.openTelemetryInstance()
             ?.propagators
@@ -314,6 +370,17 @@ object HttpUrlReplacements {
             ?.inject(context, connection, RequestPropertySetter)
     }
 
+    /**
+     * Returns the still-encoded path, matching the `encodedPath` OkHttp aggregates by. URLs that are not valid
+     * URIs fall back to [URL.getPath], which [URL] never decodes either.
+     */
+    private fun rawPathOf(url: URL): String =
+        try {
+            url.toURI().rawPath ?: url.path
+        } catch (e: URISyntaxException) {
+            url.path
+        }
+
     private fun updateLastSeenTime(connection: URLConnection) {
         val info = activeURLConnections[connection]
         if (info != null && !info.reported) {
@@ -345,15 +412,26 @@ object HttpUrlReplacements {
                 (info.lastSeenTime + timeInterval) < timeNow
             ) {
                 val httpURLConnection = connection as HttpURLConnection
+                info.harvested = true
                 reportWithResponseCode(httpURLConnection)
             }
         }
     }
 
-    private class HttpURLConnectionInfo(val context: Context) {
-        var lastSeenTime: Long = SystemClock.uptimeMillis()
+    /**
+     * @property context the span context, or the parent context when the request is [aggregated].
+     * @property lastSeenTime the uptime of the last activity on the connection.
+     * @property harvested whether the connection is reported because it was left idle, in which case it
+     * ended at [lastSeenTime] rather than when reported.
+     */
+    private class HttpURLConnectionInfo(val context: Context, val aggregated: Boolean = false) {
+        val startTimestamp: Long = System.currentTimeMillis()
+        val startElapsed: Long = SystemClock.elapsedRealtime()
+        val startUptime: Long = SystemClock.uptimeMillis()
+        var lastSeenTime: Long = startUptime
         var reported = false
         var harvestable = false
+        var harvested = false
     }
 
     private class InstrumentedInputStream(private val connection: URLConnection, private val inputStream: InputStream) :
@@ -409,6 +487,7 @@ object HttpUrlReplacements {
                 val httpURLConnection = connection as HttpURLConnection
                 reportWithResponseCode(httpURLConnection)
             } else {
+                updateLastSeenTime(connection)
                 markHarvestable(connection)
             }
         }
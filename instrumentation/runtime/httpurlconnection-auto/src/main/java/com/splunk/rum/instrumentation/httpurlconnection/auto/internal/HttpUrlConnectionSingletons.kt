@@ -17,12 +17,15 @@
 
 package com.splunk.rum.instrumentation.httpurlconnection.auto.internal
 
+import com.splunk.rum.agent.common.otel.http.metrics.HttpMetricsAggregator
+import com.splunk.rum.agent.common.otel.http.route.HttpRouteNormalizer
 import com.splunk.rum.instrumentation.httpurlconnection.auto.HttpUrlInstrumentation
 import io.opentelemetry.api.OpenTelemetry
 import io.opentelemetry.instrumentation.api.incubator.semconv.http.HttpClientExperimentalMetrics
 import io.opentelemetry.instrumentation.api.incubator.semconv.http.HttpClientPeerServiceAttributesExtractor
 import io.opentelemetry.instrumentation.api.incubator.semconv.http.HttpExperimentalAttributesExtractor
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter
+import io.opentelemetry.instrumentation.api.internal.Experimental
 import io.opentelemetry.instrumentation.api.semconv.http.HttpClientAttributesExtractor
 import io.opentelemetry.instrumentation.api.semconv.http.HttpClientMetrics
 import io.opentelemetry.instrumentation.api.semconv.http.HttpSpanNameExtractor
@@ -32,16 +35,33 @@ import java.net.URLConnection
 internal object HttpUrlConnectionSingletons {
     private const val INSTRUMENTATION_NAME = "com.splunk.rum.http-url-connection"
 
+    // Set by configure() on the background module install thread, read on the request threads.
+    @Volatile
     private var instrumenter: Instrumenter<URLConnection, Int>? = null
+
+    @Volatile
     private var openTelemetryInstance: OpenTelemetry? = null
 
+    @Volatile
+    private var metricsAggregator: HttpMetricsAggregator? = null
+
+    @Volatile
+    private var routeNormalizer = HttpRouteNormalizer()
+
     fun configure(instrumentation: HttpUrlInstrumentation, openTelemetry: OpenTelemetry) {
         val httpAttributesGetter = HttpUrlHttpAttributesGetter
+        val normalizer = HttpRouteNormalizer(instrumentation.urlTemplates)
+        routeNormalizer = normalizer
 
-        val httpSpanNameExtractor =
+        val httpSpanNameExtractorBuilder =
             HttpSpanNameExtractor.builder(httpAttributesGetter)
                 .setKnownMethods(instrumentation.knownMethods)
-                .build()
+        if (normalizer.hasTemplates) {
+            Experimental.setUrlTemplateExtractor(httpSpanNameExtractorBuilder) { connection ->
+                normalizer.normalize(connection.url.path)
+            }
+        }
+        val httpSpanNameExtractor = httpSpanNameExtractorBuilder.build()
 
         val httpClientAttributesExtractor =
             HttpClientAttributesExtractor.builder(httpAttributesGetter)
@@ -67,6 +87,7 @@ internal object HttpUrlConnectionSingletons {
                 .setSpanStatusExtractor(HttpSpanStatusExtractor.create(httpAttributesGetter))
                 .addAttributesExtractor(httpClientAttributesExtractor)
                 .addAttributesExtractor(httpClientPeerServiceAttributesExtractor)
+                .addAttributesExtractor(HttpUrlRouteAttributesExtractor(normalizer))
                 .addOperationMetrics(HttpClientMetrics.get())
 
         for (extractor in instrumentation.additionalExtractors) {
@@ -80,9 +101,22 @@ internal object HttpUrlConnectionSingletons {
         }
 
         instrumenter = builder.buildClientInstrumenter(RequestPropertySetter)
+
+        if (instrumentation.isMetricsAggregationEnabled) {
+            metricsAggregator = HttpMetricsAggregator(
+                openTelemetry.getTracer(INSTRUMENTATION_NAME),
+                instrumentation.slowRequestThresholdMs
+            ).apply {
+                startPeriodicFlush(instrumentation.metricsFlushIntervalMs)
+            }
+        }
     }
 
     fun instrumenter(): Instrumenter<URLConnection, Int>? = instrumenter
 
     fun openTelemetryInstance(): OpenTelemetry? = openTelemetryInstance
+
+    fun metricsAggregator(): HttpMetricsAggregator? = metricsAggregator
+
+    fun routeNormalizer(): HttpRouteNormalizer = routeNormalizer
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.httpurlconnection.auto.internal
+
+import com.splunk.rum.agent.common.otel.http.route.HttpRouteNormalizer
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import io.opentelemetry.api.common.AttributesBuilder
+import io.opentelemetry.context.Context
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor
+import java.net.URLConnection
+
+/**
+ * Adds the normalized route of the connection URL as `url.template`. The attribute is set on start so
+ * it is visible to samplers.
+ */
+internal class HttpUrlRouteAttributesExtractor(private val normalizer: HttpRouteNormalizer) :
+    AttributesExtractor<URLConnection, Int> {
+
+    override fun onStart(attributes: AttributesBuilder, parentContext: Context, connection: URLConnection) {
+        attributes.put(GlobalRumConstants.URL_TEMPLATE_KEY, normalizer.normalize(connection.url.path))
+    }
+
+    override fun onEnd(
+        attributes: AttributesBuilder,
+        context: Context,
+        connection: URLConnection,
+        responseCode: Int?,
+        error: Throwable?
+    ) = Unit
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.looper.internal
+
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import com.splunk.rum.agent.common.otel.metrics.BoundedAggregationMap
+import com.splunk.rum.agent.common.otel.metrics.LatencyHistogram
+import com.splunk.rum.common.logger.Logger
+import com.splunk.rum.common.utils.AppStateObserver
+import com.splunk.rum.common.utils.thread.NamedThreadFactory
+import io.opentelemetry.api.common.AttributeKey
+import io.opentelemetry.api.trace.Tracer
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+
+/**
+ * Aggregates main thread message durations per screen and flushes them as summary spans.
+ *
+ * Every message is recorded into a per-screen histogram. Messages taking at least
+ * [slowThresholdNs] are additionally counted per screen, handler class and callback, and reported
+ * as one span per combination. The number of screens and slow message keys is bounded, extra ones
+ * are reported under [OVERFLOW].
+ */
+internal class LooperMessageAggregator @JvmOverloads constructor(
+    private val tracer: Tracer,
+    private val slowThresholdNs: Long,
+    maxScreens: Int = DEFAULT_MAX_SCREENS,
+    maxSlowMessageKeys: Int = DEFAULT_MAX_SLOW_MESSAGE_KEYS
+) {
+
+    private val lock = Any()
+    private val screens = BoundedAggregationMap.perScreen(maxScreens) { ScreenEntry() }
+    private val slowMessages = BoundedAggregationMap<SlowMessageKey, SlowMessageEntry>(
+        maxSlowMessageKeys,
+        { SlowMessageEntry() }
+    ) { OVERFLOW_SLOW_MESSAGE_KEY }
+    private var windowStartMillis = System.currentTimeMillis()
+    private var scheduler: ScheduledExecutorService? = null
+
+    /**
+     * Records a dispatched message. [dispatchLine] is only parsed when the message is slow.
+     */
+    fun record(screenName: String, durationNs: Long, dispatchLine: String) {
+        val isSlow = durationNs >= slowThresholdNs
+
+        synchronized(lock) {
+            // The screen rarely changes between messages, the map skips the lookup in that case.
+            val entry = screens.entry(screenName)
+            entry.histogram.record(TimeUnit.NANOSECONDS.toMicros(durationNs))
+            if (isSlow) {
+                entry.slowCount++
+            }
+        }
+
+        if (isSlow) {
+            recordSlow(screenName, durationNs, MessageTarget.parse(dispatchLine))
+        }
+    }
+
+    /**
+     * Emits the summary spans for everything recorded since the previous flush and starts a new
+     * window.
+     */
+    fun flush() {
+        val flushedScreens: Map<String, ScreenEntry>
+        val flushedSlowMessages: Map<SlowMessageKey, SlowMessageEntry>
+        val startMillis: Long
+        val endMillis = System.currentTimeMillis()
+
+        synchronized(lock) {
+            startMillis = windowStartMillis
+            windowStartMillis = endMillis
+            if (screens.isEmpty()) {
+                return
+            }
+            flushedScreens = screens.drain()
+            flushedSlowMessages = slowMessages.drain()
+        }
+
+        Logger.d(TAG) {
+            "flush() - reporting ${flushedScreens.size} screens and ${flushedSlowMessages.size} slow messages"
+        }
+
+        for ((screenName, entry) in flushedScreens) {
+            reportScreen(screenName, entry, startMillis, endMillis)
+        }
+
+        for ((key, entry) in flushedSlowMessages) {
+            reportSlowMessage(key, entry, startMillis, endMillis)
+        }
+    }
+
+    /**
+     * Flushes every [intervalMillis] and whenever the app goes to the background.
+     */
+    fun startPeriodicFlush(intervalMillis: Long) {
+        synchronized(lock) {
+            if (scheduler != null) {
+                return
+            }
+
+            scheduler = Executors.newSingleThreadScheduledExecutor(NamedThreadFactory("looperMonitor")).apply {
+                scheduleWithFixedDelay(::flushSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS)
+            }
+        }
+
+        AppStateObserver.listeners += AppStateObserverListener()
+    }
+
+    private fun recordSlow(screenName: String, durationNs: Long, target: MessageTarget) {
+        val durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNs)
+
+        synchronized(lock) {
+            val entry = slowMessages.entry(SlowMessageKey(screenName, target))
+            entry.count++
+            entry.totalMillis += durationMillis
+            if (durationMillis > entry.maxMillis) {
+                entry.maxMillis = durationMillis
+            }
+        }
+    }
+
+    private fun flushSafely() {
+        try {
+            flush()
+        } catch (e: Exception) {
+            Logger.e(TAG, "flush() failed", e)
+        }
+    }
+
+    private fun reportScreen(screenName: String, entry: ScreenEntry, startMillis: Long, endMillis: Long) {
+        val histogram = entry.histogram
+
+        tracer.spanBuilder(MESSAGES_SPAN_NAME)
+            .setStartTimestamp(startMillis, TimeUnit.MILLISECONDS)
+            .setAttribute(GlobalRumConstants.SCREEN_NAME_KEY, screenName)
+            .setAttribute(MESSAGE_COUNT_KEY, histogram.count)
+            .setAttribute(SLOW_MESSAGE_COUNT_KEY, entry.slowCount)
+            .setAttribute(DURATION_P50_KEY, histogram.valueAtPercentile(50.0))
+            .setAttribute(DURATION_P90_KEY, histogram.valueAtPercentile(90.0))
+            .setAttribute(DURATION_P99_KEY, histogram.valueAtPercentile(99.0))
+            .setAttribute(DURATION_MAX_KEY, histogram.max)
+            .startSpan()
+            .end(endMillis, TimeUnit.MILLISECONDS)
+    }
+
+    private fun reportSlowMessage(key: SlowMessageKey, entry: SlowMessageEntry, startMillis: Long, endMillis: Long) {
+        tracer.spanBuilder(SLOW_MESSAGES_SPAN_NAME)
+            .setStartTimestamp(startMillis, TimeUnit.MILLISECONDS)
+            .setAttribute(GlobalRumConstants.SCREEN_NAME_KEY, key.screenName)
+            .setAttribute(HANDLER_KEY, key.target.handlerClass)
+            .setAttribute(CALLBACK_KEY, key.target.callback)
+            .setAttribute(COUNT_KEY, entry.count)
+            .setAttribute(SLOW_DURATION_TOTAL_KEY, entry.totalMillis)
+            .setAttribute(SLOW_DURATION_MAX_KEY, entry.maxMillis)
+            .startSpan()
+            .end(endMillis, TimeUnit.MILLISECONDS)
+    }
+
+    private data class SlowMessageKey(val screenName: String, val target: MessageTarget)
+
+    private class ScreenEntry {
+        val histogram = LatencyHistogram()
+        var slowCount = 0L
+    }
+
+    private class SlowMessageEntry {
+        var count = 0L
+        var totalMillis = 0L
+        var maxMillis = 0L
+    }
+
+    private inner class AppStateObserverListener : AppStateObserver.Listener {
+
+        override fun onAppStarted() = Unit
+
+        override fun onAppForegrounded() = Unit
+
+        override fun onAppBackgrounded() {
+            scheduler?.execute(::flushSafely)
+        }
+
+        override fun onAppClosed() = onAppBackgrounded()
+    }
+
+    companion object {
+        private const val TAG = "LooperMonitor"
+
+        const val MESSAGES_SPAN_NAME = "mainThreadMessages"
+        const val SLOW_MESSAGES_SPAN_NAME = "slowMainThreadMessages"
+        const val OVERFLOW = BoundedAggregationMap.OVERFLOW
+
+        private const val DEFAULT_MAX_SCREENS = 50
+        private const val DEFAULT_MAX_SLOW_MESSAGE_KEYS = 100
+
+        private val OVERFLOW_SLOW_MESSAGE_KEY = SlowMessageKey(OVERFLOW, MessageTarget(OVERFLOW, OVERFLOW))
+
+        val MESSAGE_COUNT_KEY: AttributeKey<Long> = AttributeKey.longKey("looper.message.count")
+        val SLOW_MESSAGE_COUNT_KEY: AttributeKey<Long> = AttributeKey.longKey("looper.message.slow_count")
+
+        /**
+         * Duration of all messages dispatched on the screen, in microseconds.
+         */
+        val DURATION_P50_KEY: AttributeKey<Long> = AttributeKey.longKey("looper.message.duration.p50")
+        val DURATION_P90_KEY: AttributeKey<Long> = AttributeKey.longKey("looper.message.duration.p90")
+        val DURATION_P99_KEY: AttributeKey<Long> = AttributeKey.longKey("looper.message.duration.p99")
+        val DURATION_MAX_KEY: AttributeKey<Long> = AttributeKey.longKey("looper.message.duration.max")
+
+        val HANDLER_KEY: AttributeKey<String> = AttributeKey.stringKey("looper.message.handler")
+        val CALLBACK_KEY: AttributeKey<String> = AttributeKey.stringKey("looper.message.callback")
+        val COUNT_KEY: AttributeKey<Long> = AttributeKey.longKey("count")
+
+        /**
+         * Duration of the slow messages with the same screen, handler and callback, in milliseconds.
+         */
+        val SLOW_DURATION_TOTAL_KEY: AttributeKey<Long> = AttributeKey.longKey("looper.slow_message.duration.total")
+        val SLOW_DURATION_MAX_KEY: AttributeKey<Long> = AttributeKey.longKey("looper.slow_message.duration.max")
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.looper.internal
+
+import android.util.Printer
+
+/**
+ * Times every message dispatched by a [android.os.Looper] through the [Printer] set with
+ * [android.os.Looper.setMessageLogging], which the looper calls with a `>>>>> Dispatching to` line
+ * before and a `<<<<< Finished to` line after each message.
+ *
+ * Only the first character of each line is inspected and the dispatch line is kept by reference, it
+ * is parsed by [LooperMessageAggregator] only when the message turns out to be slow.
+ */
+internal class LooperMessageMonitor(
+    private val aggregator: LooperMessageAggregator,
+    private val screenNameProvider: () -> String,
+    private val nanoTime: () -> Long = System::nanoTime
+) : Printer {
+
+    private var dispatchLine: String? = null
+    private var dispatchStartNs = 0L
+
+    override fun println(x: String?) {
+        if (x.isNullOrEmpty()) {
+            return
+        }
+
+        when (x[0]) {
+            DISPATCH_PREFIX -> {
+                dispatchLine = x
+                dispatchStartNs = nanoTime()
+            }
+            FINISH_PREFIX -> {
+                val line = dispatchLine ?: return
+                dispatchLine = null
+                aggregator.record(screenNameProvider(), nanoTime() - dispatchStartNs, line)
+            }
+        }
+    }
+
+    private companion object {
+        private const val DISPATCH_PREFIX = '>'
+        private const val FINISH_PREFIX = '<'
+    }
+}
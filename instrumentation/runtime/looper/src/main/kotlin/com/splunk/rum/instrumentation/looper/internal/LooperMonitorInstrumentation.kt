@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.looper.internal
+
+import android.os.Looper
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import com.splunk.rum.common.logger.Logger
+import io.opentelemetry.api.OpenTelemetry
+import java.util.concurrent.TimeUnit
+
+/**
+ * Entry point for installing main thread message duration monitoring.
+ *
+ * The monitor uses [Looper.setMessageLogging] on the main looper, which replaces any message logging
+ * printer set by the application.
+ *
+ * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+ * any time.
+ */
+class LooperMonitorInstrumentation {
+
+    private var slowMessageThresholdMillis = DEFAULT_SLOW_MESSAGE_THRESHOLD_MS
+    private var reportIntervalMillis = DEFAULT_REPORT_INTERVAL_MS
+    private var screenNameProvider: () -> String = { GlobalRumConstants.DEFAULT_SCREEN_NAME }
+
+    /** Sets the duration from which a message is reported as slow. Non-positive values are ignored. */
+    fun setSlowMessageThreshold(threshold: Long, unit: TimeUnit): LooperMonitorInstrumentation {
+        if (threshold <= 0) {
+            Logger.e(TAG, "Invalid slowMessageThreshold: $threshold $unit; must be positive")
+            return this
+        }
+        slowMessageThresholdMillis = unit.toMillis(threshold)
+        return this
+    }
+
+    /** Sets the time period between reports. Non-positive values are ignored. */
+    fun setReportInterval(interval: Long, unit: TimeUnit): LooperMonitorInstrumentation {
+        if (interval <= 0) {
+            Logger.e(TAG, "Invalid reportInterval: $interval $unit; must be positive")
+            return this
+        }
+        reportIntervalMillis = unit.toMillis(interval)
+        return this
+    }
+
+    /** Sets the provider of the current screen name, which messages are aggregated by. */
+    fun setScreenNameProvider(provider: () -> String): LooperMonitorInstrumentation {
+        screenNameProvider = provider
+        return this
+    }
+
+    /** Starts monitoring the messages dispatched on the main thread. */
+    fun install(openTelemetry: OpenTelemetry) {
+        val aggregator = LooperMessageAggregator(
+            openTelemetry.getTracer(INSTRUMENTATION_SCOPE_NAME),
+            TimeUnit.MILLISECONDS.toNanos(slowMessageThresholdMillis)
+        )
+
+        Looper.getMainLooper().setMessageLogging(LooperMessageMonitor(aggregator, screenNameProvider))
+        aggregator.startPeriodicFlush(reportIntervalMillis)
+    }
+
+    companion object {
+        private const val TAG = "LooperMonitor"
+
+        const val INSTRUMENTATION_SCOPE_NAME = "com.splunk.rum.looper"
+
+        private const val DEFAULT_SLOW_MESSAGE_THRESHOLD_MS = 200L
+        private val DEFAULT_REPORT_INTERVAL_MS = TimeUnit.SECONDS.toMillis(60)
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.looper.internal
+
+/**
+ * The handler class and callback of a dispatched message, parsed from the line the looper logs
+ * before dispatching it: `>>>>> Dispatching to Handler (<handler class>) {<hash>} <callback>: <what>`.
+ */
+internal data class MessageTarget(val handlerClass: String, val callback: String) {
+
+    companion object {
+
+        /** Callback reported for messages without a callback, which are handled by `Handler.handleMessage`. */
+        const val HANDLE_MESSAGE_CALLBACK = "handleMessage"
+
+        const val UNKNOWN = "unknown"
+
+        fun parse(dispatchLine: String): MessageTarget {
+            val handlerStart = dispatchLine.indexOf('(')
+            val handlerEnd = if (handlerStart < 0) -1 else dispatchLine.indexOf(") {", handlerStart)
+            if (handlerEnd < 0) {
+                return MessageTarget(UNKNOWN, UNKNOWN)
+            }
+            val handlerClass = dispatchLine.substring(handlerStart + 1, handlerEnd)
+
+            val callbackStart = dispatchLine.indexOf("} ", handlerEnd)
+            val callbackEnd = dispatchLine.lastIndexOf(": ")
+            if (callbackStart < 0 || callbackEnd <= callbackStart) {
+                return MessageTarget(handlerClass, UNKNOWN)
+            }
+
+            var callback = dispatchLine.substring(callbackStart + 2, callbackEnd)
+            if (callback == "null") {
+                callback = HANDLE_MESSAGE_CALLBACK
+            } else {
+                // Drop the identity hash code of the default Object.toString().
+                val hashStart = callback.lastIndexOf('@')
+                if (hashStart > 0) {
+                    callback = callback.substring(0, hashStart)
+                }
+            }
+
+            return MessageTarget(handlerClass, callback)
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.looper.internal
+
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import io.opentelemetry.sdk.common.CompletableResultCode
+import io.opentelemetry.sdk.trace.SdkTracerProvider
+import io.opentelemetry.sdk.trace.data.SpanData
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor
+import io.opentelemetry.sdk.trace.export.SpanExporter
+import java.util.Collections
+import java.util.concurrent.TimeUnit
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+
+class LooperMessageAggregatorTest {
+
+    private val exportedSpans: MutableList<SpanData> = Collections.synchronizedList(mutableListOf())
+
+    private val collectingExporter = object : SpanExporter {
+        override fun export(spans: MutableCollection<SpanData>): CompletableResultCode {
+            exportedSpans.addAll(spans)
+            return CompletableResultCode.ofSuccess()
+        }
+
+        override fun flush() = CompletableResultCode.ofSuccess()
+        override fun shutdown() = CompletableResultCode.ofSuccess()
+    }
+
+    private lateinit var tracerProvider: SdkTracerProvider
+    private lateinit var aggregator: LooperMessageAggregator
+
+    private var now = 0L
+    private var screenName = "Home"
+
+    @Before
+    fun setUp() {
+        exportedSpans.clear()
+        tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(collectingExporter))
+            .build()
+        aggregator = LooperMessageAggregator(
+            tracerProvider.get("test"),
+            SLOW_THRESHOLD_NS,
+            maxScreens = 2,
+            maxSlowMessageKeys = 2
+        )
+    }
+
+    @After
+    fun tearDown() {
+        tracerProvider.close()
+    }
+
+    @Test
+    fun `times messages between the dispatch and finish lines`() {
+        val monitor = LooperMessageMonitor(aggregator, { screenName }, { now })
+
+        dispatch(monitor, FRAME_HANDLER_LINE, TimeUnit.MILLISECONDS.toNanos(2))
+        dispatch(monitor, FRAME_HANDLER_LINE, TimeUnit.MILLISECONDS.toNanos(4))
+        // A finish line without a dispatch line is ignored.
+        monitor.println("<<<<< Finished to Handler ($FRAME_HANDLER) {8e3c1a2} null")
+        aggregator.flush()
+
+        val span = exportedSpans.single()
+        assertEquals(LooperMessageAggregator.MESSAGES_SPAN_NAME, span.name)
+        assertEquals("Home", span.attributes.get(GlobalRumConstants.SCREEN_NAME_KEY))
+        assertEquals(2L, span.attributes.get(LooperMessageAggregator.MESSAGE_COUNT_KEY))
+        assertEquals(0L, span.attributes.get(LooperMessageAggregator.SLOW_MESSAGE_COUNT_KEY))
+        assertEquals(4000L, span.attributes.get(LooperMessageAggregator.DURATION_MAX_KEY))
+    }
+
+    @Test
+    fun `reports slow messages per screen, handler and callback`() {
+        val monitor = LooperMessageMonitor(aggregator, { screenName }, { now })
+
+        dispatch(monitor, FRAME_HANDLER_LINE, TimeUnit.MILLISECONDS.toNanos(300))
+        dispatch(monitor, FRAME_HANDLER_LINE, TimeUnit.MILLISECONDS.toNanos(500))
+        dispatch(monitor, ACTIVITY_THREAD_LINE, TimeUnit.MILLISECONDS.toNanos(1))
+        screenName = "Details"
+        dispatch(monitor, ACTIVITY_THREAD_LINE, TimeUnit.MILLISECONDS.toNanos(250))
+        aggregator.flush()
+
+        val summaries = exportedSpans.filter { it.name == LooperMessageAggregator.MESSAGES_SPAN_NAME }
+            .associateBy { it.attributes.get(GlobalRumConstants.SCREEN_NAME_KEY) }
+        assertEquals(setOf("Home", "Details"), summaries.keys)
+        assertEquals(3L, summaries["Home"]!!.attributes.get(LooperMessageAggregator.MESSAGE_COUNT_KEY))
+        assertEquals(2L, summaries["Home"]!!.attributes.get(LooperMessageAggregator.SLOW_MESSAGE_COUNT_KEY))
+        assertEquals(1L, summaries["Details"]!!.attributes.get(LooperMessageAggregator.SLOW_MESSAGE_COUNT_KEY))
+
+        val slow = exportedSpans.filter { it.name == LooperMessageAggregator.SLOW_MESSAGES_SPAN_NAME }
+        assertEquals(2, slow.size)
+
+        val home = slow.single { it.attributes.get(GlobalRumConstants.SCREEN_NAME_KEY) == "Home" }
+        assertEquals(FRAME_HANDLER, home.attributes.get(LooperMessageAggregator.HANDLER_KEY))
+        assertEquals(FRAME_CALLBACK, home.attributes.get(LooperMessageAggregator.CALLBACK_KEY))
+        assertEquals(2L, home.attributes.get(LooperMessageAggregator.COUNT_KEY))
+        assertEquals(800L, home.attributes.get(LooperMessageAggregator.SLOW_DURATION_TOTAL_KEY))
+        assertEquals(500L, home.attributes.get(LooperMessageAggregator.SLOW_DURATION_MAX_KEY))
+
+        val details = slow.single { it.attributes.get(GlobalRumConstants.SCREEN_NAME_KEY) == "Details" }
+        assertEquals(ACTIVITY_THREAD_HANDLER, details.attributes.get(LooperMessageAggregator.HANDLER_KEY))
+        assertEquals(
+            MessageTarget.HANDLE_MESSAGE_CALLBACK,
+            details.attributes.get(LooperMessageAggregator.CALLBACK_KEY)
+        )
+    }
+
+    @Test
+    fun `bounds the number of screens and slow message keys`() {
+        for (screen in listOf("A", "B", "C", "D")) {
+            aggregator.record(screen, SLOW_THRESHOLD_NS, ">>>>> Dispatching to Handler ($screen) {1} null: 0")
+        }
+        aggregator.flush()
+
+        val screens = exportedSpans.filter { it.name == LooperMessageAggregator.MESSAGES_SPAN_NAME }
+            .associate {
+                it.attributes.get(GlobalRumConstants.SCREEN_NAME_KEY) to
+                    it.attributes.get(LooperMessageAggregator.MESSAGE_COUNT_KEY)
+            }
+        assertEquals(mapOf("A" to 1L, "B" to 1L, LooperMessageAggregator.OVERFLOW to 2L), screens)
+
+        val slow = exportedSpans.filter { it.name == LooperMessageAggregator.SLOW_MESSAGES_SPAN_NAME }
+        assertEquals(3, slow.size)
+        val overflow = slow.single {
+            it.attributes.get(LooperMessageAggregator.HANDLER_KEY) == LooperMessageAggregator.OVERFLOW
+        }
+        assertEquals(2L, overflow.attributes.get(LooperMessageAggregator.COUNT_KEY))
+    }
+
+    @Test
+    fun `starts a new window after a flush`() {
+        aggregator.record("Home", 1, FRAME_HANDLER_LINE)
+        aggregator.flush()
+        aggregator.flush()
+
+        assertEquals(1, exportedSpans.size)
+        assertTrue(exportedSpans.none { it.name == LooperMessageAggregator.SLOW_MESSAGES_SPAN_NAME })
+    }
+
+    private fun dispatch(monitor: LooperMessageMonitor, dispatchLine: String, durationNs: Long) {
+        monitor.println(dispatchLine)
+        now += durationNs
+        val target = dispatchLine.removePrefix(">>>>> Dispatching to").substringBeforeLast(": ")
+        monitor.println("<<<<< Finished to$target")
+    }
+
+    private companion object {
+        private val SLOW_THRESHOLD_NS = TimeUnit.MILLISECONDS.toNanos(200)
+
+        private const val FRAME_HANDLER = "android.view.Choreographer\$FrameHandler"
+        private const val FRAME_CALLBACK = "android.view.Choreographer\$FrameDisplayEventReceiver"
+        private const val ACTIVITY_THREAD_HANDLER = "android.app.ActivityThread\$H"
+
+        private const val FRAME_HANDLER_LINE =
+            ">>>>> Dispatching to Handler ($FRAME_HANDLER) {8e3c1a2} $FRAME_CALLBACK@5b1d6f3: 0"
+        private const val ACTIVITY_THREAD_LINE =
+            ">>>>> Dispatching to Handler ($ACTIVITY_THREAD_HANDLER) {a1b2c3} null: 159"
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.looper.internal
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class MessageTargetTest {
+
+    @Test
+    fun `parses the handler class and runnable callback`() {
+        val target = MessageTarget.parse(
+            ">>>>> Dispatching to Handler (android.view.Choreographer\$FrameHandler) {8e3c1a2} " +
+                "android.view.Choreographer\$FrameDisplayEventReceiver@5b1d6f3: 0"
+        )
+
+        assertEquals("android.view.Choreographer\$FrameHandler", target.handlerClass)
+        assertEquals("android.view.Choreographer\$FrameDisplayEventReceiver", target.callback)
+    }
+
+    @Test
+    fun `reports handleMessage for messages without a callback`() {
+        val target = MessageTarget.parse(
+            ">>>>> Dispatching to Handler (android.app.ActivityThread\$H) {a1b2c3} null: 159"
+        )
+
+        assertEquals("android.app.ActivityThread\$H", target.handlerClass)
+        assertEquals(MessageTarget.HANDLE_MESSAGE_CALLBACK, target.callback)
+    }
+
+    @Test
+    fun `keeps callbacks with a custom toString`() {
+        val target = MessageTarget.parse(
+            ">>>>> Dispatching to Handler (com.example.MyHandler) {a1b2c3} Refresh task: 1"
+        )
+
+        assertEquals(MessageTarget("com.example.MyHandler", "Refresh task"), target)
+    }
+
+    @Test
+    fun `falls back to unknown for unexpected lines`() {
+        assertEquals(
+            MessageTarget(MessageTarget.UNKNOWN, MessageTarget.UNKNOWN),
+            MessageTarget.parse(">>>>> something")
+        )
+        assertEquals(
+            MessageTarget("com.example.MyHandler", MessageTarget.UNKNOWN),
+            MessageTarget.parse(">>>>> Dispatching to Handler (com.example.MyHandler) {a1b2c3}")
+        )
+    }
+}
@@ -0,0 +1,41 @@
+import plugins.ConfigAndroidLibrary
+import plugins.ConfigPublish
+import utils.artifactIdProperty
+import utils.artifactPrefix
+import utils.instrumentationPrefix
+import utils.versionProperty
+
+plugins {
+    id("com.android.library")
+    id("kotlin-android")
+}
+
+apply<ConfigAndroidLibrary>()
+apply<ConfigPublish>()
+
+ext {
+    set(artifactIdProperty, "$artifactPrefix$instrumentationPrefix${project.name}")
+    set(versionProperty, Configurations.sdkVersionName)
+}
+
+android {
+    namespace = "com.splunk.rum.instrumentation.memory"
+}
+
+dependencies {
+    implementation(platform(Dependencies.Otel.instrumentationBomAlpha))
+
+    implementation(project(":common:otel"))
+    implementation(project(":common:utils"))
+
+    implementation(Dependencies.Otel.api)
+
+    implementation(Dependencies.Common.logger)
+    implementation(Dependencies.Common.utils)
+
+    testImplementation(Dependencies.Otel.sdk)
+    testImplementation(Dependencies.Test.junit)
+    testImplementation(Dependencies.Test.robolectric)
+    testImplementation(Dependencies.Test.androidXTestCore)
+    testImplementation(Dependencies.Test.mockito)
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.memory.internal
+
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import com.splunk.rum.agent.common.otel.metrics.BoundedAggregationMap
+import com.splunk.rum.common.logger.Logger
+import io.opentelemetry.api.common.AttributeKey
+import io.opentelemetry.api.trace.SpanBuilder
+import io.opentelemetry.api.trace.Tracer
+import java.util.concurrent.TimeUnit
+
+/**
+ * Aggregates memory samples and `onTrimMemory` callbacks per screen and flushes them as one summary
+ * span per screen, instead of one span per sample. The number of screens is bounded, extra ones are
+ * reported under [OVERFLOW].
+ */
+internal class MemoryAggregator @JvmOverloads constructor(
+    private val tracer: Tracer,
+    maxScreens: Int = DEFAULT_MAX_SCREENS,
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+
+    private val lock = Any()
+    private val screens = BoundedAggregationMap.perScreen(maxScreens) { ScreenEntry() }
+    private var windowStartMillis = clock()
+
+    fun recordSample(screenName: String, snapshot: MemorySnapshot) {
+        synchronized(lock) {
+            screens.entry(screenName).add(snapshot)
+        }
+    }
+
+    fun recordTrimMemory(screenName: String, level: Int) {
+        synchronized(lock) {
+            val entry = screens.entry(screenName)
+            entry.trimCount++
+            if (level > entry.trimMaxLevel) {
+                entry.trimMaxLevel = level.toLong()
+            }
+        }
+    }
+
+    /**
+     * Emits the summary spans for everything recorded since the previous flush and starts a new
+     * window.
+     */
+    fun flush() {
+        val flushedScreens: Map<String, ScreenEntry>
+        val startMillis: Long
+        val endMillis = clock()
+
+        synchronized(lock) {
+            startMillis = windowStartMillis
+            windowStartMillis = endMillis
+            if (screens.isEmpty()) {
+                return
+            }
+            flushedScreens = screens.drain()
+        }
+
+        Logger.d(TAG) { "flush() - reporting ${flushedScreens.size} screens" }
+
+        for ((screenName, entry) in flushedScreens) {
+            reportScreen(screenName, entry, startMillis, endMillis)
+        }
+    }
+
+    private fun reportScreen(screenName: String, entry: ScreenEntry, startMillis: Long, endMillis: Long) {
+        val builder = tracer.spanBuilder(MEMORY_SPAN_NAME)
+            .setStartTimestamp(startMillis, TimeUnit.MILLISECONDS)
+            .setAttribute(GlobalRumConstants.SCREEN_NAME_KEY, screenName)
+            .setAttribute(SAMPLE_COUNT_KEY, entry.sampleCount)
+
+        if (entry.heapSampleCount > 0) {
+            builder.setAttribute(HEAP_USED_AVG_KEY, entry.heapUsedTotal / entry.heapSampleCount)
+                .setAttribute(HEAP_USED_MAX_KEY, entry.heapUsedMax)
+                .setAttribute(HEAP_MAX_KEY, entry.heapMax)
+                .setAttribute(NATIVE_HEAP_AVG_KEY, entry.nativeHeapTotal / entry.heapSampleCount)
+                .setAttribute(NATIVE_HEAP_MAX_KEY, entry.nativeHeapMax)
+        }
+        builder.setIfSampled(PSS_MAX_KEY, entry.pssMax)
+            .setIfSampled(GC_COUNT_KEY, entry.gcCount)
+            .setIfSampled(GC_TIME_KEY, entry.gcTimeMillis)
+            .setIfSampled(BLOCKING_GC_COUNT_KEY, entry.blockingGcCount)
+            .setIfSampled(BLOCKING_GC_TIME_KEY, entry.blockingGcTimeMillis)
+
+        if (entry.trimCount > 0) {
+            builder.setAttribute(TRIM_COUNT_KEY, entry.trimCount)
+                .setAttribute(TRIM_MAX_LEVEL_KEY, entry.trimMaxLevel)
+        }
+
+        builder.startSpan().end(endMillis, TimeUnit.MILLISECONDS)
+    }
+
+    private fun SpanBuilder.setIfSampled(key: AttributeKey<Long>, value: Long): SpanBuilder =
+        if (value >= 0) setAttribute(key, value) else this
+
+    private class ScreenEntry {
+        var sampleCount = 0L
+
+        // Samples whose heap sizes could be read.
+        var heapSampleCount = 0L
+        var heapUsedTotal = 0L
+        var heapUsedMax = 0L
+        var heapMax = 0L
+        var nativeHeapTotal = 0L
+        var nativeHeapMax = 0L
+
+        // -1 until a sample provides the value.
+        var pssMax = -1L
+        var gcCount = -1L
+        var gcTimeMillis = -1L
+        var blockingGcCount = -1L
+        var blockingGcTimeMillis = -1L
+
+        var trimCount = 0L
+        var trimMaxLevel = 0L
+
+        fun add(snapshot: MemorySnapshot) {
+            sampleCount++
+            if (snapshot.heapUsedKb >= 0) {
+                heapSampleCount++
+                heapUsedTotal += snapshot.heapUsedKb
+                heapUsedMax = maxOf(heapUsedMax, snapshot.heapUsedKb)
+                heapMax = snapshot.heapMaxKb
+                nativeHeapTotal += snapshot.nativeHeapKb
+                nativeHeapMax = maxOf(nativeHeapMax, snapshot.nativeHeapKb)
+            }
+            pssMax = maxOf(pssMax, snapshot.pssKb)
+            gcCount = sum(gcCount, snapshot.gcCount)
+            gcTimeMillis = sum(gcTimeMillis, snapshot.gcTimeMillis)
+            blockingGcCount = sum(blockingGcCount, snapshot.blockingGcCount)
+            blockingGcTimeMillis = sum(blockingGcTimeMillis, snapshot.blockingGcTimeMillis)
+        }
+
+        private fun sum(total: Long, delta: Long): Long = when {
+            delta < 0 -> total
+            total < 0 -> delta
+            else -> total + delta
+        }
+    }
+
+    companion object {
+        private const val TAG = "MemoryMonitor"
+
+        const val MEMORY_SPAN_NAME = "memory"
+        const val OVERFLOW = BoundedAggregationMap.OVERFLOW
+
+        private const val DEFAULT_MAX_SCREENS = 50
+
+        val SAMPLE_COUNT_KEY: AttributeKey<Long> = AttributeKey.longKey("memory.sample_count")
+
+        /**
+         * Memory sizes, in kilobytes.
+         */
+        val HEAP_USED_AVG_KEY: AttributeKey<Long> = AttributeKey.longKey("memory.heap.used.avg")
+        val HEAP_USED_MAX_KEY: AttributeKey<Long> = AttributeKey.longKey("memory.heap.used.max")
+        val HEAP_MAX_KEY: AttributeKey<Long> = AttributeKey.longKey("memory.heap.max")
+        val NATIVE_HEAP_AVG_KEY: AttributeKey<Long> = AttributeKey.longKey("memory.native_heap.avg")
+        val NATIVE_HEAP_MAX_KEY: AttributeKey<Long> = AttributeKey.longKey("memory.native_heap.max")
+        val PSS_MAX_KEY: AttributeKey<Long> = AttributeKey.longKey("memory.pss.max")
+
+        /**
+         * Garbage collections during the window, times in milliseconds.
+         */
+        val GC_COUNT_KEY: AttributeKey<Long> = AttributeKey.longKey("memory.gc.count")
+        val GC_TIME_KEY: AttributeKey<Long> = AttributeKey.longKey("memory.gc.time")
+        val BLOCKING_GC_COUNT_KEY: AttributeKey<Long> = AttributeKey.longKey("memory.gc.blocking_count")
+        val BLOCKING_GC_TIME_KEY: AttributeKey<Long> = AttributeKey.longKey("memory.gc.blocking_time")
+
+        /**
+         * `onTrimMemory` callbacks during the window and the highest level among them.
+         */
+        val TRIM_COUNT_KEY: AttributeKey<Long> = AttributeKey.longKey("memory.trim.count")
+        val TRIM_MAX_LEVEL_KEY: AttributeKey<Long> = AttributeKey.longKey("memory.trim.max_level")
+    }
+}
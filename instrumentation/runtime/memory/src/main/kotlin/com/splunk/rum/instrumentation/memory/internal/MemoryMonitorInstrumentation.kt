@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.memory.internal
+
+import android.app.Application
+import android.content.ComponentCallbacks2
+import android.content.res.Configuration
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import com.splunk.rum.agent.common.utils.extensions.isStartedInForeground
+import com.splunk.rum.agent.common.utils.runOnMainThread
+import com.splunk.rum.common.logger.Logger
+import com.splunk.rum.common.utils.AppStateObserver
+import com.splunk.rum.common.utils.thread.NamedThreadFactory
+import io.opentelemetry.api.OpenTelemetry
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Entry point for installing memory pressure monitoring.
+ *
+ * Heap, native heap, PSS and garbage collection counters are sampled on a background thread every
+ * sample interval while the app is in the foreground, and `onTrimMemory` callbacks are recorded as
+ * they come. Both are aggregated per screen and reported every report interval and whenever the app's
+ * UI is hidden, which is notified through `onTrimMemory` as well. Installing does not need the main
+ * thread.
+ *
+ * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+ * any time.
+ */
+class MemoryMonitorInstrumentation {
+
+    private val installed = AtomicBoolean(false)
+    private var sampleIntervalMillis = DEFAULT_SAMPLE_INTERVAL_MS
+    private var reportIntervalMillis = DEFAULT_REPORT_INTERVAL_MS
+    private var screenNameProvider: () -> String = { GlobalRumConstants.DEFAULT_SCREEN_NAME }
+
+    /** Sets the time period between memory samples. Non-positive values are ignored. */
+    fun setSampleInterval(interval: Long, unit: TimeUnit): MemoryMonitorInstrumentation {
+        if (interval <= 0) {
+            Logger.e(TAG, "Invalid sampleInterval: $interval $unit; must be positive")
+            return this
+        }
+        sampleIntervalMillis = unit.toMillis(interval)
+        return this
+    }
+
+    /** Sets the time period between reports. Non-positive values are ignored. */
+    fun setReportInterval(interval: Long, unit: TimeUnit): MemoryMonitorInstrumentation {
+        if (interval <= 0) {
+            Logger.e(TAG, "Invalid reportInterval: $interval $unit; must be positive")
+            return this
+        }
+        reportIntervalMillis = unit.toMillis(interval)
+        return this
+    }
+
+    /** Sets the provider of the current screen name, which samples are aggregated by. */
+    fun setScreenNameProvider(provider: () -> String): MemoryMonitorInstrumentation {
+        screenNameProvider = provider
+        return this
+    }
+
+    /** Starts sampling memory. No-ops if already installed. */
+    fun install(application: Application, openTelemetry: OpenTelemetry) {
+        if (!installed.compareAndSet(false, true)) {
+            return
+        }
+
+        val aggregator = MemoryAggregator(openTelemetry.getTracer(INSTRUMENTATION_SCOPE_NAME))
+        val sampler = MemorySampler()
+        val scheduler = Executors.newSingleThreadScheduledExecutor(NamedThreadFactory("memoryMonitor"))
+
+        val toggler = MemorySamplingToggler(
+            { runSafely { aggregator.recordSample(screenNameProvider(), sampler.sample()) } },
+            scheduler,
+            sampleIntervalMillis
+        )
+        // Installing runs in the background, while AppStateObserver is only touched from the main thread.
+        runOnMainThread {
+            AppStateObserver.listeners += toggler
+            AppStateObserver.attach(application)
+
+            // AppStateObserver only emits onAppForegrounded on a transition, sample now if the app is
+            // already in the foreground.
+            if (application.isStartedInForeground) {
+                toggler.onAppForegrounded()
+            }
+        }
+
+        scheduler.scheduleWithFixedDelay(
+            { runSafely(aggregator::flush) },
+            reportIntervalMillis,
+            reportIntervalMillis,
+            TimeUnit.MILLISECONDS
+        )
+
+        application.registerComponentCallbacks(TrimMemoryCallbacks(aggregator, scheduler))
+    }
+
+    private fun runSafely(block: () -> Unit) {
+        try {
+            block()
+        } catch (e: Exception) {
+            Logger.e(TAG, "Memory monitoring task failed", e)
+        }
+    }
+
+    private inner class TrimMemoryCallbacks(
+        private val aggregator: MemoryAggregator,
+        private val scheduler: ScheduledExecutorService
+    ) : ComponentCallbacks2 {
+
+        override fun onTrimMemory(level: Int) {
+            aggregator.recordTrimMemory(screenNameProvider(), level)
+            if (level == ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+                scheduler.execute { runSafely(aggregator::flush) }
+            }
+        }
+
+        override fun onConfigurationChanged(newConfig: Configuration) = Unit
+
+        @Deprecated("Deprecated in Java")
+        override fun onLowMemory() = Unit
+    }
+
+    companion object {
+        private const val TAG = "MemoryMonitor"
+
+        const val INSTRUMENTATION_SCOPE_NAME = "com.splunk.rum.memory"
+
+        private val DEFAULT_SAMPLE_INTERVAL_MS = TimeUnit.SECONDS.toMillis(30)
+        private val DEFAULT_REPORT_INTERVAL_MS = TimeUnit.SECONDS.toMillis(300)
+    }
+}
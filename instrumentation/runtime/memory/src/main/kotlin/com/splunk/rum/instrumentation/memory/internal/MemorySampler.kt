@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.memory.internal
+
+import android.os.Build
+import android.os.Debug
+import com.splunk.rum.agent.common.utils.vitals.RuntimeVitals
+import com.splunk.rum.agent.common.utils.vitals.VitalsSample
+import com.splunk.rum.common.logger.Logger
+
+/**
+ * Reads the PSS size and the ART garbage collection counters, along with the heap and native heap
+ * sizes, which are taken from the [RuntimeVitals] shared with crash and ANR reports.
+ *
+ * PSS is only read on every [pssSampleEvery]-th sample since [Debug.getPss] walks the whole
+ * process memory map. GC counters come from [Debug.getRuntimeStat], available from API 23, and are
+ * turned into deltas between consecutive samples; the first sample only sets the baseline.
+ *
+ * Not thread-safe, meant to be called from a single sampling thread.
+ */
+internal class MemorySampler @JvmOverloads constructor(
+    private val pssSampleEvery: Int = DEFAULT_PSS_SAMPLE_EVERY,
+    private val runtimeStat: (String) -> String? = ::readRuntimeStat,
+    private val vitals: () -> VitalsSample? = { RuntimeVitals.latest() }
+) {
+
+    private var sampleCount = 0L
+    private val lastGcStats = LongArray(GC_STATS.size) { -1 }
+
+    fun sample(): MemorySnapshot {
+        val pssKb = if (sampleCount % pssSampleEvery == 0L) Debug.getPss() else -1
+        sampleCount++
+        val vitals = vitals()
+
+        return MemorySnapshot(
+            heapUsedKb = vitals?.heapUsedKb ?: -1,
+            heapMaxKb = vitals?.heapMaxKb ?: -1,
+            nativeHeapKb = vitals?.nativeHeapKb ?: -1,
+            pssKb = pssKb,
+            gcCount = gcDelta(GC_COUNT),
+            gcTimeMillis = gcDelta(GC_TIME),
+            blockingGcCount = gcDelta(BLOCKING_GC_COUNT),
+            blockingGcTimeMillis = gcDelta(BLOCKING_GC_TIME)
+        )
+    }
+
+    private fun gcDelta(index: Int): Long {
+        val value = runtimeStat(GC_STATS[index])?.toLongOrNull() ?: return -1
+        val last = lastGcStats[index]
+        lastGcStats[index] = value
+        // Counters never decrease, a lower value means they were reset.
+        return if (last < 0 || value < last) -1 else value - last
+    }
+
+    companion object {
+        private const val TAG = "MemorySampler"
+
+        const val DEFAULT_PSS_SAMPLE_EVERY = 4
+
+        private const val GC_COUNT = 0
+        private const val GC_TIME = 1
+        private const val BLOCKING_GC_COUNT = 2
+        private const val BLOCKING_GC_TIME = 3
+
+        private val GC_STATS = arrayOf(
+            "art.gc.gc-count",
+            "art.gc.gc-time",
+            "art.gc.blocking-gc-count",
+            "art.gc.blocking-gc-time"
+        )
+
+        private fun readRuntimeStat(name: String): String? {
+            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
+                return null
+            }
+            return try {
+                Debug.getRuntimeStat(name)
+            } catch (e: Exception) {
+                Logger.w(TAG, "Failed to read runtime stat $name: ${e.message}")
+                null
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.memory.internal
+
+import com.splunk.rum.common.utils.AppStateObserver
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+
+/**
+ * Samples memory only while the app is in the foreground: the [sampleTask] is scheduled when the app
+ * is foregrounded and cancelled when it is backgrounded, so that [android.os.Debug.getPss] does not
+ * keep walking the process memory map of an app nobody is looking at.
+ */
+internal class MemorySamplingToggler(
+    private val sampleTask: Runnable,
+    private val scheduler: ScheduledExecutorService,
+    private val sampleIntervalMillis: Long
+) : AppStateObserver.Listener {
+
+    private var future: ScheduledFuture<*>? = null
+
+    @Synchronized
+    override fun onAppForegrounded() {
+        if (future == null) {
+            future = scheduler.scheduleWithFixedDelay(sampleTask, 0, sampleIntervalMillis, TimeUnit.MILLISECONDS)
+        }
+    }
+
+    @Synchronized
+    override fun onAppBackgrounded() {
+        future?.cancel(false)
+        future = null
+    }
+
+    override fun onAppStarted() = Unit
+
+    override fun onAppClosed() = onAppBackgrounded()
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.memory.internal
+
+/**
+ * One memory sample. Sizes are in kilobytes, GC values are the change since the previous sample,
+ * times in milliseconds. `-1` marks a value that was not sampled or is not available on the
+ * device.
+ */
+internal class MemorySnapshot(
+    val heapUsedKb: Long,
+    val heapMaxKb: Long,
+    val nativeHeapKb: Long,
+    val pssKb: Long,
+    val gcCount: Long,
+    val gcTimeMillis: Long,
+    val blockingGcCount: Long,
+    val blockingGcTimeMillis: Long
+)
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.memory.internal
+
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import io.opentelemetry.sdk.common.CompletableResultCode
+import io.opentelemetry.sdk.trace.SdkTracerProvider
+import io.opentelemetry.sdk.trace.data.SpanData
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor
+import io.opentelemetry.sdk.trace.export.SpanExporter
+import java.util.Collections
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+
+class MemoryAggregatorTest {
+
+    private val exportedSpans: MutableList<SpanData> = Collections.synchronizedList(mutableListOf())
+
+    private val collectingExporter = object : SpanExporter {
+        override fun export(spans: MutableCollection<SpanData>): CompletableResultCode {
+            exportedSpans.addAll(spans)
+            return CompletableResultCode.ofSuccess()
+        }
+
+        override fun flush() = CompletableResultCode.ofSuccess()
+        override fun shutdown() = CompletableResultCode.ofSuccess()
+    }
+
+    private lateinit var tracerProvider: SdkTracerProvider
+    private lateinit var aggregator: MemoryAggregator
+
+    private var now = 1_000L
+
+    @Before
+    fun setUp() {
+        exportedSpans.clear()
+        tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(collectingExporter))
+            .build()
+        aggregator = MemoryAggregator(tracerProvider.get("test"), maxScreens = 2, clock = { now })
+    }
+
+    @After
+    fun tearDown() {
+        tracerProvider.close()
+    }
+
+    @Test
+    fun `aggregates samples per screen`() {
+        aggregator.recordSample("Home", snapshot(heapUsedKb = 100, nativeHeapKb = 40, pssKb = 300, gcCount = -1))
+        aggregator.recordSample("Home", snapshot(heapUsedKb = 200, nativeHeapKb = 60, pssKb = -1, gcCount = 3))
+        aggregator.recordSample("Details", snapshot(heapUsedKb = 50, nativeHeapKb = 10, pssKb = -1, gcCount = 1))
+        now = 61_000L
+        aggregator.flush()
+
+        assertEquals(2, exportedSpans.size)
+        val home = span("Home")
+        assertEquals(MemoryAggregator.MEMORY_SPAN_NAME, home.name)
+        assertEquals(2L, home.attributes.get(MemoryAggregator.SAMPLE_COUNT_KEY))
+        assertEquals(150L, home.attributes.get(MemoryAggregator.HEAP_USED_AVG_KEY))
+        assertEquals(200L, home.attributes.get(MemoryAggregator.HEAP_USED_MAX_KEY))
+        assertEquals(512L, home.attributes.get(MemoryAggregator.HEAP_MAX_KEY))
+        assertEquals(50L, home.attributes.get(MemoryAggregator.NATIVE_HEAP_AVG_KEY))
+        assertEquals(60L, home.attributes.get(MemoryAggregator.NATIVE_HEAP_MAX_KEY))
+        assertEquals(300L, home.attributes.get(MemoryAggregator.PSS_MAX_KEY))
+        assertEquals(3L, home.attributes.get(MemoryAggregator.GC_COUNT_KEY))
+        assertEquals(1_000_000_000L, home.startEpochNanos)
+        assertEquals(61_000_000_000L, home.endEpochNanos)
+
+        val details = span("Details")
+        assertNull(details.attributes.get(MemoryAggregator.PSS_MAX_KEY))
+        assertEquals(1L, details.attributes.get(MemoryAggregator.GC_COUNT_KEY))
+    }
+
+    @Test
+    fun `leaves samples without heap sizes out of the heap averages`() {
+        aggregator.recordSample("Home", snapshot(heapUsedKb = 100, nativeHeapKb = 40))
+        aggregator.recordSample("Home", snapshot(heapUsedKb = -1, nativeHeapKb = -1, pssKb = 300))
+        aggregator.flush()
+
+        val home = span("Home")
+        assertEquals(2L, home.attributes.get(MemoryAggregator.SAMPLE_COUNT_KEY))
+        assertEquals(100L, home.attributes.get(MemoryAggregator.HEAP_USED_AVG_KEY))
+        assertEquals(40L, home.attributes.get(MemoryAggregator.NATIVE_HEAP_AVG_KEY))
+        assertEquals(300L, home.attributes.get(MemoryAggregator.PSS_MAX_KEY))
+    }
+
+    @Test
+    fun `records trim memory callbacks with the highest level`() {
+        aggregator.recordTrimMemory("Home", 20)
+        aggregator.recordTrimMemory("Home", 80)
+        aggregator.recordTrimMemory("Home", 40)
+        aggregator.flush()
+
+        val home = span("Home")
+        assertEquals(0L, home.attributes.get(MemoryAggregator.SAMPLE_COUNT_KEY))
+        assertEquals(3L, home.attributes.get(MemoryAggregator.TRIM_COUNT_KEY))
+        assertEquals(80L, home.attributes.get(MemoryAggregator.TRIM_MAX_LEVEL_KEY))
+        assertNull(home.attributes.get(MemoryAggregator.HEAP_USED_AVG_KEY))
+    }
+
+    @Test
+    fun `reports extra screens under the overflow screen`() {
+        aggregator.recordSample("A", snapshot())
+        aggregator.recordSample("B", snapshot())
+        aggregator.recordSample("C", snapshot())
+        aggregator.recordTrimMemory("D", 15)
+        aggregator.flush()
+
+        assertEquals(3, exportedSpans.size)
+        val overflow = span(MemoryAggregator.OVERFLOW)
+        assertEquals(1L, overflow.attributes.get(MemoryAggregator.SAMPLE_COUNT_KEY))
+        assertEquals(1L, overflow.attributes.get(MemoryAggregator.TRIM_COUNT_KEY))
+    }
+
+    @Test
+    fun `flush starts a new window`() {
+        aggregator.recordSample("Home", snapshot())
+        aggregator.flush()
+        aggregator.flush()
+
+        assertEquals(1, exportedSpans.size)
+        assertTrue(exportedSpans.all { it.hasEnded() })
+    }
+
+    private fun span(screenName: String): SpanData =
+        exportedSpans.single { it.attributes.get(GlobalRumConstants.SCREEN_NAME_KEY) == screenName }
+
+    private fun snapshot(
+        heapUsedKb: Long = 100,
+        nativeHeapKb: Long = 10,
+        pssKb: Long = -1,
+        gcCount: Long = -1
+    ) = MemorySnapshot(heapUsedKb, 512, nativeHeapKb, pssKb, gcCount, -1, -1, -1)
+}
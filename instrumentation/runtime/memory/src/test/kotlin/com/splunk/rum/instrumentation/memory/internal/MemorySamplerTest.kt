@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.memory.internal
+
+import com.splunk.rum.agent.common.utils.vitals.VitalsSample
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class MemorySamplerTest {
+
+    private val stats = HashMap<String, String>()
+
+    @Test
+    fun `reports gc counters as deltas between samples`() {
+        val sampler = MemorySampler(runtimeStat = { stats[it] })
+
+        setGcStats(count = 10, time = 200, blockingCount = 1, blockingTime = 50)
+        val first = sampler.sample()
+        setGcStats(count = 14, time = 260, blockingCount = 2, blockingTime = 90)
+        val second = sampler.sample()
+
+        assertEquals(-1L, first.gcCount)
+        assertEquals(4L, second.gcCount)
+        assertEquals(60L, second.gcTimeMillis)
+        assertEquals(1L, second.blockingGcCount)
+        assertEquals(40L, second.blockingGcTimeMillis)
+    }
+
+    @Test
+    fun `reports missing gc counters as unavailable`() {
+        val sampler = MemorySampler(runtimeStat = { null })
+
+        sampler.sample()
+        val snapshot = sampler.sample()
+
+        assertEquals(-1L, snapshot.gcCount)
+        assertEquals(-1L, snapshot.blockingGcTimeMillis)
+        assertTrue(snapshot.heapUsedKb > 0)
+    }
+
+    @Test
+    fun `reuses the runtime vitals heap sizes`() {
+        val sampler = MemorySampler(runtimeStat = { null }, vitals = { VitalsSample(0, 100, 512, 40, 12, 30, 250, 0) })
+
+        val snapshot = sampler.sample()
+
+        assertEquals(100L, snapshot.heapUsedKb)
+        assertEquals(512L, snapshot.heapMaxKb)
+        assertEquals(40L, snapshot.nativeHeapKb)
+    }
+
+    @Test
+    fun `reports heap sizes as unavailable without runtime vitals`() {
+        val sampler = MemorySampler(runtimeStat = { null }, vitals = { null })
+
+        val snapshot = sampler.sample()
+
+        assertEquals(-1L, snapshot.heapUsedKb)
+        assertEquals(-1L, snapshot.heapMaxKb)
+        assertEquals(-1L, snapshot.nativeHeapKb)
+    }
+
+    @Test
+    fun `reads pss on every nth sample only`() {
+        val sampler = MemorySampler(pssSampleEvery = 2, runtimeStat = { null })
+
+        val pss = (1..4).map { sampler.sample().pssKb }
+
+        assertTrue(pss[0] >= 0)
+        assertEquals(-1L, pss[1])
+        assertTrue(pss[2] >= 0)
+        assertEquals(-1L, pss[3])
+    }
+
+    private fun setGcStats(count: Long, time: Long, blockingCount: Long, blockingTime: Long) {
+        stats["art.gc.gc-count"] = count.toString()
+        stats["art.gc.gc-time"] = time.toString()
+        stats["art.gc.blocking-gc-count"] = blockingCount.toString()
+        stats["art.gc.blocking-gc-time"] = blockingTime.toString()
+    }
+}
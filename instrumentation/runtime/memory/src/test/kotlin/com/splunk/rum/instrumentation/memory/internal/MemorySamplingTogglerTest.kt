@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.memory.internal
+
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.never
+import org.mockito.Mockito.times
+import org.mockito.Mockito.verify
+import org.mockito.Mockito.`when`
+
+class MemorySamplingTogglerTest {
+
+    private lateinit var sampleTask: Runnable
+    private lateinit var scheduler: ScheduledExecutorService
+    private lateinit var future: ScheduledFuture<*>
+    private lateinit var toggler: MemorySamplingToggler
+
+    @Before
+    fun setUp() {
+        sampleTask = mock(Runnable::class.java)
+        scheduler = mock(ScheduledExecutorService::class.java)
+        future = mock(ScheduledFuture::class.java)
+        `when`(scheduler.scheduleWithFixedDelay(sampleTask, 0, SAMPLE_INTERVAL_MS, TimeUnit.MILLISECONDS))
+            .thenReturn(future)
+        toggler = MemorySamplingToggler(sampleTask, scheduler, SAMPLE_INTERVAL_MS)
+    }
+
+    @Test
+    fun `does not sample before the app is foregrounded`() {
+        verify(scheduler, never()).scheduleWithFixedDelay(sampleTask, 0, SAMPLE_INTERVAL_MS, TimeUnit.MILLISECONDS)
+    }
+
+    @Test
+    fun `schedules sampling only once while repeatedly foregrounded`() {
+        toggler.onAppForegrounded()
+        toggler.onAppForegrounded()
+
+        verify(scheduler, times(1)).scheduleWithFixedDelay(sampleTask, 0, SAMPLE_INTERVAL_MS, TimeUnit.MILLISECONDS)
+    }
+
+    @Test
+    fun `stops sampling when backgrounded`() {
+        toggler.onAppForegrounded()
+
+        toggler.onAppBackgrounded()
+        toggler.onAppClosed()
+
+        verify(future, times(1)).cancel(false)
+    }
+
+    @Test
+    fun `resumes sampling after a background then foreground cycle`() {
+        toggler.onAppForegrounded()
+        toggler.onAppBackgrounded()
+        toggler.onAppForegrounded()
+
+        verify(scheduler, times(2)).scheduleWithFixedDelay(sampleTask, 0, SAMPLE_INTERVAL_MS, TimeUnit.MILLISECONDS)
+    }
+
+    private companion object {
+        private const val SAMPLE_INTERVAL_MS = 30_000L
+    }
+}
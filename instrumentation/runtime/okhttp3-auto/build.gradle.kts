@@ -25,6 +25,7 @@ android {
 dependencies {
     implementation(platform(Dependencies.Otel.instrumentationBomAlpha))
 
+    implementation(project(":common:otel"))
     implementation(project(":instrumentation:runtime:okhttp3-common"))
 
     implementation(Dependencies.okhttp)
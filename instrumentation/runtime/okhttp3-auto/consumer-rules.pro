@@ -9,3 +9,7 @@
 # ByteBuddy callback weave calls into these classes from app okhttp3.RealCall bytecode.
 -keep class com.splunk.rum.instrumentation.okhttp3.auto.internal.OkHttpCallbackAdviceHelper { *; }
 -keep class com.splunk.rum.instrumentation.okhttp3.auto.internal.TracingCallback { *; }
+
+# ByteBuddy WebSocket weave calls into this class from app okhttp3.OkHttpClient bytecode.
+-keep class com.splunk.rum.instrumentation.okhttp3.auto.internal.OkHttpWebSocketAdviceHelper { *; }
+-keep class com.splunk.rum.instrumentation.okhttp3.common.internal.WebSocketConnection { public *; }
@@ -58,6 +58,62 @@ class OkHttpInstrumentation {
             field = knownMethods.toMutableSet()
         }
 
+    /**
+     * Configures the hosts that receive trace context propagation headers, either exact host names or
+     * `*.domain` wildcards. When empty, headers are propagated to every host.
+     */
+    var propagationHosts: List<String> = emptyList()
+        set(hosts) {
+            field = hosts.toList()
+        }
+
+    /**
+     * Configures route templates such as `/users/{userId}/orders` used to normalize URL paths into the
+     * `url.template` attribute. Paths that match no template have their numeric, UUID and hexadecimal
+     * segments replaced automatically. When templates are configured, they are also used in span names.
+     */
+    var urlTemplates: List<String> = emptyList()
+        set(templates) {
+            field = templates.toList()
+        }
+
+    /**
+     * When enabled, requests are aggregated into periodic latency summaries instead of producing one
+     * span each. Failed requests and requests slower than [slowRequestThresholdMs] are still
+     * reported as spans.
+     */
+    var isMetricsAggregationEnabled: Boolean = false
+
+    /** Interval (ms) at which aggregated request summaries are flushed. */
+    var metricsFlushIntervalMs: Long = DEFAULT_METRICS_FLUSH_INTERVAL_MS
+        set(intervalMs) {
+            require(intervalMs > 0) { "intervalMs must be positive" }
+            field = intervalMs
+        }
+
+    /** Duration (ms) from which an aggregated request is also reported as a span. */
+    var slowRequestThresholdMs: Long = DEFAULT_SLOW_REQUEST_THRESHOLD_MS
+        set(thresholdMs) {
+            require(thresholdMs >= 0) { "thresholdMs must be non-negative" }
+            field = thresholdMs
+        }
+
+    /**
+     * Configures whether WebSockets opened through instrumented clients are traced. Disabled by default;
+     * requires the build-time plugin.
+     */
+    var isWebSocketInstrumentationEnabled: Boolean = false
+
+    /**
+     * Fraction (0..1) of received WebSocket messages whose handling time is recorded into the
+     * per-connection latency histogram.
+     */
+    var webSocketMessageLatencySampleRate: Double = DEFAULT_WEB_SOCKET_MESSAGE_LATENCY_SAMPLE_RATE
+        set(sampleRate) {
+            require(sampleRate in 0.0..1.0) { "sampleRate must be between 0 and 1" }
+            field = sampleRate
+        }
+
     private var emitExperimentalHttpClientTelemetry = false
     private var peerServiceMapping: Map<String, String> = emptyMap()
 
@@ -83,4 +139,10 @@ class OkHttpInstrumentation {
     fun install(openTelemetry: OpenTelemetry) {
         OkHttpSingletons.configure(this, openTelemetry)
     }
+
+    private companion object {
+        private const val DEFAULT_METRICS_FLUSH_INTERVAL_MS = 60_000L
+        private const val DEFAULT_SLOW_REQUEST_THRESHOLD_MS = 3_000L
+        private const val DEFAULT_WEB_SOCKET_MESSAGE_LATENCY_SAMPLE_RATE = 0.1
+    }
 }
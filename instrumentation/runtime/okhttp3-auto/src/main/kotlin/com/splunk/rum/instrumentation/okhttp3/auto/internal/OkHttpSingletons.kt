@@ -17,11 +17,15 @@
 
 package com.splunk.rum.instrumentation.okhttp3.auto.internal
 
+import com.splunk.rum.agent.common.otel.http.route.HttpRouteNormalizer
 import com.splunk.rum.instrumentation.okhttp3.auto.OkHttpInstrumentation
+import com.splunk.rum.instrumentation.okhttp3.common.internal.AggregatingTracingInterceptor
 import com.splunk.rum.instrumentation.okhttp3.common.internal.ConnectionErrorSpanInterceptor
 import com.splunk.rum.instrumentation.okhttp3.common.internal.OkHttpAttributesGetter
 import com.splunk.rum.instrumentation.okhttp3.common.internal.OkHttpClientInstrumenterBuilderFactory
+import com.splunk.rum.instrumentation.okhttp3.common.internal.OkHttpRouteAttributesExtractor
 import com.splunk.rum.instrumentation.okhttp3.common.internal.TracingInterceptor
+import com.splunk.rum.instrumentation.okhttp3.common.internal.WebSocketTelemetry
 import io.opentelemetry.api.OpenTelemetry
 import io.opentelemetry.context.Context
 import io.opentelemetry.context.Scope
@@ -29,6 +33,7 @@ import io.opentelemetry.instrumentation.api.incubator.builder.internal.DefaultHt
 import io.opentelemetry.instrumentation.api.incubator.semconv.net.PeerServiceAttributesExtractor
 import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter
+import io.opentelemetry.instrumentation.api.internal.Experimental
 import io.opentelemetry.instrumentation.api.semconv.http.HttpClientRequestResendCount
 import io.opentelemetry.instrumentation.api.semconv.http.HttpSpanNameExtractor
 import okhttp3.Interceptor
@@ -42,13 +47,22 @@ import okhttp3.Response
 object OkHttpSingletons {
     private val NOOP_INTERCEPTOR = Interceptor { chain -> chain.proceed(chain.request()) }
 
+    // Set by configure() on the background module install thread, read on the request threads.
     @JvmField
+    @Volatile
     var connectionErrorInterceptor: Interceptor = NOOP_INTERCEPTOR
 
     @JvmField
+    @Volatile
     var tracingInterceptor: Interceptor = NOOP_INTERCEPTOR
 
+    @Volatile
+    var webSocketTelemetry: WebSocketTelemetry? = null
+        private set
+
     fun configure(instrumentation: OkHttpInstrumentation, openTelemetry: OpenTelemetry) {
+        val routeNormalizer = HttpRouteNormalizer(instrumentation.urlTemplates)
+
         var instrumenterBuilder: DefaultHttpClientInstrumenterBuilder<Interceptor.Chain, Response> =
             OkHttpClientInstrumenterBuilderFactory
                 .create(openTelemetry)
@@ -57,10 +71,16 @@ object OkHttpSingletons {
                 .setKnownMethods(instrumentation.knownMethods)
                 // TODO: Do we really need to set the known methods on the span name extractor as well?
                 .setSpanNameExtractor {
-                    HttpSpanNameExtractor.builder(OkHttpAttributesGetter.INSTANCE)
+                    val spanNameExtractorBuilder = HttpSpanNameExtractor.builder(OkHttpAttributesGetter.INSTANCE)
                         .setKnownMethods(instrumentation.knownMethods)
-                        .build()
+                    if (routeNormalizer.hasTemplates) {
+                        Experimental.setUrlTemplateExtractor(spanNameExtractorBuilder) { chain ->
+                            routeNormalizer.normalize(chain.request().url.encodedPath)
+                        }
+                    }
+                    spanNameExtractorBuilder.build()
                 }
+                .addAttributesExtractor(OkHttpRouteAttributesExtractor(routeNormalizer))
                 .addAttributesExtractor(
                     PeerServiceAttributesExtractor.create(
                         OkHttpAttributesGetter.INSTANCE,
@@ -78,7 +98,33 @@ object OkHttpSingletons {
         val instrumenter: Instrumenter<Interceptor.Chain, Response> = instrumenterBuilder.build()
 
         connectionErrorInterceptor = ConnectionErrorSpanInterceptor(instrumenter)
-        tracingInterceptor = TracingInterceptor(instrumenter, openTelemetry.propagators)
+        tracingInterceptor = if (instrumentation.isMetricsAggregationEnabled) {
+            val aggregator = OkHttpClientInstrumenterBuilderFactory.createMetricsAggregator(
+                openTelemetry,
+                instrumentation.slowRequestThresholdMs
+            )
+            aggregator.startPeriodicFlush(instrumentation.metricsFlushIntervalMs)
+            AggregatingTracingInterceptor(
+                instrumenter,
+                aggregator,
+                routeNormalizer,
+                openTelemetry.propagators,
+                instrumentation.propagationHosts
+            )
+        } else {
+            TracingInterceptor(instrumenter, openTelemetry.propagators, instrumentation.propagationHosts)
+        }
+
+        webSocketTelemetry = if (instrumentation.isWebSocketInstrumentationEnabled) {
+            OkHttpClientInstrumenterBuilderFactory.createWebSocketTelemetry(
+                openTelemetry,
+                routeNormalizer,
+                instrumentation.webSocketMessageLatencySampleRate,
+                instrumentation.propagationHosts
+            )
+        } else {
+            null
+        }
     }
 
     @JvmField
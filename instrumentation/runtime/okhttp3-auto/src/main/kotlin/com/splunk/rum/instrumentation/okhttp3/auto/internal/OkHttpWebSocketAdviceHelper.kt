@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.okhttp3.auto.internal
+
+import com.splunk.rum.instrumentation.okhttp3.common.internal.WebSocketConnection
+import okhttp3.Request
+
+/**
+ * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+ * any time.
+ */
+internal object OkHttpWebSocketAdviceHelper {
+
+    /**
+     * Returns the telemetry of a WebSocket about to be opened with [request], or null when WebSocket
+     * instrumentation is disabled.
+     */
+    @JvmStatic
+    fun startConnection(request: Request): WebSocketConnection? =
+        OkHttpSingletons.webSocketTelemetry?.startConnection(request)
+}
@@ -36,4 +36,6 @@ dependencies {
 
     implementation(Dependencies.Otel.instrumentationApi)
     implementation(Dependencies.Otel.instrumentationApiIncubator)
+
+    testImplementation(Dependencies.Test.junit)
 }
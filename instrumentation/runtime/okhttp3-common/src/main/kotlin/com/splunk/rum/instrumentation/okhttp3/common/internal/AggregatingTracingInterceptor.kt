@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.okhttp3.common.internal
+
+import android.os.SystemClock
+import com.splunk.rum.agent.common.otel.http.metrics.HttpMetricsAggregator
+import com.splunk.rum.agent.common.otel.http.route.HttpRouteNormalizer
+import io.opentelemetry.context.Context
+import io.opentelemetry.context.propagation.ContextPropagators
+import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter
+import io.opentelemetry.instrumentation.api.internal.InstrumenterUtil
+import java.io.IOException
+import java.time.Instant
+import okhttp3.Interceptor
+import okhttp3.Response
+
+/**
+ * Replacement for [TracingInterceptor] used when HTTP metrics aggregation is enabled. Requests are
+ * timed and recorded into the [aggregator] without starting a span; only errors and slow outliers are
+ * reported as spans, after the fact. Because no span is active while the request is in flight, only the
+ * caller's context, if any, is propagated to the server, subject to the same [propagationHosts] as
+ * [TracingInterceptor].
+ *
+ * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+ * any time.
+ *
+ * @param propagationHosts hosts that receive propagation headers, either exact names or `*.domain`
+ * wildcards. When empty, headers are propagated to every host.
+ */
+class AggregatingTracingInterceptor(
+    private val instrumenter: Instrumenter<Interceptor.Chain, Response>,
+    private val aggregator: HttpMetricsAggregator,
+    private val routeNormalizer: HttpRouteNormalizer,
+    propagators: ContextPropagators,
+    propagationHosts: Collection<String>
+) : Interceptor {
+
+    private val contextInjector = TraceContextInjector(propagators, propagationHosts)
+
+    @Suppress("NewApi") // Requires API 26 or core library desugaring in the host app.
+    @Throws(IOException::class)
+    override fun intercept(chain: Interceptor.Chain): Response {
+        var request = chain.request()
+        val parentContext = Context.current()
+
+        if (WebSocketTelemetry.isTracedHandshake(request) || !instrumenter.shouldStart(parentContext, chain)) {
+            return chain.proceed(request)
+        }
+
+        request = contextInjector.inject(request, parentContext)
+
+        var response: Response? = null
+        var error: Throwable? = null
+        val startTime = Instant.now()
+        val startElapsed = SystemClock.elapsedRealtime()
+        try {
+            response = chain.proceed(request)
+            return response
+        } catch (t: Throwable) {
+            error = t
+            throw t
+        } finally {
+            val duration = SystemClock.elapsedRealtime() - startElapsed
+            val isOutlier = aggregator.record(
+                request.method,
+                request.url.host,
+                routeNormalizer.normalize(request.url.encodedPath),
+                response?.code ?: 0,
+                duration,
+                error
+            )
+
+            if (isOutlier) {
+                InstrumenterUtil.startAndEnd(
+                    instrumenter,
+                    parentContext,
+                    chain,
+                    response,
+                    error,
+                    startTime,
+                    startTime.plusMillis(duration)
+                )
+            }
+        }
+    }
+}
@@ -49,7 +49,8 @@ class ConnectionErrorSpanInterceptor(private val instrumenter: Instrumenter<Inte
         } finally {
             // only create a span when there wasn't any HTTP request
             if (HttpClientRequestResendCount.get(parentContext) == 0) {
-                if (instrumenter.shouldStart(parentContext, chain)) {
+                // traced WebSocket handshakes report their own span
+                if (!WebSocketTelemetry.isTracedHandshake(request) && instrumenter.shouldStart(parentContext, chain)) {
                     InstrumenterUtil.startAndEnd(
                         instrumenter,
                         parentContext,
@@ -17,6 +17,8 @@
 
 package com.splunk.rum.instrumentation.okhttp3.common.internal
 
+import com.splunk.rum.agent.common.otel.http.metrics.HttpMetricsAggregator
+import com.splunk.rum.agent.common.otel.http.route.HttpRouteNormalizer
 import io.opentelemetry.api.OpenTelemetry
 import io.opentelemetry.instrumentation.api.incubator.builder.internal.DefaultHttpClientInstrumenterBuilder
 import okhttp3.Interceptor
@@ -38,5 +40,24 @@ class OkHttpClientInstrumenterBuilderFactory private constructor() {
                 openTelemetry,
                 OkHttpAttributesGetter.INSTANCE
             ).addAttributesExtractor(OkHttp3AdditionalAttributesExtractor())
+
+        @JvmStatic
+        fun createMetricsAggregator(openTelemetry: OpenTelemetry, slowThresholdMillis: Long): HttpMetricsAggregator =
+            HttpMetricsAggregator(openTelemetry.getTracer(INSTRUMENTATION_NAME), slowThresholdMillis)
+
+        @JvmStatic
+        @JvmOverloads
+        fun createWebSocketTelemetry(
+            openTelemetry: OpenTelemetry,
+            routeNormalizer: HttpRouteNormalizer,
+            messageLatencySampleRate: Double,
+            propagationHosts: Collection<String> = emptyList()
+        ): WebSocketTelemetry = WebSocketTelemetry(
+            openTelemetry.getTracer(INSTRUMENTATION_NAME),
+            openTelemetry.propagators,
+            routeNormalizer,
+            messageLatencySampleRate,
+            propagationHosts
+        )
     }
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.okhttp3.common.internal
+
+import com.splunk.rum.agent.common.otel.http.route.HttpRouteNormalizer
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import io.opentelemetry.api.common.AttributesBuilder
+import io.opentelemetry.context.Context
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor
+import okhttp3.Interceptor
+import okhttp3.Response
+
+/**
+ * Adds the normalized route of the request as `url.template`. The attribute is set on start so it is
+ * visible to samplers.
+ *
+ * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+ * any time.
+ */
+class OkHttpRouteAttributesExtractor(private val normalizer: HttpRouteNormalizer) :
+    AttributesExtractor<Interceptor.Chain, Response> {
+
+    override fun onStart(attributes: AttributesBuilder, parentContext: Context, chain: Interceptor.Chain) {
+        attributes.put(GlobalRumConstants.URL_TEMPLATE_KEY, normalizer.normalize(chain.request().url.encodedPath))
+    }
+
+    override fun onEnd(
+        attributes: AttributesBuilder,
+        context: Context,
+        chain: Interceptor.Chain,
+        response: Response?,
+        error: Throwable?
+    ) = Unit
+}
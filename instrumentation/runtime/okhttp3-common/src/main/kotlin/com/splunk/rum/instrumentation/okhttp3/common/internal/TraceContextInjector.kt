@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.okhttp3.common.internal
+
+import io.opentelemetry.api.baggage.Baggage
+import io.opentelemetry.api.trace.Span
+import io.opentelemetry.context.Context
+import io.opentelemetry.context.propagation.ContextPropagators
+import okhttp3.Request
+
+/**
+ * Injects a context into requests sent to the [propagationHosts], either exact names or `*.domain`
+ * wildcards. When [propagationHosts] is empty, the context is injected into every request.
+ *
+ * Requests to other hosts are returned unchanged, without rebuilding them.
+ */
+internal class TraceContextInjector(
+    private val propagators: ContextPropagators,
+    propagationHosts: Collection<String> = emptyList()
+) {
+
+    private val exactPropagationHosts: Set<String> =
+        propagationHosts.filterNot { it.startsWith(WILDCARD_PREFIX) }.map { it.lowercase() }.toHashSet()
+    private val propagationHostSuffixes: List<String> =
+        propagationHosts.filter { it.startsWith(WILDCARD_PREFIX) }.map { it.substring(1).lowercase() }
+    private val propagatesToAllHosts = propagationHosts.isEmpty()
+
+    /**
+     * Whether the configured propagator is the agent default, W3C trace context plus W3C baggage,
+     * whose output can be written without walking the composite propagator.
+     */
+    private val isDefaultW3CPropagation = propagators.textMapPropagator.fields().toSet() == W3C_FIELDS
+
+    fun inject(request: Request, context: Context): Request {
+        if (!shouldPropagateTo(request.url.host)) {
+            return request
+        }
+
+        if (!isDefaultW3CPropagation) {
+            return injectWithPropagators(request, context)
+        }
+
+        // Fast path: without trace state and baggage only the traceparent header needs to be written.
+        val spanContext = Span.fromContext(context).spanContext
+        if (!spanContext.traceState.isEmpty || !Baggage.fromContext(context).isEmpty) {
+            return injectWithPropagators(request, context)
+        }
+
+        if (!spanContext.isValid) {
+            return request
+        }
+
+        return request.newBuilder()
+            .header(TraceparentFormatter.TRACEPARENT_HEADER, TraceparentFormatter.format(spanContext))
+            .build()
+    }
+
+    private fun shouldPropagateTo(host: String): Boolean {
+        if (propagatesToAllHosts || host in exactPropagationHosts) {
+            return true
+        }
+
+        for (suffix in propagationHostSuffixes) {
+            if (host.endsWith(suffix)) {
+                return true
+            }
+        }
+        return false
+    }
+
+    private fun injectWithPropagators(request: Request, context: Context): Request {
+        val requestBuilder = request.newBuilder()
+        propagators
+            .getTextMapPropagator()
+            .inject(context, requestBuilder, RequestHeaderSetter.INSTANCE)
+        return requestBuilder.build()
+    }
+
+    private companion object {
+        private const val WILDCARD_PREFIX = "*."
+        private val W3C_FIELDS = setOf(TraceparentFormatter.TRACEPARENT_HEADER, "tracestate", "baggage")
+    }
+}
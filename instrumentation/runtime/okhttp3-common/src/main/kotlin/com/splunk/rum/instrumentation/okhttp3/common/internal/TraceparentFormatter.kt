@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.okhttp3.common.internal
+
+import io.opentelemetry.api.trace.SpanContext
+
+/**
+ * Formats the W3C `traceparent` header value of a span context into a single pre-sized buffer,
+ * equivalent to what W3CTraceContextPropagator writes.
+ */
+internal object TraceparentFormatter {
+
+    const val TRACEPARENT_HEADER = "traceparent"
+
+    private const val TRACE_ID_OFFSET = 3
+    private const val SPAN_ID_OFFSET = TRACE_ID_OFFSET + 32 + 1
+    private const val TRACE_FLAGS_OFFSET = SPAN_ID_OFFSET + 16 + 1
+    private const val TRACEPARENT_LENGTH = TRACE_FLAGS_OFFSET + 2
+
+    fun format(spanContext: SpanContext): String {
+        val chars = CharArray(TRACEPARENT_LENGTH)
+        chars[0] = '0'
+        chars[1] = '0'
+        chars[TRACE_ID_OFFSET - 1] = '-'
+        spanContext.traceId.toCharArray(chars, TRACE_ID_OFFSET)
+        chars[SPAN_ID_OFFSET - 1] = '-'
+        spanContext.spanId.toCharArray(chars, SPAN_ID_OFFSET)
+        chars[TRACE_FLAGS_OFFSET - 1] = '-'
+        spanContext.traceFlags.asHex().toCharArray(chars, TRACE_FLAGS_OFFSET)
+        return String(chars)
+    }
+}
@@ -21,29 +21,34 @@ import io.opentelemetry.context.propagation.ContextPropagators
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter
 import java.io.IOException
 import okhttp3.Interceptor
-import okhttp3.Request
 import okhttp3.Response
 
 /**
  * This class is internal and is hence not for public use. Its APIs are unstable and can change at
  * any time.
+ *
+ * @param propagationHosts hosts that receive propagation headers, either exact names or `*.domain`
+ * wildcards. When empty, headers are propagated to every host.
  */
-class TracingInterceptor(
+class TracingInterceptor @JvmOverloads constructor(
     private val instrumenter: Instrumenter<Interceptor.Chain, Response>,
-    private val propagators: ContextPropagators
+    propagators: ContextPropagators,
+    propagationHosts: Collection<String> = emptyList()
 ) : Interceptor {
 
+    private val contextInjector = TraceContextInjector(propagators, propagationHosts)
+
     @Throws(IOException::class)
     override fun intercept(chain: Interceptor.Chain): Response {
         var request = chain.request()
         val parentContext = Context.current()
 
-        if (!instrumenter.shouldStart(parentContext, chain)) {
+        if (WebSocketTelemetry.isTracedHandshake(request) || !instrumenter.shouldStart(parentContext, chain)) {
             return chain.proceed(chain.request())
         }
 
         val context = instrumenter.start(parentContext, chain)
-        request = injectContextToRequest(request, context)
+        request = contextInjector.inject(request, context)
 
         val response = try {
             context.makeCurrent().use {
@@ -56,13 +61,4 @@ class TracingInterceptor(
         instrumenter.end(context, chain, response, null)
         return response
     }
-
-    // Context injection is handled manually because OkHttp Request is immutable.
-    private fun injectContextToRequest(request: Request, context: Context): Request {
-        val requestBuilder = request.newBuilder()
-        propagators
-            .getTextMapPropagator()
-            .inject(context, requestBuilder, RequestHeaderSetter.INSTANCE)
-        return requestBuilder.build()
-    }
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.okhttp3.common.internal
+
+import okhttp3.WebSocket
+import okio.ByteString
+import okio.utf8Size
+
+/**
+ * Counts outgoing messages of the [delegate] WebSocket into the [connection] telemetry.
+ */
+internal class TracingWebSocket(
+    private val delegate: WebSocket,
+    private val connection: WebSocketConnection
+) : WebSocket by delegate {
+
+    override fun send(text: String): Boolean {
+        val enqueued = delegate.send(text)
+        if (enqueued) {
+            connection.onMessageSent(text.utf8Size())
+        }
+        return enqueued
+    }
+
+    override fun send(bytes: ByteString): Boolean {
+        val enqueued = delegate.send(bytes)
+        if (enqueued) {
+            connection.onMessageSent(bytes.size.toLong())
+        }
+        return enqueued
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.okhttp3.common.internal
+
+import okhttp3.Response
+import okhttp3.WebSocket
+import okhttp3.WebSocketListener
+import okio.ByteString
+import okio.utf8Size
+
+/**
+ * Forwards WebSocket events to the application listener while updating the [connection] telemetry.
+ */
+internal class TracingWebSocketListener(
+    private val delegate: WebSocketListener,
+    private val connection: WebSocketConnection
+) : WebSocketListener() {
+
+    override fun onOpen(webSocket: WebSocket, response: Response) {
+        connection.onOpen(response)
+        delegate.onOpen(connection.traced(webSocket), response)
+    }
+
+    override fun onMessage(webSocket: WebSocket, text: String) {
+        connection.onMessageReceived(text.utf8Size())
+        deliver { delegate.onMessage(connection.traced(webSocket), text) }
+    }
+
+    override fun onMessage(webSocket: WebSocket, bytes: ByteString) {
+        connection.onMessageReceived(bytes.size.toLong())
+        deliver { delegate.onMessage(connection.traced(webSocket), bytes) }
+    }
+
+    override fun onClosing(webSocket: WebSocket, code: Int, reason: String) {
+        delegate.onClosing(connection.traced(webSocket), code, reason)
+    }
+
+    override fun onClosed(webSocket: WebSocket, code: Int, reason: String) {
+        connection.onClosed(code)
+        delegate.onClosed(connection.traced(webSocket), code, reason)
+    }
+
+    override fun onFailure(webSocket: WebSocket, t: Throwable, response: Response?) {
+        connection.onFailure(t, response)
+        delegate.onFailure(connection.traced(webSocket), t, response)
+    }
+
+    private inline fun deliver(block: () -> Unit) {
+        if (!connection.shouldSampleMessageLatency()) {
+            block()
+            return
+        }
+
+        val start = System.nanoTime()
+        try {
+            block()
+        } finally {
+            connection.recordMessageLatency(System.nanoTime() - start)
+        }
+    }
+}
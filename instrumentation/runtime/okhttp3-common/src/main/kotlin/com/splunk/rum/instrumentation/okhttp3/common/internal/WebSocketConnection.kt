@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.okhttp3.common.internal
+
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import com.splunk.rum.agent.common.otel.metrics.LatencyHistogram
+import io.opentelemetry.api.common.AttributeKey
+import io.opentelemetry.api.trace.Span
+import io.opentelemetry.api.trace.StatusCode
+import io.opentelemetry.api.trace.Tracer
+import io.opentelemetry.context.Context
+import io.opentelemetry.semconv.HttpAttributes
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicLong
+import okhttp3.Request
+import okhttp3.Response
+import okhttp3.WebSocket
+import okhttp3.WebSocketListener
+
+/**
+ * Telemetry state of a single WebSocket, shared by its [TracingWebSocketListener] and
+ * [TracingWebSocket].
+ *
+ * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+ * any time.
+ *
+ * @property request the handshake request with trace context propagation headers added.
+ */
+class WebSocketConnection internal constructor(
+    private val tracer: Tracer,
+    private val connectSpan: Span,
+    val request: Request,
+    private val messageLatencySampleRate: Double
+) {
+
+    private val sentMessages = AtomicLong()
+    private val sentBytes = AtomicLong()
+    private val receivedMessages = AtomicLong()
+    private val receivedBytes = AtomicLong()
+
+    private val isConnectSpanEnded = AtomicBoolean()
+    private val isReported = AtomicBoolean()
+
+    @Volatile
+    private var openTimestamp = 0L
+
+    @Volatile
+    private var tracingWebSocket: WebSocket? = null
+
+    // Guarded by itself; only sampled messages are recorded so contention is low.
+    private val messageLatencyHistogram = LatencyHistogram()
+
+    fun wrap(listener: WebSocketListener): WebSocketListener = TracingWebSocketListener(listener, this)
+
+    fun wrap(webSocket: WebSocket): WebSocket = TracingWebSocket(webSocket, this).also { tracingWebSocket = it }
+
+    /**
+     * Ends the handshake span when opening the WebSocket failed synchronously.
+     */
+    fun onConnectFailed(error: Throwable) {
+        onFailure(error, null)
+    }
+
+    /**
+     * Returns the traced wrapper of [webSocket] so that messages sent from listener callbacks are counted too.
+     */
+    internal fun traced(webSocket: WebSocket): WebSocket = tracingWebSocket ?: webSocket
+
+    internal fun onOpen(response: Response) {
+        openTimestamp = System.currentTimeMillis()
+        if (isConnectSpanEnded.compareAndSet(false, true)) {
+            connectSpan
+                .setAttribute(HttpAttributes.HTTP_RESPONSE_STATUS_CODE, response.code.toLong())
+                .end()
+        }
+    }
+
+    internal fun onMessageSent(bytes: Long) {
+        sentMessages.incrementAndGet()
+        sentBytes.addAndGet(bytes)
+    }
+
+    internal fun onMessageReceived(bytes: Long) {
+        receivedMessages.incrementAndGet()
+        receivedBytes.addAndGet(bytes)
+    }
+
+    internal fun shouldSampleMessageLatency(): Boolean =
+        messageLatencySampleRate >= 1.0 ||
+            (messageLatencySampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < messageLatencySampleRate)
+
+    internal fun recordMessageLatency(nanos: Long) {
+        val micros = TimeUnit.NANOSECONDS.toMicros(nanos)
+        synchronized(messageLatencyHistogram) {
+            messageLatencyHistogram.record(micros)
+        }
+    }
+
+    internal fun onClosed(code: Int) {
+        report(code, null)
+    }
+
+    internal fun onFailure(error: Throwable, response: Response?) {
+        if (isConnectSpanEnded.compareAndSet(false, true)) {
+            response?.let { connectSpan.setAttribute(HttpAttributes.HTTP_RESPONSE_STATUS_CODE, it.code.toLong()) }
+            connectSpan
+                .recordException(error)
+                .setStatus(StatusCode.ERROR)
+                .end()
+        }
+        report(null, error)
+    }
+
+    private fun report(closeCode: Int?, error: Throwable?) {
+        // Summaries are reported once and only for connections that were actually open.
+        val openTimestamp = openTimestamp
+        if (openTimestamp == 0L || !isReported.compareAndSet(false, true)) {
+            return
+        }
+
+        val span = tracer.spanBuilder(SUMMARY_SPAN_NAME)
+            .setParent(Context.root().with(connectSpan))
+            .setStartTimestamp(openTimestamp, TimeUnit.MILLISECONDS)
+            .setAttribute(GlobalRumConstants.COMPONENT_KEY, GlobalRumConstants.COMPONENT_HTTP)
+            .setAttribute(MESSAGES_SENT_KEY, sentMessages.get())
+            .setAttribute(MESSAGES_RECEIVED_KEY, receivedMessages.get())
+            .setAttribute(BYTES_SENT_KEY, sentBytes.get())
+            .setAttribute(BYTES_RECEIVED_KEY, receivedBytes.get())
+            .startSpan()
+
+        synchronized(messageLatencyHistogram) {
+            if (messageLatencyHistogram.count > 0) {
+                span.setAttribute(MESSAGE_LATENCY_COUNT_KEY, messageLatencyHistogram.count)
+                    .setAttribute(MESSAGE_LATENCY_P50_KEY, messageLatencyHistogram.valueAtPercentile(50.0))
+                    .setAttribute(MESSAGE_LATENCY_P90_KEY, messageLatencyHistogram.valueAtPercentile(90.0))
+                    .setAttribute(MESSAGE_LATENCY_P99_KEY, messageLatencyHistogram.valueAtPercentile(99.0))
+                    .setAttribute(MESSAGE_LATENCY_MAX_KEY, messageLatencyHistogram.max)
+            }
+        }
+
+        closeCode?.let { span.setAttribute(CLOSE_CODE_KEY, it.toLong()) }
+        error?.let { span.recordException(it).setStatus(StatusCode.ERROR) }
+
+        span.end()
+    }
+
+    companion object {
+        const val CONNECT_SPAN_NAME = "WebSocket connect"
+        const val SUMMARY_SPAN_NAME = "WebSocket"
+
+        val MESSAGES_SENT_KEY: AttributeKey<Long> = AttributeKey.longKey("websocket.messages.sent")
+        val MESSAGES_RECEIVED_KEY: AttributeKey<Long> = AttributeKey.longKey("websocket.messages.received")
+        val BYTES_SENT_KEY: AttributeKey<Long> = AttributeKey.longKey("websocket.bytes.sent")
+        val BYTES_RECEIVED_KEY: AttributeKey<Long> = AttributeKey.longKey("websocket.bytes.received")
+        val CLOSE_CODE_KEY: AttributeKey<Long> = AttributeKey.longKey("websocket.close.code")
+
+        /**
+         * Time the application listener spent handling sampled received messages, in microseconds.
+         */
+        val MESSAGE_LATENCY_COUNT_KEY: AttributeKey<Long> = AttributeKey.longKey("websocket.message.latency.count")
+        val MESSAGE_LATENCY_P50_KEY: AttributeKey<Long> = AttributeKey.longKey("websocket.message.latency.p50")
+        val MESSAGE_LATENCY_P90_KEY: AttributeKey<Long> = AttributeKey.longKey("websocket.message.latency.p90")
+        val MESSAGE_LATENCY_P99_KEY: AttributeKey<Long> = AttributeKey.longKey("websocket.message.latency.p99")
+        val MESSAGE_LATENCY_MAX_KEY: AttributeKey<Long> = AttributeKey.longKey("websocket.message.latency.max")
+    }
+}
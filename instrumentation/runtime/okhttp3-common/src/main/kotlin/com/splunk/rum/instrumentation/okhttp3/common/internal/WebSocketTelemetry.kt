@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.okhttp3.common.internal
+
+import com.splunk.rum.agent.common.otel.http.route.HttpRouteNormalizer
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import io.opentelemetry.api.trace.SpanKind
+import io.opentelemetry.api.trace.Tracer
+import io.opentelemetry.context.Context
+import io.opentelemetry.context.propagation.ContextPropagators
+import io.opentelemetry.semconv.ServerAttributes
+import io.opentelemetry.semconv.UrlAttributes
+import okhttp3.Request
+
+/**
+ * Creates a [WebSocketConnection] for every WebSocket opened through an instrumented OkHttpClient.
+ *
+ * Each connection reports a handshake span and, once closed, a single summary span with its message
+ * counters. Individual messages never produce spans; instead, the time the application listener spends
+ * handling a received message is recorded into a histogram for a [messageLatencySampleRate] fraction
+ * of messages. The handshake request carries the trace context only when sent to one of the
+ * [propagationHosts], or to any host when they are empty.
+ *
+ * The handshake request is tagged so that the HTTP interceptors, which OkHttp also runs for the upgrade
+ * request, leave it to the handshake span instead of tracing it a second time.
+ *
+ * This class is internal and is hence not for public use. Its APIs are unstable and can change at
+ * any time.
+ */
+class WebSocketTelemetry(
+    private val tracer: Tracer,
+    propagators: ContextPropagators,
+    private val routeNormalizer: HttpRouteNormalizer,
+    private val messageLatencySampleRate: Double,
+    propagationHosts: Collection<String>
+) {
+
+    private val contextInjector = TraceContextInjector(propagators, propagationHosts)
+
+    fun startConnection(request: Request): WebSocketConnection {
+        val parentContext = Context.current()
+        val connectSpan = tracer.spanBuilder(WebSocketConnection.CONNECT_SPAN_NAME)
+            .setParent(parentContext)
+            .setSpanKind(SpanKind.CLIENT)
+            .setAttribute(GlobalRumConstants.COMPONENT_KEY, GlobalRumConstants.COMPONENT_HTTP)
+            .setAttribute(ServerAttributes.SERVER_ADDRESS, request.url.host)
+            .setAttribute(UrlAttributes.URL_SCHEME, request.url.scheme)
+            .setAttribute(GlobalRumConstants.URL_TEMPLATE_KEY, routeNormalizer.normalize(request.url.encodedPath))
+            .startSpan()
+
+        val handshakeRequest = contextInjector.inject(
+            request.newBuilder().tag(HandshakeTag::class.java, HandshakeTag).build(),
+            parentContext.with(connectSpan)
+        )
+
+        return WebSocketConnection(tracer, connectSpan, handshakeRequest, messageLatencySampleRate)
+    }
+
+    private object HandshakeTag
+
+    companion object {
+
+        /**
+         * Whether [request] is the handshake of a traced WebSocket, whose span is owned by its
+         * [WebSocketConnection].
+         */
+        @JvmStatic
+        fun isTracedHandshake(request: Request): Boolean = request.tag(HandshakeTag::class.java) != null
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.okhttp3.common.internal
+
+import io.opentelemetry.api.baggage.Baggage
+import io.opentelemetry.api.baggage.propagation.W3CBaggagePropagator
+import io.opentelemetry.api.trace.Span
+import io.opentelemetry.api.trace.SpanContext
+import io.opentelemetry.api.trace.TraceFlags
+import io.opentelemetry.api.trace.TraceState
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator
+import io.opentelemetry.context.Context
+import io.opentelemetry.context.propagation.ContextPropagators
+import io.opentelemetry.context.propagation.TextMapPropagator
+import okhttp3.Request
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Test
+
+class TraceContextInjectorTest {
+
+    private val propagators = ContextPropagators.create(
+        TextMapPropagator.composite(W3CTraceContextPropagator.getInstance(), W3CBaggagePropagator.getInstance())
+    )
+
+    private val context = Context.root().with(
+        Span.wrap(SpanContext.create(TRACE_ID, SPAN_ID, TraceFlags.getSampled(), TraceState.getDefault()))
+    )
+
+    @Test
+    fun `every host receives the context without an allowlist`() {
+        val injector = TraceContextInjector(propagators)
+
+        assertEquals(TRACEPARENT, injector.inject(request("api.example.com"), context).traceparent)
+        assertEquals(TRACEPARENT, injector.inject(request("cdn.other.org"), context).traceparent)
+    }
+
+    @Test
+    fun `exact host in the allowlist receives the context`() {
+        val injector = TraceContextInjector(propagators, listOf("api.example.com"))
+
+        assertEquals(TRACEPARENT, injector.inject(request("api.example.com"), context).traceparent)
+    }
+
+    @Test
+    fun `allowlist is case insensitive`() {
+        val injector = TraceContextInjector(propagators, listOf("API.Example.com"))
+
+        assertEquals(TRACEPARENT, injector.inject(request("api.example.com"), context).traceparent)
+    }
+
+    @Test
+    fun `wildcard matches subdomains only`() {
+        val injector = TraceContextInjector(propagators, listOf("*.example.com"))
+
+        assertEquals(TRACEPARENT, injector.inject(request("api.example.com"), context).traceparent)
+        assertEquals(TRACEPARENT, injector.inject(request("eu.api.example.com"), context).traceparent)
+        assertNull(injector.inject(request("example.com"), context).traceparent)
+        assertNull(injector.inject(request("notexample.com"), context).traceparent)
+    }
+
+    @Test
+    fun `host outside the allowlist is skipped without rebuilding the request`() {
+        val injector = TraceContextInjector(propagators, listOf("api.example.com", "*.internal.example.com"))
+        val request = request("tracker.thirdparty.com")
+
+        assertSame(request, injector.inject(request, context))
+    }
+
+    @Test
+    fun `host outside the allowlist is skipped with baggage`() {
+        val injector = TraceContextInjector(propagators, listOf("api.example.com"))
+        val contextWithBaggage = context.with(Baggage.builder().put("user", "42").build())
+        val request = request("tracker.thirdparty.com")
+
+        assertSame(request, injector.inject(request, contextWithBaggage))
+    }
+
+    @Test
+    fun `trace state and baggage are propagated through the propagators`() {
+        val injector = TraceContextInjector(propagators)
+        val spanContext = SpanContext.create(
+            TRACE_ID,
+            SPAN_ID,
+            TraceFlags.getSampled(),
+            TraceState.builder().put("vendor", "value").build()
+        )
+        val richContext = Context.root()
+            .with(Span.wrap(spanContext))
+            .with(Baggage.builder().put("user", "42").build())
+
+        val injected = injector.inject(request("api.example.com"), richContext)
+
+        assertEquals(TRACEPARENT, injected.traceparent)
+        assertEquals("vendor=value", injected.header("tracestate"))
+        assertEquals("user=42", injected.header("baggage"))
+    }
+
+    @Test
+    fun `invalid span context is not propagated`() {
+        val injector = TraceContextInjector(propagators)
+        val request = request("api.example.com")
+
+        assertSame(request, injector.inject(request, Context.root()))
+    }
+
+    private fun request(host: String): Request = Request.Builder().url("https://$host/path").build()
+
+    private val Request.traceparent: String?
+        get() = header(TraceparentFormatter.TRACEPARENT_HEADER)
+
+    private companion object {
+        const val TRACE_ID = "0af7651916cd43dd8448eb211c80319c"
+        const val SPAN_ID = "b7ad6b7169203331"
+        const val TRACEPARENT = "00-$TRACE_ID-$SPAN_ID-01"
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.okhttp3.common.internal
+
+import io.opentelemetry.api.trace.Span
+import io.opentelemetry.api.trace.SpanContext
+import io.opentelemetry.api.trace.TraceFlags
+import io.opentelemetry.api.trace.TraceState
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator
+import io.opentelemetry.context.Context
+import io.opentelemetry.context.propagation.TextMapSetter
+import java.util.Random
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class TraceparentFormatterTest {
+
+    @Test
+    fun `formatted header matches the W3C propagator`() {
+        val random = Random(RANDOM_SEED)
+        repeat(100) { iteration ->
+            val spanContext = SpanContext.create(
+                String.format("%016x%016x", random.nextLong(), random.nextLong()),
+                String.format("%016x", random.nextLong()),
+                if (iteration % 2 == 0) TraceFlags.getSampled() else TraceFlags.getDefault(),
+                TraceState.getDefault()
+            )
+
+            assertEquals(propagatedTraceparent(spanContext), TraceparentFormatter.format(spanContext))
+        }
+    }
+
+    @Test
+    fun `formatted header matches the W3C propagator for extreme ids`() {
+        val ids = listOf(
+            Triple("00000000000000000000000000000001", "0000000000000001", TraceFlags.getDefault()),
+            Triple("ffffffffffffffffffffffffffffffff", "ffffffffffffffff", TraceFlags.getSampled()),
+            Triple("0af7651916cd43dd8448eb211c80319c", "b7ad6b7169203331", TraceFlags.fromByte(0x7f))
+        )
+
+        for ((traceId, spanId, traceFlags) in ids) {
+            val spanContext = SpanContext.create(traceId, spanId, traceFlags, TraceState.getDefault())
+            assertEquals(propagatedTraceparent(spanContext), TraceparentFormatter.format(spanContext))
+        }
+    }
+
+    private fun propagatedTraceparent(spanContext: SpanContext): String {
+        val headers = mutableMapOf<String, String>()
+        W3CTraceContextPropagator.getInstance().inject(
+            Context.root().with(Span.wrap(spanContext)),
+            headers,
+            TextMapSetter<MutableMap<String, String>> { carrier, key, value -> carrier!![key] = value }
+        )
+        return headers.getValue(TraceparentFormatter.TRACEPARENT_HEADER)
+    }
+
+    private companion object {
+        const val RANDOM_SEED = 42L
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.okhttp3.common.internal
+
+import com.splunk.rum.agent.common.otel.http.route.HttpRouteNormalizer
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator
+import io.opentelemetry.context.propagation.ContextPropagators
+import io.opentelemetry.sdk.OpenTelemetrySdk
+import io.opentelemetry.sdk.common.CompletableResultCode
+import io.opentelemetry.sdk.trace.SdkTracerProvider
+import io.opentelemetry.sdk.trace.data.SpanData
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor
+import io.opentelemetry.sdk.trace.export.SpanExporter
+import java.io.IOException
+import java.util.Collections
+import okhttp3.Interceptor
+import okhttp3.OkHttpClient
+import okhttp3.Protocol
+import okhttp3.Request
+import okhttp3.Response
+import okhttp3.ResponseBody.Companion.toResponseBody
+import okhttp3.WebSocket
+import okhttp3.WebSocketListener
+import okio.ByteString
+import okio.ByteString.Companion.encodeUtf8
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+
+class WebSocketTelemetryTest {
+
+    private val exportedSpans: MutableList<SpanData> = Collections.synchronizedList(mutableListOf())
+
+    private val collectingExporter = object : SpanExporter {
+        override fun export(spans: MutableCollection<SpanData>): CompletableResultCode {
+            exportedSpans.addAll(spans)
+            return CompletableResultCode.ofSuccess()
+        }
+
+        override fun flush() = CompletableResultCode.ofSuccess()
+        override fun shutdown() = CompletableResultCode.ofSuccess()
+    }
+
+    private lateinit var openTelemetry: OpenTelemetrySdk
+    private lateinit var telemetry: WebSocketTelemetry
+
+    @Before
+    fun setUp() {
+        exportedSpans.clear()
+        openTelemetry = OpenTelemetrySdk.builder()
+            .setTracerProvider(
+                SdkTracerProvider.builder()
+                    .addSpanProcessor(SimpleSpanProcessor.create(collectingExporter))
+                    .build()
+            )
+            .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+            .build()
+        telemetry = OkHttpClientInstrumenterBuilderFactory.createWebSocketTelemetry(
+            openTelemetry,
+            HttpRouteNormalizer(),
+            1.0
+        )
+    }
+
+    @After
+    fun tearDown() {
+        openTelemetry.close()
+    }
+
+    @Test
+    fun `upgrade request is traced by the handshake span only`() {
+        val connection = telemetry.startConnection(Request.Builder().url(URL).build())
+        val upgradeRequest = upgradeRequestOf(connection)
+
+        val sentRequest = execute(upgradeRequest, connectionErrorInterceptor(), tracingInterceptor())
+        connection.wrap(object : WebSocketListener() {}).onOpen(FakeWebSocket(upgradeRequest), response(sentRequest))
+
+        assertEquals(1, exportedSpans.size)
+        val connectSpan = exportedSpans.single()
+        assertEquals(WebSocketConnection.CONNECT_SPAN_NAME, connectSpan.name)
+        assertEquals(
+            "00-${connectSpan.traceId}-${connectSpan.spanId}-01",
+            sentRequest.header(TraceparentFormatter.TRACEPARENT_HEADER)
+        )
+    }
+
+    @Test
+    fun `handshake to a host outside the propagation hosts carries no trace context`() {
+        val telemetry = OkHttpClientInstrumenterBuilderFactory.createWebSocketTelemetry(
+            openTelemetry,
+            HttpRouteNormalizer(),
+            1.0,
+            listOf("api.example.org")
+        )
+
+        val connection = telemetry.startConnection(Request.Builder().url(URL).build())
+
+        assertTrue(WebSocketTelemetry.isTracedHandshake(connection.request))
+        assertNull(connection.request.header(TraceparentFormatter.TRACEPARENT_HEADER))
+    }
+
+    @Test
+    fun `failed upgrade request reports the handshake span only`() {
+        val connection = telemetry.startConnection(Request.Builder().url(URL).build())
+        val error = IOException("refused")
+
+        try {
+            execute(upgradeRequestOf(connection), connectionErrorInterceptor(), tracingInterceptor(), error = error)
+        } catch (e: IOException) {
+            connection.onConnectFailed(e)
+        }
+
+        assertEquals(1, exportedSpans.size)
+        assertEquals(WebSocketConnection.CONNECT_SPAN_NAME, exportedSpans.single().name)
+    }
+
+    @Test
+    fun `regular requests are still traced`() {
+        val sentRequest = execute(Request.Builder().url(URL).build(), tracingInterceptor())
+
+        assertEquals(1, exportedSpans.size)
+        val span = exportedSpans.single()
+        assertEquals(
+            "00-${span.traceId}-${span.spanId}-01",
+            sentRequest.header(TraceparentFormatter.TRACEPARENT_HEADER)
+        )
+    }
+
+    @Test
+    fun `messages and close are summarized into one span`() {
+        val connection = telemetry.startConnection(Request.Builder().url(URL).build())
+        val delegate = RecordingListener()
+        val listener = connection.wrap(delegate)
+        val webSocket = connection.wrap(FakeWebSocket(connection.request))
+
+        listener.onOpen(webSocket, response(connection.request))
+        webSocket.send("hi")
+        webSocket.send("hey".encodeUtf8())
+        listener.onMessage(webSocket, "hello")
+        listener.onClosing(webSocket, 1000, "bye")
+        listener.onClosed(webSocket, 1000, "bye")
+
+        assertEquals(listOf("open", "message hello", "closing 1000", "closed 1000"), delegate.events)
+        assertTrue(delegate.webSockets.all { it === webSocket })
+
+        assertEquals(2, exportedSpans.size)
+        val connectSpan = exportedSpans.single { it.name == WebSocketConnection.CONNECT_SPAN_NAME }
+        val summary = exportedSpans.single { it.name == WebSocketConnection.SUMMARY_SPAN_NAME }
+        assertEquals(connectSpan.spanId, summary.parentSpanId)
+        assertEquals(2L, summary.attributes.get(WebSocketConnection.MESSAGES_SENT_KEY))
+        assertEquals(5L, summary.attributes.get(WebSocketConnection.BYTES_SENT_KEY))
+        assertEquals(1L, summary.attributes.get(WebSocketConnection.MESSAGES_RECEIVED_KEY))
+        assertEquals(5L, summary.attributes.get(WebSocketConnection.BYTES_RECEIVED_KEY))
+        assertEquals(1L, summary.attributes.get(WebSocketConnection.MESSAGE_LATENCY_COUNT_KEY))
+        assertEquals(1000L, summary.attributes.get(WebSocketConnection.CLOSE_CODE_KEY))
+    }
+
+    @Test
+    fun `failure before open reports no summary`() {
+        val connection = telemetry.startConnection(Request.Builder().url(URL).build())
+        val listener = connection.wrap(RecordingListener())
+
+        listener.onFailure(FakeWebSocket(connection.request), IOException("refused"), null)
+        listener.onClosed(FakeWebSocket(connection.request), 1006, "")
+
+        assertEquals(1, exportedSpans.size)
+        val connectSpan = exportedSpans.single()
+        assertEquals(WebSocketConnection.CONNECT_SPAN_NAME, connectSpan.name)
+        assertEquals(1, connectSpan.events.size)
+        assertNull(connectSpan.attributes.get(WebSocketConnection.CLOSE_CODE_KEY))
+    }
+
+    @Test
+    fun `traced webSocket is handed to the application listener`() {
+        val connection = telemetry.startConnection(Request.Builder().url(URL).build())
+        val delegate = RecordingListener()
+        val listener = connection.wrap(delegate)
+        val rawWebSocket = FakeWebSocket(connection.request)
+        val webSocket = connection.wrap(rawWebSocket)
+
+        listener.onOpen(rawWebSocket, response(connection.request))
+
+        assertSame(webSocket, delegate.webSockets.single())
+    }
+
+    private fun tracingInterceptor(): Interceptor = TracingInterceptor(
+        OkHttpClientInstrumenterBuilderFactory.create(openTelemetry).build(),
+        openTelemetry.propagators
+    )
+
+    private fun connectionErrorInterceptor(): Interceptor =
+        ConnectionErrorSpanInterceptor(OkHttpClientInstrumenterBuilderFactory.create(openTelemetry).build())
+
+    /**
+     * Runs [request] through [interceptors] and returns the request that reached the server, answered
+     * without any network access.
+     */
+    private fun execute(request: Request, vararg interceptors: Interceptor, error: IOException? = null): Request {
+        var sentRequest: Request? = null
+        val client = OkHttpClient.Builder()
+            .apply { interceptors.forEach { addInterceptor(it) } }
+            .addInterceptor { chain ->
+                sentRequest = chain.request()
+                if (error != null) {
+                    throw error
+                }
+                response(chain.request()).newBuilder().body("".toResponseBody()).build()
+            }
+            .build()
+
+        client.newCall(request).execute().close()
+        return sentRequest!!
+    }
+
+    // Mirrors the request OkHttp derives from the traced handshake request when opening the WebSocket.
+    private fun upgradeRequestOf(connection: WebSocketConnection): Request =
+        connection.request.newBuilder()
+            .header("Upgrade", "websocket")
+            .header("Connection", "Upgrade")
+            .build()
+
+    private fun response(request: Request): Response =
+        Response.Builder()
+            .request(request)
+            .protocol(Protocol.HTTP_1_1)
+            .code(101)
+            .message("Switching Protocols")
+            .build()
+
+    private class FakeWebSocket(private val request: Request) : WebSocket {
+        override fun request(): Request = request
+        override fun queueSize(): Long = 0
+        override fun send(text: String): Boolean = true
+        override fun send(bytes: ByteString): Boolean = true
+        override fun close(code: Int, reason: String?): Boolean = true
+        override fun cancel() = Unit
+    }
+
+    private class RecordingListener : WebSocketListener() {
+        val events = mutableListOf<String>()
+        val webSockets = mutableListOf<WebSocket>()
+
+        override fun onOpen(webSocket: WebSocket, response: Response) {
+            record(webSocket, "open")
+        }
+
+        override fun onMessage(webSocket: WebSocket, text: String) {
+            record(webSocket, "message $text")
+        }
+
+        override fun onClosing(webSocket: WebSocket, code: Int, reason: String) {
+            record(webSocket, "closing $code")
+        }
+
+        override fun onClosed(webSocket: WebSocket, code: Int, reason: String) {
+            record(webSocket, "closed $code")
+        }
+
+        private fun record(webSocket: WebSocket, event: String) {
+            webSockets += webSocket
+            events += event
+        }
+    }
+
+    private companion object {
+        private const val URL = "https://example.com/socket"
+    }
+}
@@ -21,6 +21,7 @@ import com.splunk.rum.instrumentation.okhttp3.common.internal.TracingInterceptor
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.context.propagation.ContextPropagators;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import java.util.List;
 import okhttp3.Call;
 import okhttp3.Callback;
 import okhttp3.Interceptor;
@@ -31,6 +32,7 @@ import okhttp3.Response;
 public final class OkHttpTelemetry {
   private final Instrumenter<Interceptor.Chain, Response> instrumenter;
   private final ContextPropagators propagators;
+  private final List<String> propagationHosts;
 
   /** Returns a new instance configured with the given {@link OpenTelemetry} instance. */
   public static OkHttpTelemetry create(OpenTelemetry openTelemetry) {
@@ -43,9 +45,12 @@ public final class OkHttpTelemetry {
   }
 
   OkHttpTelemetry(
-      Instrumenter<Interceptor.Chain, Response> instrumenter, ContextPropagators propagators) {
+      Instrumenter<Interceptor.Chain, Response> instrumenter,
+      ContextPropagators propagators,
+      List<String> propagationHosts) {
     this.instrumenter = instrumenter;
     this.propagators = propagators;
+    this.propagationHosts = propagationHosts;
   }
 
   /**
@@ -63,7 +68,9 @@ public final class OkHttpTelemetry {
     // add our interceptors before other interceptors
     builder.interceptors().add(0, new ContextInterceptor());
     builder.interceptors().add(1, new ConnectionErrorSpanInterceptor(instrumenter));
-    builder.networkInterceptors().add(0, new TracingInterceptor(instrumenter, propagators));
+    builder
+        .networkInterceptors()
+        .add(0, new TracingInterceptor(instrumenter, propagators, propagationHosts));
     OkHttpClient tracingClient = builder.build();
     return new TracingCallFactory(tracingClient);
   }
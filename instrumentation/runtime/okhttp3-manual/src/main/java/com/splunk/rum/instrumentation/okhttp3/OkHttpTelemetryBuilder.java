@@ -23,7 +23,10 @@ import io.opentelemetry.instrumentation.api.incubator.builder.internal.DefaultHt
 import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
 import io.opentelemetry.instrumentation.api.instrumenter.SpanNameExtractor;
 import io.opentelemetry.instrumentation.api.semconv.http.HttpClientAttributesExtractorBuilder;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Function;
 import okhttp3.Interceptor;
 import okhttp3.Response;
@@ -38,6 +41,7 @@ public final class OkHttpTelemetryBuilder {
 
   private final DefaultHttpClientInstrumenterBuilder<Interceptor.Chain, Response> builder;
   private final OpenTelemetry openTelemetry;
+  private List<String> propagationHosts = Collections.emptyList();
 
   OkHttpTelemetryBuilder(OpenTelemetry openTelemetry) {
     builder = OkHttpClientInstrumenterBuilderFactory.create(openTelemetry);
@@ -91,6 +95,18 @@ public final class OkHttpTelemetryBuilder {
     return this;
   }
 
+  /**
+   * Configures the hosts that receive trace context propagation headers, either exact host names or
+   * {@code *.domain} wildcards. When empty, which is the default, headers are propagated to every
+   * host.
+   *
+   * @param propagationHosts host names or wildcards to propagate the trace context to.
+   */
+  public OkHttpTelemetryBuilder setPropagationHosts(Collection<String> propagationHosts) {
+    this.propagationHosts = new ArrayList<>(propagationHosts);
+    return this;
+  }
+
   /** Sets custom {@link SpanNameExtractor} via transform function. */
   public OkHttpTelemetryBuilder setSpanNameExtractor(
       Function<SpanNameExtractor<Interceptor.Chain>, SpanNameExtractor<Interceptor.Chain>>
@@ -101,6 +117,6 @@ public final class OkHttpTelemetryBuilder {
 
   /** Returns a new instance with the configured settings. */
   public OkHttpTelemetry build() {
-    return new OkHttpTelemetry(builder.build(), openTelemetry.getPropagators());
+    return new OkHttpTelemetry(builder.build(), openTelemetry.getPropagators(), propagationHosts);
   }
 }
@@ -44,4 +44,13 @@ class OkHttpTelemetryBuilderTest {
             knownMethods
         )
     }
+
+    @Test
+    fun setPropagationHosts_acceptsHostsAndWildcards() {
+        val telemetry = OkHttpTelemetry.builder(OpenTelemetry.noop())
+            .setPropagationHosts(listOf("api.example.com", "*.example.org"))
+            .build()
+
+        assertNotNull(telemetry)
+    }
 }
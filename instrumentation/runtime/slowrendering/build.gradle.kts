@@ -25,6 +25,8 @@ android {
 dependencies {
     implementation(platform(Dependencies.Otel.instrumentationBomAlpha))
 
+    implementation(project(":common:otel"))
+
     implementation(Dependencies.Otel.api)
 
     implementation(Dependencies.Common.logger)
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.instrumentation.slowrendering.internal
+
+import android.view.FrameMetrics
+import com.splunk.rum.agent.common.otel.metrics.LatencyHistogram
+import io.opentelemetry.api.common.AttributeKey
+import java.util.concurrent.TimeUnit
+
+/**
+ * Frame statistics of a single activity for one poll window: a fixed-bucket duration histogram per
+ * rendering phase, in microseconds, plus the slow, frozen and janky frame counters.
+ *
+ * A frame is janky when its total duration exceeds its deadline, and slow when its draw duration
+ * does. The class is not thread safe, callers are expected to guard it.
+ */
+// FrameMetrics needs API 24; SlowRenderingInstrumentation.install() guards on SDK_INT.
+@Suppress("NewApi")
+internal class FrameStats {
+
+    private val histograms = Array(PHASES.size) { LatencyHistogram() }
+
+    var frameCount = 0L
+        private set
+    var jankCount = 0L
+        private set
+    var slowCount = 0L
+        private set
+    var frozenCount = 0L
+        private set
+
+    /**
+     * Records a frame whose draw phase took [drawDurationNs] and which had to be presented within
+     * [deadlineNs].
+     */
+    fun record(frameMetrics: FrameMetrics, drawDurationNs: Long, deadlineNs: Long) {
+        frameCount++
+
+        for (i in PHASES.indices) {
+            val metric = PHASES[i].metric
+            // getMetric() returns -1 for metrics the platform does not know yet, e.g. GPU_DURATION before API 31.
+            val durationNs = when (metric) {
+                FrameMetrics.DRAW_DURATION -> drawDurationNs
+                else -> frameMetrics.getMetric(metric)
+            }
+            if (durationNs >= 0) {
+                histograms[i].record(TimeUnit.NANOSECONDS.toMicros(durationNs))
+            }
+        }
+
+        if (frameMetrics.getMetric(FrameMetrics.TOTAL_DURATION) > deadlineNs) {
+            jankCount++
+        }
+
+        // Round to nearest ms (as FrameMetricsAggregator does).
+        val drawDurationMs = (drawDurationNs + NANOS_PER_MS / 2) / NANOS_PER_MS
+        if (drawDurationMs > FROZEN_THRESHOLD_MS) {
+            frozenCount++
+        } else if (drawDurationNs > deadlineNs) {
+            slowCount++
+        }
+    }
+
+    /** The histogram of the phase at [index] in [PHASES]. */
+    fun histogram(index: Int): LatencyHistogram = histograms[index]
+
+    /** A rendering phase, the [FrameMetrics] metric measuring it and its span attribute keys. */
+    internal class Phase(val metric: Int, name: String) {
+        val p50Key: AttributeKey<Long> = AttributeKey.longKey("frame.$name.p50")
+        val p90Key: AttributeKey<Long> = AttributeKey.longKey("frame.$name.p90")
+        val p99Key: AttributeKey<Long> = AttributeKey.longKey("frame.$name.p99")
+    }
+
+    companion object {
+        const val FROZEN_THRESHOLD_MS = 700L
+
+        private val NANOS_PER_MS = TimeUnit.MILLISECONDS.toNanos(1)
+
+        val PHASES: Array<Phase> = arrayOf(
+            Phase(FrameMetrics.INPUT_HANDLING_DURATION, "input"),
+            Phase(FrameMetrics.ANIMATION_DURATION, "animation"),
+            Phase(FrameMetrics.LAYOUT_MEASURE_DURATION, "layout_measure"),
+            Phase(FrameMetrics.DRAW_DURATION, "draw"),
+            Phase(FrameMetrics.SYNC_DURATION, "sync"),
+            Phase(FrameMetrics.COMMAND_ISSUE_DURATION, "command_issue"),
+            Phase(FrameMetrics.SWAP_BUFFERS_DURATION, "swap_buffers"),
+            Phase(FrameMetrics.GPU_DURATION, "gpu"),
+            Phase(FrameMetrics.TOTAL_DURATION, "total")
+        )
+    }
+}
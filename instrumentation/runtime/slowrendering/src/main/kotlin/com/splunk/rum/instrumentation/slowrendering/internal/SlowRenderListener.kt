@@ -23,10 +23,12 @@ import android.os.Bundle
 import android.os.Handler
 import android.os.HandlerThread
 import android.os.Looper
-import android.util.SparseIntArray
 import android.view.FrameMetrics
 import android.view.Window
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import com.splunk.rum.agent.common.otel.metrics.BoundedAggregationMap
 import com.splunk.rum.common.logger.Logger
+import io.opentelemetry.api.common.AttributeKey
 import io.opentelemetry.api.trace.Tracer
 import java.time.Duration
 import java.time.Instant
@@ -36,8 +38,17 @@ import java.util.concurrent.ScheduledExecutorService
 import java.util.concurrent.TimeUnit
 
 /**
- * Polls each resumed activity's frame render durations on a background [HandlerThread] and reports
- * slow/frozen frame counts as spans, on the [pollInterval] and on pause.
+ * Collects each resumed activity's frame metrics on a background [HandlerThread] and, on the
+ * [pollInterval] and on pause, reports slow/frozen frame counts as spans along with a summary span of
+ * the per phase duration percentiles and the jank ratio.
+ *
+ * Slow and janky frames are measured against the frame deadline: [FrameMetrics.DEADLINE] on API 31
+ * and newer, the display refresh interval before that.
+ *
+ * When a [screenNameProvider] is set, each activity's frames are further split by the screen shown
+ * when they were rendered, so fragments and Compose routes of a single activity app are reported
+ * separately. The screen is resolved as the frame metrics arrive, which is shortly after the frame
+ * was rendered.
  */
 // FrameMetrics needs API 24; install() guards on SDK_INT before creating this listener.
 @Suppress("NewApi")
@@ -45,14 +56,16 @@ internal class SlowRenderListener internal constructor(
     private val tracer: Tracer,
     private val executorService: ScheduledExecutorService,
     private val frameMetricsHandler: Handler,
-    private val pollInterval: Duration
+    private val pollInterval: Duration,
+    private val screenNameProvider: (() -> String)? = null
 ) : Application.ActivityLifecycleCallbacks {
 
-    constructor(tracer: Tracer, pollInterval: Duration) : this(
+    constructor(tracer: Tracer, pollInterval: Duration, screenNameProvider: (() -> String)?) : this(
         tracer,
         Executors.newScheduledThreadPool(1),
         Handler(startFrameMetricsLoop()),
-        pollInterval
+        pollInterval,
+        screenNameProvider
     )
 
     private val activities = ConcurrentHashMap<Activity, PerActivityListener>()
@@ -67,7 +80,7 @@ internal class SlowRenderListener internal constructor(
     }
 
     override fun onActivityResumed(activity: Activity) {
-        val listener = PerActivityListener(activity)
+        val listener = PerActivityListener(activity, refreshIntervalNs(activity), screenNameProvider)
         val existing = activities.putIfAbsent(activity, listener)
         if (existing == null) {
             activity.window.addOnFrameMetricsAvailableListener(listener, frameMetricsHandler)
@@ -93,40 +106,57 @@ internal class SlowRenderListener internal constructor(
     }
 
     private fun reportSlow(listener: PerActivityListener) {
-        var slowCount = 0
-        var frozenCount = 0
-        val durationToCountHistogram = listener.resetMetrics()
-        for (i in 0 until durationToCountHistogram.size()) {
-            val duration = durationToCountHistogram.keyAt(i)
-            val count = durationToCountHistogram.get(duration)
-            when {
-                duration > FROZEN_THRESHOLD_MS -> {
-                    Logger.d(TAG, "* FROZEN RENDER DETECTED: $duration ms. $count times")
-                    frozenCount += count
-                }
-                duration > SLOW_THRESHOLD_MS -> {
-                    Logger.d(TAG, "* Slow render detected: $duration ms. $count times")
-                    slowCount += count
-                }
-            }
-        }
+        val screens = listener.resetMetrics() ?: return
+        val activityName = listener.activityName
 
         val now = Instant.now()
-        if (slowCount > 0) {
-            makeSpan(SLOW_RENDERS_SPAN_NAME, listener.activityName, slowCount, now)
+        for ((screenName, stats) in screens) {
+            if (stats.slowCount > 0) {
+                Logger.d(TAG, "* Slow renders detected on $screenName: ${stats.slowCount} times")
+                makeSpan(SLOW_RENDERS_SPAN_NAME, activityName, screenName, stats.slowCount, now)
+            }
+            if (stats.frozenCount > 0) {
+                Logger.d(TAG, "* FROZEN RENDERS DETECTED on $screenName: ${stats.frozenCount} times")
+                makeSpan(FROZEN_RENDERS_SPAN_NAME, activityName, screenName, stats.frozenCount, now)
+            }
+            makeFrameMetricsSpan(activityName, screenName, stats, now)
         }
-        if (frozenCount > 0) {
-            makeSpan(FROZEN_RENDERS_SPAN_NAME, listener.activityName, frozenCount, now)
+    }
+
+    private fun makeSpan(spanName: String, activityName: String, screenName: String?, count: Long, now: Instant) {
+        val spanBuilder = tracer.spanBuilder(spanName)
+            .setAttribute(COUNT_ATTRIBUTE_KEY, count)
+            .setAttribute(ACTIVITY_NAME_ATTRIBUTE_KEY, activityName)
+            .setStartTimestamp(now)
+        if (screenName != null) {
+            spanBuilder.setAttribute(GlobalRumConstants.SCREEN_NAME_KEY, screenName)
         }
+        spanBuilder.startSpan().end(now)
     }
 
-    private fun makeSpan(spanName: String, activityName: String, count: Int, now: Instant) {
-        val span = tracer.spanBuilder(spanName)
-            .setAttribute(COUNT_ATTRIBUTE_KEY, count.toLong())
+    private fun makeFrameMetricsSpan(activityName: String, screenName: String?, stats: FrameStats, now: Instant) {
+        val spanBuilder = tracer.spanBuilder(FRAME_METRICS_SPAN_NAME)
             .setAttribute(ACTIVITY_NAME_ATTRIBUTE_KEY, activityName)
+            .setAttribute(FRAME_COUNT_KEY, stats.frameCount)
+            .setAttribute(JANK_COUNT_KEY, stats.jankCount)
+            .setAttribute(JANK_RATIO_KEY, stats.jankCount.toDouble() / stats.frameCount)
             .setStartTimestamp(now)
-            .startSpan()
-        span.end(now)
+        if (screenName != null) {
+            spanBuilder.setAttribute(GlobalRumConstants.SCREEN_NAME_KEY, screenName)
+        }
+
+        for (i in FrameStats.PHASES.indices) {
+            val histogram = stats.histogram(i)
+            if (histogram.count == 0L) {
+                continue
+            }
+            val phase = FrameStats.PHASES[i]
+            spanBuilder.setAttribute(phase.p50Key, histogram.valueAtPercentile(50.0))
+            spanBuilder.setAttribute(phase.p90Key, histogram.valueAtPercentile(90.0))
+            spanBuilder.setAttribute(phase.p99Key, histogram.valueAtPercentile(99.0))
+        }
+
+        spanBuilder.startSpan().end(now)
     }
 
     override fun onActivityCreated(activity: Activity, savedInstanceState: Bundle?) = Unit
@@ -140,12 +170,19 @@ internal class SlowRenderListener internal constructor(
     override fun onActivityDestroyed(activity: Activity) = Unit
 
     @Suppress("NewApi")
-    internal class PerActivityListener(private val activity: Activity) : Window.OnFrameMetricsAvailableListener {
+    internal class PerActivityListener(
+        private val activity: Activity,
+        private val refreshIntervalNs: Long,
+        private val screenNameProvider: (() -> String)? = null
+    ) : Window.OnFrameMetricsAvailableListener {
 
         private val lock = Any()
 
-        @Volatile
-        private var drawDurationHistogram = SparseIntArray()
+        // Keyed by screen name, or by null when no screen name provider is set. Consecutive frames
+        // almost always belong to the same screen, the map skips the lookup then.
+        private val screens = BoundedAggregationMap<String?, FrameStats>(MAX_SCREENS, { FrameStats() }) {
+            OVERFLOW_SCREEN_NAME
+        }
 
         val activityName: String
             get() = activity.componentName.flattenToShortString()
@@ -162,45 +199,63 @@ internal class SlowRenderListener internal constructor(
 
             val drawDurationsNs = frameMetrics.getMetric(FrameMetrics.DRAW_DURATION)
             // Ignore negative durations.
-            if (drawDurationsNs >= 0) {
-                synchronized(lock) {
-                    // Round to nearest ms (as FrameMetricsAggregator does).
-                    val durationMs = ((drawDurationsNs + NANOS_ROUNDING_VALUE) / NANOS_PER_MS).toInt()
-                    val oldValue = drawDurationHistogram.get(durationMs)
-                    drawDurationHistogram.put(durationMs, oldValue + 1)
-                }
+            if (drawDurationsNs < 0) {
+                return
             }
-        }
 
-        fun resetMetrics(): SparseIntArray {
+            // DEADLINE reads as -1 before API 31, fall back to the display refresh interval there.
+            val frameDeadlineNs = frameMetrics.getMetric(FrameMetrics.DEADLINE)
+            val deadlineNs = if (frameDeadlineNs > 0) frameDeadlineNs else refreshIntervalNs
+
+            val screenName = screenNameProvider?.invoke()
             synchronized(lock) {
-                val metrics = drawDurationHistogram
-                drawDurationHistogram = SparseIntArray()
-                return metrics
+                screens.entry(screenName).record(frameMetrics, drawDurationsNs, deadlineNs)
             }
         }
 
-        private companion object {
-            private val NANOS_PER_MS = TimeUnit.MILLISECONDS.toNanos(1).toInt()
-
-            // Half a millisecond, for rounding to nearest ms.
-            private val NANOS_ROUNDING_VALUE = NANOS_PER_MS / 2
+        /**
+         * Returns the frames recorded since the previous call by screen name, or `null` if there were
+         * none.
+         */
+        fun resetMetrics(): Map<String?, FrameStats>? {
+            synchronized(lock) {
+                if (screens.isEmpty()) {
+                    return null
+                }
+                return screens.drain()
+            }
         }
     }
 
     companion object {
-        internal const val SLOW_THRESHOLD_MS = 16
-        internal const val FROZEN_THRESHOLD_MS = 700
-
         const val SLOW_RENDERS_SPAN_NAME = "slowRenders"
         const val FROZEN_RENDERS_SPAN_NAME = "frozenRenders"
+        const val FRAME_METRICS_SPAN_NAME = "frameMetrics"
+
+        val FRAME_COUNT_KEY: AttributeKey<Long> = AttributeKey.longKey("frame.count")
+        val JANK_COUNT_KEY: AttributeKey<Long> = AttributeKey.longKey("frame.jank_count")
+        val JANK_RATIO_KEY: AttributeKey<Double> = AttributeKey.doubleKey("frame.jank_ratio")
 
         private const val COUNT_ATTRIBUTE_KEY = "count"
         private const val ACTIVITY_NAME_ATTRIBUTE_KEY = "activity.name"
         private const val TAG = "SlowRendering"
 
+        private const val DEFAULT_REFRESH_RATE = 60f
+
+        /** The screen name frames are reported under once [MAX_SCREENS] screens were seen in a poll. */
+        const val OVERFLOW_SCREEN_NAME = BoundedAggregationMap.OVERFLOW
+        private const val MAX_SCREENS = 20
+
         private val frameMetricsThread = HandlerThread("FrameMetricsCollector")
 
+        /** Returns the frame interval of the display the [activity] is shown on. */
+        private fun refreshIntervalNs(activity: Activity): Long {
+            @Suppress("DEPRECATION")
+            val refreshRate = activity.windowManager?.defaultDisplay?.refreshRate ?: DEFAULT_REFRESH_RATE
+            val rate = if (refreshRate >= 1f) refreshRate else DEFAULT_REFRESH_RATE
+            return (TimeUnit.SECONDS.toNanos(1) / rate).toLong()
+        }
+
         private fun startFrameMetricsLoop(): Looper {
             // Started once; guarded in case of repeat calls.
             if (!frameMetricsThread.isAlive) {
@@ -34,6 +34,7 @@ import java.time.Duration
 class SlowRenderingInstrumentation {
 
     private var slowRenderingDetectionPollInterval: Duration = Duration.ofSeconds(1)
+    private var screenNameProvider: (() -> String)? = null
 
     /** Sets the frame-duration poll rate. Non-positive [interval]s are ignored. Returns `this`. */
     fun setSlowRenderingDetectionPollInterval(interval: Duration): SlowRenderingInstrumentation {
@@ -45,6 +46,15 @@ class SlowRenderingInstrumentation {
         return this
     }
 
+    /**
+     * Sets the provider of the current screen name. When set, frames are aggregated and reported per
+     * screen rather than per activity only. Returns `this`.
+     */
+    fun setScreenNameProvider(provider: () -> String): SlowRenderingInstrumentation {
+        screenNameProvider = provider
+        return this
+    }
+
     /** Registers the frame-metrics listeners and starts polling. No-op below API 24. */
     fun install(application: Application, openTelemetry: OpenTelemetry) {
         if (Build.VERSION.SDK_INT < Build.VERSION_CODES.N) {
@@ -57,7 +67,8 @@ class SlowRenderingInstrumentation {
 
         val detector = SlowRenderListener(
             openTelemetry.getTracer(INSTRUMENTATION_SCOPE_NAME),
-            slowRenderingDetectionPollInterval
+            slowRenderingDetectionPollInterval,
+            screenNameProvider
         )
 
         application.registerActivityLifecycleCallbacks(detector)
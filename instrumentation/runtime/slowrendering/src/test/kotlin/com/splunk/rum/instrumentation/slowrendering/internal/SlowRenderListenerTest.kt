@@ -170,7 +170,7 @@ class SlowRenderListenerTest {
     }
 
     @Test
-    fun `does not emit spans when only fast frames are recorded`() {
+    fun `does not emit slow or frozen spans when only fast frames are recorded`() {
         val listener = newListener()
         val window = mock(Window::class.java)
         val activity = activity(window)
@@ -178,11 +178,120 @@ class SlowRenderListenerTest {
         val perActivityListener = resumeAndCapture(listener, window, activity)
 
         perActivityListener.onFrameMetricsAvailable(window, frame(1), 0)
-        perActivityListener.onFrameMetricsAvailable(window, frame(16), 0) // at threshold, not > 16
+        perActivityListener.onFrameMetricsAvailable(window, frame(16), 0) // within the 60Hz deadline
 
         listener.onActivityPaused(activity)
 
-        assertTrue(exportedSpans.isEmpty())
+        val summary = exportedSpans.single()
+        assertEquals(SlowRenderListener.FRAME_METRICS_SPAN_NAME, summary.name)
+        assertEquals(2L, summary.attributes.get(SlowRenderListener.FRAME_COUNT_KEY))
+        assertEquals(0L, summary.attributes.get(SlowRenderListener.JANK_COUNT_KEY))
+    }
+
+    @Test
+    fun `reports per phase percentiles and the jank ratio`() {
+        val listener = newListener()
+        val window = mock(Window::class.java)
+        val activity = activity(window)
+
+        val perActivityListener = resumeAndCapture(listener, window, activity)
+
+        for (i in 1..9) {
+            perActivityListener.onFrameMetricsAvailable(window, frame(4, totalMs = 10, layoutMs = 2), 0)
+        }
+        perActivityListener.onFrameMetricsAvailable(window, frame(4, totalMs = 40, layoutMs = 30), 0)
+
+        listener.onActivityPaused(activity)
+
+        val summary = exportedSpans.single { it.name == SlowRenderListener.FRAME_METRICS_SPAN_NAME }
+        val attributes = summary.attributes
+        assertEquals(10L, attributes.get(SlowRenderListener.FRAME_COUNT_KEY))
+        assertEquals(1L, attributes.get(SlowRenderListener.JANK_COUNT_KEY))
+        assertEquals(0.1, attributes.get(SlowRenderListener.JANK_RATIO_KEY)!!, 0.0001)
+
+        val p50 = attributes.get(AttributeKey.longKey("frame.total.p50"))!!
+        val p99 = attributes.get(AttributeKey.longKey("frame.total.p99"))!!
+        assertTrue("p50 $p50", p50 in 10_000L..20_000L)
+        assertTrue("p99 $p99", p99 >= 40_000L)
+
+        val layoutP50 = attributes.get(AttributeKey.longKey("frame.layout_measure.p50"))!!
+        assertTrue("layout p50 $layoutP50", layoutP50 in 2_000L..4_000L)
+    }
+
+    @Test
+    fun `measures slow and janky frames against the frame deadline when available`() {
+        val listener = newListener()
+        val window = mock(Window::class.java)
+        val activity = activity(window)
+
+        val perActivityListener = resumeAndCapture(listener, window, activity)
+
+        // 120Hz deadline: a 10ms frame misses it although it would fit the 60Hz fallback.
+        val deadlineNs = TimeUnit.MILLISECONDS.toNanos(8)
+        perActivityListener.onFrameMetricsAvailable(window, frame(10, totalMs = 12, deadlineNs = deadlineNs), 0)
+        perActivityListener.onFrameMetricsAvailable(window, frame(2, totalMs = 6, deadlineNs = deadlineNs), 0)
+
+        listener.onActivityPaused(activity)
+
+        val slow = exportedSpans.single { it.name == SlowRenderListener.SLOW_RENDERS_SPAN_NAME }
+        assertEquals(1L, slow.attributes.get(AttributeKey.longKey("count")))
+
+        val summary = exportedSpans.single { it.name == SlowRenderListener.FRAME_METRICS_SPAN_NAME }
+        assertEquals(1L, summary.attributes.get(SlowRenderListener.JANK_COUNT_KEY))
+        assertEquals(0.5, summary.attributes.get(SlowRenderListener.JANK_RATIO_KEY)!!, 0.0001)
+    }
+
+    @Test
+    fun `splits the frames of an activity by the screen shown when they were rendered`() {
+        var screenName = "Home"
+        val listener = newListener(screenNameProvider = { screenName })
+        val window = mock(Window::class.java)
+        val activity = activity(window)
+
+        val perActivityListener = resumeAndCapture(listener, window, activity)
+
+        perActivityListener.onFrameMetricsAvailable(window, frame(4), 0)
+        perActivityListener.onFrameMetricsAvailable(window, frame(20), 0)
+        screenName = "Details"
+        perActivityListener.onFrameMetricsAvailable(window, frame(4), 0)
+        perActivityListener.onFrameMetricsAvailable(window, frame(4), 0)
+        perActivityListener.onFrameMetricsAvailable(window, frame(4), 0)
+        screenName = "Home"
+        perActivityListener.onFrameMetricsAvailable(window, frame(4), 0)
+
+        listener.onActivityPaused(activity)
+
+        val summaries = exportedSpans.filter { it.name == SlowRenderListener.FRAME_METRICS_SPAN_NAME }
+            .associateBy { it.attributes.get(SCREEN_NAME_KEY) }
+        assertEquals(setOf("Home", "Details"), summaries.keys)
+        assertEquals(3L, summaries.getValue("Home").attributes.get(SlowRenderListener.FRAME_COUNT_KEY))
+        assertEquals(3L, summaries.getValue("Details").attributes.get(SlowRenderListener.FRAME_COUNT_KEY))
+
+        val slow = exportedSpans.single { it.name == SlowRenderListener.SLOW_RENDERS_SPAN_NAME }
+        assertEquals("Home", slow.attributes.get(SCREEN_NAME_KEY))
+    }
+
+    @Test
+    fun `reports frames of screens beyond the limit under the overflow screen name`() {
+        var screenName = ""
+        val listener = newListener(screenNameProvider = { screenName })
+        val window = mock(Window::class.java)
+        val activity = activity(window)
+
+        val perActivityListener = resumeAndCapture(listener, window, activity)
+
+        for (i in 0 until 25) {
+            screenName = "Screen$i"
+            perActivityListener.onFrameMetricsAvailable(window, frame(4), 0)
+        }
+
+        listener.onActivityPaused(activity)
+
+        val summaries = exportedSpans.filter { it.name == SlowRenderListener.FRAME_METRICS_SPAN_NAME }
+            .associateBy { it.attributes.get(SCREEN_NAME_KEY) }
+        assertEquals(21, summaries.size)
+        val overflow = summaries.getValue(SlowRenderListener.OVERFLOW_SCREEN_NAME)
+        assertEquals(5L, overflow.attributes.get(SlowRenderListener.FRAME_COUNT_KEY))
     }
 
     @Test
@@ -202,7 +311,7 @@ class SlowRenderListenerTest {
         val frozen = exportedSpans.single { it.name == SlowRenderListener.FROZEN_RENDERS_SPAN_NAME }
         assertEquals(1L, frozen.attributes.get(AttributeKey.longKey("count")))
 
-        // Histogram resets after reporting: a second poll with no new frames emits nothing.
+        // Stats reset after reporting: a second poll with no new frames emits nothing.
         exportedSpans.clear()
         pollTask.run()
         assertTrue(exportedSpans.isEmpty())
@@ -221,8 +330,10 @@ class SlowRenderListenerTest {
         assertNull(exportedSpans.firstOrNull())
     }
 
-    private fun newListener(pollInterval: Duration = Duration.ofSeconds(1)) =
-        SlowRenderListener(tracer, executor, frameMetricsHandler, pollInterval)
+    private fun newListener(
+        pollInterval: Duration = Duration.ofSeconds(1),
+        screenNameProvider: (() -> String)? = null
+    ) = SlowRenderListener(tracer, executor, frameMetricsHandler, pollInterval, screenNameProvider)
 
     private fun activity(window: Window): Activity {
         val activity = mock(Activity::class.java)
@@ -248,8 +359,20 @@ class SlowRenderListenerTest {
         return captor.value
     }
 
-    private fun frame(durationMs: Long, firstDrawFrame: Long = 0): FrameMetrics =
-        frameWithRawDuration(TimeUnit.MILLISECONDS.toNanos(durationMs), firstDrawFrame)
+    private fun frame(
+        durationMs: Long,
+        firstDrawFrame: Long = 0,
+        totalMs: Long = durationMs,
+        layoutMs: Long = 0,
+        deadlineNs: Long = -1
+    ): FrameMetrics {
+        val frameMetrics = frameWithRawDuration(TimeUnit.MILLISECONDS.toNanos(durationMs), firstDrawFrame)
+        `when`(frameMetrics.getMetric(FrameMetrics.TOTAL_DURATION)).thenReturn(TimeUnit.MILLISECONDS.toNanos(totalMs))
+        `when`(frameMetrics.getMetric(FrameMetrics.LAYOUT_MEASURE_DURATION))
+            .thenReturn(TimeUnit.MILLISECONDS.toNanos(layoutMs))
+        `when`(frameMetrics.getMetric(FrameMetrics.DEADLINE)).thenReturn(deadlineNs)
+        return frameMetrics
+    }
 
     private fun frameWithRawDuration(drawDurationNs: Long, firstDrawFrame: Long = 0): FrameMetrics {
         val frameMetrics = mock(FrameMetrics::class.java)
@@ -261,5 +384,7 @@ class SlowRenderListenerTest {
     private companion object {
         private const val PACKAGE = "com.splunk.rum.sample"
         private const val CLASS = "com.splunk.rum.sample.MainActivity"
+
+        private val SCREEN_NAME_KEY = AttributeKey.stringKey("screen.name")
     }
 }
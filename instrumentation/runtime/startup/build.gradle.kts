@@ -28,4 +28,6 @@ dependencies {
 
     implementation(Dependencies.Common.logger)
     implementation(Dependencies.Common.utils)
+
+    testImplementation(Dependencies.Test.junit)
 }
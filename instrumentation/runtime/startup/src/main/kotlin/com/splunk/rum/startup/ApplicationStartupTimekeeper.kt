@@ -20,13 +20,17 @@ import android.app.Activity
 import android.app.Application
 import android.os.Build
 import android.os.Bundle
+import android.os.Handler
+import android.os.Looper
 import android.os.SystemClock
+import com.splunk.rum.agent.common.utils.extensions.doOnDraw
 import com.splunk.rum.agent.common.utils.extensions.isStartedInForeground
 import com.splunk.rum.common.logger.Logger
 import com.splunk.rum.common.utils.adapters.ActivityLifecycleCallbacksAdapter
 import com.splunk.rum.common.utils.extensions.forEachFast
 import com.splunk.rum.common.utils.extensions.rootView
-import com.splunk.rum.startup.extension.doOnDraw
+import com.splunk.rum.startup.StartupTrace.Mark
+import com.splunk.rum.startup.extension.doOnGlobalLayout
 import com.splunk.rum.startup.util.ProcessInfo
 
 object ApplicationStartupTimekeeper {
@@ -37,8 +41,15 @@ object ApplicationStartupTimekeeper {
 
     var isEnabled = true
 
+    private val mainHandler = Handler(Looper.getMainLooper())
+
+    // Marks of the start in progress, or of the last reported one until the next start begins
+    private val trace = StartupTrace()
+
+    private var isFullyDrawnReported = false
+
     // Cached startup event for when no listeners are registered yet (RN support)
-    private var pendingStartupEvent: Triple<Long, Long, StartType>? = null
+    private var pendingStartupEvent: PendingStartupEvent? = null
 
     private val listenersCache: MutableList<Listener> = arrayListOf()
 
@@ -46,15 +57,9 @@ object ApplicationStartupTimekeeper {
         override fun add(element: Listener): Boolean {
             val result = listenersCache.add(element)
 
-            pendingStartupEvent?.let { (startTs, endTs, type) ->
-                Logger.d(TAG) { "Delivering pending ${type.name} start event to new listener" }
-                val duration = endTs - startTs
-
-                when (type) {
-                    StartType.COLD -> element.onColdStarted(startTs, endTs, duration)
-                    StartType.WARM -> element.onWarmStarted(startTs, endTs, duration)
-                    StartType.HOT -> element.onHotStarted(startTs, endTs, duration)
-                }
+            pendingStartupEvent?.let { event ->
+                Logger.d(TAG) { "Delivering pending ${event.type.name} start event to new listener" }
+                event.deliver(element)
                 pendingStartupEvent = null
             }
 
@@ -62,13 +67,96 @@ object ApplicationStartupTimekeeper {
         }
     }
 
-    private enum class StartType { COLD, WARM, HOT }
+    /** Type of an application start, as reported to [Listener]. */
+    enum class StartType { COLD, WARM, HOT }
+
+    private class PendingStartupEvent(
+        val startTimestamp: Long,
+        val endTimestamp: Long,
+        val type: StartType,
+        val phases: List<StartupPhase>
+    ) {
+        fun deliver(listener: Listener) {
+            listener.onStarted(type, startTimestamp, endTimestamp, endTimestamp - startTimestamp, phases)
+        }
+    }
+
+    private fun Listener.onStarted(
+        type: StartType,
+        startTimestamp: Long,
+        endTimestamp: Long,
+        duration: Long,
+        phases: List<StartupPhase>
+    ) {
+        onStartupPhases(type, phases)
+        when (type) {
+            StartType.COLD -> onColdStarted(startTimestamp, endTimestamp, duration)
+            StartType.WARM -> onWarmStarted(startTimestamp, endTimestamp, duration)
+            StartType.HOT -> onHotStarted(startTimestamp, endTimestamp, duration)
+        }
+    }
 
     internal fun onCreate(application: Application) {
         isColdStartCompleted = !application.isStartedInForeground
+
+        if (!isColdStartCompleted) {
+            trace.reset(ProcessInfo.getStartUptimeMillis())
+            trace.mark(Mark.PROVIDERS_START, SystemClock.uptimeMillis())
+        }
+
         application.registerActivityLifecycleCallbacks(activityLifecycleCallbacks)
     }
 
+    internal fun onContentProvidersCreated() {
+        if (isColdStartCompleted || !trace.isStarted) {
+            return
+        }
+
+        trace.mark(Mark.PROVIDERS_END, SystemClock.uptimeMillis())
+
+        // Bind application message is still being handled, so the front of the queue runs after Application.onCreate
+        mainHandler.postAtFrontOfQueue {
+            if (!isColdStartCompleted) {
+                trace.mark(Mark.APPLICATION_CREATED, SystemClock.uptimeMillis())
+            }
+        }
+    }
+
+    /**
+     * Marks the end of the last reported start, once the application has loaded all the content it needs to display.
+     * The [Listener.onFullyDrawn] is notified at most once per start and only after the first frame has been drawn.
+     *
+     * Can be called from any thread.
+     */
+    fun reportFullyDrawn() {
+        val fullyDrawnUptime = SystemClock.uptimeMillis()
+
+        mainHandler.post {
+            val firstDrawUptime = trace.uptimeOf(Mark.FIRST_DRAW)
+
+            if (!isEnabled || isFullyDrawnReported || firstDrawUptime == StartupTrace.NOT_RECORDED) {
+                Logger.d(TAG) { "reportFullyDrawn() ignored, no start is waiting for it" }
+                return@post
+            }
+
+            isFullyDrawnReported = true
+
+            val offset = System.currentTimeMillis() - SystemClock.uptimeMillis()
+            val phase = StartupPhase(
+                StartupPhase.FULLY_DRAWN,
+                firstDrawUptime + offset,
+                maxOf(firstDrawUptime, fullyDrawnUptime) + offset
+            )
+
+            listenersCache.forEachFast { it.onFullyDrawn(phase) }
+        }
+    }
+
+    private fun onStartBegan(startUptime: Long) {
+        trace.reset(startUptime)
+        isFullyDrawnReported = false
+    }
+
     private val activityLifecycleCallbacks = object : ActivityLifecycleCallbacksAdapter {
 
         private var createdActivityCount = 0
@@ -83,6 +171,9 @@ object ApplicationStartupTimekeeper {
         private var firstActivityStartElapsed = 0L
         private var isHotStartPending = false
 
+        private val isStartPending: Boolean
+            get() = !isColdStartCompleted || isWarmStartPending || isHotStartPending
+
         override fun onActivityPreCreated(activity: Activity, savedInstanceState: Bundle?) {
             if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
                 onActivityPreCreatedCompat()
@@ -92,9 +183,14 @@ object ApplicationStartupTimekeeper {
         override fun onActivityCreated(activity: Activity, savedInstanceState: Bundle?) {
             if (Build.VERSION.SDK_INT < Build.VERSION_CODES.Q) {
                 onActivityPreCreatedCompat()
+                markIfStartPending(Mark.ACTIVITY_CREATED)
             }
         }
 
+        override fun onActivityPostCreated(activity: Activity, savedInstanceState: Bundle?) {
+            markIfStartPending(Mark.ACTIVITY_CREATED)
+        }
+
         private fun onActivityPreCreatedCompat() {
             createdActivityCount++
 
@@ -102,6 +198,12 @@ object ApplicationStartupTimekeeper {
                 firstActivityCreateTimestamp = System.currentTimeMillis()
                 firstActivityCreateElapsed = SystemClock.elapsedRealtime()
                 isWarmStartPending = true
+                onStartBegan(SystemClock.uptimeMillis())
+            }
+
+            // Fallback in case the activity is created before the main looper gets to the posted mark
+            if (!isColdStartCompleted) {
+                markIfStartPending(Mark.APPLICATION_CREATED)
             }
         }
 
@@ -114,9 +216,14 @@ object ApplicationStartupTimekeeper {
         override fun onActivityStarted(activity: Activity) {
             if (Build.VERSION.SDK_INT < Build.VERSION_CODES.Q) {
                 onActivityPreStartedCompat()
+                markIfStartPending(Mark.ACTIVITY_STARTED)
             }
         }
 
+        override fun onActivityPostStarted(activity: Activity) {
+            markIfStartPending(Mark.ACTIVITY_STARTED)
+        }
+
         private fun onActivityPreStartedCompat() {
             startedActivityCount++
 
@@ -124,16 +231,22 @@ object ApplicationStartupTimekeeper {
                 firstActivityStartTimestamp = System.currentTimeMillis()
                 firstActivityStartElapsed = SystemClock.elapsedRealtime()
                 isHotStartPending = true
+                onStartBegan(SystemClock.uptimeMillis())
             }
         }
 
+        override fun onActivityPostResumed(activity: Activity) {
+            markIfStartPending(Mark.ACTIVITY_RESUMED)
+        }
+
         override fun onActivityResumed(activity: Activity) {
             resumedActivityCount++
 
-            if (isEnabled &&
-                resumedActivityCount == 1 &&
-                (!isColdStartCompleted || isHotStartPending || isWarmStartPending)
-            ) {
+            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.Q) {
+                markIfStartPending(Mark.ACTIVITY_RESUMED)
+            }
+
+            if (isEnabled && resumedActivityCount == 1 && isStartPending) {
                 val rootView = activity.rootView
 
                 if (rootView == null) {
@@ -141,6 +254,10 @@ object ApplicationStartupTimekeeper {
                     return
                 }
 
+                rootView.doOnGlobalLayout {
+                    markIfStartPending(Mark.FIRST_LAYOUT)
+                }
+
                 rootView.doOnDraw {
                     if (!isEnabled) {
                         return@doOnDraw
@@ -151,11 +268,14 @@ object ApplicationStartupTimekeeper {
                     val endTimestamp: Long
                     val duration: Long
 
+                    val endUptime = SystemClock.uptimeMillis()
+                    trace.mark(Mark.FIRST_DRAW, endUptime)
+
                     when {
                         !isColdStartCompleted -> {
                             startType = StartType.COLD
 
-                            duration = SystemClock.uptimeMillis() - ProcessInfo.getStartUptimeMillis()
+                            duration = endUptime - ProcessInfo.getStartUptimeMillis()
                             endTimestamp = System.currentTimeMillis()
                             startTimestamp = endTimestamp - duration
 
@@ -183,23 +303,27 @@ object ApplicationStartupTimekeeper {
                             return@doOnDraw
                     }
 
+                    val phases = trace.phases(System.currentTimeMillis(), SystemClock.uptimeMillis())
+
                     if (listenersCache.isEmpty()) {
                         // No listeners registered yet - cache the event for later delivery
                         Logger.d(TAG) { "No listeners registered, caching ${startType.name} start event" }
-                        pendingStartupEvent = Triple(startTimestamp, endTimestamp, startType)
+                        pendingStartupEvent = PendingStartupEvent(startTimestamp, endTimestamp, startType, phases)
                     } else {
                         listenersCache.forEachFast { listener ->
-                            when (startType) {
-                                StartType.COLD -> listener.onColdStarted(startTimestamp, endTimestamp, duration)
-                                StartType.WARM -> listener.onWarmStarted(startTimestamp, endTimestamp, duration)
-                                StartType.HOT -> listener.onHotStarted(startTimestamp, endTimestamp, duration)
-                            }
+                            listener.onStarted(startType, startTimestamp, endTimestamp, duration, phases)
                         }
                     }
                 }
             }
         }
 
+        private fun markIfStartPending(mark: Mark) {
+            if (isStartPending && trace.isStarted) {
+                trace.mark(mark, SystemClock.uptimeMillis())
+            }
+        }
+
         override fun onActivityPaused(activity: Activity) {
             resumedActivityCount--
         }
@@ -232,5 +356,18 @@ object ApplicationStartupTimekeeper {
          * Open the app > press home button > press the app icon.
          */
         fun onHotStarted(startTimestamp: Long, endTimestamp: Long, duration: Long)
+
+        /**
+         * Breakdown of the start of the given [type], called right before the matching `on*Started` callback.
+         * Cold starts are broken down from the process start, warm starts from the first activity creation
+         * and hot starts from the first activity start, up to the first draw.
+         */
+        fun onStartupPhases(type: StartType, phases: List<StartupPhase>) {}
+
+        /**
+         * The application reported through [reportFullyDrawn] that the last start is complete.
+         * The [phase] starts at the first draw of that start.
+         */
+        fun onFullyDrawn(phase: StartupPhase) {}
     }
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.startup
+
+/**
+ * A contiguous part of an application start, e.g. `Application.onCreate` or the first draw.
+ *
+ * Phases of a single start never overlap and together cover the whole start duration, so the phase that
+ * regressed can be read directly from the breakdown.
+ */
+data class StartupPhase(val name: String, val startTimestamp: Long, val endTimestamp: Long) {
+
+    val duration: Long
+        get() = endTimestamp - startTimestamp
+
+    companion object {
+        const val BIND_APPLICATION = "bindApplication"
+        const val CONTENT_PROVIDERS = "contentProviders"
+        const val APPLICATION_ON_CREATE = "Application.onCreate"
+        const val ACTIVITY_ON_CREATE = "Activity.onCreate"
+        const val ACTIVITY_ON_START = "Activity.onStart"
+        const val ACTIVITY_ON_RESUME = "Activity.onResume"
+        const val FIRST_LAYOUT = "firstLayout"
+        const val FIRST_DRAW = "firstDraw"
+        const val FULLY_DRAWN = "fullyDrawn"
+    }
+}
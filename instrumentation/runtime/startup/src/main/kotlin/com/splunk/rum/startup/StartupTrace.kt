@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.startup
+
+/**
+ * Collects [android.os.SystemClock.uptimeMillis] marks of a single start and turns them into [StartupPhase]s.
+ *
+ * Every phase ends at its own mark and starts at the closest earlier recorded one, so missing marks (e.g. there are
+ * no content providers on a warm start) merge into the following phase instead of leaving gaps.
+ */
+internal class StartupTrace {
+
+    private val marks = LongArray(Mark.values().size) { NOT_RECORDED }
+
+    val isStarted: Boolean
+        get() = marks[Mark.START.ordinal] != NOT_RECORDED
+
+    fun reset(startUptime: Long) {
+        marks.fill(NOT_RECORDED)
+        marks[Mark.START.ordinal] = startUptime
+    }
+
+    /**
+     * Records [uptime] for [mark] unless it has been recorded already, only the first occurrence counts.
+     */
+    fun mark(mark: Mark, uptime: Long) {
+        if (marks[mark.ordinal] == NOT_RECORDED) {
+            marks[mark.ordinal] = uptime
+        }
+    }
+
+    fun uptimeOf(mark: Mark): Long = marks[mark.ordinal]
+
+    /**
+     * Returns phases with wall clock timestamps. [nowTimestamp] and [nowUptime] must be read at the same moment.
+     */
+    fun phases(nowTimestamp: Long, nowUptime: Long): List<StartupPhase> {
+        var previous = marks[Mark.START.ordinal]
+        if (previous == NOT_RECORDED) {
+            return emptyList()
+        }
+
+        val phases = ArrayList<StartupPhase>(marks.size - 1)
+        val offset = nowTimestamp - nowUptime
+
+        for (mark in Mark.values()) {
+            val phaseName = mark.phaseName ?: continue
+            val uptime = marks[mark.ordinal]
+
+            if (uptime == NOT_RECORDED || uptime < previous) {
+                continue
+            }
+
+            phases += StartupPhase(phaseName, previous + offset, uptime + offset)
+            previous = uptime
+        }
+
+        return phases
+    }
+
+    enum class Mark(val phaseName: String?) {
+        START(null),
+        PROVIDERS_START(StartupPhase.BIND_APPLICATION),
+        PROVIDERS_END(StartupPhase.CONTENT_PROVIDERS),
+        APPLICATION_CREATED(StartupPhase.APPLICATION_ON_CREATE),
+        ACTIVITY_CREATED(StartupPhase.ACTIVITY_ON_CREATE),
+        ACTIVITY_STARTED(StartupPhase.ACTIVITY_ON_START),
+        ACTIVITY_RESUMED(StartupPhase.ACTIVITY_ON_RESUME),
+        FIRST_LAYOUT(StartupPhase.FIRST_LAYOUT),
+        FIRST_DRAW(StartupPhase.FIRST_DRAW)
+    }
+
+    companion object {
+        const val NOT_RECORDED = -1L
+    }
+}
@@ -16,54 +16,19 @@
 
 package com.splunk.rum.startup.extension
 
-import android.os.Build
 import android.view.View
 import android.view.ViewTreeObserver
 
-// FIXME Compiler error. Use com.splunk.rum.common.utils.extensions.doOnDraw once the issue is fixed.
-internal inline fun View.doOnDraw(crossinline action: () -> Unit) {
-    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
-        doOnDraw29(action)
-    } else {
-        doOnDraw20(action)
-    }
-}
-
-private inline fun View.doOnDraw20(crossinline action: () -> Unit) {
-    val onPreDrawListener = object : ViewTreeObserver.OnPreDrawListener {
-        override fun onPreDraw(): Boolean {
-            action()
-
+internal inline fun View.doOnGlobalLayout(crossinline action: () -> Unit) {
+    val onGlobalLayoutListener = object : ViewTreeObserver.OnGlobalLayoutListener {
+        override fun onGlobalLayout() {
             if (viewTreeObserver.isAlive) {
-                rootView.viewTreeObserver.removeOnPreDrawListener(this)
-            }
-
-            return true
-        }
-    }
-
-    viewTreeObserver.addOnPreDrawListener(onPreDrawListener)
-}
-
-private inline fun View.doOnDraw29(crossinline action: () -> Unit) {
-    var pendingRemove = false
-
-    val onDrawListener = ViewTreeObserver.OnDrawListener {
-        pendingRemove = true
-        action()
-    }
-
-    val onPreDrawListener = object : ViewTreeObserver.OnPreDrawListener {
-        override fun onPreDraw(): Boolean {
-            if (pendingRemove && viewTreeObserver.isAlive) {
-                rootView.viewTreeObserver.removeOnDrawListener(onDrawListener)
-                rootView.viewTreeObserver.removeOnPreDrawListener(this)
+                viewTreeObserver.removeOnGlobalLayoutListener(this)
             }
 
-            return true
+            action()
         }
     }
 
-    viewTreeObserver.addOnPreDrawListener(onPreDrawListener)
-    viewTreeObserver.addOnDrawListener(onDrawListener)
+    viewTreeObserver.addOnGlobalLayoutListener(onGlobalLayoutListener)
 }
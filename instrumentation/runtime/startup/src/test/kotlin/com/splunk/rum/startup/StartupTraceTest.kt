@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.startup
+
+import com.splunk.rum.startup.StartupTrace.Mark
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class StartupTraceTest {
+
+    @Test
+    fun `phases are contiguous and converted to wall clock`() {
+        val trace = StartupTrace()
+        trace.reset(100)
+        trace.mark(Mark.PROVIDERS_START, 150)
+        trace.mark(Mark.PROVIDERS_END, 170)
+        trace.mark(Mark.APPLICATION_CREATED, 260)
+        trace.mark(Mark.ACTIVITY_CREATED, 400)
+        trace.mark(Mark.ACTIVITY_STARTED, 410)
+        trace.mark(Mark.ACTIVITY_RESUMED, 420)
+        trace.mark(Mark.FIRST_LAYOUT, 480)
+        trace.mark(Mark.FIRST_DRAW, 500)
+
+        val phases = trace.phases(nowTimestamp = 10_500, nowUptime = 500)
+
+        assertEquals(
+            listOf(
+                StartupPhase(StartupPhase.BIND_APPLICATION, 10_100, 10_150),
+                StartupPhase(StartupPhase.CONTENT_PROVIDERS, 10_150, 10_170),
+                StartupPhase(StartupPhase.APPLICATION_ON_CREATE, 10_170, 10_260),
+                StartupPhase(StartupPhase.ACTIVITY_ON_CREATE, 10_260, 10_400),
+                StartupPhase(StartupPhase.ACTIVITY_ON_START, 10_400, 10_410),
+                StartupPhase(StartupPhase.ACTIVITY_ON_RESUME, 10_410, 10_420),
+                StartupPhase(StartupPhase.FIRST_LAYOUT, 10_420, 10_480),
+                StartupPhase(StartupPhase.FIRST_DRAW, 10_480, 10_500)
+            ),
+            phases
+        )
+        assertEquals(400L, phases.sumOf { it.duration })
+    }
+
+    @Test
+    fun `missing marks are merged into the following phase`() {
+        val trace = StartupTrace()
+        trace.reset(1_000)
+        trace.mark(Mark.ACTIVITY_STARTED, 1_030)
+        trace.mark(Mark.ACTIVITY_RESUMED, 1_040)
+        trace.mark(Mark.FIRST_DRAW, 1_100)
+
+        val phases = trace.phases(nowTimestamp = 1_100, nowUptime = 1_100)
+
+        assertEquals(
+            listOf(
+                StartupPhase(StartupPhase.ACTIVITY_ON_START, 1_000, 1_030),
+                StartupPhase(StartupPhase.ACTIVITY_ON_RESUME, 1_030, 1_040),
+                StartupPhase(StartupPhase.FIRST_DRAW, 1_040, 1_100)
+            ),
+            phases
+        )
+    }
+
+    @Test
+    fun `only the first occurrence of a mark counts`() {
+        val trace = StartupTrace()
+        trace.reset(0)
+        trace.mark(Mark.FIRST_DRAW, 10)
+        trace.mark(Mark.FIRST_DRAW, 20)
+
+        assertEquals(10L, trace.uptimeOf(Mark.FIRST_DRAW))
+    }
+
+    @Test
+    fun `out of order marks are skipped`() {
+        val trace = StartupTrace()
+        trace.reset(0)
+        trace.mark(Mark.APPLICATION_CREATED, 50)
+        trace.mark(Mark.ACTIVITY_CREATED, 40)
+        trace.mark(Mark.FIRST_DRAW, 60)
+
+        val phases = trace.phases(nowTimestamp = 60, nowUptime = 60)
+
+        assertEquals(listOf(StartupPhase.APPLICATION_ON_CREATE, StartupPhase.FIRST_DRAW), phases.map { it.name })
+    }
+
+    @Test
+    fun `reset clears previous start`() {
+        val trace = StartupTrace()
+        assertFalse(trace.isStarted)
+        assertTrue(trace.phases(0, 0).isEmpty())
+
+        trace.reset(0)
+        trace.mark(Mark.FIRST_DRAW, 10)
+        trace.reset(100)
+
+        assertTrue(trace.isStarted)
+        assertEquals(StartupTrace.NOT_RECORDED, trace.uptimeOf(Mark.FIRST_DRAW))
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.splunk.rum.integration.agent.api
 
+import com.splunk.rum.agent.common.otel.DeferredOpenTelemetry
 import com.splunk.rum.agent.common.storage.IAgentStorage
 import com.splunk.rum.agent.common.storage.StoredEndpointConfig
 import com.splunk.rum.common.logger.Logger
@@ -71,7 +72,9 @@ class AgentPreferences internal constructor(
                 onEndpointConfigured.invoke()
             }
 
-            (openTelemetry as? OpenTelemetrySdk)?.let { sdk ->
+            // Nothing to flush while the SDK is still built, see DeferredOpenTelemetry.
+            val delegate = (openTelemetry as? DeferredOpenTelemetry)?.delegate ?: openTelemetry
+            (delegate as? OpenTelemetrySdk)?.let { sdk ->
                 sdk.sdkTracerProvider?.forceFlush()
                 sdk.sdkLoggerProvider?.forceFlush()
             }
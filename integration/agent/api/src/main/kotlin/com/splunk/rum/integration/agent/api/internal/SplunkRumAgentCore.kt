@@ -17,11 +17,15 @@
 package com.splunk.rum.integration.agent.api.internal
 
 import android.app.Application
+import android.os.SystemClock
+import com.splunk.rum.agent.common.otel.DeferredOpenTelemetry
 import com.splunk.rum.agent.common.otel.OpenTelemetryInitializer
+import com.splunk.rum.agent.common.otel.SplunkOpenTelemetrySdk
 import com.splunk.rum.agent.common.otel.internal.OfflineOtelDataProcessor
 import com.splunk.rum.agent.common.storage.AgentStorage
 import com.splunk.rum.common.logger.Logger
 import com.splunk.rum.common.utils.extensions.forEachFast
+import com.splunk.rum.common.utils.thread.NamedThreadFactory
 import com.splunk.rum.integration.agent.api.AgentConfiguration
 import com.splunk.rum.integration.agent.api.configuration.ConfigurationManager
 import com.splunk.rum.integration.agent.api.exporter.LoggerLogRecordExporter
@@ -45,14 +49,18 @@ import com.splunk.rum.integration.agent.internal.session.ISplunkSessionManager
 import com.splunk.rum.integration.agent.internal.session.SplunkSessionManager
 import com.splunk.rum.integration.agent.internal.user.IUserManager
 import io.opentelemetry.api.OpenTelemetry
+import io.opentelemetry.sdk.OpenTelemetrySdk
 import io.opentelemetry.sdk.logs.export.SimpleLogRecordProcessor
 import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor
 import java.util.UUID
+import java.util.concurrent.Executor
 
 internal object SplunkRumAgentCore {
 
     private const val TAG = "SplunkRumAgentCore"
     var isRunning: Boolean = false
+
+    @Volatile
     var installTimestamp: Long = 0L
 
     fun install(
@@ -62,7 +70,8 @@ internal object SplunkRumAgentCore {
         sessionManager: ISplunkSessionManager,
         moduleConfigurations: List<ModuleConfiguration>,
         globalAttributes: MutableAttributes,
-        offlineOtelDataProcessor: OfflineOtelDataProcessor
+        offlineOtelDataProcessor: OfflineOtelDataProcessor,
+        backgroundExecutor: Executor = Executor { NamedThreadFactory("agentInit").newThread(it).start() }
     ): OpenTelemetry {
         // Sampling.
         val shouldBeRunning = when (val samplingRate = agentConfiguration.session.samplingRate.coerceIn(0.0, 1.0)) {
@@ -79,8 +88,66 @@ internal object SplunkRumAgentCore {
 
         Logger.d(TAG, "install(agentConfiguration: $agentConfiguration, moduleConfigurations: $moduleConfigurations)")
 
+        // The agent's initialization covers everything done synchronously from here, up to the main
+        // thread modules' installation.
+        val initializationStartTimestamp = System.currentTimeMillis()
+        val initializationStartElapsed = SystemClock.elapsedRealtime()
+
         sessionManager.reset()
 
+        val agentIntegration = AgentIntegration.obtainInstance(application)
+
+        // Modules are installed with this one right away, the SDK it forwards to is built in the background.
+        val openTelemetry = DeferredOpenTelemetry(OpenTelemetryInitializer.propagators)
+        SplunkOpenTelemetrySdk.openTelemetry = openTelemetry
+
+        installTimestamp = initializationStartTimestamp
+
+        backgroundExecutor.execute {
+            openTelemetry.setDelegate(
+                buildOpenTelemetrySdk(application, agentConfiguration, userManager, sessionManager, globalAttributes)
+            )
+
+            if (agentConfiguration.endpoint != null) {
+                offlineOtelDataProcessor.start(installTimestamp)
+            }
+        }
+
+        isRunning = true
+
+        sessionManager.sessionListeners += object : SplunkSessionManager.SessionListener {
+            override fun onSessionChanged(sessionId: String, timestamp: Long) {
+                agentConfiguration.session.listeners.forEachFast {
+                    it.onSessionChanged(
+                        newSessionId = sessionId,
+                        previousSessionId = sessionManager.previousSessionId
+                    )
+                }
+            }
+        }
+
+        agentIntegration.install(
+            application,
+            openTelemetry,
+            moduleConfigurations,
+            globalAttributes,
+            initializationStartTimestamp,
+            initializationStartElapsed
+        )
+
+        return openTelemetry
+    }
+
+    /**
+     * Builds the SDK. Reads the storage and preprocesses the configuration, so it runs in the background.
+     */
+    private fun buildOpenTelemetrySdk(
+        application: Application,
+        agentConfiguration: AgentConfiguration,
+        userManager: IUserManager,
+        sessionManager: ISplunkSessionManager,
+        globalAttributes: MutableAttributes
+    ): OpenTelemetrySdk {
         val storage = AgentStorage.attach(application)
 
         val appInstallationID = storage.readAppInstallationId() ?: UUID.randomUUID().toString().replace("-", "").also {
@@ -117,29 +184,7 @@ internal object SplunkRumAgentCore {
                 .addLogRecordProcessor(SimpleLogRecordProcessor.create(LoggerLogRecordExporter()))
         }
 
-        val openTelemetry = initializer.build()
-
-        isRunning = true
-
-        sessionManager.sessionListeners += object : SplunkSessionManager.SessionListener {
-            override fun onSessionChanged(sessionId: String, timestamp: Long) {
-                agentConfiguration.session.listeners.forEachFast {
-                    it.onSessionChanged(
-                        newSessionId = sessionId,
-                        previousSessionId = sessionManager.previousSessionId
-                    )
-                }
-            }
-        }
-
-        agentIntegration.install(application, openTelemetry, moduleConfigurations, globalAttributes)
-
-        installTimestamp = System.currentTimeMillis()
-        if (agentConfiguration.endpoint != null) {
-            offlineOtelDataProcessor.start(installTimestamp)
-        }
-
-        return openTelemetry
+        return initializer.build()
     }
 
     /**
@@ -29,6 +29,7 @@ import com.splunk.rum.integration.agent.internal.AgentIntegration
 import com.splunk.rum.integration.agent.internal.session.ISplunkSessionManager
 import com.splunk.rum.integration.agent.internal.user.IUserManager
 import java.io.File
+import java.util.concurrent.Executor
 import org.junit.After
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertNotEquals
@@ -197,7 +198,9 @@ class SplunkRumAgentCoreTest {
             mockSessionManager,
             emptyList(),
             MutableAttributes(),
-            mockOfflineOtelDataProcessor
+            mockOfflineOtelDataProcessor,
+            // Builds the SDK synchronously, so that the storage can be checked right after.
+            backgroundExecutor = Executor { it.run() }
         )
     }
 
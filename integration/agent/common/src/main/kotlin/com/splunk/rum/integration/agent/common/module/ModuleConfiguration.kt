@@ -19,4 +19,10 @@ package com.splunk.rum.integration.agent.common.module
 interface ModuleConfiguration {
     val name: String
     val attributes: List<Pair<String, String>>
+
+    /**
+     * Disabled modules are not loaded when the agent is installed, unless they hook into the app at process start.
+     */
+    val isEnabled: Boolean
+        get() = true
 }
@@ -0,0 +1,4 @@
+# Module installers are instantiated via reflection by ModuleRegistry.
+-keep class * extends com.splunk.rum.integration.agent.internal.module.ModuleInstaller {
+    <init>();
+}
@@ -18,6 +18,8 @@ package com.splunk.rum.integration.agent.internal
 
 import android.app.Application
 import android.content.Context
+import android.os.Handler
+import android.os.Looper
 import android.os.SystemClock
 import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
 import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants.PREVIOUS_SESSION_ID_KEY
@@ -26,18 +28,25 @@ import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants.SESSION_ID_K
 import com.splunk.rum.agent.common.storage.AgentStorage
 import com.splunk.rum.common.logger.Logger
 import com.splunk.rum.common.utils.extensions.forEachFast
+import com.splunk.rum.common.utils.thread.NamedThreadFactory
 import com.splunk.rum.integration.agent.common.module.ModuleConfiguration
 import com.splunk.rum.integration.agent.internal.model.Module
+import com.splunk.rum.integration.agent.internal.module.ModuleInstallRunner
+import com.splunk.rum.integration.agent.internal.module.ModuleRegistry
 import com.splunk.rum.integration.agent.internal.session.ISplunkSessionManager
 import com.splunk.rum.integration.agent.internal.session.SplunkSessionManager
 import io.opentelemetry.api.OpenTelemetry
 import io.opentelemetry.api.common.Attributes
-import io.opentelemetry.sdk.OpenTelemetrySdk
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executor
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
 
 class AgentIntegration private constructor(context: Context) {
     val sessionManager: ISplunkSessionManager
-    internal val listeners: MutableSet<Listener> = HashSet()
+    internal val listeners: MutableSet<Listener> = LinkedHashSet()
     var globalAttributes: Attributes = Attributes.empty()
         private set
 
@@ -46,19 +55,32 @@ class AgentIntegration private constructor(context: Context) {
         sessionManager = SplunkSessionManager(storage)
     }
 
+    /**
+     * Installs the modules. Main thread modules are installed before returning, background ones
+     * (see [Listener.isInstalledInBackground]) on a short-lived thread pool. [Listener.onPostInstall]
+     * is called on the main thread once all of them are installed, for the modules whose installation
+     * did not fail. A failing main thread module makes this throw, a failing background module's
+     * exception is rethrown on the main thread.
+     *
+     * The agent's initialization, registered as [AGENT_MODULE_NAME], starts at
+     * [initializationStartTimestamp] and [initializationStartElapsed], so callers can include the work
+     * done before, and ends once the main thread modules are installed.
+     */
     fun install(
         application: Application,
-        openTelemetry: OpenTelemetrySdk,
+        openTelemetry: OpenTelemetry,
         moduleConfigurations: List<ModuleConfiguration>,
-        globalAttributes: Attributes
+        globalAttributes: Attributes,
+        initializationStartTimestamp: Long = System.currentTimeMillis(),
+        initializationStartElapsed: Long = SystemClock.elapsedRealtime()
     ) {
         this.globalAttributes = globalAttributes
 
-        registerModuleInitializationStart(MODULE_NAME)
+        registerModuleInitializationStart(AGENT_MODULE_NAME, initializationStartTimestamp, initializationStartElapsed)
 
         sessionManager.sessionListeners += object : SplunkSessionManager.SessionListener {
             override fun onSessionChanged(sessionId: String, timestamp: Long) {
-                openTelemetry.sdkLoggerProvider.get(RUM_TRACER_NAME)
+                openTelemetry.logsBridge.get(RUM_TRACER_NAME)
                     .logRecordBuilder()
                     .setAttribute(GlobalRumConstants.LOG_EVENT_NAME_KEY, RumConstants.SESSION_START_EVENT_NAME)
                     .setTimestamp(timestamp, TimeUnit.MILLISECONDS)
@@ -79,14 +101,61 @@ class AgentIntegration private constructor(context: Context) {
             val module = modules[config.name] ?: Module(config.name)
             modules[config.name] = module.copy(configuration = config)
         }
-        listeners.forEachFast { it.onInstall(application, openTelemetry, moduleConfigurations) }
 
-        registerModuleInitializationEnd(MODULE_NAME)
+        // Modules that are not needed at process start are loaded only now that their configuration is known.
+        ModuleRegistry.attachConfigured(application, moduleConfigurations)
 
-        listeners.forEachFast { it.onPostInstall() }
+        val executor = if (listeners.any { it.isInstalledInBackground }) {
+            Executors.newFixedThreadPool(INSTALL_THREAD_COUNT, NamedThreadFactory("moduleInstall"))
+        } else {
+            // No module is installed in the background, the executor is never used.
+            Executor { it.run() }
+        }
+
+        // Post-install callbacks run once both the main thread and the background installs are done,
+        // whichever comes last.
+        val isOtherPartDone = AtomicBoolean(false)
+
+        val nodes = listeners.associateBy { listener ->
+            ModuleInstallRunner.Node(listener.name, listener.isInstalledInBackground) {
+                listener.onInstall(application, openTelemetry, moduleConfigurations)
+            }
+        }
+        var installed: List<Listener> = emptyList()
+        val runner = ModuleInstallRunner(
+            nodes = nodes.keys.toList(),
+            executor = executor,
+            onBackgroundFailure = { node, e ->
+                Handler(Looper.getMainLooper()).post {
+                    throw IllegalStateException("Failed to install module '${node.name}'", e)
+                }
+            }
+        ) { installedNodes ->
+            (executor as? ExecutorService)?.shutdown()
+            installed = installedNodes.map { nodes.getValue(it) }
+            if (isOtherPartDone.getAndSet(true)) {
+                Handler(Looper.getMainLooper()).post { postInstall(installed) }
+            }
+        }
+        runner.install()
+
+        registerModuleInitializationEnd(AGENT_MODULE_NAME)
+
+        if (isOtherPartDone.getAndSet(true)) {
+            postInstall(installed)
+        }
+    }
+
+    private fun postInstall(installed: List<Listener>) {
+        installed.forEachFast { it.onPostInstall() }
     }
 
     internal interface Listener {
+        val name: String
+
+        /** Whether [onInstall] can run on a background thread, in parallel with other modules. */
+        val isInstalledInBackground: Boolean
+
         fun onInstall(
             application: Application,
             openTelemetry: OpenTelemetry,
@@ -100,11 +169,13 @@ class AgentIntegration private constructor(context: Context) {
 
         private const val TAG = "AgentIntegration"
 
-        private const val MODULE_NAME = "agent"
+        const val AGENT_MODULE_NAME = "agent"
+
+        private const val INSTALL_THREAD_COUNT = 2
 
         private var instanceInternal: AgentIntegration? = null
 
-        val modules = HashMap<String, Module>()
+        val modules = ConcurrentHashMap<String, Module>()
 
         var lowestApiLevel: Int = Constants.LOWEST_RUNTIME_API_LEVEL
 
@@ -120,7 +191,12 @@ class AgentIntegration private constructor(context: Context) {
             return instanceInternal!!
         }
 
-        fun registerModuleInitializationStart(name: String) {
+        @Synchronized
+        fun registerModuleInitializationStart(
+            name: String,
+            startTimestamp: Long = System.currentTimeMillis(),
+            startElapsed: Long = SystemClock.elapsedRealtime()
+        ) {
             val module = modules[name] ?: Module(name)
 
             if (module.initialization != null) {
@@ -129,8 +205,8 @@ class AgentIntegration private constructor(context: Context) {
 
             modules[name] = module.copy(
                 initialization = Module.Initialization(
-                    startTimestamp = System.currentTimeMillis(),
-                    startElapsed = SystemClock.elapsedRealtime(),
+                    startTimestamp = startTimestamp,
+                    startElapsed = startElapsed,
                     endElapsed = null
                 )
             )
@@ -140,6 +216,19 @@ class AgentIntegration private constructor(context: Context) {
             }
         }
 
+        /**
+         * Discards the initialization of module [name], whose installation failed, so that it is not
+         * reported as initialized.
+         */
+        @Synchronized
+        fun registerModuleInitializationFailure(name: String) {
+            val module = modules[name] ?: return
+            modules[name] = module.copy(initialization = null)
+
+            Logger.d(TAG) { "registerModuleInitializationFailure() module: $name" }
+        }
+
+        @Synchronized
         fun registerModuleInitializationEnd(name: String) {
             val module =
                 modules[name] ?: throw IllegalStateException("Initialization start for module '$name' was not called")
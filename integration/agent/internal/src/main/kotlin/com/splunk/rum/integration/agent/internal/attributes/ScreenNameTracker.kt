@@ -18,18 +18,26 @@ package com.splunk.rum.integration.agent.internal.attributes
 
 import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
 import com.splunk.rum.integration.agent.internal.processor.SplunkInternalGlobalAttributeSpanProcessor
+import java.util.concurrent.CopyOnWriteArrayList
 
 object ScreenNameTracker : IScreenNameTracker {
     override var lastScreenName: String? = null
         private set
 
+    /** Called with the new screen name whenever it changes. */
+    val listeners = CopyOnWriteArrayList<(String) -> Unit>()
+
     override var screenName: String = GlobalRumConstants.DEFAULT_SCREEN_NAME
         set(value) {
-            if (field != value && field != GlobalRumConstants.DEFAULT_SCREEN_NAME) {
+            val isChanged = field != value
+            if (isChanged && field != GlobalRumConstants.DEFAULT_SCREEN_NAME) {
                 lastScreenName = field
             }
             field = value
             SplunkInternalGlobalAttributeSpanProcessor.attributes[GlobalRumConstants.SCREEN_NAME_KEY] = value
+            if (isChanged) {
+                listeners.forEach { it(value) }
+            }
         }
         get() = field
 }
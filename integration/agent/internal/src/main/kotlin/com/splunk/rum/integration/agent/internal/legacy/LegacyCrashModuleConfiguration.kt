@@ -19,7 +19,7 @@ package com.splunk.rum.integration.agent.internal.legacy
 import com.splunk.rum.integration.agent.common.module.ModuleConfiguration
 
 @Deprecated("Only to support legacy API, can be removed with legacy API.")
-class LegacyCrashModuleConfiguration(val isEnabled: Boolean = true) : ModuleConfiguration {
+class LegacyCrashModuleConfiguration(override val isEnabled: Boolean = true) : ModuleConfiguration {
 
     override val name: String = "crash"
 
@@ -22,7 +22,7 @@ import java.time.Duration
 @Suppress("NewApi") // Duration.ofSeconds() requires API 26 or core library desugaring
 @Deprecated("Only to support legacy API, can be removed with legacy API.")
 class LegacySlowRenderingModuleConfiguration(
-    val isEnabled: Boolean = true,
+    override val isEnabled: Boolean = true,
     val interval: Duration = Duration.ofSeconds(1)
 ) : ModuleConfiguration {
 
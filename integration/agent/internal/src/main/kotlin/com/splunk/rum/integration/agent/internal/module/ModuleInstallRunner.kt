@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.agent.internal.module
+
+import java.util.Collections
+import java.util.concurrent.Executor
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Installs modules needing the main thread one after the other on the thread calling [install], and
+ * background modules on [executor], in parallel. [onComplete] is called with the modules that were
+ * installed once every module is done, on the thread installing the last one.
+ *
+ * Failures are not swallowed. A main thread module that throws makes [install] throw, as it would
+ * when installed directly. A background module that throws is left out of the installed modules,
+ * and its exception is handed to [onBackgroundFailure] so it can be rethrown where it is visible.
+ */
+internal class ModuleInstallRunner(
+    private val nodes: List<Node>,
+    private val executor: Executor,
+    private val onBackgroundFailure: (node: Node, exception: Exception) -> Unit,
+    private val onComplete: (installed: List<Node>) -> Unit
+) {
+
+    class Node(
+        val name: String,
+        val isBackground: Boolean,
+        val install: () -> Unit
+    )
+
+    private val remaining = AtomicInteger(nodes.size)
+    private val failed: MutableSet<Node> = Collections.synchronizedSet(HashSet())
+
+    /**
+     * Starts the background modules, then installs the main thread modules. Returns once the main
+     * thread modules are installed.
+     */
+    fun install() {
+        if (nodes.isEmpty()) {
+            onComplete(emptyList())
+            return
+        }
+
+        for (node in nodes) {
+            if (node.isBackground) {
+                executor.execute { runInBackground(node) }
+            }
+        }
+
+        for (node in nodes) {
+            if (!node.isBackground) {
+                node.install()
+                onInstalled()
+            }
+        }
+    }
+
+    private fun runInBackground(node: Node) {
+        try {
+            node.install()
+        } catch (e: Exception) {
+            failed += node
+            onBackgroundFailure(node, e)
+        }
+        onInstalled()
+    }
+
+    private fun onInstalled() {
+        if (remaining.decrementAndGet() == 0) {
+            onComplete(nodes.filter { it !in failed })
+        }
+    }
+}
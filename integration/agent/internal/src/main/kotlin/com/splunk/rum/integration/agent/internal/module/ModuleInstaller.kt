@@ -16,40 +16,18 @@
 
 package com.splunk.rum.integration.agent.internal.module
 
-import android.content.ContentProvider
-import android.content.ContentValues
 import android.content.Context
-import android.database.Cursor
-import android.net.Uri
 
-abstract class ModuleInstaller : ContentProvider() {
+/**
+ * Attaches a module at the time chosen by [ModuleRegistry]. Installers are not content providers, they are listed as
+ * meta-data of the [ModuleInstallerProvider] in the module's manifest and instantiated through their no-arg
+ * constructor only when the module is attached.
+ */
+abstract class ModuleInstaller {
 
     protected abstract fun onInstall(context: Context)
 
-    final override fun onCreate(): Boolean {
-        val context = context ?: throw IllegalStateException("Property 'context' is null")
+    internal fun install(context: Context) {
         onInstall(context)
-        return true
     }
-
-    final override fun query(
-        uri: Uri,
-        projection: Array<out String>?,
-        selection: String?,
-        selectionArgs: Array<out String>?,
-        sortOrder: String?
-    ): Cursor? = null
-
-    final override fun getType(uri: Uri): String? = null
-
-    final override fun insert(uri: Uri, values: ContentValues?): Uri? = null
-
-    final override fun delete(uri: Uri, selection: String?, selectionArgs: Array<out String>?): Int = 0
-
-    final override fun update(
-        uri: Uri,
-        values: ContentValues?,
-        selection: String?,
-        selectionArgs: Array<out String>?
-    ): Int = 0
 }
@@ -36,6 +36,13 @@ abstract class ModuleIntegration<T : ModuleConfiguration>(protected val defaultM
     protected lateinit var sessionManager: ISplunkSessionManager
         private set
 
+    /**
+     * Whether [onInstall] can run on a background thread, in parallel with other modules, instead of
+     * on the main thread during `Application.onCreate`. Only modules whose installation neither needs
+     * the main thread nor has to be complete before the app's first events should enable it.
+     */
+    protected open val isInstalledInBackground: Boolean = false
+
     fun attach(context: Context) {
         val agentIntegration = AgentIntegration.obtainInstance(context)
         agentIntegration.listeners += installationListener
@@ -60,6 +67,12 @@ abstract class ModuleIntegration<T : ModuleConfiguration>(protected val defaultM
     }
 
     private val installationListener = object : AgentIntegration.Listener {
+        override val name: String
+            get() = defaultModuleConfiguration.name
+
+        override val isInstalledInBackground: Boolean
+            get() = this@ModuleIntegration.isInstalledInBackground
+
         override fun onInstall(
             application: Application,
             openTelemetry: OpenTelemetry,
@@ -70,7 +83,12 @@ abstract class ModuleIntegration<T : ModuleConfiguration>(protected val defaultM
             moduleConfiguration = moduleConfigurations.find { it::class == clazz } as? T ?: defaultModuleConfiguration
             this@ModuleIntegration.globalAttributes = AgentIntegration.obtainInstance(application).globalAttributes
             AgentIntegration.registerModuleInitializationStart(defaultModuleConfiguration.name)
-            this@ModuleIntegration.onInstall(application, openTelemetry, moduleConfigurations)
+            try {
+                this@ModuleIntegration.onInstall(application, openTelemetry, moduleConfigurations)
+            } catch (e: Exception) {
+                AgentIntegration.registerModuleInitializationFailure(defaultModuleConfiguration.name)
+                throw e
+            }
             AgentIntegration.registerModuleInitializationEnd(defaultModuleConfiguration.name)
         }
 
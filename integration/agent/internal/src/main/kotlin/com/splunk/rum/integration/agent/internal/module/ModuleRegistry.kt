@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.agent.internal.module
+
+import android.content.ComponentName
+import android.content.Context
+import android.content.pm.PackageManager
+import android.os.Debug
+import android.os.SystemClock
+import com.splunk.rum.common.logger.Logger
+import com.splunk.rum.integration.agent.common.module.ModuleConfiguration
+
+/**
+ * Registry of the modules included in the app, read from the meta-data of the [ModuleInstallerProvider].
+ *
+ * Every entry maps a [ModuleInstaller] class name to `<module name>:<attach policy>`, e.g. `anr:lazy`. The installer
+ * and with it all the module's classes are loaded only when the module is attached:
+ * - `eager` modules are attached at process start, they hook into the app before `Application.onCreate`.
+ * - `lazy` modules are attached when the agent is installed, unless all their configurations are disabled.
+ * - `optIn` modules are attached when the agent is installed with an enabled configuration.
+ */
+object ModuleRegistry {
+
+    private const val TAG = "ModuleRegistry"
+
+    private var entries: List<Entry> = emptyList()
+
+    private val attachedInstallers = HashSet<String>()
+
+    private val loadRecordsInternal = ArrayList<LoadRecord>()
+
+    /**
+     * Class loads and time spent attaching each module, in the order the modules were attached.
+     */
+    val loadRecords: List<LoadRecord>
+        @Synchronized get() = loadRecordsInternal.toList()
+
+    @Synchronized
+    internal fun attachAtStartup(context: Context) {
+        entries = parse(readMetaData(context))
+        Logger.d(TAG) { "attachAtStartup() registry: $entries" }
+
+        attach(context, entries.filter { it.policy == Policy.EAGER })
+    }
+
+    /**
+     * Attaches the modules enabled by [moduleConfigurations], modules that are already attached are skipped.
+     */
+    @Synchronized
+    fun attachConfigured(context: Context, moduleConfigurations: List<ModuleConfiguration>) {
+        attach(context, entries.filter { it.shouldAttach(moduleConfigurations) })
+    }
+
+    private fun attach(context: Context, entries: List<Entry>) {
+        for (entry in entries) {
+            if (!attachedInstallers.add(entry.installerClassName)) {
+                continue
+            }
+
+            val classCountBefore = Debug.getLoadedClassCount()
+            val start = SystemClock.elapsedRealtimeNanos()
+
+            val installer = try {
+                Class.forName(entry.installerClassName).getDeclaredConstructor().newInstance() as ModuleInstaller
+            } catch (e: ReflectiveOperationException) {
+                Logger.e(TAG, "Failed to instantiate installer of module '${entry.moduleName}'", e)
+                continue
+            } catch (e: ClassCastException) {
+                Logger.e(TAG, "Installer of module '${entry.moduleName}' is not a ModuleInstaller", e)
+                continue
+            }
+
+            installer.install(context)
+
+            loadRecordsInternal += LoadRecord(
+                moduleName = entry.moduleName,
+                loadedClassCount = Debug.getLoadedClassCount() - classCountBefore,
+                durationNanos = SystemClock.elapsedRealtimeNanos() - start
+            )
+        }
+    }
+
+    @Suppress("DEPRECATION")
+    private fun readMetaData(context: Context): Map<String, String?> {
+        val metaData = try {
+            context.packageManager.getProviderInfo(
+                ComponentName(context, ModuleInstallerProvider::class.java),
+                PackageManager.GET_META_DATA
+            ).metaData
+        } catch (e: PackageManager.NameNotFoundException) {
+            Logger.e(TAG, "Module installer provider not found", e)
+            null
+        } ?: return emptyMap()
+
+        return metaData.keySet().associateWith { metaData.getString(it) }
+    }
+
+    internal fun parse(metaData: Map<String, String?>): List<Entry> {
+        val entries = ArrayList<Entry>(metaData.size)
+
+        for ((installerClassName, value) in metaData) {
+            val moduleName = value?.substringBefore(':', missingDelimiterValue = "")
+            val policy = Policy.values().find { it.value == value?.substringAfter(':') }
+
+            if (moduleName.isNullOrEmpty() || policy == null) {
+                Logger.w(TAG) { "Invalid module registry entry '$installerClassName': '$value'" }
+                continue
+            }
+
+            entries += Entry(installerClassName, moduleName, policy)
+        }
+
+        // Meta-data do not keep the manifest order, sort them so that modules are attached in a stable order.
+        entries.sortBy { it.moduleName }
+
+        return entries
+    }
+
+    internal data class Entry(val installerClassName: String, val moduleName: String, val policy: Policy) {
+
+        fun shouldAttach(moduleConfigurations: List<ModuleConfiguration>): Boolean {
+            if (policy == Policy.EAGER) {
+                return true
+            }
+
+            var hasConfiguration = false
+
+            for (i in moduleConfigurations.indices) {
+                val configuration = moduleConfigurations[i]
+
+                if (configuration.name == moduleName) {
+                    if (configuration.isEnabled) {
+                        return true
+                    }
+
+                    hasConfiguration = true
+                }
+            }
+
+            return !hasConfiguration && policy == Policy.LAZY
+        }
+    }
+
+    internal enum class Policy(val value: String) {
+        EAGER("eager"),
+        LAZY("lazy"),
+        OPT_IN("optIn")
+    }
+
+    data class LoadRecord(val moduleName: String, val loadedClassCount: Int, val durationNanos: Long)
+}
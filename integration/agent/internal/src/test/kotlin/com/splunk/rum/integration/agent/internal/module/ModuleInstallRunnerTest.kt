@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.agent.internal.module
+
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertThrows
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class ModuleInstallRunnerTest {
+
+    private val executor = Executors.newFixedThreadPool(2)
+    private val installed: MutableList<String> = Collections.synchronizedList(mutableListOf())
+    private val threads: MutableMap<String, Thread> = Collections.synchronizedMap(mutableMapOf())
+    private val completed = CountDownLatch(1)
+    private val backgroundFailures: MutableList<Pair<String, Exception>> = Collections.synchronizedList(mutableListOf())
+
+    @Volatile
+    private var completedNames: List<String>? = null
+
+    @After
+    fun tearDown() {
+        executor.shutdownNow()
+    }
+
+    @Test
+    fun `installs main thread modules in order on the calling thread`() {
+        val runner = runner(
+            node("navigation"),
+            node("lifecycle"),
+            node("crash")
+        )
+
+        runner.install()
+
+        assertEquals(listOf("navigation", "lifecycle", "crash"), installed)
+        assertTrue(threads.values.all { it === Thread.currentThread() })
+        assertEquals(0, completed.count)
+        assertEquals(listOf("navigation", "lifecycle", "crash"), completedNames)
+    }
+
+    @Test
+    fun `installs background modules on the executor`() {
+        val runner = runner(
+            node("memory", background = true),
+            node("crash")
+        )
+
+        runner.install()
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS))
+        assertEquals(setOf("memory", "crash"), installed.toSet())
+        assertTrue(threads["crash"] === Thread.currentThread())
+        assertTrue(threads["memory"] !== Thread.currentThread())
+    }
+
+    @Test
+    fun `rethrows the failure of a main thread module`() {
+        val failure = IllegalStateException("broken")
+        val runner = runner(
+            ModuleInstallRunner.Node("broken", false) { throw failure },
+            node("crash")
+        )
+
+        val thrown = assertThrows(IllegalStateException::class.java) { runner.install() }
+
+        assertSame(failure, thrown)
+        assertEquals(emptyList<String>(), installed)
+        assertNull(completedNames)
+    }
+
+    @Test
+    fun `reports the failure of a background module and leaves it out of the installed modules`() {
+        val failure = IllegalStateException("broken")
+        val runner = runner(
+            node("crash"),
+            ModuleInstallRunner.Node("brokenInBackground", true) { throw failure }
+        )
+
+        runner.install()
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS))
+        assertEquals(listOf("crash"), installed)
+        assertEquals(listOf("crash"), completedNames)
+        assertEquals(listOf("brokenInBackground" to failure), backgroundFailures)
+    }
+
+    @Test
+    fun `completes immediately without modules`() {
+        runner().install()
+
+        assertEquals(0, completed.count)
+        assertEquals(emptyList<String>(), completedNames)
+    }
+
+    private fun runner(vararg nodes: ModuleInstallRunner.Node) =
+        ModuleInstallRunner(
+            nodes.toList(),
+            executor,
+            onBackgroundFailure = { node, e -> backgroundFailures += node.name to e }
+        ) { installed ->
+            completedNames = installed.map { it.name }
+            completed.countDown()
+        }
+
+    private fun node(name: String, background: Boolean = false) =
+        ModuleInstallRunner.Node(name, background) {
+            threads[name] = Thread.currentThread()
+            installed += name
+        }
+}
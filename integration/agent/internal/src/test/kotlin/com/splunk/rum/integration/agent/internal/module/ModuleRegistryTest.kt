@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.agent.internal.module
+
+import com.splunk.rum.integration.agent.common.module.ModuleConfiguration
+import com.splunk.rum.integration.agent.internal.module.ModuleRegistry.Entry
+import com.splunk.rum.integration.agent.internal.module.ModuleRegistry.Policy
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class ModuleRegistryTest {
+
+    @Test
+    fun `parses entries sorted by module name`() {
+        val entries = ModuleRegistry.parse(
+            mapOf(
+                "com.example.LooperInstaller" to "looper:optIn",
+                "com.example.AnrInstaller" to "anr:lazy",
+                "com.example.StartupInstaller" to "startup:eager"
+            )
+        )
+
+        assertEquals(
+            listOf(
+                Entry("com.example.AnrInstaller", "anr", Policy.LAZY),
+                Entry("com.example.LooperInstaller", "looper", Policy.OPT_IN),
+                Entry("com.example.StartupInstaller", "startup", Policy.EAGER)
+            ),
+            entries
+        )
+    }
+
+    @Test
+    fun `ignores invalid entries`() {
+        val entries = ModuleRegistry.parse(
+            mapOf(
+                "com.example.NoValue" to null,
+                "com.example.NoPolicy" to "anr",
+                "com.example.UnknownPolicy" to "anr:sometimes",
+                "com.example.NoName" to ":lazy"
+            )
+        )
+
+        assertTrue(entries.isEmpty())
+    }
+
+    @Test
+    fun `lazy module is attached unless all its configurations are disabled`() {
+        val entry = Entry("com.example.AnrInstaller", "anr", Policy.LAZY)
+
+        assertTrue(entry.shouldAttach(emptyList()))
+        assertTrue(entry.shouldAttach(listOf(Configuration("anr", isEnabled = true))))
+        assertTrue(entry.shouldAttach(listOf(Configuration("crash", isEnabled = false))))
+        assertFalse(entry.shouldAttach(listOf(Configuration("anr", isEnabled = false))))
+        assertTrue(
+            entry.shouldAttach(
+                listOf(Configuration("anr", isEnabled = false), Configuration("anr", isEnabled = true))
+            )
+        )
+    }
+
+    @Test
+    fun `opt in module is attached only with an enabled configuration`() {
+        val entry = Entry("com.example.LooperInstaller", "looper", Policy.OPT_IN)
+
+        assertFalse(entry.shouldAttach(emptyList()))
+        assertFalse(entry.shouldAttach(listOf(Configuration("looper", isEnabled = false))))
+        assertTrue(entry.shouldAttach(listOf(Configuration("looper", isEnabled = true))))
+    }
+
+    private class Configuration(override val name: String, override val isEnabled: Boolean) : ModuleConfiguration {
+        override val attributes: List<Pair<String, String>> = emptyList()
+    }
+}
@@ -17,17 +17,42 @@
 package com.splunk.rum.integration.anr
 
 import com.splunk.rum.integration.agent.common.module.ModuleConfiguration
+import java.time.Duration
 
 /**
  * ANR module configuration.
  *
  * @property isEnabled Whether the module is enabled.
+ * @property anrThreshold How long the main thread has to be unresponsive before an ANR is reported.
+ *                        Default is 5 seconds.
+ * @property pollInterval How often the main thread responsiveness is checked, which sets the detection
+ *                        sensitivity: an ANR is reported at most one interval after the threshold is
+ *                        reached. Shorter intervals wake up the watchdog thread more often.
+ *                        Default is 1 second.
+ * @property isStackSamplingEnabled Whether the main thread's stack is sampled from the first missed poll
+ *                                  until the ANR is reported, and attached to the ANR as folded stacks.
+ *                                  Default is false.
+ * @property isAllThreadsCaptureEnabled Whether the stacks of all threads are captured when an ANR is
+ *                                      reported, to find the thread holding the lock the main thread
+ *                                      waits on. Only the lock owner and the other threads waiting on
+ *                                      the lock are attached. Default is false.
  */
-data class AnrModuleConfiguration @JvmOverloads constructor(val isEnabled: Boolean = true) : ModuleConfiguration {
+@Suppress("NewApi") // Duration.ofSeconds() requires API 26 or core library desugaring
+data class AnrModuleConfiguration @JvmOverloads constructor(
+    override val isEnabled: Boolean = true,
+    val anrThreshold: Duration = Duration.ofSeconds(5),
+    val pollInterval: Duration = Duration.ofSeconds(1),
+    val isStackSamplingEnabled: Boolean = false,
+    val isAllThreadsCaptureEnabled: Boolean = false
+) : ModuleConfiguration {
 
     override val name: String = "anr"
 
     override val attributes: List<Pair<String, String>> = listOf(
-        "enabled" to isEnabled.toString()
+        "enabled" to isEnabled.toString(),
+        "anrThreshold" to anrThreshold.toString(),
+        "pollInterval" to pollInterval.toString(),
+        "stackSampling" to isStackSamplingEnabled.toString(),
+        "allThreadsCapture" to isAllThreadsCaptureEnabled.toString()
     )
 }
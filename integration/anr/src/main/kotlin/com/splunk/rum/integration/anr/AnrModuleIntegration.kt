@@ -25,6 +25,7 @@ import com.splunk.rum.integration.agent.common.module.find
 import com.splunk.rum.integration.agent.internal.legacy.LegacyAnrModuleConfiguration
 import com.splunk.rum.integration.agent.internal.module.ModuleIntegration
 import io.opentelemetry.api.OpenTelemetry
+import java.util.concurrent.TimeUnit
 
 internal object AnrModuleIntegration : ModuleIntegration<AnrModuleConfiguration>(
     defaultModuleConfiguration = AnrModuleConfiguration()
@@ -32,6 +33,7 @@ internal object AnrModuleIntegration : ModuleIntegration<AnrModuleConfiguration>
 
     private const val TAG = "AnrIntegration"
 
+    @Suppress("NewApi") // Duration.toMillis() requires API 26 or core library desugaring
     override fun onInstall(
         application: Application,
         openTelemetry: OpenTelemetry,
@@ -46,6 +48,10 @@ internal object AnrModuleIntegration : ModuleIntegration<AnrModuleConfiguration>
             Logger.d(TAG, "Installing ANR reporter")
             val anrReporterInstrumentation = AnrReporterInstrumentation()
             anrReporterInstrumentation.addAttributesExtractor(RumAnrAttributesExtractor(application))
+                .setAnrThreshold(moduleConfiguration.anrThreshold.toMillis().coerceAtLeast(1), TimeUnit.MILLISECONDS)
+                .setPollInterval(moduleConfiguration.pollInterval.toMillis().coerceAtLeast(1), TimeUnit.MILLISECONDS)
+                .setStackSamplingEnabled(moduleConfiguration.isStackSamplingEnabled)
+                .setAllThreadsCaptureEnabled(moduleConfiguration.isAllThreadsCaptureEnabled)
             anrReporterInstrumentation.install(application, openTelemetry)
         } else {
             Logger.d(TAG, "ANR reporting is disabled")
@@ -23,7 +23,7 @@ import com.splunk.rum.integration.agent.common.module.ModuleConfiguration
  *
  * @property isEnabled Whether the module is enabled.
  */
-data class ApplicationLifecycleModuleConfiguration @JvmOverloads constructor(val isEnabled: Boolean = true) :
+data class ApplicationLifecycleModuleConfiguration @JvmOverloads constructor(override val isEnabled: Boolean = true) :
     ModuleConfiguration {
 
     override val name: String = "applicationLifecycle"
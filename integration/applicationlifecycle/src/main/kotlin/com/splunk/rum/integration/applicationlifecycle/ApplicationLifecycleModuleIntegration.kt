@@ -85,7 +85,7 @@ internal object ApplicationLifecycleModuleIntegration : ModuleIntegration<Applic
             return
         }
 
-        val logger = SplunkOpenTelemetrySdk.instance?.sdkLoggerProvider
+        val logger = SplunkOpenTelemetrySdk.openTelemetry?.logsBridge
 
         if (logger == null || canReport == null) {
             Logger.i(TAG, "Tracer provider not ready or reporting status unknown. Caching event")
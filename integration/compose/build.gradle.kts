@@ -0,0 +1,38 @@
+import plugins.ConfigAndroidLibrary
+import plugins.ConfigPublish
+import utils.artifactIdProperty
+import utils.artifactPrefix
+import utils.integrationPrefix
+import utils.versionProperty
+
+plugins {
+    id("com.android.library")
+    id("kotlin-android")
+}
+
+apply<ConfigAndroidLibrary>()
+apply<ConfigPublish>()
+
+ext {
+    set(artifactIdProperty, "$artifactPrefix$integrationPrefix${project.name}")
+    set(versionProperty, Configurations.sdkVersionName)
+}
+
+android {
+    namespace = "com.splunk.rum.integration.compose"
+}
+
+dependencies {
+    implementation(platform(Dependencies.Otel.instrumentationBomAlpha))
+
+    implementation(project(":integration:agent:internal"))
+    implementation(project(":common:otel"))
+    implementation(project(":instrumentation:runtime:compose"))
+
+    implementation(Dependencies.Otel.api)
+
+    compileOnly(Dependencies.Android.Compose.ui)
+
+    implementation(Dependencies.Common.logger)
+    implementation(Dependencies.Common.utils)
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.compose
+
+import com.splunk.rum.integration.agent.common.module.ModuleConfiguration
+
+/**
+ * Configuration for the Compose performance module.
+ *
+ * The module counts the recompositions and measures the layout and draw time of the composables
+ * tagged with `Modifier.splunkRum(id = ...)`. They are reported as one summary span per route when
+ * the route changes, not per frame.
+ *
+ * @property isEnabled Whether the module is enabled. Default is false.
+ */
+data class ComposeModuleConfiguration @JvmOverloads constructor(
+    override val isEnabled: Boolean = false
+) : ModuleConfiguration {
+
+    override val name: String = "compose"
+
+    override val attributes: List<Pair<String, String>> = listOf(
+        "enabled" to isEnabled.toString()
+    )
+}
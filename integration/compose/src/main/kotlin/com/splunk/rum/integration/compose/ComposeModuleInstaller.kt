@@ -1,5 +1,5 @@
 /*
- * Copyright 2025 Splunk Inc.
+ * Copyright 2026 Splunk Inc.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -14,23 +14,14 @@
  * limitations under the License.
  */
 
-package com.splunk.rum.integration.sessionreplay.index
+package com.splunk.rum.integration.compose
 
-import java.time.Instant
-import java.util.TreeMap
+import android.content.Context
+import com.splunk.rum.integration.agent.internal.module.ModuleInstaller
 
-internal class TimeIndex<T> {
-    private val timeMap = TreeMap<Instant, T>()
+internal class ComposeModuleInstaller : ModuleInstaller() {
 
-    fun put(value: T) {
-        @Suppress("NewApi") // Requires API 26 or core library desugaring
-        timeMap[Instant.now()] = value
+    override fun onInstall(context: Context) {
+        ComposeModuleIntegration.attach(context)
     }
-
-    fun putAt(time: Instant, value: T) {
-        @Suppress("NewApi") // Requires API 26 or core library desugaring
-        timeMap[time] = value
-    }
-
-    fun getAt(time: Instant): T? = timeMap.floorEntry(time)?.value
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.compose
+
+import android.app.Application
+import com.splunk.rum.common.logger.Logger
+import com.splunk.rum.instrumentation.compose.internal.ComposePerformanceInstrumentation
+import com.splunk.rum.instrumentation.compose.internal.ComposePerformanceModifier
+import com.splunk.rum.integration.agent.common.module.ModuleConfiguration
+import com.splunk.rum.integration.agent.internal.attributes.ScreenNameTracker
+import com.splunk.rum.integration.agent.internal.identification.ComposeElementIdentification
+import com.splunk.rum.integration.agent.internal.identification.ComposeElementIdentification.OrderPriority
+import com.splunk.rum.integration.agent.internal.module.ModuleIntegration
+import com.splunk.rum.integration.agent.internal.utils.runIfComposeUiExists
+import io.opentelemetry.api.OpenTelemetry
+
+internal object ComposeModuleIntegration : ModuleIntegration<ComposeModuleConfiguration>(
+    defaultModuleConfiguration = ComposeModuleConfiguration()
+) {
+
+    private const val TAG = "ComposeIntegration"
+
+    override fun onInstall(
+        application: Application,
+        openTelemetry: OpenTelemetry,
+        moduleConfigurations: List<ModuleConfiguration>
+    ) {
+        Logger.d(TAG, "onInstall()")
+
+        if (!moduleConfiguration.isEnabled) {
+            Logger.d(TAG, "Compose performance tracking is disabled")
+            return
+        }
+
+        runIfComposeUiExists {
+            Logger.d(TAG, "Installing Compose performance tracking")
+
+            val instrumentation = ComposePerformanceInstrumentation()
+            ScreenNameTracker.listeners += instrumentation::onScreenChanged
+            instrumentation.install(application, openTelemetry, ScreenNameTracker.screenName)
+
+            ComposeElementIdentification.insertModifierIfNeeded(
+                ComposePerformanceModifier::class,
+                OrderPriority.MEDIUM
+            ) { id, _, _ ->
+                id?.let(instrumentation::createModifier)
+            }
+        }
+    }
+}
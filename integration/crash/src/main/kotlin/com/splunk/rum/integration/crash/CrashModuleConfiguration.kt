@@ -22,12 +22,19 @@ import com.splunk.rum.integration.agent.common.module.ModuleConfiguration
  * Crash module configuration.
  *
  * @property isEnabled Whether the crash module is enabled.
+ * @property isNativeCrashReportingEnabled Whether native (NDK) crashes are reported as well. They are
+ *                                         read from the platform's tombstones on the next launch, on
+ *                                         Android 12 (API 31) and newer. Disabled by default.
  */
-data class CrashModuleConfiguration @JvmOverloads constructor(val isEnabled: Boolean = true) : ModuleConfiguration {
+data class CrashModuleConfiguration @JvmOverloads constructor(
+    override val isEnabled: Boolean = true,
+    val isNativeCrashReportingEnabled: Boolean = false
+) : ModuleConfiguration {
 
     override val name: String = "crash"
 
     override val attributes: List<Pair<String, String>> = listOf(
-        "enabled" to isEnabled.toString()
+        "enabled" to isEnabled.toString(),
+        "nativeCrashReportingEnabled" to isNativeCrashReportingEnabled.toString()
     )
 }
@@ -46,9 +46,19 @@ internal object CrashModuleIntegration : ModuleIntegration<CrashModuleConfigurat
             Logger.d(TAG, "Installing crash reporter")
             val crashReporterInstrumentation = CrashReporterInstrumentation()
             crashReporterInstrumentation.addAttributesExtractor(RumCrashAttributesExtractor(application))
+            crashReporterInstrumentation.setNativeCrashReportingEnabled(
+                moduleConfiguration.isNativeCrashReportingEnabled,
+                ::recordedSessionId
+            )
             crashReporterInstrumentation.install(application, openTelemetry)
         } else {
             Logger.d(TAG, "Crash reporting is disabled")
         }
     }
+
+    private fun recordedSessionId(timestamp: Long): String? = try {
+        sessionManager.sessionId(timestamp)
+    } catch (e: IllegalArgumentException) {
+        null
+    }
 }
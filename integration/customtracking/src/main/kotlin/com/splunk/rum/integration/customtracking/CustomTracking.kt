@@ -122,7 +122,7 @@ class CustomTracking internal constructor() {
      * @return A Tracer instance if available, or null if the OpenTelemetry instance is null.
      */
     private fun getTracer(): Tracer? =
-        SplunkOpenTelemetrySdk.instance?.sdkTracerProvider?.get(GlobalRumConstants.RUM_TRACER_NAME).also {
+        SplunkOpenTelemetrySdk.openTelemetry?.tracerProvider?.get(GlobalRumConstants.RUM_TRACER_NAME).also {
             if (it == null) {
                 Logger.e(
                     TAG,
@@ -29,6 +29,10 @@ internal object HttpURLModuleIntegration : ModuleIntegration<HttpURLModuleConfig
 
     private const val TAG = "HttpURLIntegration"
 
+    // Only builds the instrumenter, requests made before it is set are not traced.
+    override val isInstalledInBackground: Boolean = true
+
+    @Suppress("NewApi") // Duration.toMillis() requires API 26 or core library desugaring
     override fun onInstall(
         application: Application,
         openTelemetry: OpenTelemetry,
@@ -49,6 +53,11 @@ internal object HttpURLModuleIntegration : ModuleIntegration<HttpURLModuleConfig
                     .takeIf { it.isNotEmpty() }
                     ?.let { capturedResponseHeaders = it }
 
+                urlTemplates = moduleConfiguration.urlTemplates
+                isMetricsAggregationEnabled = moduleConfiguration.isMetricsAggregationEnabled
+                metricsFlushIntervalMs = moduleConfiguration.metricsFlushInterval.toMillis()
+                slowRequestThresholdMs = moduleConfiguration.slowRequestThreshold.toMillis()
+
                 install(openTelemetry)
             }
         }
@@ -36,4 +36,5 @@ dependencies {
     compileOnly(Dependencies.Android.Compose.ui)
 
     testImplementation(Dependencies.Test.junit)
+    testImplementation(Dependencies.Test.robolectric)
 }
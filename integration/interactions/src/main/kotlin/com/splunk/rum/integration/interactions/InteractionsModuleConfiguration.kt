@@ -22,13 +22,19 @@ import com.splunk.rum.integration.agent.common.module.ModuleConfiguration
  * A user interactions module configuration.
  *
  * @property isEnabled Whether the module is enabled.
+ * @property isInputLatencyTrackingEnabled Whether the time from a tap or a phone button press to the next frame drawn
+ *   is measured. It is attached to the interaction event and reported as p75 and p99 aggregates per screen. Enabling it
+ *   delays the interaction events until the next frame. Default is false.
  */
-data class InteractionsModuleConfiguration @JvmOverloads constructor(val isEnabled: Boolean = true) :
-    ModuleConfiguration {
+data class InteractionsModuleConfiguration @JvmOverloads constructor(
+    override val isEnabled: Boolean = true,
+    val isInputLatencyTrackingEnabled: Boolean = false
+) : ModuleConfiguration {
 
     override val name: String = "interactions"
 
     override val attributes: List<Pair<String, String>> = listOf(
-        "enabled" to isEnabled.toString()
+        "enabled" to isEnabled.toString(),
+        "isInputLatencyTrackingEnabled" to isInputLatencyTrackingEnabled.toString()
     )
 }
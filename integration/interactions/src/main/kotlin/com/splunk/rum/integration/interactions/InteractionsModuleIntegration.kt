@@ -17,7 +17,9 @@
 package com.splunk.rum.integration.interactions
 
 import android.app.Application
+import android.content.ComponentCallbacks2
 import android.content.Context
+import android.content.res.Configuration
 import com.splunk.android.instrumentation.recording.capturer.FrameCapturer
 import com.splunk.android.instrumentation.recording.interactions.Interactions
 import com.splunk.android.instrumentation.recording.interactions.OnInteractionListener
@@ -31,11 +33,14 @@ import com.splunk.rum.agent.common.otel.SplunkOpenTelemetrySdk
 import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
 import com.splunk.rum.common.logger.Logger
 import com.splunk.rum.integration.agent.common.module.ModuleConfiguration
+import com.splunk.rum.integration.agent.internal.attributes.ScreenNameTracker
 import com.splunk.rum.integration.agent.internal.identification.ComposeElementIdentification
 import com.splunk.rum.integration.agent.internal.identification.ComposeElementIdentification.OrderPriority
 import com.splunk.rum.integration.agent.internal.module.ModuleIntegration
 import com.splunk.rum.integration.agent.internal.utils.runIfComposeUiExists
 import com.splunk.rum.integration.interactions.api.InteractionCapture
+import com.splunk.rum.integration.interactions.latency.InputLatencyAggregator
+import com.splunk.rum.integration.interactions.latency.InputLatencyTracker
 import io.opentelemetry.api.OpenTelemetry
 import java.util.concurrent.TimeUnit
 
@@ -45,6 +50,9 @@ internal object InteractionsModuleIntegration : ModuleIntegration<InteractionsMo
 
     private const val TAG = "InteractionsIntegration"
 
+    private var inputLatencyTracker: InputLatencyTracker? = null
+    private var inputLatencyAggregator: InputLatencyAggregator? = null
+
     override fun onAttach(context: Context) {
         val application = context.applicationContext as Application
 
@@ -68,7 +76,30 @@ internal object InteractionsModuleIntegration : ModuleIntegration<InteractionsMo
         openTelemetry: OpenTelemetry,
         moduleConfigurations: List<ModuleConfiguration>
     ) {
-        // No-op, as Interactions does not require any specific installation steps.
+        if (!moduleConfiguration.isEnabled || !moduleConfiguration.isInputLatencyTrackingEnabled) {
+            return
+        }
+
+        val aggregator = InputLatencyAggregator(openTelemetry.getTracer(GlobalRumConstants.RUM_TRACER_NAME))
+        inputLatencyAggregator = aggregator
+        inputLatencyTracker = InputLatencyTracker()
+
+        application.registerComponentCallbacks(object : ComponentCallbacks2 {
+            override fun onTrimMemory(level: Int) {
+                if (level == ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+                    try {
+                        aggregator.flush()
+                    } catch (e: Exception) {
+                        Logger.e(TAG, "Failed to flush input latency", e)
+                    }
+                }
+            }
+
+            override fun onConfigurationChanged(newConfig: Configuration) = Unit
+
+            @Deprecated("Deprecated in Java")
+            override fun onLowMemory() = Unit
+        })
     }
 
     private fun setupComposeIdentification() {
@@ -103,7 +134,7 @@ internal object InteractionsModuleIntegration : ModuleIntegration<InteractionsMo
                 return
             }
 
-            val logger = SplunkOpenTelemetrySdk.instance?.sdkLoggerProvider ?: return
+            val logger = SplunkOpenTelemetrySdk.openTelemetry?.logsBridge ?: return
 
             val actionName = when (interaction) {
                 is Interaction.Focus ->
@@ -150,6 +181,16 @@ internal object InteractionsModuleIntegration : ModuleIntegration<InteractionsMo
                 "onInteraction(actionName: $actionName, targetType: $targetType, interaction: $interaction)"
             }
 
+            val xpath: String?
+            val targetElement: String?
+            if (interaction is Interaction.Targetable) {
+                xpath = XpathBuilder.build(interaction)
+                targetElement = interaction.targetElementPath?.lastOrNull()?.view?.typename.orEmpty()
+            } else {
+                xpath = null
+                targetElement = null
+            }
+
             val log = logger.get(GlobalRumConstants.RUM_TRACER_NAME)
                 .logRecordBuilder()
                 .setTimestamp(interaction.timestamp, TimeUnit.MILLISECONDS)
@@ -158,22 +199,72 @@ internal object InteractionsModuleIntegration : ModuleIntegration<InteractionsMo
                 .setAttribute(RumConstants.INTERACTIONS_ACTION_NAME_KEY, actionName)
                 .setAttribute(RumConstants.INTERACTIONS_TARGET_TYPE_KEY, targetType.orEmpty())
 
-            if (interaction is Interaction.Targetable) {
-                log.setAttribute(
-                    RumConstants.INTERACTIONS_TARGET_XPATH_KEY,
-                    XpathBuilder.build(interaction)
-                )
-
-                log.setAttribute(
-                    RumConstants.INTERACTIONS_TARGET_ELEMENT_KEY,
-                    interaction.targetElementPath?.lastOrNull()?.view?.typename.orEmpty()
-                )
-            }
+            xpath?.let { log.setAttribute(RumConstants.INTERACTIONS_TARGET_XPATH_KEY, it) }
+            targetElement?.let { log.setAttribute(RumConstants.INTERACTIONS_TARGET_ELEMENT_KEY, it) }
 
             log.emit()
+
+            val tracker = inputLatencyTracker
+            val aggregator = inputLatencyAggregator
+            if (tracker != null && aggregator != null && interaction.isLatencyMeasured()) {
+                // The screen may change before the next frame, so it is resolved now.
+                val screenName = ScreenNameTracker.screenName
+                tracker.measure(interaction.timestamp) { latency ->
+                    if (latency != null) {
+                        aggregator.record(screenName, latency)
+                        emitLatency(
+                            interaction.timestamp,
+                            actionName,
+                            targetType,
+                            xpath,
+                            targetElement,
+                            screenName,
+                            latency
+                        )
+                    }
+                }
+            }
         }
     }
 
+    /**
+     * Reports the latency of a single interaction as a follow-up to its `action` event, which is not delayed
+     * until the next frame. Both carry the same timestamp, action and target so they can be correlated.
+     */
+    private fun emitLatency(
+        timestamp: Long,
+        actionName: String,
+        targetType: String?,
+        xpath: String?,
+        targetElement: String?,
+        screenName: String,
+        latency: Long
+    ) {
+        val logger = SplunkOpenTelemetrySdk.openTelemetry?.logsBridge ?: return
+
+        val log = logger.get(GlobalRumConstants.RUM_TRACER_NAME)
+            .logRecordBuilder()
+            .setTimestamp(timestamp, TimeUnit.MILLISECONDS)
+            .setAttribute(GlobalRumConstants.LOG_EVENT_NAME_KEY, RumConstants.INTERACTIONS_LATENCY_EVENT_NAME)
+            .setAttribute(GlobalRumConstants.COMPONENT_KEY, RumConstants.COMPONENT_INTERACTIONS)
+            .setAttribute(GlobalRumConstants.SCREEN_NAME_KEY, screenName)
+            .setAttribute(RumConstants.INTERACTIONS_ACTION_NAME_KEY, actionName)
+            .setAttribute(RumConstants.INTERACTIONS_TARGET_TYPE_KEY, targetType.orEmpty())
+            .setAttribute(RumConstants.INTERACTIONS_LATENCY_KEY, latency)
+
+        xpath?.let { log.setAttribute(RumConstants.INTERACTIONS_TARGET_XPATH_KEY, it) }
+        targetElement?.let { log.setAttribute(RumConstants.INTERACTIONS_TARGET_ELEMENT_KEY, it) }
+
+        log.emit()
+    }
+
+    /**
+     * Only discrete interactions are measured, the timestamp of gestures and long presses is their beginning.
+     */
+    private fun Interaction.isLatencyMeasured(): Boolean = this is Interaction.Touch.Gesture.Tap ||
+        this is Interaction.Touch.Gesture.DoubleTap ||
+        this is Interaction.PhoneButton
+
     private val frustrationsListener = object : OnInteractionListener {
         override fun onInteraction(interaction: Interaction, legacyData: LegacyData?) {
             if (!moduleConfiguration.isEnabled) {
@@ -181,7 +272,7 @@ internal object InteractionsModuleIntegration : ModuleIntegration<InteractionsMo
             }
 
             if (interaction is Interaction.Touch.Gesture.RageTap) {
-                val logger = SplunkOpenTelemetrySdk.instance?.sdkLoggerProvider ?: return
+                val logger = SplunkOpenTelemetrySdk.openTelemetry?.logsBridge ?: return
 
                 Logger.d(TAG) { "onFrustration(interaction: $interaction)" }
 
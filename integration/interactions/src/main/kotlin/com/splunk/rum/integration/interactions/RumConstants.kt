@@ -25,6 +25,7 @@ internal object RumConstants {
 
     const val INTERACTIONS_EVENT_NAME = "action"
     const val FRUSTRATIONS_EVENT_NAME = "frustration"
+    const val INTERACTIONS_LATENCY_EVENT_NAME = "action_latency"
 
     // Interaction types
     const val INTERACTIONS_ACTION_FOCUS = "focus"
@@ -45,6 +46,7 @@ internal object RumConstants {
     val INTERACTIONS_TARGET_TYPE_KEY: AttributeKey<String> = AttributeKey.stringKey("target.type")
     val INTERACTIONS_TARGET_XPATH_KEY: AttributeKey<String> = AttributeKey.stringKey("target_xpath")
     val INTERACTIONS_TARGET_ELEMENT_KEY: AttributeKey<String> = AttributeKey.stringKey("target_element")
+    val INTERACTIONS_LATENCY_KEY: AttributeKey<Long> = AttributeKey.longKey("interaction.latency")
     val FRUSTRATIONS_TYPE: AttributeKey<String> = AttributeKey.stringKey("frustration_type")
     val FRUSTRATIONS_INTERACTION_TYPE: AttributeKey<String?>? = AttributeKey.stringKey("interaction_type")
 }
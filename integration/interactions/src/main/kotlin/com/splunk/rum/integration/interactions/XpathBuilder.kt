@@ -4,9 +4,18 @@ import com.splunk.android.instrumentation.recording.interactions.model.Interacti
 
 internal object XpathBuilder {
 
-    private const val PREFIX = "//Scene/Window/"
+    private const val PREFIX = "//Scene/Window"
     private const val USER_ID_PREFIX = "userid_"
 
+    /**
+     * Upper bound of cached path prefixes, the cache is dropped when a new path would exceed it.
+     */
+    private const val MAX_CACHED_PATHS = 1024
+
+    private val lock = Any()
+    private val root = PathNode(PREFIX)
+    private var cachedPathCount = 0
+
     /**
      * Builds a simple XPath-like string from the interaction's target path by
      * concatenating each element's view typename, appending a positional suffix
@@ -14,29 +23,55 @@ internal object XpathBuilder {
      * ids (prefixed with `userid_`) as `[@id="..."]` (without the prefix), and
      * joining segments with `/`. Prepends `//Scene/Window/` when a path exists.
      * Returns an empty string when the path is absent.
+     *
+     * Built paths are kept in a prefix tree keyed by the segments, so repeated taps on the same
+     * hierarchy, or on siblings such as list items, reuse the already built strings instead of
+     * joining the whole path again.
      */
     // TODO Compose neds to add userid_ prefix to the ids if the user specifies id. Currently it only works for XML.
     fun build(interactions: Interaction.Targetable): String {
-        val xpath = interactions.targetElementPath
-            ?.joinToString(separator = "/") { element ->
-                val positionSuffix = element.positionInList?.let { "[$it]" }.orEmpty()
-
-                val userId = element.view.id
-                    ?.takeIf { it.startsWith(USER_ID_PREFIX) }
-                    ?.removePrefix(USER_ID_PREFIX)
+        val path = interactions.targetElementPath
+        if (path.isNullOrEmpty()) {
+            return ""
+        }
 
-                val idSuffix = userId
-                    ?.let { """[@id="$it"]""" }
-                    .orEmpty()
+        synchronized(lock) {
+            if (cachedPathCount + path.size > MAX_CACHED_PATHS) {
+                root.children?.clear()
+                cachedPathCount = 0
+            }
 
-                "${element.view.typename}$positionSuffix$idSuffix"
+            var node = root
+            for (element in path) {
+                val userId = element.view.id?.takeIf { it.startsWith(USER_ID_PREFIX) }
+                node = node.child(SegmentKey(element.view.typename, element.positionInList, userId))
             }
-            .orEmpty()
+            return node.xpath
+        }
+    }
 
-        return if (xpath.isNotEmpty()) {
-            "$PREFIX$xpath"
-        } else {
-            ""
+    private fun PathNode.child(key: SegmentKey): PathNode {
+        val children = children ?: HashMap<SegmentKey, PathNode>().also { children = it }
+        return children.getOrPut(key) {
+            cachedPathCount++
+            PathNode("$xpath/${key.toSegment()}")
         }
     }
+
+    private fun SegmentKey.toSegment(): String {
+        val positionSuffix = positionInList?.let { "[$it]" }.orEmpty()
+
+        val idSuffix = userId
+            ?.removePrefix(USER_ID_PREFIX)
+            ?.let { """[@id="$it"]""" }
+            .orEmpty()
+
+        return "$typename$positionSuffix$idSuffix"
+    }
+
+    private data class SegmentKey(val typename: String?, val positionInList: Int?, val userId: String?)
+
+    private class PathNode(val xpath: String) {
+        var children: HashMap<SegmentKey, PathNode>? = null
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.interactions.latency
+
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import com.splunk.rum.agent.common.otel.metrics.BoundedAggregationMap
+import com.splunk.rum.agent.common.otel.metrics.LatencyHistogram
+import com.splunk.rum.common.logger.Logger
+import io.opentelemetry.api.common.AttributeKey
+import io.opentelemetry.api.trace.Tracer
+import java.util.concurrent.TimeUnit
+
+/**
+ * Aggregates interaction latencies per screen and flushes them as one summary span per screen with the p75 and p99
+ * latency. The number of screens is bounded, extra ones are reported under [OVERFLOW].
+ *
+ * A window is flushed by [flush] or by the first latency recorded after [windowMillis] elapsed.
+ */
+internal class InputLatencyAggregator @JvmOverloads constructor(
+    private val tracer: Tracer,
+    maxScreens: Int = DEFAULT_MAX_SCREENS,
+    private val windowMillis: Long = DEFAULT_WINDOW_MILLIS,
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+
+    private val lock = Any()
+    private val screens = BoundedAggregationMap.perScreen(maxScreens) { LatencyHistogram() }
+    private var windowStartMillis = clock()
+
+    fun record(screenName: String, latencyMillis: Long) {
+        val isWindowElapsed = synchronized(lock) {
+            screens.entry(screenName).record(latencyMillis)
+            clock() - windowStartMillis >= windowMillis
+        }
+
+        if (isWindowElapsed) {
+            flush()
+        }
+    }
+
+    /**
+     * Emits the summary spans for everything recorded since the previous flush and starts a new window.
+     */
+    fun flush() {
+        val flushedScreens: Map<String, LatencyHistogram>
+        val startMillis: Long
+        val endMillis = clock()
+
+        synchronized(lock) {
+            startMillis = windowStartMillis
+            windowStartMillis = endMillis
+            if (screens.isEmpty()) {
+                return
+            }
+            flushedScreens = screens.drain()
+        }
+
+        Logger.d(TAG) { "flush() - reporting ${flushedScreens.size} screens" }
+
+        for ((screenName, histogram) in flushedScreens) {
+            tracer.spanBuilder(INPUT_LATENCY_SPAN_NAME)
+                .setStartTimestamp(startMillis, TimeUnit.MILLISECONDS)
+                .setAttribute(GlobalRumConstants.SCREEN_NAME_KEY, screenName)
+                .setAttribute(COUNT_KEY, histogram.count)
+                .setAttribute(P75_KEY, histogram.valueAtPercentile(75.0))
+                .setAttribute(P99_KEY, histogram.valueAtPercentile(99.0))
+                .setAttribute(MAX_KEY, histogram.max)
+                .startSpan()
+                .end(endMillis, TimeUnit.MILLISECONDS)
+        }
+    }
+
+    companion object {
+        private const val TAG = "InputLatency"
+
+        const val INPUT_LATENCY_SPAN_NAME = "inputLatency"
+        const val OVERFLOW = BoundedAggregationMap.OVERFLOW
+
+        private const val DEFAULT_MAX_SCREENS = 50
+        private const val DEFAULT_WINDOW_MILLIS = 5 * 60 * 1_000L
+
+        val COUNT_KEY: AttributeKey<Long> = AttributeKey.longKey("interaction.count")
+
+        /**
+         * Latencies, in milliseconds.
+         */
+        val P75_KEY: AttributeKey<Long> = AttributeKey.longKey("interaction.latency.p75")
+        val P99_KEY: AttributeKey<Long> = AttributeKey.longKey("interaction.latency.p99")
+        val MAX_KEY: AttributeKey<Long> = AttributeKey.longKey("interaction.latency.max")
+    }
+}
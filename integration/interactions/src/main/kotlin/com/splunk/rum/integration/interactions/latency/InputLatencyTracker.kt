@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.interactions.latency
+
+import android.os.Handler
+import android.os.Looper
+import android.view.Choreographer
+
+/**
+ * Measures interaction to next frame latency: the time from an input event until the first frame drawn after the
+ * handlers of that event ran, in the spirit of the web's Interaction to Next Paint.
+ *
+ * Must be used from the main thread.
+ */
+internal class InputLatencyTracker @JvmOverloads constructor(
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+
+    private val handler = Handler(Looper.getMainLooper())
+
+    /**
+     * Measures the latency of the input event that happened at [eventTimestamp], in milliseconds since the epoch.
+     * [callback] is invoked on the main thread with the latency in milliseconds, or with null when no frame was drawn
+     * within [TIMEOUT_MILLIS].
+     */
+    fun measure(eventTimestamp: Long, callback: (Long?) -> Unit) {
+        val measurement = Measurement(eventTimestamp, callback)
+
+        // Views post their click handlers while the event is dispatched, so a posted message runs after them.
+        handler.post(measurement)
+        handler.postDelayed(measurement.timeout, TIMEOUT_MILLIS)
+    }
+
+    private inner class Measurement(
+        private val eventTimestamp: Long,
+        private val callback: (Long?) -> Unit
+    ) : Runnable, Choreographer.FrameCallback {
+
+        private var isCompleted = false
+
+        val timeout = Runnable { complete(null) }
+
+        private val frameDrawn = Runnable {
+            complete((clock() - eventTimestamp).coerceAtLeast(0L))
+        }
+
+        override fun run() {
+            Choreographer.getInstance().postFrameCallback(this)
+        }
+
+        override fun doFrame(frameTimeNanos: Long) {
+            // Layout and draw of this frame run right after the frame callbacks within the same message, so a message
+            // at the front of the queue runs as soon as the frame is drawn.
+            handler.postAtFrontOfQueue(frameDrawn)
+        }
+
+        private fun complete(latency: Long?) {
+            if (isCompleted) {
+                return
+            }
+            isCompleted = true
+            handler.removeCallbacks(timeout)
+            callback(latency)
+        }
+    }
+
+    private companion object {
+        const val TIMEOUT_MILLIS = 1_000L
+    }
+}
@@ -7,6 +7,7 @@ import com.splunk.android.instrumentation.recording.interactions.model.Interacti
 import com.splunk.android.instrumentation.recording.wireframe.model.Wireframe
 import com.splunk.rum.common.utils.Lock
 import junit.framework.TestCase.assertEquals
+import junit.framework.TestCase.assertSame
 import org.junit.Test
 
 internal class XPathBuilderTest {
@@ -70,6 +71,32 @@ internal class XPathBuilderTest {
         assertEquals("//Scene/Window/ListView/Row[@id=\"row\"]/Text[2][@id=\"value\"]", result)
     }
 
+    @Test
+    fun `reuses the path built for an equal hierarchy`() {
+        val first = XpathBuilder.build(
+            targetable(listOf(element(view(typename = "List")), element(view(typename = "Row"), position = 1)))
+        )
+        val second = XpathBuilder.build(
+            targetable(listOf(element(view(typename = "List")), element(view(typename = "Row"), position = 1)))
+        )
+
+        assertEquals("//Scene/Window/List/Row[1]", first)
+        assertSame(first, second)
+    }
+
+    @Test
+    fun `distinguishes paths sharing a prefix`() {
+        val parent = element(view(typename = "List", id = "userid_list"))
+
+        val row = XpathBuilder.build(targetable(listOf(parent, element(view(typename = "Row"), position = 1))))
+        val otherRow = XpathBuilder.build(targetable(listOf(parent, element(view(typename = "Row"), position = 2))))
+        val list = XpathBuilder.build(targetable(listOf(parent)))
+
+        assertEquals("//Scene/Window/List[@id=\"list\"]/Row[1]", row)
+        assertEquals("//Scene/Window/List[@id=\"list\"]/Row[2]", otherRow)
+        assertEquals("//Scene/Window/List[@id=\"list\"]", list)
+    }
+
     private fun targetable(path: List<ElementNode>?) = object : Interaction.Targetable {
         override val targetElementPath: List<ElementNode>? = path
     }
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.interactions.latency
+
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import io.opentelemetry.sdk.common.CompletableResultCode
+import io.opentelemetry.sdk.trace.SdkTracerProvider
+import io.opentelemetry.sdk.trace.data.SpanData
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor
+import io.opentelemetry.sdk.trace.export.SpanExporter
+import java.util.Collections
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+
+class InputLatencyAggregatorTest {
+
+    private val exportedSpans: MutableList<SpanData> = Collections.synchronizedList(mutableListOf())
+
+    private val collectingExporter = object : SpanExporter {
+        override fun export(spans: MutableCollection<SpanData>): CompletableResultCode {
+            exportedSpans.addAll(spans)
+            return CompletableResultCode.ofSuccess()
+        }
+
+        override fun flush() = CompletableResultCode.ofSuccess()
+        override fun shutdown() = CompletableResultCode.ofSuccess()
+    }
+
+    private lateinit var tracerProvider: SdkTracerProvider
+    private lateinit var aggregator: InputLatencyAggregator
+
+    private var now = 1_000L
+
+    @Before
+    fun setUp() {
+        exportedSpans.clear()
+        tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(collectingExporter))
+            .build()
+        aggregator = InputLatencyAggregator(
+            tracerProvider.get("test"),
+            maxScreens = 2,
+            windowMillis = 60_000L,
+            clock = { now }
+        )
+    }
+
+    @After
+    fun tearDown() {
+        tracerProvider.close()
+    }
+
+    @Test
+    fun `aggregates latencies per screen`() {
+        for (latency in 1L..100L) {
+            aggregator.record("Home", latency)
+        }
+        aggregator.record("Details", 12)
+        now = 31_000L
+        aggregator.flush()
+
+        assertEquals(2, exportedSpans.size)
+        val home = span("Home")
+        assertEquals(InputLatencyAggregator.INPUT_LATENCY_SPAN_NAME, home.name)
+        assertEquals(100L, home.attributes.get(InputLatencyAggregator.COUNT_KEY))
+        assertEquals(100L, home.attributes.get(InputLatencyAggregator.MAX_KEY))
+        assertInBucket(75L, home.attributes.get(InputLatencyAggregator.P75_KEY))
+        assertInBucket(99L, home.attributes.get(InputLatencyAggregator.P99_KEY))
+        assertEquals(1_000_000_000L, home.startEpochNanos)
+        assertEquals(31_000_000_000L, home.endEpochNanos)
+
+        val details = span("Details")
+        assertEquals(1L, details.attributes.get(InputLatencyAggregator.COUNT_KEY))
+        assertEquals(12L, details.attributes.get(InputLatencyAggregator.P99_KEY))
+    }
+
+    @Test
+    fun `reports extra screens under the overflow screen`() {
+        aggregator.record("A", 10)
+        aggregator.record("B", 20)
+        aggregator.record("C", 30)
+        aggregator.record("D", 40)
+        aggregator.flush()
+
+        assertEquals(3, exportedSpans.size)
+        val overflow = span(InputLatencyAggregator.OVERFLOW)
+        assertEquals(2L, overflow.attributes.get(InputLatencyAggregator.COUNT_KEY))
+        assertEquals(40L, overflow.attributes.get(InputLatencyAggregator.MAX_KEY))
+    }
+
+    @Test
+    fun `flushes when the window elapsed`() {
+        aggregator.record("Home", 10)
+        assertTrue(exportedSpans.isEmpty())
+
+        now = 61_000L
+        aggregator.record("Home", 20)
+
+        assertEquals(1, exportedSpans.size)
+        assertEquals(2L, span("Home").attributes.get(InputLatencyAggregator.COUNT_KEY))
+    }
+
+    @Test
+    fun `flush starts a new window`() {
+        aggregator.record("Home", 10)
+        aggregator.flush()
+        aggregator.flush()
+
+        assertEquals(1, exportedSpans.size)
+        assertTrue(exportedSpans.all { it.hasEnded() })
+    }
+
+    private fun span(screenName: String): SpanData =
+        exportedSpans.single { it.attributes.get(GlobalRumConstants.SCREEN_NAME_KEY) == screenName }
+
+    /**
+     * Percentiles are reported with the resolution of the histogram buckets.
+     */
+    private fun assertInBucket(expected: Long, actual: Long?) {
+        assertTrue(
+            "expected ~$expected but was $actual",
+            actual != null && actual >= expected && actual <= expected * 9 / 8
+        )
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.interactions.latency
+
+import android.os.Handler
+import android.os.Looper
+import android.view.Choreographer
+import java.time.Duration
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.Shadows.shadowOf
+
+@RunWith(RobolectricTestRunner::class)
+class InputLatencyTrackerTest {
+
+    private val handler = Handler(Looper.getMainLooper())
+    private val latencies = mutableListOf<Long?>()
+    private var now = 1_000L
+
+    private lateinit var tracker: InputLatencyTracker
+
+    @Before
+    fun setUp() {
+        tracker = InputLatencyTracker(clock = { now })
+    }
+
+    @Test
+    fun `latency lasts until the frame drawn after the event handlers`() {
+        tracker.measure(eventTimestamp = 990L) { latencies += it }
+        // A click handler posted while the event is dispatched.
+        handler.post { now = 1_040L }
+
+        assertTrue(latencies.isEmpty())
+
+        shadowOf(Looper.getMainLooper()).idle()
+        drawFrame()
+
+        assertEquals(listOf<Long?>(50L), latencies)
+    }
+
+    @Test
+    fun `latency is reported before the messages posted during the frame`() {
+        tracker.measure(eventTimestamp = 990L) { latencies += it }
+        shadowOf(Looper.getMainLooper()).idle()
+
+        // Registered after the tracker's frame callback, so it runs after it within the same frame.
+        Choreographer.getInstance().postFrameCallback {
+            handler.post { now = 5_000L }
+        }
+        now = 1_020L
+        drawFrame()
+
+        assertEquals(listOf<Long?>(30L), latencies)
+        assertEquals(5_000L, now)
+    }
+
+    @Test
+    fun `latency is reported once`() {
+        tracker.measure(eventTimestamp = 990L) { latencies += it }
+        drawFrame()
+        drawFrame()
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofSeconds(2))
+
+        assertEquals(listOf<Long?>(10L), latencies)
+    }
+
+    private fun drawFrame() {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(FRAME_MILLIS))
+    }
+
+    private companion object {
+        const val FRAME_MILLIS = 17L
+    }
+}
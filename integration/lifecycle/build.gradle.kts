@@ -30,4 +30,6 @@ dependencies {
     implementation(Dependencies.Common.logger)
 
     implementation(Dependencies.Android.fragmentKtx)
+
+    testImplementation(Dependencies.Test.junit)
 }
@@ -17,20 +17,30 @@
 package com.splunk.rum.integration.lifecycle
 
 import android.app.Activity
+import android.os.Handler
+import android.os.Looper
 import androidx.fragment.app.Fragment
 import com.splunk.rum.agent.common.otel.SplunkOpenTelemetrySdk
 import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
 import com.splunk.rum.common.logger.Logger
 import com.splunk.rum.common.utils.extensions.forEachFast
 import com.splunk.rum.integration.lifecycle.model.LifecycleAction
+import com.splunk.rum.integration.lifecycle.model.LifecycleElement
 import com.splunk.rum.integration.lifecycle.model.LifecycleEventData
+import com.splunk.rum.integration.lifecycle.model.LifecycleTransition
 import java.util.concurrent.TimeUnit
 
 /**
  * Emits OpenTelemetry lifecycle events for Activities and Fragments.
  * Caches events when the logger provider is not ready (such as in Flutter/React Native environments).
+ *
+ * When [isBatchingEnabled] is set, callbacks are aggregated by [LifecycleTransitionBatcher] and each screen
+ * transition is reported as a single span instead of one event per callback.
  */
-internal class LifecycleEventEmitter(private val allowedEvents: Set<LifecycleAction>) {
+internal class LifecycleEventEmitter(
+    private val allowedEvents: Set<LifecycleAction>,
+    isBatchingEnabled: Boolean = false
+) {
 
     private companion object {
         const val TAG = "LifecycleEventEmitter"
@@ -38,6 +48,17 @@ internal class LifecycleEventEmitter(private val allowedEvents: Set<LifecycleAct
 
     private val lock = Any()
     private val cache: MutableList<LifecycleEventData> = mutableListOf()
+    private val transitionCache: MutableList<LifecycleTransition> = mutableListOf()
+
+    // Class names are resolved once per class, lifecycle callbacks are dispatched on the main thread only.
+    private val elements = HashMap<Class<*>, LifecycleElement>()
+
+    private val batcher: LifecycleTransitionBatcher? = if (isBatchingEnabled) {
+        val mainHandler = Handler(Looper.getMainLooper())
+        LifecycleTransitionBatcher(allowedEvents, { mainHandler.post(it) }, ::emitTransition)
+    } else {
+        null
+    }
 
     @Volatile
     private var isInstallComplete = false
@@ -47,16 +68,7 @@ internal class LifecycleEventEmitter(private val allowedEvents: Set<LifecycleAct
      * Uses class-level tracking: element.id = fully qualified class name
      */
     fun emitActivityEvent(activity: Activity, action: LifecycleAction) {
-        val elementId = activity::class.java.name // Class-level tracking
-        val elementName = activity::class.java.simpleName
-
-        emitEvent(
-            elementType = RumConstants.UI_LIFECYCLE_ACTIVITY_TYPE,
-            elementName = elementName,
-            elementId = elementId,
-            action = action,
-            timestamp = System.currentTimeMillis()
-        )
+        emit(activity, RumConstants.UI_LIFECYCLE_ACTIVITY_TYPE, action)
     }
 
     /**
@@ -64,15 +76,20 @@ internal class LifecycleEventEmitter(private val allowedEvents: Set<LifecycleAct
      * Uses class-level tracking: element.id = fully qualified class name
      */
     fun emitFragmentEvent(fragment: Fragment, action: LifecycleAction) {
-        val elementId = fragment::class.java.name // Class-level tracking
-        val elementName = fragment::class.java.simpleName
-        emitEvent(
-            elementType = RumConstants.UI_LIFECYCLE_FRAGMENT_TYPE,
-            elementName = elementName,
-            elementId = elementId,
-            action = action,
-            timestamp = System.currentTimeMillis()
-        )
+        emit(fragment, RumConstants.UI_LIFECYCLE_FRAGMENT_TYPE, action)
+    }
+
+    private fun emit(owner: Any, elementType: String, action: LifecycleAction) {
+        val element = elements.getOrPut(owner.javaClass) {
+            LifecycleElement(type = elementType, name = owner.javaClass.simpleName, id = owner.javaClass.name)
+        }
+        val timestamp = System.currentTimeMillis()
+
+        if (batcher != null) {
+            batcher.record(owner, element, action, timestamp)
+        } else {
+            emitEvent(element.type, element.name, element.id, action, timestamp)
+        }
     }
 
     /**
@@ -117,7 +134,7 @@ internal class LifecycleEventEmitter(private val allowedEvents: Set<LifecycleAct
         action: LifecycleAction,
         timestamp: Long
     ) {
-        val logger = SplunkOpenTelemetrySdk.instance?.sdkLoggerProvider
+        val logger = SplunkOpenTelemetrySdk.openTelemetry?.logsBridge
 
         if (logger == null) {
             Logger.w(TAG, "Logger provider not ready, skipping lifecycle event")
@@ -138,16 +155,65 @@ internal class LifecycleEventEmitter(private val allowedEvents: Set<LifecycleAct
             .emit()
     }
 
+    /**
+     * Emit a batched screen transition.
+     * Caches the transition if installation is not complete.
+     */
+    private fun emitTransition(transition: LifecycleTransition) {
+        synchronized(lock) {
+            if (!isInstallComplete) {
+                Logger.d(TAG) {
+                    "Install not complete, caching lifecycle transition: ${transition.element.name} - ${transition.action}"
+                }
+                transitionCache += transition
+                return
+            }
+        }
+
+        emitTransitionInternal(transition)
+    }
+
+    /**
+     * Actually emit the transition span to OpenTelemetry.
+     */
+    private fun emitTransitionInternal(transition: LifecycleTransition) {
+        val provider = SplunkOpenTelemetrySdk.openTelemetry?.tracerProvider
+
+        if (provider == null) {
+            Logger.w(TAG, "Tracer provider not ready, skipping lifecycle transition")
+            return
+        }
+
+        Logger.d(TAG) {
+            "Emitting lifecycle transition: ${transition.element.name} - ${transition.phases}"
+        }
+
+        provider.get(GlobalRumConstants.RUM_TRACER_NAME)
+            .spanBuilder(RumConstants.UI_LIFECYCLE_TRANSITION_SPAN_NAME)
+            .setStartTimestamp(transition.startTimestamp, TimeUnit.MILLISECONDS)
+            .setAttribute(GlobalRumConstants.COMPONENT_KEY, RumConstants.COMPONENT_UI_LIFECYCLE)
+            .setAttribute(RumConstants.ELEMENT_TYPE_KEY, transition.element.type)
+            .setAttribute(RumConstants.ELEMENT_NAME_KEY, transition.element.name)
+            .setAttribute(RumConstants.ELEMENT_ID_KEY, transition.element.id)
+            .setAttribute(RumConstants.LIFECYCLE_ACTION_KEY, transition.action.attributeValue)
+            .setAttribute(RumConstants.LIFECYCLE_PHASES_KEY, transition.phases)
+            .startSpan()
+            .end(transition.endTimestamp, TimeUnit.MILLISECONDS)
+    }
+
     /**
      * Process all cached events. Called when installation is complete.
      * Filters events based on allowedEvents configuration.
      */
     fun processCachedEvents() {
         val cachedEvents: List<LifecycleEventData>
+        val cachedTransitions: List<LifecycleTransition>
 
         synchronized(lock) {
             cachedEvents = cache.toList()
             cache.clear()
+            cachedTransitions = transitionCache.toList()
+            transitionCache.clear()
             isInstallComplete = true
         }
 
@@ -173,5 +239,10 @@ internal class LifecycleEventEmitter(private val allowedEvents: Set<LifecycleAct
                 )
             }
         }
+
+        if (cachedTransitions.isNotEmpty()) {
+            Logger.d(TAG) { "Processing cached lifecycle transitions (size: ${cachedTransitions.size})" }
+            cachedTransitions.forEachFast { emitTransitionInternal(it) }
+        }
     }
 }
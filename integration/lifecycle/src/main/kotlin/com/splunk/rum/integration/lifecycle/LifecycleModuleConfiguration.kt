@@ -27,17 +27,21 @@ import com.splunk.rum.integration.lifecycle.model.LifecycleAction
  *
  * @property isEnabled Whether the module is enabled. Default is true.
  * @property allowedEvents Set of lifecycle actions to track. Default is [MAIN_LIFECYCLE_EVENTS].
+ * @property isBatchingEnabled Whether the callbacks of a screen transition are aggregated into a single
+ * `app.ui.lifecycle.transition` span with per-phase offsets instead of one event per callback. Default is false.
  */
 data class LifecycleModuleConfiguration @JvmOverloads constructor(
-    val isEnabled: Boolean = true,
-    val allowedEvents: Set<LifecycleAction> = MAIN_LIFECYCLE_EVENTS
+    override val isEnabled: Boolean = true,
+    val allowedEvents: Set<LifecycleAction> = MAIN_LIFECYCLE_EVENTS,
+    val isBatchingEnabled: Boolean = false
 ) : ModuleConfiguration {
 
     override val name: String = "lifecycle"
 
     override val attributes: List<Pair<String, String>> = listOf(
         "enabled" to isEnabled.toString(),
-        "allowedEvents" to allowedEvents.joinToString(",", "[", "]") { it.name }
+        "allowedEvents" to allowedEvents.joinToString(",", "[", "]") { it.name },
+        "batching" to isBatchingEnabled.toString()
     )
 
     companion object {
@@ -54,7 +54,10 @@ internal object LifecycleModuleIntegration : ModuleIntegration<LifecycleModuleCo
 
         Logger.d(TAG, "Lifecycle module is enabled. Registering lifecycle callbacks.")
 
-        val lifecycleEmitter = LifecycleEventEmitter(moduleConfiguration.allowedEvents)
+        val lifecycleEmitter = LifecycleEventEmitter(
+            allowedEvents = moduleConfiguration.allowedEvents,
+            isBatchingEnabled = moduleConfiguration.isBatchingEnabled
+        )
         emitter = lifecycleEmitter
 
         registerActivityLifecycle(application, lifecycleEmitter)
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.lifecycle
+
+import com.splunk.rum.integration.lifecycle.model.LifecycleAction
+import com.splunk.rum.integration.lifecycle.model.LifecycleElement
+import com.splunk.rum.integration.lifecycle.model.LifecycleTransition
+import java.util.WeakHashMap
+
+/**
+ * Aggregates lifecycle callbacks of an element into a single [LifecycleTransition].
+ *
+ * Callbacks are buffered per element instance until one of the settle actions (resumed, stopped, destroyed,
+ * detached) is received. The flush is then handed to [scheduler] so the trailing post-callbacks dispatched in
+ * the same main thread message still end up in the same transition.
+ *
+ * Settle actions are detected regardless of [allowedEvents], only the recorded phases are filtered.
+ * Transitions without any allowed phase are dropped.
+ *
+ * Not thread safe, all calls are expected on the main thread where lifecycle callbacks are dispatched.
+ */
+internal class LifecycleTransitionBatcher(
+    private val allowedEvents: Set<LifecycleAction>,
+    private val scheduler: (Runnable) -> Unit,
+    private val onTransition: (LifecycleTransition) -> Unit
+) {
+
+    // Weak keys, so an element which never settles (e.g. process death mid-transition) is not leaked.
+    private val batches = WeakHashMap<Any, Batch>()
+
+    fun record(owner: Any, element: LifecycleElement, action: LifecycleAction, timestamp: Long) {
+        val batch = batches.getOrPut(owner) { Batch(element) }
+
+        if (action in allowedEvents) {
+            batch.add(action, timestamp)
+        }
+
+        if (action in SETTLE_ACTIONS && !batch.isFlushScheduled) {
+            batch.isFlushScheduled = true
+            scheduler(Runnable { flush(owner, batch) })
+        }
+    }
+
+    private fun flush(owner: Any, batch: Batch) {
+        if (batches[owner] === batch) {
+            batches.remove(owner)
+        }
+
+        batch.toTransition()?.let(onTransition)
+    }
+
+    private class Batch(val element: LifecycleElement) {
+
+        var isFlushScheduled = false
+
+        private var ordinals = ByteArray(INITIAL_CAPACITY)
+        private var timestamps = LongArray(INITIAL_CAPACITY)
+        private var size = 0
+
+        fun add(action: LifecycleAction, timestamp: Long) {
+            if (size == timestamps.size) {
+                ordinals = ordinals.copyOf(size * 2)
+                timestamps = timestamps.copyOf(size * 2)
+            }
+
+            ordinals[size] = action.ordinal.toByte()
+            timestamps[size] = timestamp
+            size++
+        }
+
+        fun toTransition(): LifecycleTransition? {
+            if (size == 0) {
+                return null
+            }
+
+            val start = timestamps[0]
+            val phases = StringBuilder(size * PHASE_LENGTH_ESTIMATE)
+
+            for (i in 0 until size) {
+                if (i > 0) {
+                    phases.append(',')
+                }
+
+                phases.append(ACTIONS[ordinals[i].toInt()].attributeValue)
+                    .append(':')
+                    .append((timestamps[i] - start).coerceAtLeast(0))
+            }
+
+            return LifecycleTransition(
+                element = element,
+                startTimestamp = start,
+                endTimestamp = maxOf(start, timestamps[size - 1]),
+                action = ACTIONS[ordinals[size - 1].toInt()],
+                phases = phases.toString()
+            )
+        }
+    }
+
+    private companion object {
+        const val INITIAL_CAPACITY = 8
+        const val PHASE_LENGTH_ESTIMATE = 16
+
+        val ACTIONS = LifecycleAction.values()
+
+        val SETTLE_ACTIONS = setOf(
+            LifecycleAction.RESUMED,
+            LifecycleAction.STOPPED,
+            LifecycleAction.DESTROYED,
+            LifecycleAction.DETACHED
+        )
+    }
+}
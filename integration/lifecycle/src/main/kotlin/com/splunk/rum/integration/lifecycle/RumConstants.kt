@@ -22,6 +22,7 @@ internal object RumConstants {
 
     const val COMPONENT_UI_LIFECYCLE = "ui"
     const val UI_LIFECYCLE_LOG_NAME = "app.ui.lifecycle"
+    const val UI_LIFECYCLE_TRANSITION_SPAN_NAME = "app.ui.lifecycle.transition"
 
     // UI lifecycle types
     const val UI_LIFECYCLE_ACTIVITY_TYPE = "Activity"
@@ -32,4 +33,5 @@ internal object RumConstants {
     val ELEMENT_NAME_KEY: AttributeKey<String> = AttributeKey.stringKey("element.name")
     val ELEMENT_ID_KEY: AttributeKey<String> = AttributeKey.stringKey("element.id")
     val LIFECYCLE_ACTION_KEY: AttributeKey<String> = AttributeKey.stringKey("lifecycle.action")
+    val LIFECYCLE_PHASES_KEY: AttributeKey<String> = AttributeKey.stringKey("lifecycle.phases")
 }
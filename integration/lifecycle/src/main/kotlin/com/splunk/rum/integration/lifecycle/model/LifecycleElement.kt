@@ -0,0 +1,30 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.lifecycle.model
+
+/**
+ * Identity of a lifecycle element, resolved once per class.
+ *
+ * @property type Either "Activity" or "Fragment".
+ * @property name The simple class name (e.g., "MainActivity").
+ * @property id The fully qualified class name, used for class-level tracking.
+ */
+internal data class LifecycleElement(
+    val type: String,
+    val name: String,
+    val id: String
+)
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.lifecycle.model
+
+/**
+ * All lifecycle callbacks of a single element that belong to one screen transition.
+ *
+ * @property element The element the callbacks were received for.
+ * @property startTimestamp Timestamp of the first callback (milliseconds since epoch).
+ * @property endTimestamp Timestamp of the last callback (milliseconds since epoch).
+ * @property action The last action of the transition, i.e. the state the element settled in.
+ * @property phases Compact encoding of every callback as `action:offset` pairs separated by commas,
+ * where offset is in milliseconds relative to [startTimestamp] (e.g., "created:0,started:12,resumed:15").
+ */
+internal data class LifecycleTransition(
+    val element: LifecycleElement,
+    val startTimestamp: Long,
+    val endTimestamp: Long,
+    val action: LifecycleAction,
+    val phases: String
+)
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.lifecycle
+
+import com.splunk.rum.integration.lifecycle.model.LifecycleAction
+import com.splunk.rum.integration.lifecycle.model.LifecycleElement
+import com.splunk.rum.integration.lifecycle.model.LifecycleTransition
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class LifecycleTransitionBatcherTest {
+
+    private val element = LifecycleElement("Activity", "MainActivity", "com.example.MainActivity")
+    private val scheduled = mutableListOf<Runnable>()
+    private val transitions = mutableListOf<LifecycleTransition>()
+
+    private fun batcher(allowedEvents: Set<LifecycleAction> = LifecycleModuleConfiguration.ALL_LIFECYCLE_EVENTS) =
+        LifecycleTransitionBatcher(allowedEvents, { scheduled += it }, { transitions += it })
+
+    private fun runScheduled() {
+        val pending = scheduled.toList()
+        scheduled.clear()
+        pending.forEach { it.run() }
+    }
+
+    @Test
+    fun `aggregates callbacks until settle action`() {
+        val batcher = batcher()
+        val owner = Any()
+
+        batcher.record(owner, element, LifecycleAction.CREATED, 1_000)
+        batcher.record(owner, element, LifecycleAction.STARTED, 1_012)
+        assertTrue(scheduled.isEmpty())
+
+        batcher.record(owner, element, LifecycleAction.RESUMED, 1_015)
+        runScheduled()
+
+        assertEquals(
+            listOf(
+                LifecycleTransition(element, 1_000, 1_015, LifecycleAction.RESUMED, "created:0,started:12,resumed:15")
+            ),
+            transitions
+        )
+    }
+
+    @Test
+    fun `includes trailing callbacks dispatched before flush`() {
+        val batcher = batcher()
+        val owner = Any()
+
+        batcher.record(owner, element, LifecycleAction.RESUMED, 2_000)
+        batcher.record(owner, element, LifecycleAction.POST_RESUMED, 2_001)
+        runScheduled()
+
+        assertEquals(1, transitions.size)
+        assertEquals("resumed:0,post_resumed:1", transitions[0].phases)
+        assertEquals(LifecycleAction.POST_RESUMED, transitions[0].action)
+        assertTrue(scheduled.isEmpty())
+    }
+
+    @Test
+    fun `keeps instances of the same class apart`() {
+        val batcher = batcher()
+        val first = Any()
+        val second = Any()
+
+        batcher.record(first, element, LifecycleAction.PAUSED, 3_000)
+        batcher.record(second, element, LifecycleAction.CREATED, 3_001)
+        batcher.record(first, element, LifecycleAction.STOPPED, 3_005)
+        runScheduled()
+
+        assertEquals(listOf("paused:0,stopped:5"), transitions.map { it.phases })
+
+        batcher.record(second, element, LifecycleAction.RESUMED, 3_010)
+        runScheduled()
+
+        assertEquals(listOf("paused:0,stopped:5", "created:0,resumed:9"), transitions.map { it.phases })
+    }
+
+    @Test
+    fun `filters phases but still settles on disallowed actions`() {
+        val batcher = batcher(setOf(LifecycleAction.CREATED))
+        val owner = Any()
+
+        batcher.record(owner, element, LifecycleAction.CREATED, 4_000)
+        batcher.record(owner, element, LifecycleAction.RESUMED, 4_020)
+        runScheduled()
+
+        batcher.record(owner, element, LifecycleAction.PAUSED, 5_000)
+        batcher.record(owner, element, LifecycleAction.STOPPED, 5_010)
+        runScheduled()
+
+        assertEquals(
+            listOf(LifecycleTransition(element, 4_000, 4_000, LifecycleAction.CREATED, "created:0")),
+            transitions
+        )
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.looper
+
+import com.splunk.rum.integration.agent.common.module.ModuleConfiguration
+import java.time.Duration
+
+/**
+ * Configuration for the main thread message monitoring module.
+ *
+ * The module times every message dispatched on the main thread and reports per screen duration
+ * percentiles, along with the handler and callback of the messages taking longer than
+ * [slowMessageThreshold]. It installs a message logging printer on the main looper, which replaces
+ * any printer set by the application.
+ *
+ * @property isEnabled Whether the module is enabled. Default is false.
+ * @property slowMessageThreshold The duration from which a message is reported as slow.
+ *                                Default is 200 milliseconds.
+ * @property reportInterval The time period between reports. Default is 60 seconds.
+ */
+@Suppress("NewApi") // Duration.ofSeconds() requires API 26 or core library desugaring
+data class LooperModuleConfiguration @JvmOverloads constructor(
+    override val isEnabled: Boolean = false,
+    val slowMessageThreshold: Duration = Duration.ofMillis(200),
+    val reportInterval: Duration = Duration.ofSeconds(60)
+) : ModuleConfiguration {
+
+    override val name: String = "looper"
+
+    override val attributes: List<Pair<String, String>> = listOf(
+        "enabled" to isEnabled.toString(),
+        "slowMessageThreshold" to slowMessageThreshold.toString(),
+        "reportInterval" to reportInterval.toString()
+    )
+}
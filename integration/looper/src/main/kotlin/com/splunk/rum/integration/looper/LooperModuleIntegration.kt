@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.looper
+
+import android.app.Application
+import com.splunk.rum.common.logger.Logger
+import com.splunk.rum.instrumentation.looper.internal.LooperMonitorInstrumentation
+import com.splunk.rum.integration.agent.common.module.ModuleConfiguration
+import com.splunk.rum.integration.agent.internal.attributes.ScreenNameTracker
+import com.splunk.rum.integration.agent.internal.module.ModuleIntegration
+import io.opentelemetry.api.OpenTelemetry
+import java.util.concurrent.TimeUnit
+
+internal object LooperModuleIntegration : ModuleIntegration<LooperModuleConfiguration>(
+    defaultModuleConfiguration = LooperModuleConfiguration()
+) {
+
+    private const val TAG = "LooperIntegration"
+
+    @Suppress("NewApi") // Duration.toMillis() requires API 26 or core library desugaring
+    override fun onInstall(
+        application: Application,
+        openTelemetry: OpenTelemetry,
+        moduleConfigurations: List<ModuleConfiguration>
+    ) {
+        Logger.d(TAG, "onInstall()")
+
+        if (moduleConfiguration.isEnabled) {
+            Logger.d(TAG, "Installing main thread message monitor")
+            LooperMonitorInstrumentation()
+                .setSlowMessageThreshold(moduleConfiguration.slowMessageThreshold.toMillis(), TimeUnit.MILLISECONDS)
+                .setReportInterval(moduleConfiguration.reportInterval.toMillis(), TimeUnit.MILLISECONDS)
+                .setScreenNameProvider { ScreenNameTracker.screenName }
+                .install(openTelemetry)
+        } else {
+            Logger.d(TAG, "Main thread message monitoring is disabled")
+        }
+    }
+}
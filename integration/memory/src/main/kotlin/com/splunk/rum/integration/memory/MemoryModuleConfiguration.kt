@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.memory
+
+import com.splunk.rum.integration.agent.common.module.ModuleConfiguration
+import java.time.Duration
+
+/**
+ * Configuration for the memory pressure monitoring module.
+ *
+ * The module samples the heap, native heap and PSS sizes and the garbage collection counters, and
+ * records `onTrimMemory` callbacks. They are reported as per screen aggregates, not per sample.
+ *
+ * @property isEnabled Whether the module is enabled. Default is false.
+ * @property sampleInterval The time period between memory samples. PSS is read on every fourth
+ *                          sample only, since it is more expensive. Default is 30 seconds.
+ * @property reportInterval The time period between reports. Default is 5 minutes.
+ */
+@Suppress("NewApi") // Duration.ofSeconds() requires API 26 or core library desugaring
+data class MemoryModuleConfiguration @JvmOverloads constructor(
+    override val isEnabled: Boolean = false,
+    val sampleInterval: Duration = Duration.ofSeconds(30),
+    val reportInterval: Duration = Duration.ofMinutes(5)
+) : ModuleConfiguration {
+
+    override val name: String = "memory"
+
+    override val attributes: List<Pair<String, String>> = listOf(
+        "enabled" to isEnabled.toString(),
+        "sampleInterval" to sampleInterval.toString(),
+        "reportInterval" to reportInterval.toString()
+    )
+}
@@ -20,12 +20,14 @@ import androidx.navigation.NavController
 import com.splunk.rum.common.logger.Logger
 import com.splunk.rum.integration.navigation.automatic.ComposeNavigationTracker
 import com.splunk.rum.integration.navigation.automatic.ScreenChangeDetector
+import com.splunk.rum.integration.navigation.automatic.ScreenLoadTracker
 import io.opentelemetry.api.common.Attributes
 
 class Navigation internal constructor() {
 
     internal var listener: Listener? = null
     internal var composeTracker: ComposeNavigationTracker? = null
+    internal var screenLoadTracker: ScreenLoadTracker? = null
     private var pendingDetector: ScreenChangeDetector? = null
     private var pendingProcessor: NavigationEventProcessor? = null
 
@@ -54,6 +56,21 @@ class Navigation internal constructor() {
         tracker.register(navController)
     }
 
+    /**
+     * Report that the current screen has loaded its content and is ready for interaction (time to full display).
+     *
+     * Emits a `ScreenInteractive` span under the `ScreenLoad` span of the current screen, measured from the same
+     * start. Only the first call per screen load is reported; calls after another screen was shown are ignored.
+     * Requires [NavigationModuleConfiguration.isScreenLoadTrackingEnabled]. Must be called on the main thread.
+     */
+    fun reportScreenInteractive() {
+        val tracker = screenLoadTracker ?: run {
+            Logger.w(TAG, "Screen load tracking not enabled. Cannot report screen interactive.")
+            return
+        }
+        tracker.onScreenInteractive()
+    }
+
     internal fun setTrackerConfig(detector: ScreenChangeDetector, processor: NavigationEventProcessor?) {
         pendingDetector = detector
         pendingProcessor = processor
@@ -29,17 +29,22 @@ import com.splunk.rum.integration.agent.common.module.ModuleConfiguration
  * @property isAutomatedTrackingEnabled Whether Fragment and Activity lifecycle tracking is enabled. Default is false.
  * @property navigationEventProcessor Optional processor for transforming or filtering navigation events
  *   from Compose routes before they are emitted. See [NavigationEventProcessor].
+ * @property isScreenLoadTrackingEnabled Whether `ScreenLoad` spans are reported, measuring the time from an Activity
+ *   or Fragment creation or a Compose route change to the first frame drawn afterwards. Requires automated tracking.
+ *   See [Navigation.reportScreenInteractive]. Default is false.
  */
 data class NavigationModuleConfiguration @JvmOverloads constructor(
-    val isEnabled: Boolean = true,
+    override val isEnabled: Boolean = true,
     val isAutomatedTrackingEnabled: Boolean = false,
-    val navigationEventProcessor: NavigationEventProcessor? = null
+    val navigationEventProcessor: NavigationEventProcessor? = null,
+    val isScreenLoadTrackingEnabled: Boolean = false
 ) : ModuleConfiguration {
 
     override val name: String = "navigation"
 
     override val attributes: List<Pair<String, String>> = listOf(
         "enabled" to isEnabled.toString(),
-        "isAutomatedTrackingEnabled" to isAutomatedTrackingEnabled.toString()
+        "isAutomatedTrackingEnabled" to isAutomatedTrackingEnabled.toString(),
+        "isScreenLoadTrackingEnabled" to isScreenLoadTrackingEnabled.toString()
     )
 }
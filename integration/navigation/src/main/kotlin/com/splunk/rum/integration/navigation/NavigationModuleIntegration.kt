@@ -27,6 +27,8 @@ import com.splunk.rum.integration.agent.common.module.ModuleConfiguration
 import com.splunk.rum.integration.agent.internal.module.ModuleIntegration
 import com.splunk.rum.integration.navigation.automatic.NavigationEventEmitter
 import com.splunk.rum.integration.navigation.automatic.ScreenChangeDetector
+import com.splunk.rum.integration.navigation.automatic.ScreenLoadEmitter
+import com.splunk.rum.integration.navigation.automatic.ScreenLoadTracker
 import com.splunk.rum.integration.navigation.automatic.callback.NavigationActivityCallback
 import com.splunk.rum.integration.navigation.automatic.callback.NavigationFragmentActivityCallback21
 import com.splunk.rum.integration.navigation.automatic.callback.NavigationFragmentActivityCallback29
@@ -73,6 +75,7 @@ internal object NavigationModuleIntegration : ModuleIntegration<NavigationModule
         if (!moduleConfiguration.isEnabled) {
             Navigation.instance.listener = null
             Navigation.instance.composeTracker = null
+            Navigation.instance.screenLoadTracker = null
             Navigation.instance.clearTrackerConfig()
             emitter.clearCache()
             application.unregisterActivityLifecycleCallbacks(activityLifecycleCallbacksAdapter)
@@ -80,7 +83,16 @@ internal object NavigationModuleIntegration : ModuleIntegration<NavigationModule
             return
         }
 
-        val detector = ScreenChangeDetector(emitter)
+        val screenLoadTracker = if (moduleConfiguration.isAutomatedTrackingEnabled &&
+            moduleConfiguration.isScreenLoadTrackingEnabled
+        ) {
+            ScreenLoadTracker(ScreenLoadEmitter())
+        } else {
+            null
+        }
+        Navigation.instance.screenLoadTracker = screenLoadTracker
+
+        val detector = ScreenChangeDetector(emitter, screenLoadTracker)
         screenChangeDetector = detector
 
         if (moduleConfiguration.isAutomatedTrackingEnabled) {
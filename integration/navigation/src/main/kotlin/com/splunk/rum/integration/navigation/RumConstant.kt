@@ -26,4 +26,7 @@ internal object RumConstant {
     const val NAVIGATION_LOG_EVENT_NAME = GlobalRumConstants.NAVIGATION_EVENT_NAME
 
     val NAVIGATION_NAME_KEY: AttributeKey<String> = AttributeKey.stringKey("navigation.name")
+
+    const val SCREEN_LOAD_SPAN_NAME = "ScreenLoad"
+    const val SCREEN_INTERACTIVE_SPAN_NAME = "ScreenInteractive"
 }
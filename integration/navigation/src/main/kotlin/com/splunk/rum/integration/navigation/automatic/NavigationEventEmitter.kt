@@ -64,7 +64,7 @@ internal class NavigationEventEmitter {
         attributes: Attributes,
         timestamp: Long
     ) {
-        val logger = SplunkOpenTelemetrySdk.instance?.sdkLoggerProvider
+        val logger = SplunkOpenTelemetrySdk.openTelemetry?.logsBridge
         if (logger == null) {
             Logger.w(TAG, "Logger provider not ready, skipping navigation event")
             return
@@ -33,9 +33,15 @@ import io.opentelemetry.api.common.Attributes
  * Emits on resumed (onFragmentResumed / onActivityResumed) as the primary trigger.
  * Also emits via deferred post on fragment pause to handle the case where a fragment
  * is removed without a replacement (falling back to parent fragment or activity).
+ *
+ * When [screenLoadTracker] is set, creations of non-ignored elements start screen loads and every emitted
+ * screen is reported to it as shown.
  */
 
-internal class ScreenChangeDetector(private val eventEmitter: NavigationEventEmitter) {
+internal class ScreenChangeDetector(
+    private val eventEmitter: NavigationEventEmitter,
+    private val screenLoadTracker: ScreenLoadTracker? = null
+) {
     private val handler = Handler(Looper.getMainLooper())
     private var lastResumedActivityName: String? = null
     private var lastResumedFragmentName: String? = null
@@ -49,7 +55,14 @@ internal class ScreenChangeDetector(private val eventEmitter: NavigationEventEmi
     private fun getCurrentVisibleScreenName(): String? =
         lastComposeRouteName ?: lastResumedFragmentName ?: lastResumedActivityName
 
+    fun onActivityCreated(activity: Activity) {
+        if (ScreenNameDescriptor.isIgnored(activity)) return
+
+        screenLoadTracker?.onScreenLoadStarted(activity)
+    }
+
     fun onActivityResumed(activity: Activity) {
+        screenLoadTracker?.onActivityResumed(activity)
         if (ScreenNameDescriptor.isIgnored(activity)) return
 
         val name = ScreenNameDescriptor.getName(activity)
@@ -69,6 +82,7 @@ internal class ScreenChangeDetector(private val eventEmitter: NavigationEventEmi
     }
 
     fun onActivityPaused(activity: Activity) {
+        screenLoadTracker?.onActivityPaused(activity)
         if (ScreenNameDescriptor.isIgnored(activity)) return
 
         val name = ScreenNameDescriptor.getName(activity)
@@ -77,6 +91,24 @@ internal class ScreenChangeDetector(private val eventEmitter: NavigationEventEmi
         }
     }
 
+    fun onActivityStopped(activity: Activity) {
+        screenLoadTracker?.onActivityStopped(activity)
+    }
+
+    fun onActivityDestroyed(activity: Activity) {
+        screenLoadTracker?.onActivityDestroyed(activity)
+    }
+
+    /**
+     * Called when a fragment or its view is created, both start a screen load. The latter covers fragments
+     * coming back from the back stack, which only recreate their view.
+     */
+    fun onFragmentCreated(fragment: Fragment) {
+        if (screenLoadTracker == null || ScreenNameDescriptor.isIgnored(fragment)) return
+
+        screenLoadTracker.onScreenLoadStarted(fragment.activity ?: return)
+    }
+
     fun onFragmentResumed(fragment: Fragment) {
         cancelPendingPauseEmit()
         if (ScreenNameDescriptor.isIgnored(fragment)) return
@@ -139,6 +171,7 @@ internal class ScreenChangeDetector(private val eventEmitter: NavigationEventEmi
     fun recordEmittedScreen(screenName: String) {
         lastEmittedScreenName = screenName
         lastEmittedComposeAttributes = Attributes.empty()
+        screenLoadTracker?.onScreenShown(screenName)
     }
 
     /**
@@ -157,6 +190,10 @@ internal class ScreenChangeDetector(private val eventEmitter: NavigationEventEmi
         lastEmittedScreenName = screenName
         lastEmittedComposeAttributes = attributes
         eventEmitter.emitNavigationEvent(screenName, attributes)
+        screenLoadTracker?.let {
+            it.onScreenLoadStarted(null)
+            it.onScreenShown(screenName)
+        }
     }
 
     /**
@@ -178,5 +215,6 @@ internal class ScreenChangeDetector(private val eventEmitter: NavigationEventEmi
 
         lastEmittedScreenName = current
         eventEmitter.emitNavigationEvent(current)
+        screenLoadTracker?.onScreenShown(current)
     }
 }
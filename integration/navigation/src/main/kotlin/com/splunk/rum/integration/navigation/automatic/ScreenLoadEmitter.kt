@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.navigation.automatic
+
+import com.splunk.rum.agent.common.otel.SplunkOpenTelemetrySdk
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import com.splunk.rum.common.logger.Logger
+import com.splunk.rum.integration.navigation.RumConstant
+import io.opentelemetry.api.trace.Span
+import io.opentelemetry.api.trace.SpanContext
+import io.opentelemetry.context.Context
+import java.util.concurrent.TimeUnit
+
+/**
+ * Emits screen load spans measured by [ScreenLoadTracker].
+ */
+internal class ScreenLoadEmitter {
+
+    private companion object {
+        const val TAG = "ScreenLoadEmitter"
+    }
+
+    /**
+     * Emits a `ScreenLoad` span covering the time from the start of the screen load to its first frame (TTID).
+     *
+     * @return Context of the emitted span, or null if the SDK is not ready.
+     */
+    fun emitScreenLoad(screenName: String, startTimestamp: Long, endTimestamp: Long): SpanContext? {
+        val provider = SplunkOpenTelemetrySdk.openTelemetry?.tracerProvider
+        if (provider == null) {
+            Logger.w(TAG, "Tracer provider not ready, skipping screen load of $screenName")
+            return null
+        }
+
+        Logger.d(TAG) { "Emitting screen load: $screenName (${endTimestamp - startTimestamp}ms)" }
+
+        val span = provider.get(GlobalRumConstants.RUM_TRACER_NAME)
+            .spanBuilder(RumConstant.SCREEN_LOAD_SPAN_NAME)
+            .setStartTimestamp(startTimestamp, TimeUnit.MILLISECONDS)
+            .setAttribute(GlobalRumConstants.COMPONENT_KEY, RumConstant.COMPONENT_NAVIGATION)
+            .setAttribute(GlobalRumConstants.SCREEN_NAME_KEY, screenName)
+            .startSpan()
+
+        span.end(endTimestamp, TimeUnit.MILLISECONDS)
+        return span.spanContext
+    }
+
+    /**
+     * Emits a `ScreenInteractive` span covering the time from the start of the screen load until the app reported
+     * the screen as interactive (TTFD). The span is a child of the `ScreenLoad` span given by [parent].
+     */
+    fun emitScreenInteractive(screenName: String, parent: SpanContext, startTimestamp: Long, endTimestamp: Long) {
+        val provider = SplunkOpenTelemetrySdk.openTelemetry?.tracerProvider
+        if (provider == null) {
+            Logger.w(TAG, "Tracer provider not ready, skipping screen interactive of $screenName")
+            return
+        }
+
+        Logger.d(TAG) { "Emitting screen interactive: $screenName (${endTimestamp - startTimestamp}ms)" }
+
+        provider.get(GlobalRumConstants.RUM_TRACER_NAME)
+            .spanBuilder(RumConstant.SCREEN_INTERACTIVE_SPAN_NAME)
+            .setParent(Context.current().with(Span.wrap(parent)))
+            .setStartTimestamp(startTimestamp, TimeUnit.MILLISECONDS)
+            .setAttribute(GlobalRumConstants.COMPONENT_KEY, RumConstant.COMPONENT_NAVIGATION)
+            .setAttribute(GlobalRumConstants.SCREEN_NAME_KEY, screenName)
+            .startSpan()
+            .end(endTimestamp, TimeUnit.MILLISECONDS)
+    }
+}
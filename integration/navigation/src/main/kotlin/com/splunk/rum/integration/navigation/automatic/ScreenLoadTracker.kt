@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.navigation.automatic
+
+import android.app.Activity
+import com.splunk.rum.agent.common.utils.extensions.doOnDraw
+import com.splunk.rum.common.logger.Logger
+import com.splunk.rum.common.utils.extensions.rootView
+import io.opentelemetry.api.trace.SpanContext
+import java.lang.ref.WeakReference
+
+/**
+ * Measures how long screens take to load.
+ *
+ * A load starts when an Activity or Fragment is created or a Compose route changes and ends with the first frame
+ * drawn by the hosting Activity afterwards (TTID). The screen name is bound when [ScreenChangeDetector] reports
+ * the screen as shown, which may happen before or after that frame. Starts received while a load is still waiting
+ * for its frame are merged into it, so e.g. an Activity and its Fragments, or a trampoline Activity and the
+ * Activity it starts, are measured as a single load from the earliest start.
+ *
+ * [onScreenInteractive] optionally extends the last load with the time the app reports the screen as
+ * interactive (TTFD).
+ *
+ * All calls are expected on the main thread.
+ */
+internal class ScreenLoadTracker(
+    private val emitter: ScreenLoadEmitter,
+    private val firstDrawObserver: (Activity, () -> Unit) -> Unit = ::observeFirstDraw,
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+
+    private var resumedActivity: WeakReference<Activity>? = null
+    private var pending: PendingLoad? = null
+    private var lastLoad: CompletedLoad? = null
+
+    /**
+     * Starts a screen load hosted by [activity], or by the resumed Activity when null (Compose routes).
+     */
+    fun onScreenLoadStarted(activity: Activity?) {
+        val host = activity ?: resumedActivity?.get() ?: return
+        val current = pending
+
+        val load = if (current != null && current.firstDrawTimestamp == NOT_RECORDED) {
+            current
+        } else {
+            PendingLoad(clock()).also { pending = it }
+        }
+
+        if (load.host?.get() !== host) {
+            load.host = WeakReference(host)
+            load.isObserving = false
+        }
+
+        if (resumedActivity?.get() === host) {
+            observe(load, host)
+        }
+    }
+
+    fun onActivityResumed(activity: Activity) {
+        resumedActivity = WeakReference(activity)
+
+        val load = pending ?: return
+        if (load.host?.get() === activity) {
+            observe(load, activity)
+        }
+    }
+
+    fun onActivityPaused(activity: Activity) {
+        if (resumedActivity?.get() === activity) {
+            resumedActivity = null
+        }
+    }
+
+    fun onActivityStopped(activity: Activity) {
+        dropIfHost(activity)
+    }
+
+    fun onActivityDestroyed(activity: Activity) {
+        dropIfHost(activity)
+    }
+
+    /**
+     * Binds [screenName] to the pending load. The last screen shown before the first frame wins.
+     */
+    fun onScreenShown(screenName: String) {
+        if (lastLoad?.screenName != screenName) {
+            lastLoad = null
+        }
+
+        val load = pending ?: return
+        load.screenName = screenName
+
+        if (load.firstDrawTimestamp != NOT_RECORDED) {
+            complete(load)
+        }
+    }
+
+    /**
+     * Marks the last loaded screen as interactive. Reported at most once per load, and only while the screen
+     * is still the last one shown.
+     */
+    fun onScreenInteractive() {
+        val timestamp = clock()
+
+        val load = pending
+        if (load?.screenName != null) {
+            if (load.interactiveTimestamp == NOT_RECORDED) {
+                load.interactiveTimestamp = timestamp
+            }
+            return
+        }
+
+        val last = lastLoad
+        if (last == null || last.isInteractiveReported) {
+            Logger.d(TAG) { "No screen load to mark as interactive" }
+            return
+        }
+
+        last.isInteractiveReported = true
+        emitInteractive(last, timestamp)
+    }
+
+    /**
+     * Drops the pending load when its host goes away before the first frame, e.g. the app was put to background.
+     */
+    private fun dropIfHost(activity: Activity) {
+        val load = pending ?: return
+        if (load.host?.get() === activity && load.firstDrawTimestamp == NOT_RECORDED) {
+            Logger.d(TAG) { "Host left before first frame, dropping screen load: ${load.screenName}" }
+            pending = null
+        }
+    }
+
+    private fun observe(load: PendingLoad, host: Activity) {
+        if (load.isObserving) {
+            return
+        }
+
+        load.isObserving = true
+        firstDrawObserver(host) {
+            if (pending === load && load.host?.get() === host && load.firstDrawTimestamp == NOT_RECORDED) {
+                load.firstDrawTimestamp = clock()
+
+                if (load.screenName != null) {
+                    complete(load)
+                }
+            }
+        }
+    }
+
+    private fun complete(load: PendingLoad) {
+        pending = null
+        val screenName = load.screenName ?: return
+
+        val spanContext = emitter.emitScreenLoad(screenName, load.startTimestamp, load.firstDrawTimestamp) ?: return
+        val completed = CompletedLoad(screenName, load.startTimestamp, spanContext)
+        lastLoad = completed
+
+        // Interactive reported before the first frame, TTFD is never shorter than TTID.
+        if (load.interactiveTimestamp != NOT_RECORDED) {
+            completed.isInteractiveReported = true
+            emitInteractive(completed, maxOf(load.interactiveTimestamp, load.firstDrawTimestamp))
+        }
+    }
+
+    private fun emitInteractive(load: CompletedLoad, timestamp: Long) {
+        emitter.emitScreenInteractive(load.screenName, load.spanContext, load.startTimestamp, timestamp)
+    }
+
+    private class PendingLoad(val startTimestamp: Long) {
+        var host: WeakReference<Activity>? = null
+        var isObserving = false
+        var screenName: String? = null
+        var firstDrawTimestamp = NOT_RECORDED
+        var interactiveTimestamp = NOT_RECORDED
+    }
+
+    private class CompletedLoad(val screenName: String, val startTimestamp: Long, val spanContext: SpanContext) {
+        var isInteractiveReported = false
+    }
+
+    private companion object {
+        const val TAG = "ScreenLoadTracker"
+        const val NOT_RECORDED = -1L
+
+        fun observeFirstDraw(activity: Activity, action: () -> Unit) {
+            val rootView = activity.rootView
+
+            if (rootView == null) {
+                Logger.w(TAG, "Activity's rootView not found.")
+                return
+            }
+
+            rootView.doOnDraw(action)
+        }
+    }
+}
@@ -17,12 +17,17 @@
 package com.splunk.rum.integration.navigation.automatic.callback
 
 import android.app.Activity
+import android.os.Bundle
 import com.splunk.rum.common.utils.adapters.ActivityLifecycleCallbacksAdapter
 import com.splunk.rum.integration.navigation.automatic.ScreenChangeDetector
 
 internal class NavigationActivityCallback(private val screenChangeDetector: ScreenChangeDetector) :
     ActivityLifecycleCallbacksAdapter {
 
+    override fun onActivityCreated(activity: Activity, savedInstanceState: Bundle?) {
+        screenChangeDetector.onActivityCreated(activity)
+    }
+
     override fun onActivityResumed(activity: Activity) {
         screenChangeDetector.onActivityResumed(activity)
     }
@@ -30,4 +35,12 @@ internal class NavigationActivityCallback(private val screenChangeDetector: Scre
     override fun onActivityPaused(activity: Activity) {
         screenChangeDetector.onActivityPaused(activity)
     }
+
+    override fun onActivityStopped(activity: Activity) {
+        screenChangeDetector.onActivityStopped(activity)
+    }
+
+    override fun onActivityDestroyed(activity: Activity) {
+        screenChangeDetector.onActivityDestroyed(activity)
+    }
 }
@@ -16,6 +16,8 @@
 
 package com.splunk.rum.integration.navigation.automatic.callback
 
+import android.os.Bundle
+import android.view.View
 import androidx.fragment.app.Fragment
 import androidx.fragment.app.FragmentManager
 import com.splunk.rum.integration.navigation.automatic.ScreenChangeDetector
@@ -23,6 +25,14 @@ import com.splunk.rum.integration.navigation.automatic.ScreenChangeDetector
 internal class NavigationFragmentCallback(private val screenChangeDetector: ScreenChangeDetector) :
     FragmentManager.FragmentLifecycleCallbacks() {
 
+    override fun onFragmentCreated(fm: FragmentManager, f: Fragment, savedInstanceState: Bundle?) {
+        screenChangeDetector.onFragmentCreated(f)
+    }
+
+    override fun onFragmentViewCreated(fm: FragmentManager, f: Fragment, v: View, savedInstanceState: Bundle?) {
+        screenChangeDetector.onFragmentCreated(f)
+    }
+
     override fun onFragmentResumed(fm: FragmentManager, f: Fragment) {
         screenChangeDetector.onFragmentResumed(f)
     }
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.navigation.automatic
+
+import android.app.Activity
+import com.splunk.rum.agent.common.otel.SplunkOpenTelemetrySdk
+import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import io.opentelemetry.sdk.OpenTelemetrySdk
+import io.opentelemetry.sdk.common.CompletableResultCode
+import io.opentelemetry.sdk.trace.SdkTracerProvider
+import io.opentelemetry.sdk.trace.data.SpanData
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor
+import io.opentelemetry.sdk.trace.export.SpanExporter
+import java.util.concurrent.TimeUnit
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.Robolectric
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class ScreenLoadTrackerTest {
+
+    private val exportedSpans = mutableListOf<SpanData>()
+    private val drawActions = mutableMapOf<Activity, MutableList<() -> Unit>>()
+    private var now = 1_000L
+    private lateinit var tracker: ScreenLoadTracker
+
+    private val collectingExporter = object : SpanExporter {
+        override fun export(spans: MutableCollection<SpanData>): CompletableResultCode {
+            exportedSpans.addAll(spans)
+            return CompletableResultCode.ofSuccess()
+        }
+
+        override fun flush() = CompletableResultCode.ofSuccess()
+        override fun shutdown() = CompletableResultCode.ofSuccess()
+    }
+
+    @Before
+    fun setUp() {
+        exportedSpans.clear()
+        drawActions.clear()
+
+        val tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(collectingExporter))
+            .build()
+        SplunkOpenTelemetrySdk.instance = OpenTelemetrySdk.builder()
+            .setTracerProvider(tracerProvider)
+            .build()
+
+        tracker = ScreenLoadTracker(
+            emitter = ScreenLoadEmitter(),
+            firstDrawObserver = { activity, action -> drawActions.getOrPut(activity) { mutableListOf() } += action },
+            clock = { now }
+        )
+    }
+
+    @After
+    fun tearDown() {
+        SplunkOpenTelemetrySdk.instance = null
+    }
+
+    private fun draw(activity: Activity) {
+        drawActions.remove(activity)?.forEach { it() }
+    }
+
+    private fun activity(): Activity = Robolectric.buildActivity(Activity::class.java).get()
+
+    @Test
+    fun `measures from activity creation to first draw`() {
+        val activity = activity()
+
+        tracker.onScreenLoadStarted(activity)
+        now = 1_100
+        tracker.onActivityResumed(activity)
+        tracker.onScreenShown("Main")
+        now = 1_250
+        draw(activity)
+
+        assertEquals(1, exportedSpans.size)
+        val span = exportedSpans[0]
+        assertEquals("ScreenLoad", span.name)
+        assertEquals("Main", span.attributes.get(GlobalRumConstants.SCREEN_NAME_KEY))
+        assertEquals(1_000L, TimeUnit.NANOSECONDS.toMillis(span.startEpochNanos))
+        assertEquals(1_250L, TimeUnit.NANOSECONDS.toMillis(span.endEpochNanos))
+    }
+
+    @Test
+    fun `waits for the screen name when the first frame comes first`() {
+        val activity = activity()
+        tracker.onActivityResumed(activity)
+
+        tracker.onScreenLoadStarted(activity)
+        now = 1_040
+        draw(activity)
+        assertTrue(exportedSpans.isEmpty())
+
+        now = 1_060
+        tracker.onScreenShown("Menu")
+
+        assertEquals(1, exportedSpans.size)
+        assertEquals(1_040L, TimeUnit.NANOSECONDS.toMillis(exportedSpans[0].endEpochNanos))
+    }
+
+    @Test
+    fun `merges starts until the first frame`() {
+        val activity = activity()
+
+        tracker.onScreenLoadStarted(activity)
+        now = 1_020
+        tracker.onScreenLoadStarted(activity)
+        tracker.onActivityResumed(activity)
+        tracker.onScreenShown("Main")
+        tracker.onScreenShown("Menu")
+        now = 1_080
+        draw(activity)
+
+        assertEquals(1, exportedSpans.size)
+        assertEquals("Menu", exportedSpans[0].attributes.get(GlobalRumConstants.SCREEN_NAME_KEY))
+        assertEquals(1_000L, TimeUnit.NANOSECONDS.toMillis(exportedSpans[0].startEpochNanos))
+    }
+
+    @Test
+    fun `drops load when the host stops before the first frame`() {
+        val activity = activity()
+
+        tracker.onScreenLoadStarted(activity)
+        tracker.onActivityResumed(activity)
+        tracker.onScreenShown("Main")
+        tracker.onActivityPaused(activity)
+        tracker.onActivityStopped(activity)
+        draw(activity)
+
+        assertTrue(exportedSpans.isEmpty())
+    }
+
+    @Test
+    fun `reports screen interactive as child of the screen load`() {
+        val activity = activity()
+
+        tracker.onScreenLoadStarted(activity)
+        tracker.onActivityResumed(activity)
+        tracker.onScreenShown("Main")
+        now = 1_100
+        draw(activity)
+        now = 1_500
+        tracker.onScreenInteractive()
+        tracker.onScreenInteractive()
+
+        assertEquals(listOf("ScreenLoad", "ScreenInteractive"), exportedSpans.map { it.name })
+        val load = exportedSpans[0]
+        val interactive = exportedSpans[1]
+        assertEquals(load.spanId, interactive.parentSpanId)
+        assertEquals(1_000L, TimeUnit.NANOSECONDS.toMillis(interactive.startEpochNanos))
+        assertEquals(1_500L, TimeUnit.NANOSECONDS.toMillis(interactive.endEpochNanos))
+    }
+
+    @Test
+    fun `screen interactive reported before the first frame ends with it`() {
+        val activity = activity()
+
+        tracker.onScreenLoadStarted(activity)
+        tracker.onActivityResumed(activity)
+        tracker.onScreenShown("Main")
+        now = 1_050
+        tracker.onScreenInteractive()
+        now = 1_100
+        draw(activity)
+
+        assertEquals(listOf("ScreenLoad", "ScreenInteractive"), exportedSpans.map { it.name })
+        assertEquals(1_100L, TimeUnit.NANOSECONDS.toMillis(exportedSpans[1].endEpochNanos))
+    }
+
+    @Test
+    fun `screen interactive is ignored after another screen was shown`() {
+        val activity = activity()
+
+        tracker.onScreenLoadStarted(activity)
+        tracker.onActivityResumed(activity)
+        tracker.onScreenShown("Main")
+        draw(activity)
+        tracker.onScreenShown("Settings")
+        tracker.onScreenInteractive()
+
+        assertEquals(listOf("ScreenLoad"), exportedSpans.map { it.name })
+    }
+
+    @Test
+    fun `compose route change starts a load in the resumed activity`() {
+        val activity = activity()
+        tracker.onActivityResumed(activity)
+
+        now = 2_000
+        tracker.onScreenLoadStarted(null)
+        tracker.onScreenShown("home")
+        now = 2_030
+        draw(activity)
+
+        assertEquals(1, exportedSpans.size)
+        assertEquals("home", exportedSpans[0].attributes.get(GlobalRumConstants.SCREEN_NAME_KEY))
+        assertEquals(2_000L, TimeUnit.NANOSECONDS.toMillis(exportedSpans[0].startEpochNanos))
+    }
+}
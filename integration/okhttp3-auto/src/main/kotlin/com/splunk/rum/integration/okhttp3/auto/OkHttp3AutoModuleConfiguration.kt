@@ -17,6 +17,7 @@
 package com.splunk.rum.integration.okhttp3.auto
 
 import com.splunk.rum.integration.agent.common.module.ModuleConfiguration
+import java.time.Duration
 
 /**
  * OkHttp module configuration.
@@ -24,11 +25,35 @@ import com.splunk.rum.integration.agent.common.module.ModuleConfiguration
  * @property isEnabled Whether the module is enabled.
  * @property capturedRequestHeaders The list of request headers to capture.
  * @property capturedResponseHeaders The list of response headers to capture.
+ * @property propagationHosts The hosts that receive trace context propagation headers, either exact
+ *                            host names or `*.domain` wildcards. When empty, all hosts receive them.
+ * @property urlTemplates Route templates such as `/users/{userId}/orders` used to normalize URL paths
+ *                        into the `url.template` attribute and span names. Numeric, UUID and hexadecimal
+ *                        path segments are normalized automatically.
+ * @property isWebSocketInstrumentationEnabled Whether WebSockets are traced with a handshake span and a
+ *                                             per-connection summary span. Default is false.
+ * @property webSocketMessageLatencySampleRate The fraction (0..1) of received WebSocket messages whose
+ *                                             handling time is recorded. Default is 0.1.
+ * @property isMetricsAggregationEnabled Whether requests are aggregated into periodic latency summaries
+ *                                       instead of producing one span each. Failed and slow requests
+ *                                       are still reported as spans. Default is false.
+ * @property metricsFlushInterval The time period between flushes of the aggregated summaries.
+ *                                Default is 60 seconds.
+ * @property slowRequestThreshold The duration from which an aggregated request is also reported as a span.
+ *                                Default is 3 seconds.
  */
+@Suppress("NewApi") // Duration.ofSeconds() requires API 26 or core library desugaring
 data class OkHttp3AutoModuleConfiguration @JvmOverloads constructor(
-    val isEnabled: Boolean = true,
+    override val isEnabled: Boolean = true,
     val capturedRequestHeaders: List<String> = emptyList(),
-    val capturedResponseHeaders: List<String> = emptyList()
+    val capturedResponseHeaders: List<String> = emptyList(),
+    val propagationHosts: List<String> = emptyList(),
+    val urlTemplates: List<String> = emptyList(),
+    val isWebSocketInstrumentationEnabled: Boolean = false,
+    val webSocketMessageLatencySampleRate: Double = 0.1,
+    val isMetricsAggregationEnabled: Boolean = false,
+    val metricsFlushInterval: Duration = Duration.ofSeconds(60),
+    val slowRequestThreshold: Duration = Duration.ofSeconds(3)
 ) : ModuleConfiguration {
 
     override val name: String = "okHttp3-auto"
@@ -36,6 +61,13 @@ data class OkHttp3AutoModuleConfiguration @JvmOverloads constructor(
     override val attributes: List<Pair<String, String>> = listOf(
         "enabled" to isEnabled.toString(),
         "requestHeaders" to capturedRequestHeaders.joinToString(", "),
-        "responseHeaders" to capturedResponseHeaders.joinToString(", ")
+        "responseHeaders" to capturedResponseHeaders.joinToString(", "),
+        "propagationHosts" to propagationHosts.joinToString(", "),
+        "urlTemplates" to urlTemplates.joinToString(", "),
+        "webSocketInstrumentation" to isWebSocketInstrumentationEnabled.toString(),
+        "webSocketMessageLatencySampleRate" to webSocketMessageLatencySampleRate.toString(),
+        "metricsAggregation" to isMetricsAggregationEnabled.toString(),
+        "metricsFlushInterval" to metricsFlushInterval.toString(),
+        "slowRequestThreshold" to slowRequestThreshold.toString()
     )
 }
@@ -29,6 +29,10 @@ internal object OkHttp3AutoModuleIntegration : ModuleIntegration<OkHttp3AutoModu
 
     private const val TAG = "OkHttp3Integration"
 
+    // Only builds the instrumenter, requests made before it is set go through the no-op interceptors.
+    override val isInstalledInBackground: Boolean = true
+
+    @Suppress("NewApi") // Duration.toMillis() requires API 26 or core library desugaring
     override fun onInstall(
         application: Application,
         openTelemetry: OpenTelemetry,
@@ -47,6 +51,14 @@ internal object OkHttp3AutoModuleIntegration : ModuleIntegration<OkHttp3AutoModu
                     .takeIf { it.isNotEmpty() }
                     ?.let { capturedResponseHeaders = it }
 
+                propagationHosts = moduleConfiguration.propagationHosts
+                urlTemplates = moduleConfiguration.urlTemplates
+                isWebSocketInstrumentationEnabled = moduleConfiguration.isWebSocketInstrumentationEnabled
+                webSocketMessageLatencySampleRate = moduleConfiguration.webSocketMessageLatencySampleRate
+                isMetricsAggregationEnabled = moduleConfiguration.isMetricsAggregationEnabled
+                metricsFlushIntervalMs = moduleConfiguration.metricsFlushInterval.toMillis()
+                slowRequestThresholdMs = moduleConfiguration.slowRequestThreshold.toMillis()
+
                 install(openTelemetry)
             }
         }
@@ -25,17 +25,19 @@ import com.splunk.android.instrumentation.recording.core.api.SessionReplay
 import com.splunk.android.instrumentation.recording.wireframe.canvas.compose.SessionReplayDrawModifier
 import com.splunk.rum.agent.common.otel.SplunkOpenTelemetrySdk
 import com.splunk.rum.agent.common.otel.extensions.containsAny
-import com.splunk.rum.agent.common.otel.extensions.toInstant
 import com.splunk.rum.agent.common.otel.internal.GlobalRumConstants
+import com.splunk.rum.agent.common.otel.internal.SessionReplayChunkBudget
 import com.splunk.rum.common.logger.Logger
 import com.splunk.rum.integration.agent.common.module.ModuleConfiguration
 import com.splunk.rum.integration.agent.internal.identification.ComposeElementIdentification
 import com.splunk.rum.integration.agent.internal.identification.ComposeElementIdentification.OrderPriority
 import com.splunk.rum.integration.agent.internal.module.ModuleIntegration
 import com.splunk.rum.integration.agent.internal.utils.runIfComposeUiExists
+import com.splunk.rum.integration.sessionreplay.api.RenderingMode
 import com.splunk.rum.integration.sessionreplay.api.SessionReplay as SplunkSessionReplay
 import com.splunk.rum.integration.sessionreplay.api.Status
-import com.splunk.rum.integration.sessionreplay.index.TimeIndex
+import com.splunk.rum.integration.sessionreplay.backpressure.RecordingQualityThrottle
+import com.splunk.rum.integration.sessionreplay.index.LongTimeIndex
 import io.opentelemetry.api.OpenTelemetry
 import io.opentelemetry.api.common.Attributes
 import io.opentelemetry.api.common.Value
@@ -46,15 +48,30 @@ internal object SessionReplayModuleIntegration : ModuleIntegration<SessionReplay
 ) {
     private const val TAG = "SessionReplayIntegration"
 
-    private val isRecordingForSessions: MutableSet<String> = mutableSetOf()
+    /**
+     * Sessions are only kept to report the first recorded chunk of each one, so the oldest ones can be forgotten.
+     */
+    private const val MAX_RECORDED_SESSIONS = 16
 
-    private var timeIndex: TimeIndex<Long> = TimeIndex()
+    private val isRecordingForSessions = LinkedHashSet<String>()
+
+    private val timeIndex = LongTimeIndex()
+
+    /**
+     * Start of the oldest chunk that was not accepted, the recorder may deliver it again so its index must be kept.
+     */
+    private var oldestUnsentChunkStartUnixMs = Long.MAX_VALUE
 
     private var currentSessionId: String? = null
     private var isPendingSessionChange = false
     private var isInstalled = false
     private val runtimeState = RuntimeState()
 
+    private val qualityThrottle = RecordingQualityThrottle(
+        budget = SessionReplayChunkBudget.instance,
+        renderingModeOverrideSetter = { SplunkSessionReplay.instance.preferences.setRenderingModeOverride(it) }
+    )
+
     override fun onAttach(context: Context) {
         Logger.d(TAG, "onAttach()")
 
@@ -157,8 +174,19 @@ internal object SessionReplayModuleIntegration : ModuleIntegration<SessionReplay
 
             val instance = SplunkOpenTelemetrySdk.instance ?: return false
 
-            val index = timeIndex.getAt(metadata.startUnixMs.toInstant()) ?: 1
-            timeIndex.putAt((metadata.endUnixMs - 1).toInstant(), index + 1)
+            if (!qualityThrottle.fits(data.size.toLong())) {
+                Logger.d(TAG, "onData() - chunk dropped, the session replay memory budget is exceeded")
+                oldestUnsentChunkStartUnixMs = minOf(oldestUnsentChunkStartUnixMs, metadata.startUnixMs)
+                return false
+            }
+
+            if (metadata.startUnixMs <= oldestUnsentChunkStartUnixMs) {
+                oldestUnsentChunkStartUnixMs = Long.MAX_VALUE
+            }
+
+            val index = timeIndex.getAt(metadata.startUnixMs, 1)
+            timeIndex.putAt(metadata.endUnixMs - 1, index + 1)
+            timeIndex.evictBefore(minOf(metadata.startUnixMs, oldestUnsentChunkStartUnixMs))
 
             val metadataJson = metadata.toJSONObject()
             metadataJson.put("displayWireframe", shouldDisplayWireframe(globalAttributes))
@@ -186,6 +214,9 @@ internal object SessionReplayModuleIntegration : ModuleIntegration<SessionReplay
 
             if (!isRecordingForSessions.contains(sessionId)) {
                 isRecordingForSessions.add(sessionId)
+                if (isRecordingForSessions.size > MAX_RECORDED_SESSIONS) {
+                    isRecordingForSessions.remove(isRecordingForSessions.first())
+                }
                 instance.sdkLoggerProvider
                     .get(GlobalRumConstants.RUM_TRACER_NAME)
                     .logRecordBuilder()
@@ -211,6 +242,8 @@ internal object SessionReplayModuleIntegration : ModuleIntegration<SessionReplay
     internal data class RuntimeState(
         var moduleConfiguration: SessionReplayModuleConfiguration? = null,
         var statusOverride: Status? = null,
+        var renderingModeOverride: RenderingMode? = null,
+        var preferredRenderingMode: RenderingMode? = null,
         var isRecordingRequested: Boolean = false,
         var isSessionDisabledBySampling: Boolean = false
     )
@@ -17,17 +17,38 @@
 package com.splunk.rum.integration.sessionreplay.api
 
 import com.splunk.android.instrumentation.recording.core.api.SessionReplay
+import com.splunk.rum.integration.sessionreplay.SessionReplayModuleIntegration
 import com.splunk.rum.integration.sessionreplay.api.mapping.toCommon
 import com.splunk.rum.integration.sessionreplay.api.mapping.toSplunk
 
-class Preferences internal constructor() {
+class Preferences internal constructor(private val runtimeState: SessionReplayModuleIntegration.RuntimeState) {
 
     /**
      * Preferred screen data rendering mode.
      */
     var renderingMode: RenderingMode?
-        get() = SessionReplay.instance.preferences.renderingMode?.toSplunk()
-        set(value) {
-            SessionReplay.instance.preferences.renderingMode = value?.toCommon()
+        get() = synchronized(runtimeState) {
+            if (runtimeState.renderingModeOverride == null) {
+                SessionReplay.instance.preferences.renderingMode?.toSplunk()
+            } else {
+                runtimeState.preferredRenderingMode
+            }
         }
+        set(value) = synchronized(runtimeState) {
+            runtimeState.preferredRenderingMode = value
+            SessionReplay.instance.preferences.renderingMode = (runtimeState.renderingModeOverride ?: value)?.toCommon()
+        }
+
+    /**
+     * Makes the recorder use [renderingMode] instead of the preferred rendering mode, which is kept and
+     * restored once the override is cleared with `null`.
+     */
+    internal fun setRenderingModeOverride(renderingMode: RenderingMode?) = synchronized(runtimeState) {
+        if (runtimeState.renderingModeOverride == null) {
+            runtimeState.preferredRenderingMode = SessionReplay.instance.preferences.renderingMode?.toSplunk()
+        }
+        runtimeState.renderingModeOverride = renderingMode
+        SessionReplay.instance.preferences.renderingMode =
+            (renderingMode ?: runtimeState.preferredRenderingMode)?.toCommon()
+    }
 }
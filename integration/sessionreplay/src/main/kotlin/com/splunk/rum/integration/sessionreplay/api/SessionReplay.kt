@@ -32,7 +32,7 @@ class SessionReplay internal constructor(private val runtimeState: SessionReplay
      *
      * @see state
      */
-    val preferences: Preferences = Preferences()
+    val preferences: Preferences = Preferences(runtimeState)
 
     /**
      * The current SDK state. Each value is combination of default one and [preferences].
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.sessionreplay.backpressure
+
+import com.splunk.rum.agent.common.otel.internal.SessionReplayChunkBudget
+import com.splunk.rum.common.logger.Logger
+import com.splunk.rum.integration.sessionreplay.api.RenderingMode
+
+/**
+ * Applies backpressure to the recorder when the recorded chunks are produced faster than they are written.
+ *
+ * A chunk that does not fit into [budget] is dropped and the rendering mode is overridden with
+ * [RenderingMode.WIREFRAME_ONLY], which produces much smaller chunks. The override is lifted once the pending chunks
+ * drop to half of the budget. The preferred rendering mode is left untouched.
+ */
+internal class RecordingQualityThrottle(
+    private val budget: SessionReplayChunkBudget,
+    private val renderingModeOverrideSetter: (RenderingMode?) -> Unit
+) {
+
+    private var isThrottled = false
+
+    /**
+     * Returns whether a chunk of [bytes] fits into the budget, or false when the chunk must be dropped.
+     */
+    @Synchronized
+    fun fits(bytes: Long): Boolean {
+        if (!budget.fits(bytes)) {
+            if (!isThrottled) {
+                throttle()
+            }
+            return false
+        }
+
+        if (isThrottled && budget.pendingBytes <= budget.maxBytes / 2) {
+            restore()
+        }
+        return true
+    }
+
+    private fun throttle() {
+        isThrottled = true
+
+        Logger.d(TAG) { "throttle() - ${budget.pendingBytes} bytes pending, rendering wireframes only" }
+
+        renderingModeOverrideSetter(RenderingMode.WIREFRAME_ONLY)
+    }
+
+    private fun restore() {
+        isThrottled = false
+
+        Logger.d(TAG) { "restore() - restoring the preferred rendering mode" }
+
+        renderingModeOverrideSetter(null)
+    }
+
+    private companion object {
+        const val TAG = "RecordingQualityThrottle"
+    }
+}
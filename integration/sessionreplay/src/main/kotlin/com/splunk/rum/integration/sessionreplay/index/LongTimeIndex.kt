@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.sessionreplay.index
+
+import java.util.Arrays
+
+/**
+ * Bounded time to value index for `Long` values, backed by two sorted primitive arrays.
+ *
+ * Times are in milliseconds since the epoch. Lookups are binary searches and entries that can no longer be queried
+ * are dropped with [evictBefore]. When [maxSize] entries are kept, the oldest one is dropped to make room, so the
+ * memory stays flat however long the app runs.
+ */
+internal class LongTimeIndex @JvmOverloads constructor(
+    private val maxSize: Int = DEFAULT_MAX_SIZE,
+    private val clock: () -> Long = System::currentTimeMillis
+) {
+
+    private var times = LongArray(INITIAL_CAPACITY)
+    private var values = LongArray(INITIAL_CAPACITY)
+
+    var size: Int = 0
+        private set
+
+    fun put(value: Long) {
+        putAt(clock(), value)
+    }
+
+    @Synchronized
+    fun putAt(time: Long, value: Long) {
+        val index = Arrays.binarySearch(times, 0, size, time)
+        if (index >= 0) {
+            values[index] = value
+            return
+        }
+
+        var insertionPoint = -(index + 1)
+        if (size == maxSize) {
+            if (insertionPoint == 0) {
+                // Older than every kept entry, it would be the one dropped.
+                return
+            }
+            removeFirst(1)
+            insertionPoint--
+        }
+
+        if (size == times.size) {
+            val capacity = minOf(times.size * 2, maxSize)
+            times = times.copyOf(capacity)
+            values = values.copyOf(capacity)
+        }
+
+        System.arraycopy(times, insertionPoint, times, insertionPoint + 1, size - insertionPoint)
+        System.arraycopy(values, insertionPoint, values, insertionPoint + 1, size - insertionPoint)
+        times[insertionPoint] = time
+        values[insertionPoint] = value
+        size++
+    }
+
+    /**
+     * Returns the value of the latest entry at or before [time], or [defaultValue] when there is none.
+     */
+    @Synchronized
+    fun getAt(time: Long, defaultValue: Long): Long {
+        val floor = floorIndex(time)
+        return if (floor >= 0) values[floor] else defaultValue
+    }
+
+    /**
+     * Drops the entries that are not needed to answer queries at [time] or later, the entry in effect at [time] is
+     * kept.
+     */
+    @Synchronized
+    fun evictBefore(time: Long) {
+        val floor = floorIndex(time)
+        if (floor > 0) {
+            removeFirst(floor)
+        }
+    }
+
+    private fun floorIndex(time: Long): Int {
+        val index = Arrays.binarySearch(times, 0, size, time)
+        return if (index >= 0) index else -(index + 1) - 1
+    }
+
+    private fun removeFirst(count: Int) {
+        System.arraycopy(times, count, times, 0, size - count)
+        System.arraycopy(values, count, values, 0, size - count)
+        size -= count
+    }
+
+    private companion object {
+        const val INITIAL_CAPACITY = 8
+        const val DEFAULT_MAX_SIZE = 256
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.sessionreplay.backpressure
+
+import com.splunk.rum.agent.common.otel.internal.SessionReplayChunkBudget
+import com.splunk.rum.integration.sessionreplay.api.RenderingMode
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class RecordingQualityThrottleTest {
+
+    private val budget = SessionReplayChunkBudget(maxBytes = 100)
+    private var renderingModeOverride: RenderingMode? = null
+
+    private val throttle = RecordingQualityThrottle(
+        budget = budget,
+        renderingModeOverrideSetter = { renderingModeOverride = it }
+    )
+
+    @Test
+    fun `overrides the rendering mode when a chunk does not fit`() {
+        budget.tryAcquire(90)
+
+        assertFalse(throttle.fits(20))
+        assertEquals(RenderingMode.WIREFRAME_ONLY, renderingModeOverride)
+    }
+
+    @Test
+    fun `does not reserve the budget`() {
+        assertTrue(throttle.fits(90))
+
+        assertEquals(0L, budget.pendingBytes)
+        assertNull(renderingModeOverride)
+    }
+
+    @Test
+    fun `lifts the override once half of the budget is free`() {
+        budget.tryAcquire(90)
+        throttle.fits(20)
+
+        budget.release(30)
+        assertTrue(throttle.fits(20))
+        assertEquals(RenderingMode.WIREFRAME_ONLY, renderingModeOverride)
+
+        budget.release(10)
+        assertTrue(throttle.fits(10))
+        assertNull(renderingModeOverride)
+    }
+
+    @Test
+    fun `overrides the rendering mode once per throttling`() {
+        var overrides = 0
+        val throttle = RecordingQualityThrottle(budget) { overrides++ }
+        budget.tryAcquire(90)
+
+        throttle.fits(20)
+        throttle.fits(20)
+
+        assertEquals(1, overrides)
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.sessionreplay.index
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class LongTimeIndexTest {
+    @Test
+    fun `putAt stores value at correct time`() {
+        val index = LongTimeIndex()
+
+        index.putAt(1_000L, 7L)
+
+        assertEquals(7L, index.getAt(1_000L, -1L))
+    }
+
+    @Test
+    fun `getAt returns closest previous value`() {
+        val index = LongTimeIndex()
+
+        index.putAt(3_000L, 2L)
+        index.putAt(1_000L, 1L)
+
+        assertEquals(1L, index.getAt(2_000L, -1L))
+        assertEquals(2L, index.getAt(5_000L, -1L))
+    }
+
+    @Test
+    fun `getAt returns default value if no previous value`() {
+        val index = LongTimeIndex()
+        index.putAt(1_000L, 1L)
+
+        assertEquals(-1L, index.getAt(999L, -1L))
+    }
+
+    @Test
+    fun `put stores value with current time`() {
+        val index = LongTimeIndex(clock = { 1_000L })
+
+        index.put(5L)
+
+        assertEquals(5L, index.getAt(1_000L, -1L))
+    }
+
+    @Test
+    fun `putAt replaces value at the same time`() {
+        val index = LongTimeIndex()
+
+        index.putAt(1_000L, 1L)
+        index.putAt(1_000L, 2L)
+
+        assertEquals(1, index.size)
+        assertEquals(2L, index.getAt(1_000L, -1L))
+    }
+
+    @Test
+    fun `evictBefore keeps the entry in effect at the given time`() {
+        val index = LongTimeIndex()
+        index.putAt(1_000L, 1L)
+        index.putAt(2_000L, 2L)
+        index.putAt(3_000L, 3L)
+
+        index.evictBefore(2_500L)
+
+        assertEquals(2, index.size)
+        assertEquals(-1L, index.getAt(1_500L, -1L))
+        assertEquals(2L, index.getAt(2_500L, -1L))
+        assertEquals(3L, index.getAt(3_000L, -1L))
+    }
+
+    @Test
+    fun `drops the oldest entry when full`() {
+        val index = LongTimeIndex(maxSize = 20)
+        for (i in 1L..100L) {
+            index.putAt(i * 1_000L, i)
+        }
+
+        assertEquals(20, index.size)
+        assertEquals(-1L, index.getAt(80_000L, -1L))
+        assertEquals(81L, index.getAt(81_500L, -1L))
+        assertEquals(100L, index.getAt(200_000L, -1L))
+    }
+
+    @Test
+    fun `ignores an entry older than every kept one when full`() {
+        val index = LongTimeIndex(maxSize = 2)
+        index.putAt(2_000L, 2L)
+        index.putAt(3_000L, 3L)
+
+        index.putAt(1_000L, 1L)
+
+        assertEquals(2, index.size)
+        assertEquals(-1L, index.getAt(1_500L, -1L))
+    }
+}
@@ -32,7 +32,7 @@ import java.time.Duration
  */
 @Suppress("NewApi") // Duration.ofSeconds() requires API 26 or core library desugaring
 data class SlowRenderingModuleConfiguration @JvmOverloads constructor(
-    val isEnabled: Boolean = true,
+    override val isEnabled: Boolean = true,
     val interval: Duration = Duration.ofSeconds(1)
 ) : ModuleConfiguration {
 
@@ -21,6 +21,7 @@ import com.splunk.rum.common.logger.Logger
 import com.splunk.rum.instrumentation.slowrendering.internal.SlowRenderingInstrumentation
 import com.splunk.rum.integration.agent.common.module.ModuleConfiguration
 import com.splunk.rum.integration.agent.common.module.find
+import com.splunk.rum.integration.agent.internal.attributes.ScreenNameTracker
 import com.splunk.rum.integration.agent.internal.legacy.LegacySlowRenderingModuleConfiguration
 import com.splunk.rum.integration.agent.internal.module.ModuleIntegration
 import io.opentelemetry.api.OpenTelemetry
@@ -49,6 +50,7 @@ internal object SlowRenderingModuleIntegration : ModuleIntegration<SlowRendering
             Logger.d(TAG, "Installing Slow Rendering Detector")
             val slowRenderingInstrumentation = SlowRenderingInstrumentation()
             slowRenderingInstrumentation.setSlowRenderingDetectionPollInterval(interval)
+            slowRenderingInstrumentation.setScreenNameProvider { ScreenNameTracker.screenName }
             slowRenderingInstrumentation.install(application, openTelemetry)
         } else {
             Logger.d(TAG, "Slow Rendering detection is disabled")
@@ -28,6 +28,7 @@ android {
 
 dependencies {
     implementation(project(":integration:agent:internal"))
+    implementation(project(":integration:agent:api"))
     implementation(project(":instrumentation:runtime:startup"))
     implementation(project(":common:otel"))
 
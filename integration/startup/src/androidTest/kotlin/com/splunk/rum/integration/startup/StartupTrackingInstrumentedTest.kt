@@ -23,6 +23,7 @@ import androidx.test.platform.app.InstrumentationRegistry
 import com.splunk.rum.agent.common.otel.SplunkOpenTelemetrySdk
 import com.splunk.rum.integration.agent.internal.AgentIntegration
 import com.splunk.rum.startup.ApplicationStartupTimekeeper
+import com.splunk.rum.startup.StartupPhase
 import io.opentelemetry.api.common.Attributes
 import io.opentelemetry.sdk.OpenTelemetrySdk
 import io.opentelemetry.sdk.common.CompletableResultCode
@@ -122,12 +123,23 @@ class StartupTrackingInstrumentedTest {
         }
         assertEquals("Initialization should only be reported once", 1, initializationSpans.size)
         assertEquals(coldStart.spanId, initializationSpans.single().parentSpanId)
+
+        val phaseSpans = exportedSpans.filter {
+            it.name == StartupPhase.APPLICATION_ON_CREATE || it.name == StartupPhase.FIRST_DRAW
+        }
+        assertEquals("Cold start phases should be reported", 2, phaseSpans.size)
+        phaseSpans.forEach { assertEquals(coldStart.spanId, it.parentSpanId) }
     }
 
     private fun reportColdStart() {
         val endTimestamp = System.currentTimeMillis()
         val startTimestamp = endTimestamp - START_DURATION_MILLIS
+        val phases = listOf(
+            StartupPhase(StartupPhase.APPLICATION_ON_CREATE, startTimestamp, endTimestamp - 10),
+            StartupPhase(StartupPhase.FIRST_DRAW, endTimestamp - 10, endTimestamp)
+        )
         ApplicationStartupTimekeeper.listeners.forEach {
+            it.onStartupPhases(ApplicationStartupTimekeeper.StartType.COLD, phases)
             it.onColdStarted(startTimestamp, endTimestamp, START_DURATION_MILLIS)
         }
     }
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 Splunk Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.splunk.rum.integration.startup
+
+import com.splunk.rum.startup.ApplicationStartupTimekeeper
+
+class Startup internal constructor() {
+
+    /**
+     * Reports that the application has loaded all the content of the first screen after a start, e.g. once the
+     * data shown by the first activity has been fetched. The time since the first frame is reported as a
+     * `fullyDrawn` phase of the last `AppStart`.
+     *
+     * Only the first call after a start is taken into account. Can be called from any thread.
+     */
+    fun reportFullyDrawn() {
+        ApplicationStartupTimekeeper.reportFullyDrawn()
+    }
+
+    companion object {
+        @JvmStatic
+        val instance by lazy { Startup() }
+    }
+}
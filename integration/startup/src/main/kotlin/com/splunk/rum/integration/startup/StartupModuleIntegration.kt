@@ -29,9 +29,11 @@ import com.splunk.rum.integration.agent.internal.AgentIntegration.Companion.modu
 import com.splunk.rum.integration.agent.internal.module.ModuleIntegration
 import com.splunk.rum.integration.startup.model.StartupData
 import com.splunk.rum.startup.ApplicationStartupTimekeeper
+import com.splunk.rum.startup.StartupPhase
 import io.opentelemetry.api.OpenTelemetry
 import io.opentelemetry.api.trace.Span
-import io.opentelemetry.sdk.trace.SdkTracerProvider
+import io.opentelemetry.api.trace.TracerProvider
+import io.opentelemetry.context.Context as OtelContext
 import java.util.concurrent.TimeUnit
 
 internal object StartupModuleIntegration : ModuleIntegration<StartupModuleConfiguration>(
@@ -50,6 +52,15 @@ internal object StartupModuleIntegration : ModuleIntegration<StartupModuleConfig
     @Volatile
     private var isInstallComplete = false
 
+    // AppStart span of the last reported start, parent of the fully drawn phase reported later on
+    @Volatile
+    private var lastAppStartSpan: Span? = null
+
+    private var pendingFullyDrawn: StartupPhase? = null
+
+    // Phases of the start being delivered, set right before its on*Started callback on the main thread
+    private var pendingPhases: List<StartupPhase> = emptyList()
+
     override fun onAttach(context: Context) {
         Logger.d(TAG, "onAttach() - adding listener to ApplicationStartupTimekeeper")
         ApplicationStartupTimekeeper.listeners += applicationStartupTimekeeperListener
@@ -68,10 +79,13 @@ internal object StartupModuleIntegration : ModuleIntegration<StartupModuleConfig
         Logger.d(TAG, "onPostInstall()")
 
         val cachedEvents: List<StartupData>
+        val cachedFullyDrawn: StartupPhase?
 
         synchronized(lock) {
             cachedEvents = cache.toList()
             cache.clear()
+            cachedFullyDrawn = pendingFullyDrawn
+            pendingFullyDrawn = null
             isInstallComplete = true
         }
 
@@ -79,51 +93,85 @@ internal object StartupModuleIntegration : ModuleIntegration<StartupModuleConfig
             Logger.d(TAG) { "Processing deferred cache (size: ${cachedEvents.size})" }
             cachedEvents.forEachFast {
                 Logger.d(TAG) { "Processing cached event: ${it.name}" }
-                reportEventInternal(it.startTimestamp, it.endTimestamp, it.name)
+                reportEventInternal(it.startTimestamp, it.endTimestamp, it.name, it.phases)
             }
         }
 
+        cachedFullyDrawn?.let(::reportFullyDrawnInternal)
+
         Logger.d(TAG, "onPostInstall() complete")
     }
 
     private val applicationStartupTimekeeperListener = object : ApplicationStartupTimekeeper.Listener {
+        override fun onStartupPhases(type: ApplicationStartupTimekeeper.StartType, phases: List<StartupPhase>) {
+            pendingPhases = phases
+        }
+
         override fun onColdStarted(startTimestamp: Long, endTimestamp: Long, duration: Long) {
             Logger.d(TAG) {
                 "onColdStarted(startTimestamp: $startTimestamp, endTimestamp: $endTimestamp, duration: $duration ms)"
             }
-            reportEvent(startTimestamp, endTimestamp, RumConstants.APP_START_TYPE_COLD)
+            reportEvent(startTimestamp, endTimestamp, RumConstants.APP_START_TYPE_COLD, takePendingPhases())
         }
 
         override fun onWarmStarted(startTimestamp: Long, endTimestamp: Long, duration: Long) {
             Logger.d(TAG) {
                 "onWarmStarted(startTimestamp: $startTimestamp, endTimestamp: $endTimestamp, duration: $duration ms)"
             }
-            reportEvent(startTimestamp, endTimestamp, RumConstants.APP_START_TYPE_WARM)
+            reportEvent(startTimestamp, endTimestamp, RumConstants.APP_START_TYPE_WARM, takePendingPhases())
         }
 
         override fun onHotStarted(startTimestamp: Long, endTimestamp: Long, duration: Long) {
             Logger.d(TAG) {
                 "onHotStarted(startTimestamp: $startTimestamp, endTimestamp: $endTimestamp, duration: $duration ms)"
             }
-            reportEvent(startTimestamp, endTimestamp, RumConstants.APP_START_TYPE_HOT)
+            reportEvent(startTimestamp, endTimestamp, RumConstants.APP_START_TYPE_HOT, takePendingPhases())
+        }
+
+        override fun onFullyDrawn(phase: StartupPhase) {
+            Logger.d(TAG) { "onFullyDrawn(duration: ${phase.duration} ms)" }
+            reportFullyDrawn(phase)
         }
     }
 
-    private fun reportEvent(startTimestamp: Long, endTimestamp: Long, name: String) {
+    private fun takePendingPhases(): List<StartupPhase> {
+        val phases = pendingPhases
+        pendingPhases = emptyList()
+        return phases
+    }
+
+    private fun reportEvent(startTimestamp: Long, endTimestamp: Long, name: String, phases: List<StartupPhase>) {
         synchronized(lock) {
             if (!isInstallComplete) {
                 Logger.d(TAG) { "reportEvent() - install not complete, caching event: $name" }
-                cache += StartupData(startTimestamp, endTimestamp, name)
+                cache += StartupData(startTimestamp, endTimestamp, name, phases)
                 return
             }
         }
 
         // Install is complete, process the event immediately
-        reportEventInternal(startTimestamp, endTimestamp, name)
+        reportEventInternal(startTimestamp, endTimestamp, name, phases)
+    }
+
+    private fun reportFullyDrawn(phase: StartupPhase) {
+        synchronized(lock) {
+            if (!isInstallComplete) {
+                Logger.d(TAG, "reportFullyDrawn() - install not complete, caching phase")
+                pendingFullyDrawn = phase
+                return
+            }
+        }
+
+        reportFullyDrawnInternal(phase)
     }
 
-    private fun reportEventInternal(startTimestamp: Long, endTimestamp: Long, name: String) {
-        val provider = SplunkOpenTelemetrySdk.instance?.sdkTracerProvider
+    private fun reportEventInternal(
+        startTimestamp: Long,
+        endTimestamp: Long,
+        name: String,
+        phases: List<StartupPhase>
+    ) {
+        val provider = SplunkOpenTelemetrySdk.openTelemetry?.tracerProvider
         if (provider == null) {
             Logger.e(TAG, "reportEventInternal() - SDK not ready")
             return
@@ -149,6 +197,9 @@ internal object StartupModuleIntegration : ModuleIntegration<StartupModuleConfig
             reportInitializeSpan(span, provider)
         }
 
+        phases.forEachFast { reportPhaseSpan(span, provider, it) }
+        lastAppStartSpan = span
+
         // Actual screen.name as set by SplunkInternalGlobalAttributeSpanProcessor is overwritten here to set it to
         // "unknown" to ensure App Start event doesn't show up under a screen on UI
         span
@@ -160,7 +211,30 @@ internal object StartupModuleIntegration : ModuleIntegration<StartupModuleConfig
         Logger.d(TAG) { "reportEventInternal() - span sent successfully for: $name" }
     }
 
-    private fun reportInitializeSpan(span: Span, provider: SdkTracerProvider, asSibling: Boolean = false) {
+    private fun reportFullyDrawnInternal(phase: StartupPhase) {
+        val provider = SplunkOpenTelemetrySdk.openTelemetry?.tracerProvider
+        val appStartSpan = lastAppStartSpan
+
+        if (provider == null || appStartSpan == null) {
+            Logger.w(TAG, "reportFullyDrawnInternal() - no AppStart span to attach the phase to")
+            return
+        }
+
+        reportPhaseSpan(appStartSpan, provider, phase)
+    }
+
+    private fun reportPhaseSpan(parent: Span, provider: TracerProvider, phase: StartupPhase) {
+        provider.get(GlobalRumConstants.RUM_TRACER_NAME)
+            .spanBuilder(phase.name)
+            .setParent(OtelContext.current().with(parent))
+            .setStartTimestamp(phase.startTimestamp, TimeUnit.MILLISECONDS)
+            .startSpan()
+            .setAttribute(GlobalRumConstants.COMPONENT_KEY, RumConstants.COMPONENT_APP_START)
+            .setAttribute(GlobalRumConstants.SCREEN_NAME_KEY, GlobalRumConstants.DEFAULT_SCREEN_NAME)
+            .end(phase.endTimestamp.toInstant())
+    }
+
+    private fun reportInitializeSpan(span: Span, provider: TracerProvider, asSibling: Boolean = false) {
         val modules = modules.values
 
         val firstInitialization =
@@ -180,7 +254,7 @@ internal object StartupModuleIntegration : ModuleIntegration<StartupModuleConfig
 
         val initSpan = provider.get(GlobalRumConstants.RUM_TRACER_NAME)
             .spanBuilder(RumConstants.APP_START_INITIALIZE_SPAN_NAME)
-            .setParent(io.opentelemetry.context.Context.current().with(span))
+            .setParent(OtelContext.current().with(span))
             .setStartTimestamp(firstInitialization.startTimestamp.toInstant())
             .startSpan()
 
@@ -195,8 +269,9 @@ internal object StartupModuleIntegration : ModuleIntegration<StartupModuleConfig
         initSpan.setAttribute(RumConstants.APP_START_CONFIG_SETTINGS_KEY, resources)
 
         for (module in modules) {
+            // Modules disabled by their configuration are not loaded at all
             if (module.initialization == null) {
-                throw IllegalStateException("Module '${module.name}' initialization has not been started")
+                continue
             }
 
             if (module.initialization!!.endElapsed == null) {
@@ -16,4 +16,11 @@
 
 package com.splunk.rum.integration.startup.model
 
-internal data class StartupData(val startTimestamp: Long, val endTimestamp: Long, val name: String)
+import com.splunk.rum.startup.StartupPhase
+
+internal data class StartupData(
+    val startTimestamp: Long,
+    val endTimestamp: Long,
+    val name: String,
+    val phases: List<StartupPhase> = emptyList()
+)
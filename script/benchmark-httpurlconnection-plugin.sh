@@ -0,0 +1,25 @@
+#!/bin/bash
+# Benchmarks the build time of the sample app with gradle-profiler (https://github.com/gradle/gradle-profiler).
+# Uncomment the HttpURLConnection plugin in app/build.gradle.kts before running to measure the plugin,
+# then run again with the plugin commented out to get the baseline.
+set -e
+
+if ! command -v gradle-profiler >/dev/null 2>&1; then
+    echo "gradle-profiler is not installed, see https://github.com/gradle/gradle-profiler#installing"
+    exit 1
+fi
+
+if grep -q '^\s*id("com.splunk.rum-httpurlconnection-auto-plugin")' app/build.gradle.kts; then
+    echo "⏱️  Benchmarking with the HttpURLConnection plugin applied..."
+    ./gradlew publishToMavenLocal
+else
+    echo "⏱️  Benchmarking without the HttpURLConnection plugin (baseline)..."
+fi
+
+gradle-profiler --benchmark \
+    --project-dir . \
+    --scenario-file instrumentation/buildtime/httpurlconnection-auto/benchmark.scenarios \
+    --output-dir build/benchmark/httpurlconnection-plugin \
+    "$@"
+
+echo "Done. Reports are in build/benchmark/httpurlconnection-plugin"